@@ -1,16 +1,19 @@
 package com.reliaquest.api.client;
 
 import com.reliaquest.api.dto.external.ExternalApiResponse;
+import com.reliaquest.api.dto.external.ExternalEmployeeChanges;
 import com.reliaquest.api.dto.external.ExternalEmployeeDTO;
 import com.reliaquest.api.dto.request.CreateEmployeeRequest;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
 @FeignClient(
     name = "employee-api",
-    url = "${employee.api.base-url}",
+    // with employee.shards.urls set, the sharded client over one of these per shard is injected instead
+    primary = false,
     configuration = {com.reliaquest.api.config.FeignConfiguration.class}
 )
 public interface EmployeeApiClient {
@@ -18,6 +21,32 @@ public interface EmployeeApiClient {
     @GetMapping
     ExternalApiResponse<List<ExternalEmployeeDTO>> getAllEmployees();
 
+    // One page in id order; the cursor of the next page comes back in the X-Next-Cursor header
+    @GetMapping
+    ResponseEntity<ExternalApiResponse<List<ExternalEmployeeDTO>>> getEmployeesPage(
+            @RequestParam("size") int size, @RequestParam(value = "cursor", required = false) String cursor);
+
+    // The list's headers without the list: its size in X-Total-Count, the query endpoints offered in X-Queries
+    @RequestMapping(method = RequestMethod.HEAD)
+    ResponseEntity<Void> headEmployees();
+
+    // Employees whose name contains the fragment, ignoring case
+    @GetMapping("/search")
+    ExternalApiResponse<List<ExternalEmployeeDTO>> searchEmployees(@RequestParam("name") String name);
+
+    // No data when the roster is empty
+    @GetMapping("/stats/maxSalary")
+    ExternalApiResponse<Integer> getMaxSalary();
+
+    // The n highest earners, highest first, each with only the listed fields
+    @GetMapping("/top")
+    ExternalApiResponse<List<ExternalEmployeeDTO>> getTopEmployees(
+            @RequestParam("by") String by, @RequestParam("n") int n, @RequestParam("fields") String fields);
+
+    // Changes after the given roster version; -1 only reports the current version
+    @GetMapping("/changes")
+    ExternalApiResponse<ExternalEmployeeChanges> getChanges(@RequestParam("since") long since);
+
     @GetMapping("/{id}")
     ExternalApiResponse<ExternalEmployeeDTO> getEmployeeById(@PathVariable("id") String id);
 
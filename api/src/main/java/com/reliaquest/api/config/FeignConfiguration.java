@@ -1,12 +1,19 @@
 package com.reliaquest.api.config;
 
+import com.reliaquest.api.timing.TimingCapability;
+import feign.Capability;
 import feign.Logger;
 import feign.Request;
+import feign.RequestInterceptor;
 import feign.Retryer;
 import feign.codec.ErrorDecoder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 
+import java.util.Locale;
 import java.util.concurrent.TimeUnit;
 
 @Configuration
@@ -31,4 +38,26 @@ public class FeignConfiguration {
     public ErrorDecoder errorDecoder() {
         return new FeignErrorDecoder();
     }
+
+    // Feeds upstream and decode time into the Server-Timing breakdown
+    @Bean
+    public Capability timingCapability() {
+        return new TimingCapability();
+    }
+
+    // Asks the upstream for employee.api.format (json, smile or cbor); responses are decoded by their content type
+    @Bean
+    public RequestInterceptor upstreamFormat(@Value("${employee.api.format:json}") String format) {
+        String accept = switch (format.trim().toLowerCase(Locale.ROOT)) {
+            case "json" -> MediaType.APPLICATION_JSON_VALUE;
+            case "smile" -> "application/x-jackson-smile, application/json;q=0.5";
+            case "cbor" -> MediaType.APPLICATION_CBOR_VALUE + ", application/json;q=0.5";
+            default -> throw new IllegalArgumentException("Unknown employee.api.format " + format + ", expected json, smile or cbor");
+        };
+        return template -> {
+            if (!template.headers().containsKey(HttpHeaders.ACCEPT)) {
+                template.header(HttpHeaders.ACCEPT, accept);
+            }
+        };
+    }
 }
@@ -4,15 +4,17 @@ import com.reliaquest.api.constants.ErrorConstants;
 import com.reliaquest.api.exception.EmployeeNotFoundException;
 import com.reliaquest.api.exception.EmployeeServiceException;
 import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.logging.RateLimitedLogger;
 import feign.Response;
 import feign.codec.ErrorDecoder;
 import feign.codec.ErrorDecoder;
-import lombok.extern.slf4j.Slf4j;
+import java.time.Duration;
 import org.springframework.http.HttpStatus;
 
-@Slf4j
 public class FeignErrorDecoder implements ErrorDecoder {
 
+    private static final RateLimitedLogger log = new RateLimitedLogger(FeignErrorDecoder.class, 5, Duration.ofSeconds(10));
+
     private final ErrorDecoder defaultErrorDecoder = new Default();
 
 
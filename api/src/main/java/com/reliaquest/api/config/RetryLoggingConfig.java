@@ -1,15 +1,19 @@
 package com.reliaquest.api.config;
 
+import com.reliaquest.api.timing.RequestTimings;
+import com.reliaquest.api.timing.TimingPhase;
 import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.retry.RetryRegistry;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 
 
 @Configuration
+@Lazy(false) // listeners must be registered before the first call, also with lazy initialization
 public class RetryLoggingConfig {
 
     private static final Logger log = LoggerFactory.getLogger(RetryLoggingConfig.class);
@@ -30,6 +34,10 @@ public class RetryLoggingConfig {
                         event.getName(),
                         event.getLastThrowable() != null ? event.getLastThrowable().getMessage() : "None"));
 
+        // the retry sleeps on the request thread right after this event, attribute it as backoff
+        retry.getEventPublisher()
+                .onRetry(event -> RequestTimings.record(TimingPhase.BACKOFF, event.getWaitInterval().toNanos()));
+
         retry.getEventPublisher()
                 .onError(event -> log.error("All retry attempts failed for '{}'. Final error: {}",
                         event.getName(),
@@ -0,0 +1,25 @@
+package com.reliaquest.api.dto.external;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@Data
+@AllArgsConstructor
+@Builder
+public class ExternalEmployeeChange {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+
+    private long version;
+    private Type type;
+    private String id;
+
+    // null for deletions
+    private ExternalEmployeeDTO employee;
+}
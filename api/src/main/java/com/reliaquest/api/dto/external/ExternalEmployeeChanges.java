@@ -0,0 +1,24 @@
+package com.reliaquest.api.dto.external;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response of the upstream's {@code GET /changes?since={version}}: the changes after {@code since}, or
+ * {@code truncated} when the upstream's bounded log cannot serve that version and the full roster has to be fetched.
+ */
+@NoArgsConstructor
+@Data
+@AllArgsConstructor
+@Builder
+public class ExternalEmployeeChanges {
+
+    // identifies the upstream instance, versions from different epochs are unrelated
+    private String epoch;
+    private long version;
+    private boolean truncated;
+    private List<ExternalEmployeeChange> changes;
+}
@@ -1,10 +1,11 @@
 package com.reliaquest.api.exception;
 
+// Expected on routine upstream 404s: no stack trace is captured (the stack would only show the Feign error decoder)
 public class EmployeeNotFoundException extends RuntimeException{
     private final String errorCode;
 
     public EmployeeNotFoundException(String errorCode, Throwable cause) {
-        super(errorCode, cause);
+        super(errorCode, cause, false, false);
         this.errorCode = errorCode;
     }
 
@@ -13,7 +14,7 @@ public class EmployeeNotFoundException extends RuntimeException{
     }
 
     public EmployeeNotFoundException(String errorCode) {
-        super(errorCode);
+        super(errorCode, null, false, false);
         this.errorCode = errorCode;
     }
 }
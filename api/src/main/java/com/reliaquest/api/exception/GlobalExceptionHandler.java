@@ -2,11 +2,13 @@ package com.reliaquest.api.exception;
 
 import static com.reliaquest.api.constants.ErrorConstants.*;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
 import com.reliaquest.api.constants.ErrorConstants;
 import com.reliaquest.api.dto.response.ApiResponse;
+import com.reliaquest.api.logging.RateLimitedLogger;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
@@ -22,16 +24,24 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 @Slf4j
 public class GlobalExceptionHandler {
 
+    // 404/429/400s are routine under load and share one budget
+    private static final RateLimitedLogger routineLog =
+            new RateLimitedLogger(GlobalExceptionHandler.class, 5, Duration.ofSeconds(10));
+    // service 500s (upstream down) get their own, so a flood of routine 4xx cannot silence them;
+    // unexpected exceptions (handleGenericException) log every occurrence
+    private static final RateLimitedLogger serverErrorLog =
+            new RateLimitedLogger(GlobalExceptionHandler.class, 5, Duration.ofSeconds(10));
+
     @ExceptionHandler(EmployeeNotFoundException.class)
     public ResponseEntity<ApiResponse> handleNotFound(EmployeeNotFoundException ex) {
-        log.warn("Employee not found: {}", ex.getMessage());
+        routineLog.warn("Employee not found: {}", ex.getMessage());
         ApiResponse apiResponse = new ApiResponse(ex.getMessage(), HttpStatus.NOT_FOUND);
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(apiResponse);
     }
 
     @ExceptionHandler(TooManyRequestsException.class)
     public ResponseEntity<ApiResponse> handleTooManyRequest(TooManyRequestsException ex) {
-        log.warn("Too many requests exception: {}", ex.getMessage());
+        routineLog.warn("Too many requests exception: {}", ex.getMessage());
         ApiResponse apiResponse = new ApiResponse(ex.getMessage(), HttpStatus.TOO_MANY_REQUESTS);
         return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header("Retry-After", "10").body(apiResponse);
     }
@@ -78,7 +88,6 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(EmployeeServiceException.class)
     public ResponseEntity<ApiResponse> handleServiceException(EmployeeServiceException ex) {
-        log.error("Employee service exception occurred: {} - Error code: {}", ex.getMessage(), ex.getErrorCode(), ex);
         Map<String, String> error = Map.of("error", ex.getMessage());
 
 
@@ -86,15 +95,15 @@ public class GlobalExceptionHandler {
         switch (ex.getErrorCode()) {
             case ErrorConstants.INVALID_EMPLOYEE_ID:
                 ApiResponse apiResponse = new ApiResponse(ex.getMessage(), HttpStatus.BAD_REQUEST);
-                log.warn("Bad request due to invalid employee ID: {}", ex.getMessage());
+                routineLog.warn("Bad request due to invalid employee ID: {}", ex.getMessage());
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(apiResponse);
 
             case INVALID_SEARCH_STRING:
                 apiResponse = new ApiResponse(ex.getMessage(), HttpStatus.BAD_REQUEST);
-                log.warn("Bad request due to invalid search string: {}", ex.getMessage());
+                routineLog.warn("Bad request due to invalid search string: {}", ex.getMessage());
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(apiResponse);
             default:
-                log.error("Internal server error in employee service: {}", ex.getMessage());
+                serverErrorLog.error("Internal server error in employee service: {} - Error code: {}", ex.getMessage(), ex.getErrorCode(), ex);
                 apiResponse = new ApiResponse(ex.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
                 return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(apiResponse);
         }
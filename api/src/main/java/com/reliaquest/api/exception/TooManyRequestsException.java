@@ -3,12 +3,13 @@ package com.reliaquest.api.exception;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+// Expected whenever the upstream throttles: no stack trace is captured (the stack would only show the Feign error decoder)
 @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
 public class TooManyRequestsException extends RuntimeException {
     private final String errorCode;
 
     public TooManyRequestsException(String errorCode) {
-        super(errorCode);
+        super(errorCode, null, false, false);
         this.errorCode = errorCode;
     }
 
@@ -17,7 +18,7 @@ public class TooManyRequestsException extends RuntimeException {
     }
 
     public TooManyRequestsException(String errorCode, Throwable cause) {
-        super(errorCode, cause);
+        super(errorCode, cause, false, false);
         this.errorCode = errorCode;
     }
 
@@ -0,0 +1,70 @@
+package com.reliaquest.api.logging;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Logger for messages that can occur on every request (upstream 404/429s, retries). Lets at most
+ * {@code permitsPerInterval} messages through per interval; the rest are dropped and counted, and the count is appended
+ * to the next message that gets through.
+ */
+public final class RateLimitedLogger {
+
+    private final Logger delegate;
+    private final int permitsPerInterval;
+    private final long intervalNanos;
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicInteger used = new AtomicInteger();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public RateLimitedLogger(Class<?> type, int permitsPerInterval, Duration interval) {
+        this.delegate = LoggerFactory.getLogger(type);
+        this.permitsPerInterval = permitsPerInterval;
+        this.intervalNanos = interval.toNanos();
+    }
+
+    public void warn(String format, Object arg) {
+        if (delegate.isWarnEnabled() && tryAcquire()) {
+            delegate.warn(format + suppressedSuffix(), arg);
+        }
+    }
+
+    public void warn(String format, Object arg1, Object arg2) {
+        if (delegate.isWarnEnabled() && tryAcquire()) {
+            delegate.warn(format + suppressedSuffix(), arg1, arg2);
+        }
+    }
+
+    public void warn(String format, Object... args) {
+        if (delegate.isWarnEnabled() && tryAcquire()) {
+            delegate.warn(format + suppressedSuffix(), args);
+        }
+    }
+
+    public void error(String format, Object... args) {
+        if (delegate.isErrorEnabled() && tryAcquire()) {
+            delegate.error(format + suppressedSuffix(), args);
+        }
+    }
+
+    private boolean tryAcquire() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= intervalNanos && windowStart.compareAndSet(start, now)) {
+            used.set(0);
+        }
+        if (used.incrementAndGet() <= permitsPerInterval) {
+            return true;
+        }
+        suppressed.incrementAndGet();
+        return false;
+    }
+
+    private String suppressedSuffix() {
+        long count = suppressed.getAndSet(0);
+        return count == 0 ? "" : " (" + count + " similar messages suppressed)";
+    }
+}
@@ -0,0 +1,164 @@
+package com.reliaquest.api.roster;
+
+import com.reliaquest.api.dto.EmployeeDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * The last roster the upstream returned successfully, kept in memory and in a local file so it survives restarts. When
+ * the upstream is throttling or down, reads fall back to it and the response is flagged as stale (see
+ * {@link StaleResponseAdvice}).
+ *
+ * <p>File writes happen on a single background thread and are coalesced: only the newest roster is written, and only
+ * when it differs from the one already persisted, or when it was confirmed unchanged {@value #CONFIRM_PERSIST_MINUTES}
+ * minutes or more after the persisted one was fetched.
+ */
+@Slf4j
+@Component
+public class LastKnownGoodRoster {
+
+    static final String STALE_SINCE_ATTRIBUTE = LastKnownGoodRoster.class.getName() + ".STALE_SINCE";
+    static final long CONFIRM_PERSIST_MINUTES = 1;
+
+    private final RosterProperties.LastKnownGood properties;
+    private final AtomicReference<RosterSnapshot> current = new AtomicReference<>();
+    private final AtomicReference<RosterSnapshot> pendingWrite = new AtomicReference<>();
+    private final AtomicBoolean writeScheduled = new AtomicBoolean();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "roster-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile List<EmployeeDTO> persisted = List.of();
+    private volatile Instant persistedFetchedAt = Instant.MIN;
+
+    public LastKnownGoodRoster(RosterProperties properties) {
+        this.properties = properties.getLastKnownGood();
+    }
+
+    @PostConstruct
+    public void load() {
+        Path file = file();
+        if (!properties.isEnabled() || file == null) {
+            return;
+        }
+        try {
+            RosterFile.read(file).ifPresent(snapshot -> {
+                current.compareAndSet(null, snapshot);
+                persisted = snapshot.employees();
+                persistedFetchedAt = snapshot.fetchedAt();
+                log.info(
+                        "Loaded last known good roster of {} employees fetched at {} from {}",
+                        snapshot.employees().size(),
+                        snapshot.fetchedAt(),
+                        file);
+            });
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable last known good roster {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Records a complete roster just fetched from the upstream.
+     */
+    public void update(List<EmployeeDTO> employees) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        RosterSnapshot snapshot = new RosterSnapshot(employees, Instant.now());
+        current.set(snapshot);
+        if (file() != null && (persistDue(snapshot) || !snapshot.employees().equals(persisted))) {
+            schedulePersist(snapshot);
+        }
+    }
+
+    /**
+     * Records that the upstream just returned the roster already recorded, unchanged and complete, so it is as fresh
+     * as now. The file is only rewritten for it once it is {@value #CONFIRM_PERSIST_MINUTES} minutes fresher.
+     */
+    public void confirmed() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Instant now = Instant.now();
+        RosterSnapshot snapshot = current.updateAndGet(
+                previous -> previous == null ? null : new RosterSnapshot(previous.employees(), now));
+        if (snapshot != null && file() != null && persistDue(snapshot)) {
+            schedulePersist(snapshot);
+        }
+    }
+
+    // checked before comparing rosters, which walks every employee
+    private boolean persistDue(RosterSnapshot snapshot) {
+        return !snapshot.fetchedAt().isBefore(persistedFetchedAt.plus(Duration.ofMinutes(CONFIRM_PERSIST_MINUTES)));
+    }
+
+    public Optional<RosterSnapshot> get() {
+        return properties.isEnabled() ? Optional.ofNullable(current.get()) : Optional.empty();
+    }
+
+    /**
+     * Serves the last known good roster in place of a failed upstream call and flags the current response as stale.
+     *
+     * @throws RuntimeException {@code failure} if there is no roster to fall back to
+     */
+    public List<EmployeeDTO> fallback(RuntimeException failure) {
+        RosterSnapshot snapshot = get().orElseThrow(() -> failure);
+        log.debug("Serving last known good roster fetched at {}: {}", snapshot.fetchedAt(), failure.getMessage());
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.setAttribute(STALE_SINCE_ATTRIBUTE, snapshot.fetchedAt(), RequestAttributes.SCOPE_REQUEST);
+        }
+        return snapshot.employees();
+    }
+
+    private void schedulePersist(RosterSnapshot snapshot) {
+        pendingWrite.set(snapshot);
+        if (writeScheduled.compareAndSet(false, true)) {
+            writer.execute(this::persistPending);
+        }
+    }
+
+    private void persistPending() {
+        writeScheduled.set(false);
+        RosterSnapshot snapshot = pendingWrite.getAndSet(null);
+        if (snapshot == null
+                || (snapshot.employees().equals(persisted)
+                        && !snapshot.fetchedAt().isAfter(persistedFetchedAt))) {
+            return;
+        }
+        try {
+            RosterFile.write(file(), snapshot);
+            persisted = snapshot.employees();
+            persistedFetchedAt = snapshot.fetchedAt();
+        } catch (IOException e) {
+            log.warn("Could not persist last known good roster to {}: {}", file(), e.getMessage());
+        }
+    }
+
+    private Path file() {
+        Path file = properties.getFile();
+        return file == null || file.toString().isEmpty() ? null : file;
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        writer.shutdown();
+        writer.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
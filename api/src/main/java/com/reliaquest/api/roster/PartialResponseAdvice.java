@@ -0,0 +1,44 @@
+package com.reliaquest.api.roster;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Flags responses built from a partial roster (see {@link PartialRoster}):
+ * {@code Warning: 199 - "Partial response, 1 of 3 shards did not answer"}.
+ */
+@ControllerAdvice
+public class PartialResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    static final String PARTIAL_WARNING = "199 - \"Partial response, %s\"";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            HttpServletRequest servlet = servletRequest.getServletRequest();
+            if (servlet.getAttribute(PartialRoster.MISSING_ATTRIBUTE) instanceof String missing) {
+                response.getHeaders().add(HttpHeaders.WARNING, PARTIAL_WARNING.formatted(missing));
+            }
+        }
+        return body;
+    }
+}
@@ -0,0 +1,35 @@
+package com.reliaquest.api.roster;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Marks the current request as answered from only part of the roster, as when some upstream shards did not answer.
+ * Such a roster is served, flagged by {@link PartialResponseAdvice}, but never kept as the last known good one.
+ */
+public final class PartialRoster {
+
+    static final String MISSING_ATTRIBUTE = PartialRoster.class.getName() + ".MISSING";
+
+    private PartialRoster() {}
+
+    /**
+     * Marks the current request, if any, as partial, with what was missing, e.g. "1 of 3 shards did not answer".
+     */
+    public static void mark(String missing) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.setAttribute(MISSING_ATTRIBUTE, missing, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * What was missing from the current request's roster, or null when it was complete.
+     */
+    public static String missing() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        return request == null
+                ? null
+                : (String) request.getAttribute(MISSING_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+}
@@ -0,0 +1,218 @@
+package com.reliaquest.api.roster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.dto.external.ExternalEmployeeChanges;
+import com.reliaquest.api.logging.RateLimitedLogger;
+import com.reliaquest.api.shard.ShardsConfigured;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.stereotype.Component;
+
+/**
+ * Subscribes to the upstream's change events ({@code GET /events}, server-sent events) and pushes them into the
+ * {@link RosterReplica}, so reads are served from the replica without asking the upstream for changes first.
+ *
+ * <p>One background thread holds the connection. When it drops, the thread reconnects with the id of the last event it
+ * got ({@code Last-Event-ID}), backing off from {@code reconnect-delay} up to {@code max-reconnect-delay}, and the
+ * upstream resumes after that version. The upstream sends a heartbeat comment on idle connections; a connection that
+ * stays silent for {@code idle-timeout} is treated as dropped. Upstreams without the endpoint (404/400) are detected
+ * once and then left alone, the replica keeps syncing on each read.
+ *
+ * <p>With shards configured, each shard's replica has a subscription of its own instead (see
+ * {@link com.reliaquest.api.shard.ShardedEmployeeApiClient}).
+ */
+@Slf4j
+@Component
+@Conditional(ShardsConfigured.Not.class)
+public class RosterEvents implements SmartLifecycle {
+
+    private static final RateLimitedLogger failureLog =
+            new RateLimitedLogger(RosterEvents.class, 5, Duration.ofSeconds(10));
+
+    static final String EVENT_NAME = "changes";
+
+    private final RosterReplica replica;
+    private final RosterProperties.Events properties;
+    private final URI uri;
+    private final ObjectMapper objectMapper;
+    private final HttpClient client;
+    private volatile Thread thread;
+    private volatile boolean running;
+    private volatile long lastReceived;
+    private ScheduledExecutorService watchdog;
+    // the version of the last event received, only used on the subscriber thread
+    private long position = RosterReplica.NO_VERSION;
+
+    public RosterEvents(
+            RosterReplica replica,
+            RosterProperties properties,
+            @Value("${employee.api.base-url}") String baseUrl,
+            ObjectMapper objectMapper) {
+        this.replica = replica;
+        this.properties = properties.getEvents();
+        this.uri = URI.create(baseUrl + "/events");
+        this.objectMapper = objectMapper;
+        this.client =
+                HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!properties.isEnabled() || running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "roster-events");
+        thread.setDaemon(true);
+        thread.start();
+        long idleCheck = Math.max(1, properties.getIdleTimeout().toMillis() / 3);
+        watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread watchdogThread = new Thread(runnable, "roster-events-watchdog");
+            watchdogThread.setDaemon(true);
+            return watchdogThread;
+        });
+        watchdog.scheduleWithFixedDelay(this::checkIdle, idleCheck, idleCheck, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        watchdog.shutdownNow();
+        // the blocked read of the event stream gives up when interrupted
+        thread.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        Duration delay = properties.getReconnectDelay();
+        while (running) {
+            try {
+                if (!subscribe()) {
+                    log.info("Upstream does not publish change events, syncing the roster on each read");
+                    return;
+                }
+            } catch (IOException | RuntimeException e) {
+                if (running) {
+                    failureLog.warn("Roster change events disconnected: {}", e.toString());
+                }
+            } finally {
+                replica.streamClosed();
+            }
+            if (!running) {
+                return;
+            }
+            // cleared in case the watchdog interrupted the read
+            Thread.interrupted();
+            if (lastReceived > 0) {
+                // the connection was up, start backing off afresh
+                delay = properties.getReconnectDelay();
+                lastReceived = 0;
+            }
+            try {
+                Thread.sleep(delay.toMillis());
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return;
+                }
+            }
+            delay = delay.multipliedBy(2);
+            if (delay.compareTo(properties.getMaxReconnectDelay()) > 0) {
+                delay = properties.getMaxReconnectDelay();
+            }
+        }
+    }
+
+    /*
+     * Reads events until the connection ends; false if the upstream has no event stream.
+     */
+    private boolean subscribe() throws IOException {
+        HttpRequest.Builder request =
+                HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(10)).header("Accept", "text/event-stream");
+        if (position != RosterReplica.NO_VERSION) {
+            request.header("Last-Event-ID", Long.toString(position));
+        }
+        HttpResponse<Stream<String>> response;
+        try {
+            response = client.send(request.build(), HttpResponse.BodyHandlers.ofLines());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while connecting", e);
+        }
+        try (Stream<String> lines = response.body()) {
+            if (response.statusCode() == 404 || response.statusCode() == 400) {
+                return false;
+            }
+            if (response.statusCode() != 200) {
+                throw new IOException("Upstream answered " + response.statusCode());
+            }
+            log.debug("Subscribed to roster change events after version {}", position);
+            lastReceived = System.nanoTime();
+            read(lines.iterator());
+            return true;
+        }
+    }
+
+    private void read(Iterator<String> lines) throws IOException {
+        String event = null;
+        StringBuilder data = new StringBuilder();
+        while (lines.hasNext()) {
+            String line = lines.next();
+            lastReceived = System.nanoTime();
+            if (line.isEmpty()) {
+                if (EVENT_NAME.equals(event) && !data.isEmpty()) {
+                    ExternalEmployeeChanges changes =
+                            objectMapper.readValue(data.toString(), ExternalEmployeeChanges.class);
+                    replica.pushed(position, changes);
+                    position = changes.getVersion();
+                }
+                event = null;
+                data.setLength(0);
+            } else if (!line.startsWith(":")) {
+                int colon = line.indexOf(':');
+                String field = colon < 0 ? line : line.substring(0, colon);
+                String value = colon < 0 ? "" : line.substring(colon + 1);
+                if (value.startsWith(" ")) {
+                    value = value.substring(1);
+                }
+                if (field.equals("event")) {
+                    event = value;
+                } else if (field.equals("data")) {
+                    if (!data.isEmpty()) {
+                        data.append('\n');
+                    }
+                    data.append(value);
+                }
+            }
+        }
+    }
+
+    private void checkIdle() {
+        long received = lastReceived;
+        if (received > 0
+                && System.nanoTime() - received > properties.getIdleTimeout().toNanos()) {
+            log.debug("No roster change events or heartbeats for {}, reconnecting", properties.getIdleTimeout());
+            lastReceived = 0;
+            thread.interrupt();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.reliaquest.api.roster;
+
+import com.reliaquest.api.dto.EmployeeDTO;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Compact binary roster file:
+ *
+ * <pre>
+ * int    magic "RQLG"
+ * short  format version
+ * long   fetchedAt, epoch millis
+ * int    employee count
+ * per employee: id, name, salary, age, title, email
+ *   strings: int byte length (-1 = null) + UTF-8 bytes, integers: int (Integer.MIN_VALUE = null)
+ * </pre>
+ *
+ * Writes go to a sibling temp file which is forced to disk and then atomically renamed over the target, so a reader
+ * (or a crash) never sees a half-written roster. Reads memory-map the file.
+ */
+public final class RosterFile {
+
+    private static final int MAGIC = 0x52514C47;
+    private static final short VERSION = 1;
+    private static final int NULL_LENGTH = -1;
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    // an employee of nulls: four string lengths and two integers
+    private static final int MIN_EMPLOYEE_SIZE = 6 * Integer.BYTES;
+
+    private RosterFile() {}
+
+    public static void write(Path file, RosterSnapshot snapshot) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(encode(snapshot));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * @return the roster stored in {@code file}, empty if there is none
+     * @throws IOException if the file exists but cannot be read or is not a roster file
+     */
+    public static Optional<RosterSnapshot> read(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return Optional.of(decode(buffer));
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt roster file " + file, e);
+        }
+    }
+
+    static byte[] encode(RosterSnapshot snapshot) throws IOException {
+        ByteArrayOutputStream bytes =
+                new ByteArrayOutputStream(64 + snapshot.employees().size() * 96);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(snapshot.fetchedAt().toEpochMilli());
+        out.writeInt(snapshot.employees().size());
+        for (EmployeeDTO employee : snapshot.employees()) {
+            writeString(out, employee.getId());
+            writeString(out, employee.getName());
+            writeInt(out, employee.getSalary());
+            writeInt(out, employee.getAge());
+            writeString(out, employee.getTitle());
+            writeString(out, employee.getEmail());
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    static RosterSnapshot decode(ByteBuffer in) {
+        if (in.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a roster file");
+        }
+        short version = in.getShort();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported roster file version " + version);
+        }
+        Instant fetchedAt = Instant.ofEpochMilli(in.getLong());
+        int count = in.getInt();
+        // checked before anything is allocated, so a corrupt count cannot run the heap out
+        if (count < 0 || count > in.remaining() / MIN_EMPLOYEE_SIZE) {
+            throw new IllegalArgumentException("Employee count " + count + " does not fit the roster file");
+        }
+        List<EmployeeDTO> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(EmployeeDTO.builder()
+                    .id(readString(in))
+                    .name(readString(in))
+                    .salary(readInt(in))
+                    .age(readInt(in))
+                    .title(readString(in))
+                    .email(readString(in))
+                    .build());
+        }
+        return new RosterSnapshot(employees, fetchedAt);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static void writeInt(DataOutputStream out, Integer value) throws IOException {
+        out.writeInt(value == null ? NULL_INT : value);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (length < 0 || length > in.remaining()) {
+            throw new IllegalArgumentException("String length " + length + " does not fit the roster file");
+        }
+        byte[] utf8 = new byte[length];
+        in.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static Integer readInt(ByteBuffer in) {
+        int value = in.getInt();
+        return value == NULL_INT ? null : value;
+    }
+}
@@ -0,0 +1,74 @@
+package com.reliaquest.api.roster;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "employee.roster")
+public class RosterProperties {
+
+    /*
+     * Download the full roster in cursor pages of this many employees instead of one response, which bounds the size
+     * of each upstream response. 0 fetches it in one request.
+     */
+    private int pageSize = 0;
+
+    /*
+     * Answer name searches, the highest salary and the top earners with the upstream's query endpoints when it offers
+     * them, rather than from the whole roster. While the event stream keeps the replica current they are answered
+     * locally anyway.
+     */
+    private boolean pushdown = true;
+
+    /*
+     * How long to answer from the roster before asking again which query endpoints the upstream offers, when asking
+     * failed.
+     */
+    private Duration pushdownProbeBackoff = Duration.ofSeconds(30);
+
+    /*
+     * How long to fetch the full roster before asking again for the upstream's change log, when it had none.
+     */
+    private Duration changesProbeBackoff = Duration.ofSeconds(30);
+
+    private LastKnownGood lastKnownGood = new LastKnownGood();
+
+    private Events events = new Events();
+
+    @Data
+    public static class LastKnownGood {
+
+        /*
+         * Serve the last successfully fetched roster (flagged as stale) when the upstream fails.
+         */
+        private boolean enabled = true;
+
+        /*
+         * Where the roster survives restarts. Blank keeps it in memory only.
+         */
+        private Path file = Path.of(System.getProperty("java.io.tmpdir"), "employee-api", "last-known-good-roster.bin");
+    }
+
+    @Data
+    public static class Events {
+
+        /*
+         * Subscribe to the upstream's change events and serve reads from the replica they keep current.
+         */
+        private boolean enabled = true;
+
+        /*
+         * First wait before reconnecting a dropped subscription, doubled on each failed attempt up to the maximum.
+         */
+        private Duration reconnectDelay = Duration.ofSeconds(1);
+
+        private Duration maxReconnectDelay = Duration.ofSeconds(30);
+
+        /*
+         * A subscription without events or heartbeats for this long is considered dropped.
+         */
+        private Duration idleTimeout = Duration.ofSeconds(45);
+    }
+}
@@ -0,0 +1,216 @@
+package com.reliaquest.api.roster;
+
+import com.reliaquest.api.constants.ErrorConstants;
+import com.reliaquest.api.dto.external.ExternalApiResponse;
+import com.reliaquest.api.dto.external.ExternalEmployeeChange;
+import com.reliaquest.api.dto.external.ExternalEmployeeChanges;
+import com.reliaquest.api.dto.external.ExternalEmployeeDTO;
+import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.exception.EmployeeServiceException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local copy of the upstream roster kept current with the upstream's change log: each sync asks for the changes since
+ * the local version and applies them, and only downloads the whole roster on the first sync, when the upstream's log
+ * was truncated past our version, or when the upstream restarted (new epoch).
+ *
+ * <p>The version is read before a full download, so changes that race with the download are delivered again by the
+ * next delta. Applying a change is idempotent (create = put by id, delete = remove by id), which makes that safe.
+ *
+ * <p>Upstreams without a change log (404/400 on {@code /changes}) are fully fetched, and only asked for changes again
+ * once {@code employee.roster.changes-probe-backoff} has passed, in case they were redeployed with one.
+ *
+ * <p>While {@link RosterEvents} is subscribed to the upstream's change events, pushed changes are applied as they
+ * arrive and syncs skip the upstream entirely, as long as the replica has caught up with the event stream. A push that
+ * does not follow on from the replica's version, a gap, is left to the next sync. After a write of our own
+ * ({@link #wrote()}) the next sync asks the upstream anyway, so a client reads its own writes without waiting for the
+ * event.
+ */
+@Slf4j
+@Component
+public class RosterReplica {
+
+    static final long NO_VERSION = -1;
+
+    private final AtomicReference<State> state = new AtomicReference<>();
+    private final RosterProperties properties;
+    // while set, the upstream had no change log and is not asked for one again before then
+    private volatile Instant changesRetryAt;
+    // the version the event stream has delivered up to, null while not subscribed
+    private volatile Pushed pushed;
+    private volatile boolean wrote;
+
+    public RosterReplica(RosterProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * @param changesSince upstream {@code GET /changes?since=}
+     * @param fullFetch upstream {@code GET /} returning the roster
+     * @return the current roster; the same list instance as long as nothing changed
+     */
+    public List<ExternalEmployeeDTO> sync(
+            LongFunction<ExternalApiResponse<ExternalEmployeeChanges>> changesSince,
+            Supplier<List<ExternalEmployeeDTO>> fullFetch) {
+        State base = state.get();
+        if (current(base)) {
+            return base.employees();
+        }
+        wrote = false;
+        Instant retryAt = changesRetryAt;
+        ExternalEmployeeChanges changes =
+                retryAt == null || !Instant.now().isBefore(retryAt) ? changes(changesSince, base) : null;
+        if (base != null
+                && changes != null
+                && !changes.isTruncated()
+                && Objects.equals(base.epoch(), changes.getEpoch())) {
+            return apply(base, base.version(), changes).employees();
+        }
+
+        List<ExternalEmployeeDTO> fetched = fullFetch.get();
+        // kept as fetched when complete, a fetch answering the same list again then syncs to the same instance
+        List<ExternalEmployeeDTO> employees = fetched.stream().anyMatch(Objects::isNull)
+                ? fetched.stream().filter(Objects::nonNull).toList()
+                : fetched;
+        if (changes != null) {
+            Map<String, ExternalEmployeeDTO> byId = new LinkedHashMap<>();
+            employees.forEach(employee -> byId.put(employee.getId(), employee));
+            state.set(new State(changes.getEpoch(), changes.getVersion(), byId, employees));
+            log.debug("Full roster sync: {} employees at version {}", employees.size(), changes.getVersion());
+        }
+        return employees;
+    }
+
+    /**
+     * Applies changes pushed by the upstream's event stream.
+     *
+     * @param from the version the stream had delivered up to before these changes, -1 for its first event
+     */
+    public void pushed(long from, ExternalEmployeeChanges changes) {
+        State base = state.get();
+        if (!changes.isTruncated()
+                && base != null
+                && Objects.equals(base.epoch(), changes.getEpoch())
+                && from >= 0
+                && base.version() >= from) {
+            apply(base, from, changes);
+        }
+        pushed = new Pushed(changes.getEpoch(), changes.getVersion());
+    }
+
+    /**
+     * The event stream ended; syncs ask the upstream again until it is back.
+     */
+    public void streamClosed() {
+        pushed = null;
+    }
+
+    /**
+     * We changed the upstream roster, the next sync must not rely on the event stream having delivered that yet.
+     */
+    public void wrote() {
+        wrote = true;
+    }
+
+    /**
+     * Whether the event stream keeps the replica current, so a sync would not ask the upstream.
+     */
+    public boolean isCurrent() {
+        return current(state.get());
+    }
+
+    /*
+     * Whether base has everything the event stream delivered, so the stream keeps it current.
+     */
+    private boolean current(State base) {
+        Pushed delivered = pushed;
+        return delivered != null
+                && !wrote
+                && base != null
+                && Objects.equals(base.epoch(), delivered.epoch())
+                && base.version() >= delivered.version();
+    }
+
+    private ExternalEmployeeChanges changes(
+            LongFunction<ExternalApiResponse<ExternalEmployeeChanges>> changesSince, State base) {
+        try {
+            ExternalApiResponse<ExternalEmployeeChanges> response =
+                    changesSince.apply(base == null ? NO_VERSION : base.version());
+            if (response != null && response.getData() != null) {
+                if (changesRetryAt != null) {
+                    log.info("Upstream provides a change log again, syncing by deltas");
+                    changesRetryAt = null;
+                }
+                return response.getData();
+            }
+        } catch (EmployeeNotFoundException e) {
+            // 404: no change log endpoint
+        } catch (EmployeeServiceException e) {
+            // 400: an older upstream reads /changes as an employee id
+            if (!ErrorConstants.INVALID_EMPLOYEE_ID.equals(e.getErrorCode())) {
+                throw e;
+            }
+        }
+        Duration backoff = properties.getChangesProbeBackoff();
+        if (changesRetryAt == null) {
+            log.info("Upstream does not provide a change log, falling back to full roster fetches for {}", backoff);
+        }
+        changesRetryAt = Instant.now().plus(backoff);
+        state.set(null);
+        return null;
+    }
+
+    /*
+     * Applies changes that follow on from version from onto base, or onto the state of a concurrent sync as long as that
+     * leaves no gap.
+     */
+    private State apply(State base, long from, ExternalEmployeeChanges changes) {
+        while (true) {
+            if (base.version() >= changes.getVersion()) {
+                return base;
+            }
+            Map<String, ExternalEmployeeDTO> byId = new LinkedHashMap<>(base.byId());
+            for (ExternalEmployeeChange change : changes.getChanges()) {
+                if (change.getVersion() <= base.version()) {
+                    continue;
+                }
+                switch (change.getType()) {
+                    case CREATED -> {
+                        if (change.getEmployee() != null) {
+                            byId.put(change.getId(), change.getEmployee());
+                        }
+                    }
+                    case DELETED -> byId.remove(change.getId());
+                }
+            }
+            State next = new State(base.epoch(), changes.getVersion(), byId, List.copyOf(byId.values()));
+            if (state.compareAndSet(base, next)) {
+                log.debug(
+                        "Applied {} roster changes, now at version {}",
+                        changes.getChanges().size(),
+                        next.version());
+                return next;
+            }
+            // another request synced concurrently, apply on top of its result
+            base = state.get();
+            if (base == null || !Objects.equals(base.epoch(), changes.getEpoch()) || base.version() < from) {
+                return next;
+            }
+        }
+    }
+
+    private record Pushed(String epoch, long version) {}
+
+    private record State(
+            String epoch, long version, Map<String, ExternalEmployeeDTO> byId, List<ExternalEmployeeDTO> employees) {}
+}
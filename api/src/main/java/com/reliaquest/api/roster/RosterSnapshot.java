@@ -0,0 +1,15 @@
+package com.reliaquest.api.roster;
+
+import com.reliaquest.api.dto.EmployeeDTO;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * An immutable roster as fetched from the upstream at {@code fetchedAt}.
+ */
+public record RosterSnapshot(List<EmployeeDTO> employees, Instant fetchedAt) {
+
+    public RosterSnapshot {
+        employees = List.copyOf(employees);
+    }
+}
@@ -0,0 +1,49 @@
+package com.reliaquest.api.roster;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.time.Instant;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Flags responses built from the last known good roster: {@code Warning: 110 - "Response is Stale"} plus an
+ * {@code Age} header with the roster's age in seconds.
+ */
+@ControllerAdvice
+public class StaleResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            HttpServletRequest servlet = servletRequest.getServletRequest();
+            if (servlet.getAttribute(LastKnownGoodRoster.STALE_SINCE_ATTRIBUTE) instanceof Instant fetchedAt) {
+                long age =
+                        Math.max(0, Duration.between(fetchedAt, Instant.now()).toSeconds());
+                response.getHeaders().set(HttpHeaders.WARNING, STALE_WARNING);
+                response.getHeaders().set(HttpHeaders.AGE, Long.toString(age));
+            }
+        }
+        return body;
+    }
+}
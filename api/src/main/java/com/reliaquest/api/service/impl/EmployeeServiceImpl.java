@@ -6,16 +6,33 @@ import com.reliaquest.api.dto.EmployeeDTO;
 import com.reliaquest.api.dto.external.ExternalApiResponse;
 import com.reliaquest.api.dto.external.ExternalEmployeeDTO;
 import com.reliaquest.api.dto.request.CreateEmployeeRequest;
+import com.reliaquest.api.exception.EmployeeNotFoundException;
 import com.reliaquest.api.exception.EmployeeServiceException;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.logging.RateLimitedLogger;
+import com.reliaquest.api.roster.LastKnownGoodRoster;
+import com.reliaquest.api.roster.PartialRoster;
+import com.reliaquest.api.roster.RosterProperties;
+import com.reliaquest.api.roster.RosterReplica;
 import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.timing.RequestTimings;
+import com.reliaquest.api.timing.TimingPhase;
+import feign.FeignException;
+import feign.RetryableException;
 import io.github.resilience4j.retry.annotation.Retry;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
@@ -24,7 +41,33 @@ import org.springframework.util.CollectionUtils;
 @Slf4j
 public class EmployeeServiceImpl implements EmployeeService {
 
+    // Upstream failures (404/429 included) can happen on every request, keep their logging bounded
+    private static final RateLimitedLogger failureLog =
+            new RateLimitedLogger(EmployeeServiceImpl.class, 5, Duration.ofSeconds(10));
+
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String QUERIES_HEADER = "X-Queries";
+    private static final String SEARCH_QUERY = "search";
+    private static final String MAX_SALARY_QUERY = "stats/maxSalary";
+    private static final String TOP_QUERY = "top";
+    private static final int TOP_EARNERS = 10;
+
     private final EmployeeApiClient employeeApiClient;
+    private final LastKnownGoodRoster lastKnownGoodRoster;
+    private final RosterReplica rosterReplica;
+    private final RosterProperties rosterProperties;
+
+    // The replica hands out the same list until the roster changes, so its mapping can be reused
+    private volatile MappedRoster mappedRoster;
+
+    // The query endpoints the upstream offers, null until learned
+    private volatile Set<String> upstreamQueries;
+
+    // A failed HEAD is not repeated before then, null when it hasn't failed
+    private volatile Instant probeRetryAt;
+
+    private record MappedRoster(List<ExternalEmployeeDTO> source, List<EmployeeDTO> employees) {
+    }
 
     //  Core API Calls
     @Retry(name = "employee-api")
@@ -32,7 +75,9 @@ public class EmployeeServiceImpl implements EmployeeService {
         log.debug("Starting API call to fetch all employees using Feign client");
 
         try {
-            ExternalApiResponse<List<ExternalEmployeeDTO>> response = employeeApiClient.getAllEmployees();
+            int pageSize = rosterProperties.getPageSize();
+            ExternalApiResponse<List<ExternalEmployeeDTO>> response =
+                    pageSize > 0 ? fetchEmployeePagesFromApi(pageSize) : employeeApiClient.getAllEmployees();
 
             // If response null return empty list
             if (response == null) {
@@ -46,25 +91,48 @@ public class EmployeeServiceImpl implements EmployeeService {
                 response.setData(Collections.emptyList());
             }
 
-            log.info("Successfully fetched {} employees from external api", response.getData().size());
+            log.debug("Successfully fetched {} employees from external api", response.getData().size());
             return response;
 
         } catch (Exception e) {
-            log.error("error occured while fetching employees from external API: {}", e.getMessage(), e);
+            failureLog.warn("error occured while fetching employees from external API: {}", e.getMessage());
             throw e;
         }
     }
 
+    // Walks the upstream's cursor pages; an upstream without paging ignores the parameters and returns everything at once
+    private ExternalApiResponse<List<ExternalEmployeeDTO>> fetchEmployeePagesFromApi(int pageSize) {
+        List<ExternalEmployeeDTO> employees = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            ResponseEntity<ExternalApiResponse<List<ExternalEmployeeDTO>>> page =
+                    employeeApiClient.getEmployeesPage(pageSize, cursor);
+            if (page == null || page.getBody() == null || page.getBody().getData() == null) {
+                break;
+            }
+            employees.addAll(page.getBody().getData());
+            cursor = page.getHeaders().getFirst(NEXT_CURSOR_HEADER);
+            pages++;
+        } while (cursor != null);
+
+        log.debug("Fetched {} employees in {} pages", employees.size(), pages);
+        return ExternalApiResponse.<List<ExternalEmployeeDTO>>builder()
+                .data(employees)
+                .status("success")
+                .build();
+    }
+
     @Retry(name = "employee-api")  // retry logic with exponential backoff
     private ExternalApiResponse<ExternalEmployeeDTO> fetchEmployeeByIdFromApi(String id) {
         log.debug("Initiating API call to fetch employee details for ID: {}", id);
         
         try {
             ExternalApiResponse<ExternalEmployeeDTO> response = employeeApiClient.getEmployeeById(id);
-            log.info("Successfully retrieved employee data for ID: {}", id);
+            log.debug("Successfully retrieved employee data for ID: {}", id);
             return response;
         } catch (Exception e) {
-            log.error("Failed to fetch employee with ID: {}. Error: {}", id, e.getMessage(), e);
+            failureLog.warn("Failed to fetch employee with ID: {}. Error: {}", id, e.getMessage());
             throw e;
         }
     }
@@ -75,10 +143,10 @@ public class EmployeeServiceImpl implements EmployeeService {
         
         try {
             ExternalApiResponse<ExternalEmployeeDTO> response = employeeApiClient.createEmployee(request);
-            log.info("Successfully created employee: {} in external system", request.getName());
+            log.debug("Successfully created employee: {} in external system", request.getName());
             return response;
         } catch (Exception e) {
-            log.error("Failed to create employee: {}. Error details: {}", request.getName(), e.getMessage(), e);
+            failureLog.warn("Failed to create employee: {}. Error details: {}", request.getName(), e.getMessage());
             throw e;
         }
     }
@@ -89,30 +157,89 @@ public class EmployeeServiceImpl implements EmployeeService {
         
         try {
             employeeApiClient.deleteEmployee(name);
-            log.info("Successfully deleted employee: {} from external system", name);
+            log.debug("Successfully deleted employee: {} from external system", name);
         } catch (Exception e) {
-            log.error("Failed to delete employee: {}. Error: {}", name, e.getMessage(), e);
+            failureLog.warn("Failed to delete employee: {}. Error: {}", name, e.getMessage());
             throw e;
         }
     }
 
+    /*
+     * Whether to answer with the upstream's query endpoint rather than from the roster: the upstream offers it, as the
+     * X-Queries header of a HEAD of the list tells, and the event stream doesn't keep the replica current, in which
+     * case the roster is at hand without asking the upstream at all.
+     */
+    private boolean pushdown(String query) {
+        if (!rosterProperties.isPushdown() || rosterReplica.isCurrent()) {
+            return false;
+        }
+        Set<String> queries = upstreamQueries;
+        if (queries == null) {
+            Instant retryAt = probeRetryAt;
+            if (retryAt != null && Instant.now().isBefore(retryAt)) {
+                return false;
+            }
+            try {
+                ResponseEntity<Void> head = employeeApiClient.headEmployees();
+                String offered = head == null ? null : head.getHeaders().getFirst(QUERIES_HEADER);
+                queries = offered == null
+                        ? Set.of()
+                        : Arrays.stream(offered.split(",")).map(String::trim).collect(Collectors.toSet());
+            } catch (EmployeeNotFoundException | FeignException.MethodNotAllowed e) {
+                // no HEAD on the list, so no query endpoints either
+                queries = Set.of();
+            } catch (Exception e) {
+                // throttled or down: answered from the roster, without asking again on every call
+                Duration backoff = rosterProperties.getPushdownProbeBackoff();
+                probeRetryAt = Instant.now().plus(backoff);
+                failureLog.warn("Could not learn the upstream's query endpoints, trying again in {}: {}", backoff, e.getMessage());
+                return false;
+            }
+            upstreamQueries = queries;
+            probeRetryAt = null;
+            log.info("Upstream query endpoints: {}", queries.isEmpty() ? "none" : queries);
+        }
+        return queries.contains(query);
+    }
+
+    /*
+     * The roster to answer a failed query from. An upstream that throttles or is down would fail the roster download
+     * as well, so the last known good roster is served (or the failure thrown) and the endpoints stay as learned. An
+     * upstream that no longer has the endpoint (404/405) was replaced, its endpoints are learned again and the roster
+     * fetched; so is it on any other failure, which leaves the endpoints alone.
+     */
+    private List<EmployeeDTO> pushdownFailed(String query, RuntimeException e) {
+        if (e instanceof TooManyRequestsException
+                || e instanceof RetryableException
+                || (e instanceof EmployeeServiceException serviceException
+                        && ErrorConstants.EMPLOYEE_API_UNAVAILABLE.equals(serviceException.getErrorCode()))) {
+            failureLog.warn("Upstream {} query failed, answering from the last known good roster: {}", query, e.getMessage());
+            return lastKnownGoodRoster.fallback(e);
+        }
+        if (e instanceof EmployeeNotFoundException || e instanceof FeignException.MethodNotAllowed) {
+            upstreamQueries = null;
+        }
+        failureLog.warn("Upstream {} query failed, answering from the roster: {}", query, e.getMessage());
+        return getAllEmployees();
+    }
+
     // Utility Methods
 
     private List<EmployeeDTO> mapToEmployeeDTOList(List<ExternalEmployeeDTO> externalEmployees) {
         log.debug("Converting {} external employee records to internal format", externalEmployees.size());
-        
+
+        long mappingStart = RequestTimings.start();
         List<EmployeeDTO> mappedEmployees = externalEmployees.stream()
                 .filter(Objects::nonNull)
                 .map(this::mapToEmployeeDTO)
                 .collect(Collectors.toList());
-                
+        RequestTimings.stop(TimingPhase.MAPPING, mappingStart);
+
         log.debug("Successfully converted {} employee records", mappedEmployees.size());
         return mappedEmployees;
     }
 
     private EmployeeDTO mapToEmployeeDTO(ExternalEmployeeDTO emp) {
-        log.trace("Mapping employee: {} (ID: {})", emp.getEmployeeName(), emp.getId());
-        
         return EmployeeDTO.builder()
                 .id(emp.getId())
                 .name(emp.getEmployeeName())
@@ -126,15 +253,38 @@ public class EmployeeServiceImpl implements EmployeeService {
     //Service methods
     @Override
     public List<EmployeeDTO> getAllEmployees() {
-        log.info("fetching all employees from service");
-        List<EmployeeDTO> employees = mapToEmployeeDTOList(fetchEmployeesFromApi().getData());
-        log.info("successfully retrieved {} employees", employees.size());
-        return employees;
+        log.debug("fetching all employees from service");
+        List<ExternalEmployeeDTO> externalEmployees;
+        try {
+            // applies the upstream's changes since our version, downloads everything only when it has to
+            externalEmployees = rosterReplica.sync(employeeApiClient::getChanges, () -> fetchEmployeesFromApi().getData());
+        } catch (RuntimeException e) {
+            // upstream throttling or down: serve the last good roster (flagged stale) if we have one
+            return lastKnownGoodRoster.fallback(e);
+        }
+
+        MappedRoster mapped = mappedRoster;
+        boolean changed = mapped == null || mapped.source() != externalEmployees;
+        if (changed) {
+            mapped = new MappedRoster(externalEmployees, Collections.unmodifiableList(mapToEmployeeDTOList(externalEmployees)));
+            mappedRoster = mapped;
+        }
+        // a roster some shards were missing from is served, but is no good to fall back on
+        if (PartialRoster.missing() == null) {
+            if (changed) {
+                lastKnownGoodRoster.update(mapped.employees());
+            } else {
+                // unchanged since the last sync, but just as current as it: keeps the stale Age honest
+                lastKnownGoodRoster.confirmed();
+            }
+        }
+        log.debug("successfully retrieved {} employees", mapped.employees().size());
+        return mapped.employees();
     }
 
     @Override
     public List<EmployeeDTO> getEmployeesByNameSearch(String searchString) {
-        log.info("Received request to search employees by name pattern: '{}'", searchString);
+        log.debug("Received request to search employees by name pattern: '{}'", searchString);
         
         // Input validation
         if (Objects.isNull(searchString) || searchString.isBlank()) {
@@ -142,43 +292,58 @@ public class EmployeeServiceImpl implements EmployeeService {
             throw new EmployeeServiceException(ErrorConstants.INVALID_SEARCH_STRING);
         }
 
+        List<EmployeeDTO> roster = null;
+        if (pushdown(SEARCH_QUERY)) {
+            ExternalApiResponse<List<ExternalEmployeeDTO>> found = null;
+            try {
+                found = employeeApiClient.searchEmployees(searchString);
+            } catch (RuntimeException e) {
+                roster = pushdownFailed(SEARCH_QUERY, e);
+            }
+            if (found != null && found.getData() != null) {
+                log.debug("Upstream search found {} employees matching pattern '{}'", found.getData().size(), searchString);
+                return mapToEmployeeDTOList(found.getData());
+            }
+        }
+
         log.debug("Fetching all employees to perform name-based filtering");
-        List<EmployeeDTO> allEmployees = getAllEmployees();
+        List<EmployeeDTO> allEmployees = roster != null ? roster : getAllEmployees();
         
         // for case-insensitive search
         List<EmployeeDTO> matchingEmployees = allEmployees.stream()
                 .filter(emp -> emp.getName().toLowerCase().contains(searchString.toLowerCase()))
                 .collect(Collectors.toList());
                 
-        log.info("Search completed - found {} employees matching pattern '{}' out of {} total employees", 
+        log.debug("Search completed - found {} employees matching pattern '{}' out of {} total employees", 
                 matchingEmployees.size(), searchString, allEmployees.size());
         return matchingEmployees;
     }
 
     @Override
     public EmployeeDTO getEmployeeById(String id) {
-        log.info("Fetching employee by ID: {}", id);
+        log.debug("Fetching employee by ID: {}", id);
         if (Objects.isNull(id) || id.isBlank()) {
             log.warn("Invalid employee ID provided: {}", id);
             throw new EmployeeServiceException(ErrorConstants.INVALID_EMPLOYEE_ID);
         }
 
         EmployeeDTO employee = mapToEmployeeDTO(fetchEmployeeByIdFromApi(id).getData());
-        log.info("Succesfully retrieved employee with id: {} and name: {}", id, employee.getName());
+        log.debug("Succesfully retrieved employee with id: {} and name: {}", id, employee.getName());
         return employee;
     }
 
     @Override
     public EmployeeDTO createEmployee(CreateEmployeeRequest request) {
-        log.info("Creating new employee: {}", request.getName());
+        log.debug("Creating new employee: {}", request.getName());
         EmployeeDTO createdEmployee = mapToEmployeeDTO(createEmployeeInApi(request).getData());
+        rosterReplica.wrote();
         log.info("Successfully created employee with ID: {} and name: {}", createdEmployee.getId(), createdEmployee.getName());
         return createdEmployee;
     }
 
     @Override
     public String deleteEmployeeById(String id) {
-        log.info("Deleting employee by ID: {}", id);
+        log.debug("Deleting employee by ID: {}", id);
         if (Objects.isNull(id) || id.isBlank()) {
             log.warn("Invalid employee ID provided for deletion: {}", id);
             throw new EmployeeServiceException(ErrorConstants.INVALID_EMPLOYEE_ID);
@@ -189,6 +354,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         log.debug("Found employee to delete - ID: {}, Name: {}", id, name);
 
         deleteEmployeeInApi(name);
+        rosterReplica.wrote();
         String result = "Employee with ID " + id + " deleted successfully.";
         log.info("Successfully deleted employee with ID: {} and name: {}", id, name);
         return result;
@@ -196,8 +362,25 @@ public class EmployeeServiceImpl implements EmployeeService {
 
     @Override
     public Integer getHighestSalaryOfEmployees() {
-        log.info("Calculating highest salary among all employees");
-        Integer highestSalary = getAllEmployees().stream()
+        log.debug("Calculating highest salary among all employees");
+        List<EmployeeDTO> roster = null;
+        if (pushdown(MAX_SALARY_QUERY)) {
+            ExternalApiResponse<Integer> max = null;
+            try {
+                max = employeeApiClient.getMaxSalary();
+            } catch (RuntimeException e) {
+                roster = pushdownFailed(MAX_SALARY_QUERY, e);
+            }
+            if (max != null) {
+                if (max.getData() == null) {
+                    log.warn("No salary data available for employees");
+                    throw new EmployeeServiceException(ErrorConstants.EMPLOYEE_NO_DATA);
+                }
+                log.debug("Upstream reported highest salary: {}", max.getData());
+                return max.getData();
+            }
+        }
+        Integer highestSalary = (roster != null ? roster : getAllEmployees()).stream()
                 .filter(emp -> emp.getSalary() != null)
                 .map(EmployeeDTO::getSalary)
                 .max(Integer::compareTo)
@@ -205,14 +388,32 @@ public class EmployeeServiceImpl implements EmployeeService {
                     log.warn("No salary data available for employees");
                     return new EmployeeServiceException(ErrorConstants.EMPLOYEE_NO_DATA);
                 });
-        log.info("Successfully calculated highest salary: {}", highestSalary);
+        log.debug("Successfully calculated highest salary: {}", highestSalary);
         return highestSalary;
     }
 
     @Override
     public List<String> getTopTenHighestEarningEmployeeNames() {
-        log.info("Retrieving top ten highest earning employee names");
-        List<EmployeeDTO> employees = getAllEmployees();
+        log.debug("Retrieving top ten highest earning employee names");
+        List<EmployeeDTO> roster = null;
+        if (pushdown(TOP_QUERY)) {
+            ExternalApiResponse<List<ExternalEmployeeDTO>> top = null;
+            try {
+                top = employeeApiClient.getTopEmployees("salary", TOP_EARNERS, "name");
+            } catch (RuntimeException e) {
+                roster = pushdownFailed(TOP_QUERY, e);
+            }
+            if (top != null && top.getData() != null) {
+                // salaries are mandatory upstream, so only an empty roster has no top earners
+                if (top.getData().isEmpty()) {
+                    log.warn("No employee data available for top earners calculation");
+                    throw new EmployeeServiceException(ErrorConstants.EMPLOYEE_NO_DATA);
+                }
+                log.debug("Upstream reported {} top earning employee names", top.getData().size());
+                return top.getData().stream().map(ExternalEmployeeDTO::getEmployeeName).collect(Collectors.toList());
+            }
+        }
+        List<EmployeeDTO> employees = roster != null ? roster : getAllEmployees();
         if (CollectionUtils.isEmpty(employees)) {
             log.warn("No employee data available for top earners calculation");
             throw new EmployeeServiceException(ErrorConstants.EMPLOYEE_NO_DATA);
@@ -221,10 +422,10 @@ public class EmployeeServiceImpl implements EmployeeService {
         List<String> topEarners = employees.stream()
                 .filter(emp -> emp.getSalary() != null)
                 .sorted((e1, e2) -> e2.getSalary().compareTo(e1.getSalary()))
-                .limit(10)
+                .limit(TOP_EARNERS)
                 .map(EmployeeDTO::getName)
                 .collect(Collectors.toList());
-        log.info("Successfully retrieved {} top earning employee names", topEarners.size());
+        log.debug("Successfully retrieved {} top earning employee names", topEarners.size());
         return topEarners;
     }
 }
@@ -0,0 +1,44 @@
+package com.reliaquest.api.shard;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.roster.RosterProperties;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.openfeign.FeignClientBuilder;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * With {@code employee.shards.urls} set, the service talks to a {@link ShardedEmployeeApiClient} over one Feign
+ * client per shard, configured like the single upstream's ({@code employee-api}) apart from the url.
+ */
+@Slf4j
+@Configuration
+@Conditional(ShardsConfigured.class)
+public class ShardConfiguration {
+
+    @Bean
+    @Primary
+    public ShardedEmployeeApiClient shardedEmployeeApiClient(
+            ApplicationContext context,
+            ShardProperties properties,
+            RosterProperties rosterProperties,
+            ObjectMapper objectMapper) {
+        FeignClientBuilder builder = new FeignClientBuilder(context);
+        List<EmployeeApiClient> clients = properties.getUrls().stream()
+                .map(url -> builder.forType(EmployeeApiClient.class, "employee-api")
+                        .url(url)
+                        .build())
+                .toList();
+        log.info(
+                "Reading the roster from {} shards {}, partial failures: {}",
+                clients.size(),
+                properties.getUrls(),
+                properties.getPartialFailure());
+        return new ShardedEmployeeApiClient(properties.getUrls(), clients, properties, rosterProperties, objectMapper);
+    }
+}
@@ -0,0 +1,49 @@
+package com.reliaquest.api.shard;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "employee.shards")
+public class ShardProperties {
+
+    /*
+     * Base urls of the upstream shards, each holding part of the roster. Empty uses the single upstream at
+     * employee.api.base-url.
+     */
+    private List<String> urls = new ArrayList<>();
+
+    /*
+     * What a read does when some of the shards fail or do not answer within the timeout.
+     */
+    private PartialFailure partialFailure = PartialFailure.FAIL;
+
+    /*
+     * How long a read waits for all shards to answer.
+     */
+    private Duration timeout = Duration.ofSeconds(10);
+
+    /*
+     * Points per shard on the hash ring that routes writes. More points spread names more evenly.
+     */
+    private int virtualNodes = 160;
+
+    /*
+     * Threads calling the shards, shared by all requests.
+     */
+    private int threads = 32;
+
+    public enum PartialFailure {
+        /*
+         * The read fails as a whole, as with a single upstream: the roster falls back to the last known good one.
+         */
+        FAIL,
+        /*
+         * The read is answered from the shards that did, flagged with a Warning header, as long as one did.
+         */
+        PARTIAL
+    }
+}
@@ -0,0 +1,92 @@
+package com.reliaquest.api.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Consistent hash ring that assigns employee names to shards. Each shard is placed on the ring at
+ * {@code virtualNodes} points derived from its url, a name belongs to the shard of the first point at or after the
+ * name's hash. Adding or removing a shard only moves the names between it and its neighbours, and reordering the urls
+ * moves none.
+ *
+ * <p>Names are hashed by the caseless key the upstream matches them by for deletes (see {@link #fold}), so every spelling
+ * the upstream takes for the same employee is routed to the shard that has it.
+ */
+public final class ShardRing {
+
+    private final long[] points;
+    private final int[] shards;
+
+    public ShardRing(List<String> urls, int virtualNodes) {
+        if (urls.isEmpty() || virtualNodes < 1) {
+            throw new IllegalArgumentException("A ring needs at least one shard and one virtual node per shard");
+        }
+        long[] hashes = new long[urls.size() * virtualNodes];
+        int[] owners = new int[hashes.length];
+        Integer[] order = new Integer[hashes.length];
+        for (int shard = 0; shard < urls.size(); shard++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                int point = shard * virtualNodes + node;
+                hashes[point] = hash(urls.get(shard) + "#" + node);
+                owners[point] = shard;
+                order[point] = point;
+            }
+        }
+        // ties, however unlikely, go to the shard listed first so every instance builds the same ring
+        Arrays.sort(order, (a, b) -> hashes[a] != hashes[b] ? Long.compare(hashes[a], hashes[b]) : a - b);
+        points = new long[order.length];
+        shards = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            points[i] = hashes[order[i]];
+            shards[i] = owners[order[i]];
+        }
+    }
+
+    /**
+     * The index, in the configured urls, of the shard the name belongs to.
+     */
+    public int shardFor(String name) {
+        long hash = hash(name == null ? "" : fold(name));
+        int index = Arrays.binarySearch(points, hash);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return shards[index == points.length ? 0 : index];
+    }
+
+    /*
+     * The mock server's caseless name key (MockEmployeeStore.fold): full case mappings folded lower, upper and lower
+     * again, so "Straße" and "STRASSE" meet, then composed (NFC), so decomposed accents meet their composed form.
+     */
+    static String fold(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) >= 0x80) {
+                String folded =
+                        name.toLowerCase(Locale.ROOT).toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+                return Normalizer.normalize(folded, Normalizer.Form.NFC);
+            }
+        }
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /*
+     * 64-bit FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 mix so that similar keys (url#1, url#2) land
+     * far apart. Defined by the bytes alone, so every api instance routes a name to the same shard.
+     */
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
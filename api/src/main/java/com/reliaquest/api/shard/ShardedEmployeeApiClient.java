@@ -0,0 +1,509 @@
+package com.reliaquest.api.shard;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.constants.ErrorConstants;
+import com.reliaquest.api.dto.external.ExternalApiResponse;
+import com.reliaquest.api.dto.external.ExternalEmployeeChanges;
+import com.reliaquest.api.dto.external.ExternalEmployeeDTO;
+import com.reliaquest.api.dto.request.CreateEmployeeRequest;
+import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.exception.EmployeeServiceException;
+import com.reliaquest.api.logging.RateLimitedLogger;
+import com.reliaquest.api.roster.PartialRoster;
+import com.reliaquest.api.roster.RosterEvents;
+import com.reliaquest.api.roster.RosterProperties;
+import com.reliaquest.api.roster.RosterReplica;
+import com.reliaquest.api.timing.RequestTimings;
+import com.reliaquest.api.timing.TimingPhase;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * {@link EmployeeApiClient} over several upstream shards, each holding part of the roster. Reads go to all shards in
+ * parallel and their answers are merged: the roster is the shards' rosters one after another, a search the union of
+ * the shards' matches, the highest salary the highest of the shards' and the top earners a merge of each shard's top
+ * earners. Creates and deletes go to the one shard the {@link ShardRing} assigns the employee's name to. Lookups by id
+ * ask every shard, as an id says nothing about its shard, and are answered by the first shard that has it.
+ *
+ * <p>Each shard's roster is kept by a {@link RosterReplica} of its own, synced with that shard's change log and events,
+ * so a read only downloads what changed on each shard. The merged roster is the same list instance as long as no shard
+ * changed; it has no change log of its own. Queries are answered from a shard's replica while its event stream keeps
+ * it current, and by the shard's query endpoints otherwise.
+ *
+ * <p>A shard that fails, or does not answer within {@code employee.shards.timeout}, fails the read, or with
+ * {@code partial-failure: partial} is left out of it and the response is flagged (see {@link PartialRoster}).
+ */
+@Slf4j
+public class ShardedEmployeeApiClient implements EmployeeApiClient, SmartLifecycle {
+
+    private static final RateLimitedLogger failureLog =
+            new RateLimitedLogger(ShardedEmployeeApiClient.class, 5, Duration.ofSeconds(10));
+
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private static final String QUERIES_HEADER = "X-Queries";
+    private static final Set<String> SALARY_FIELDS = Set.of("salary", "employee_salary");
+
+    // highest salary first, the shard listed first on ties
+    private static final Comparator<Cursor> BY_HEAD = Comparator.<Cursor>comparingInt(cursor -> salary(cursor.head()))
+            .reversed()
+            .thenComparingInt(Cursor::shard);
+
+    private final List<Shard> shards;
+    private final ShardRing ring;
+    private final ShardProperties properties;
+    private final RosterProperties rosterProperties;
+    private final ExecutorService executor;
+    private volatile Merged merged;
+    private volatile boolean running;
+
+    public ShardedEmployeeApiClient(
+            List<String> urls,
+            List<EmployeeApiClient> clients,
+            ShardProperties properties,
+            RosterProperties rosterProperties,
+            ObjectMapper objectMapper) {
+        List<Shard> shards = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            RosterReplica replica = new RosterReplica(rosterProperties);
+            shards.add(new Shard(
+                    urls.get(i),
+                    clients.get(i),
+                    replica,
+                    new RosterEvents(replica, rosterProperties, urls.get(i), objectMapper)));
+        }
+        this.shards = List.copyOf(shards);
+        this.ring = new ShardRing(urls, properties.getVirtualNodes());
+        this.properties = properties;
+        this.rosterProperties = rosterProperties;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(properties.getThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "shard-fan-out-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public ExternalApiResponse<List<ExternalEmployeeDTO>> getAllEmployees() {
+        return response(concatenate(fanOut(this::roster)));
+    }
+
+    // The merged roster comes in one page, the shards themselves are read in pages of employee.roster.page-size
+    @Override
+    public ResponseEntity<ExternalApiResponse<List<ExternalEmployeeDTO>>> getEmployeesPage(int size, String cursor) {
+        return ResponseEntity.ok(getAllEmployees());
+    }
+
+    // The shards' sizes summed up, and the query endpoints all of them offer
+    @Override
+    public ResponseEntity<Void> headEmployees() {
+        long total = 0;
+        boolean counted = true;
+        Set<String> queries = null;
+        for (ResponseEntity<Void> head : fanOut(shard -> shard.client().headEmployees())) {
+            if (head == null) {
+                continue;
+            }
+            String count = head.getHeaders().getFirst(TOTAL_COUNT_HEADER);
+            if (count == null) {
+                counted = false;
+            } else {
+                total += Long.parseLong(count.trim());
+            }
+            String offered = head.getHeaders().getFirst(QUERIES_HEADER);
+            Set<String> shardQueries = offered == null
+                    ? Set.of()
+                    : Arrays.stream(offered.split(","))
+                            .map(String::trim)
+                            .collect(Collectors.toCollection(LinkedHashSet::new));
+            if (queries == null) {
+                queries = new LinkedHashSet<>(shardQueries);
+            } else {
+                queries.retainAll(shardQueries);
+            }
+        }
+        HttpHeaders headers = new HttpHeaders();
+        if (counted) {
+            headers.set(TOTAL_COUNT_HEADER, Long.toString(total));
+        }
+        if (queries != null && !queries.isEmpty()) {
+            headers.set(QUERIES_HEADER, String.join(", ", queries));
+        }
+        return new ResponseEntity<>(headers, HttpStatus.OK);
+    }
+
+    @Override
+    public ExternalApiResponse<List<ExternalEmployeeDTO>> searchEmployees(String name) {
+        String fragment = name.toLowerCase(Locale.ROOT);
+        Map<String, ExternalEmployeeDTO> union = new LinkedHashMap<>();
+        for (List<ExternalEmployeeDTO> found : fanOut(shard -> shard.replica().isCurrent()
+                ? matching(roster(shard), fragment)
+                : data(shard.client().searchEmployees(name)))) {
+            if (found != null) {
+                found.stream()
+                        .filter(Objects::nonNull)
+                        .forEach(employee -> union.putIfAbsent(employee.getId(), employee));
+            }
+        }
+        return response(List.copyOf(union.values()));
+    }
+
+    @Override
+    public ExternalApiResponse<Integer> getMaxSalary() {
+        Integer max = fanOut(shard -> shard.replica().isCurrent()
+                        ? highestSalary(roster(shard))
+                        : data(shard.client().getMaxSalary()))
+                .stream()
+                .filter(Objects::nonNull)
+                .max(Integer::compare)
+                .orElse(null);
+        return response(max);
+    }
+
+    // Each shard's n highest earners merged; the salary is always asked for, the merge needs it
+    @Override
+    public ExternalApiResponse<List<ExternalEmployeeDTO>> getTopEmployees(String by, int n, String fields) {
+        String ranked = withSalary(fields);
+        return response(mergeTop(
+                fanOut(shard -> shard.replica().isCurrent()
+                        ? highestPaid(roster(shard), n)
+                        : data(shard.client().getTopEmployees(by, n, ranked))),
+                n));
+    }
+
+    // The shards' change logs are followed shard by shard; like an upstream without one, callers fetch the roster
+    @Override
+    public ExternalApiResponse<ExternalEmployeeChanges> getChanges(long since) {
+        throw new EmployeeNotFoundException(ErrorConstants.EMPLOYEE_NOT_FOUND);
+    }
+
+    @Override
+    public ExternalApiResponse<ExternalEmployeeDTO> getEmployeeById(String id) {
+        CompletableFuture<ExternalApiResponse<ExternalEmployeeDTO>> found = new CompletableFuture<>();
+        List<CompletableFuture<Void>> lookups = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> shard.client().getEmployeeById(id), executor)
+                        .thenAccept(response -> {
+                            if (response != null && response.getData() != null) {
+                                found.complete(response);
+                            }
+                        }))
+                .toList();
+        await(CompletableFuture.anyOf(found, CompletableFuture.allOf(lookups.toArray(CompletableFuture[]::new))));
+        if (found.isDone()) {
+            lookups.forEach(lookup -> lookup.cancel(true));
+            return found.join();
+        }
+        // not found anywhere; that is only the answer if every shard said so
+        for (CompletableFuture<Void> lookup : lookups) {
+            RuntimeException failure = failure(lookup);
+            if (failure != null && !(failure instanceof EmployeeNotFoundException)) {
+                throw failure;
+            }
+        }
+        throw new EmployeeNotFoundException(ErrorConstants.EMPLOYEE_NOT_FOUND);
+    }
+
+    @Override
+    public ExternalApiResponse<ExternalEmployeeDTO> createEmployee(CreateEmployeeRequest request) {
+        Shard shard = owner(request.getName());
+        ExternalApiResponse<ExternalEmployeeDTO> created = shard.client().createEmployee(request);
+        shard.replica().wrote();
+        return created;
+    }
+
+    @Override
+    public void deleteEmployee(String name) {
+        Shard shard = owner(name);
+        shard.client().deleteEmployee(name);
+        shard.replica().wrote();
+    }
+
+    @Override
+    public void start() {
+        shards.forEach(shard -> shard.events().start());
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        shards.forEach(shard -> shard.events().stop());
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private Shard owner(String name) {
+        Shard shard = shards.get(ring.shardFor(name));
+        log.debug("Employee {} belongs to shard {}", name, shard.url());
+        return shard;
+    }
+
+    /*
+     * Calls every shard in parallel and waits for all of them, up to the timeout. The answers are in shard order, null
+     * for a shard that failed when the policy leaves it out; otherwise the first failure is thrown.
+     */
+    private <T> List<T> fanOut(Function<Shard, T> call) {
+        List<CompletableFuture<T>> calls = new ArrayList<>(shards.size());
+        for (Shard shard : shards) {
+            calls.add(CompletableFuture.supplyAsync(() -> call.apply(shard), executor));
+        }
+        await(CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)));
+
+        List<T> answers = new ArrayList<>(shards.size());
+        RuntimeException firstFailure = null;
+        int missing = 0;
+        for (int i = 0; i < calls.size(); i++) {
+            RuntimeException failure = failure(calls.get(i));
+            if (failure == null) {
+                answers.add(calls.get(i).join());
+                continue;
+            }
+            failureLog.warn("Shard {} failed: {}", shards.get(i).url(), failure.getMessage());
+            answers.add(null);
+            firstFailure = firstFailure == null ? failure : firstFailure;
+            missing++;
+        }
+        if (missing > 0) {
+            if (properties.getPartialFailure() == ShardProperties.PartialFailure.FAIL || missing == shards.size()) {
+                throw firstFailure;
+            }
+            PartialRoster.mark(missing + " of " + shards.size() + " shards did not answer");
+        }
+        return answers;
+    }
+
+    // The wait for the shards counts as upstream time, their calls run on other threads than the request's
+    private void await(CompletableFuture<?> calls) {
+        long start = RequestTimings.start();
+        try {
+            calls.get(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // told apart call by call
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EmployeeServiceException(ErrorConstants.EMPLOYEE_API_UNAVAILABLE, e);
+        } finally {
+            RequestTimings.stop(TimingPhase.UPSTREAM, start);
+        }
+    }
+
+    /*
+     * Null if the call succeeded. A call still running is given up; cancelling doesn't interrupt it, the Feign read
+     * timeout ends it.
+     */
+    private static RuntimeException failure(CompletableFuture<?> call) {
+        if (!call.isDone()) {
+            call.cancel(true);
+            return new EmployeeServiceException(ErrorConstants.EMPLOYEE_API_UNAVAILABLE);
+        }
+        try {
+            call.join();
+            return null;
+        } catch (CompletionException e) {
+            return e.getCause() instanceof RuntimeException cause
+                    ? cause
+                    : new EmployeeServiceException(ErrorConstants.EMPLOYEE_API_UNAVAILABLE, e.getCause());
+        } catch (CancellationException e) {
+            return new EmployeeServiceException(ErrorConstants.EMPLOYEE_API_UNAVAILABLE, e);
+        }
+    }
+
+    private List<ExternalEmployeeDTO> roster(Shard shard) {
+        return shard.replica().sync(shard.client()::getChanges, () -> fetch(shard.client()));
+    }
+
+    // Walks the shard's cursor pages when employee.roster.page-size is set, as for a single upstream
+    private List<ExternalEmployeeDTO> fetch(EmployeeApiClient client) {
+        int pageSize = rosterProperties.getPageSize();
+        if (pageSize <= 0) {
+            List<ExternalEmployeeDTO> employees = data(client.getAllEmployees());
+            return employees == null ? List.of() : employees;
+        }
+        List<ExternalEmployeeDTO> employees = new ArrayList<>();
+        String cursor = null;
+        do {
+            ResponseEntity<ExternalApiResponse<List<ExternalEmployeeDTO>>> page =
+                    client.getEmployeesPage(pageSize, cursor);
+            if (page == null || page.getBody() == null || page.getBody().getData() == null) {
+                break;
+            }
+            employees.addAll(page.getBody().getData());
+            cursor = page.getHeaders().getFirst(NEXT_CURSOR_HEADER);
+        } while (cursor != null);
+        return employees;
+    }
+
+    /*
+     * The shards' rosters one after another. While every shard answers with the list it answered last time the merged
+     * list is the same instance too, so callers can reuse what they derived from it.
+     */
+    private List<ExternalEmployeeDTO> concatenate(List<List<ExternalEmployeeDTO>> rosters) {
+        Merged previous = merged;
+        if (previous != null && previous.of(rosters)) {
+            return previous.employees();
+        }
+        int size = 0;
+        for (List<ExternalEmployeeDTO> roster : rosters) {
+            size += roster == null ? 0 : roster.size();
+        }
+        List<ExternalEmployeeDTO> employees = new ArrayList<>(size);
+        for (List<ExternalEmployeeDTO> roster : rosters) {
+            if (roster != null) {
+                employees.addAll(roster);
+            }
+        }
+        employees = Collections.unmodifiableList(employees);
+        if (!rosters.contains(null)) {
+            merged = new Merged(rosters, employees);
+        }
+        return employees;
+    }
+
+    /*
+     * k-way merge of lists ranked by salary, highest first: the next earner is always the best of the lists' heads.
+     */
+    static List<ExternalEmployeeDTO> mergeTop(List<List<ExternalEmployeeDTO>> ranked, int n) {
+        PriorityQueue<Cursor> heads = new PriorityQueue<>(Math.max(1, ranked.size()), BY_HEAD);
+        for (int shard = 0; shard < ranked.size(); shard++) {
+            List<ExternalEmployeeDTO> employees = ranked.get(shard);
+            if (employees != null && !employees.isEmpty()) {
+                heads.add(new Cursor(shard, employees, 0));
+            }
+        }
+        List<ExternalEmployeeDTO> top = new ArrayList<>(Math.max(0, n));
+        while (top.size() < n && !heads.isEmpty()) {
+            Cursor cursor = heads.poll();
+            top.add(cursor.head());
+            if (cursor.position() + 1 < cursor.employees().size()) {
+                heads.add(new Cursor(cursor.shard(), cursor.employees(), cursor.position() + 1));
+            }
+        }
+        return top;
+    }
+
+    /*
+     * The n highest earners of a roster, highest first, kept in a heap of n rather than sorting the whole roster.
+     */
+    static List<ExternalEmployeeDTO> highestPaid(List<ExternalEmployeeDTO> roster, int n) {
+        if (n <= 0) {
+            return List.of();
+        }
+        Comparator<ExternalEmployeeDTO> bySalary = Comparator.comparingInt(ShardedEmployeeApiClient::salary);
+        PriorityQueue<ExternalEmployeeDTO> lowestFirst = new PriorityQueue<>(n + 1, bySalary);
+        for (ExternalEmployeeDTO employee : roster) {
+            if (employee == null || employee.getEmployeeSalary() == null) {
+                continue;
+            }
+            if (lowestFirst.size() < n) {
+                lowestFirst.add(employee);
+            } else if (salary(employee) > salary(lowestFirst.peek())) {
+                lowestFirst.poll();
+                lowestFirst.add(employee);
+            }
+        }
+        List<ExternalEmployeeDTO> top = new ArrayList<>(lowestFirst);
+        top.sort(bySalary.reversed());
+        return top;
+    }
+
+    private static Integer highestSalary(List<ExternalEmployeeDTO> roster) {
+        return roster.stream()
+                .filter(Objects::nonNull)
+                .map(ExternalEmployeeDTO::getEmployeeSalary)
+                .filter(Objects::nonNull)
+                .max(Integer::compare)
+                .orElse(null);
+    }
+
+    private static List<ExternalEmployeeDTO> matching(List<ExternalEmployeeDTO> roster, String fragment) {
+        return roster.stream()
+                .filter(employee -> employee != null
+                        && employee.getEmployeeName() != null
+                        && employee.getEmployeeName().toLowerCase(Locale.ROOT).contains(fragment))
+                .toList();
+    }
+
+    private static String withSalary(String fields) {
+        if (fields == null
+                || fields.isBlank()
+                || Arrays.stream(fields.split(","))
+                        .anyMatch(field -> SALARY_FIELDS.contains(field.trim().toLowerCase(Locale.ROOT)))) {
+            return fields;
+        }
+        return fields + ",salary";
+    }
+
+    private static int salary(ExternalEmployeeDTO employee) {
+        return employee.getEmployeeSalary() == null ? Integer.MIN_VALUE : employee.getEmployeeSalary();
+    }
+
+    private static <T> T data(ExternalApiResponse<T> response) {
+        return response == null ? null : response.getData();
+    }
+
+    private static <T> ExternalApiResponse<T> response(T data) {
+        return ExternalApiResponse.<T>builder().data(data).status("success").build();
+    }
+
+    private record Shard(String url, EmployeeApiClient client, RosterReplica replica, RosterEvents events) {}
+
+    private record Cursor(int shard, List<ExternalEmployeeDTO> employees, int position) {
+
+        ExternalEmployeeDTO head() {
+            return employees.get(position);
+        }
+    }
+
+    private record Merged(List<List<ExternalEmployeeDTO>> rosters, List<ExternalEmployeeDTO> employees) {
+
+        boolean of(List<List<ExternalEmployeeDTO>> others) {
+            if (others.size() != rosters.size()) {
+                return false;
+            }
+            for (int i = 0; i < rosters.size(); i++) {
+                if (others.get(i) != rosters.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.reliaquest.api.shard;
+
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.NoneNestedConditions;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * Matches when {@code employee.shards.urls} lists at least one shard, as a comma-separated value or a list.
+ */
+public class ShardsConfigured extends SpringBootCondition {
+
+    @Override
+    public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        List<String> urls = Binder.get(context.getEnvironment())
+                .bind("employee.shards.urls", Bindable.listOf(String.class))
+                .orElse(List.of());
+        return urls.isEmpty()
+                ? ConditionOutcome.noMatch("no employee.shards.urls")
+                : ConditionOutcome.match(urls.size() + " employee.shards.urls");
+    }
+
+    /**
+     * Matches when no shards are configured, the single upstream at {@code employee.api.base-url} is used.
+     */
+    public static class Not extends NoneNestedConditions {
+
+        Not() {
+            super(ConfigurationPhase.REGISTER_BEAN);
+        }
+
+        @Conditional(ShardsConfigured.class)
+        static class Sharded {}
+    }
+}
@@ -0,0 +1,118 @@
+package com.reliaquest.api.timing;
+
+/**
+ * Per-request timing accumulator bound to the request thread by {@link ServerTimingFilter}.
+ *
+ * <p>Instrumented code calls {@link #start()} and {@link #stop(TimingPhase, long)}; both are no-ops (and skip
+ * {@link System#nanoTime()}) when no request is being timed, e.g. during warmup or in unit tests.
+ */
+public final class RequestTimings {
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final long[] phaseNanos = new long[TimingPhase.VALUES.length];
+    private final int[] phaseCounts = new int[TimingPhase.VALUES.length];
+    private long responseStartNanos;
+    private long endNanos;
+
+    private RequestTimings() {}
+
+    static RequestTimings begin() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    public static long start() {
+        return CURRENT.get() != null ? System.nanoTime() : 0L;
+    }
+
+    public static void stop(TimingPhase phase, long startNanos) {
+        if (startNanos != 0L) {
+            record(phase, System.nanoTime() - startNanos);
+        }
+    }
+
+    public static void record(TimingPhase phase, long nanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.phaseNanos[phase.ordinal()] += nanos;
+            timings.phaseCounts[phase.ordinal()]++;
+        }
+    }
+
+    void markResponseStart() {
+        if (responseStartNanos == 0L) {
+            responseStartNanos = System.nanoTime();
+        }
+    }
+
+    void finish() {
+        endNanos = System.nanoTime();
+        markResponseStart();
+    }
+
+    long phaseNanos(TimingPhase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    int phaseCount(TimingPhase phase) {
+        return phaseCounts[phase.ordinal()];
+    }
+
+    /*
+     * Time until the response body started: controller, service and everything it waited on.
+     */
+    long appNanos() {
+        return (responseStartNanos != 0L ? responseStartNanos : System.nanoTime()) - startNanos;
+    }
+
+    /*
+     * Time spent writing the body after it started, which is dominated by JSON serialization.
+     */
+    long serializationNanos() {
+        return endNanos - responseStartNanos;
+    }
+
+    long totalNanos() {
+        return endNanos - startNanos;
+    }
+
+    /**
+     * Header value as per the Server-Timing spec, e.g. {@code upstream;dur=12.41;desc="1 call", app;dur=15.02}. Only
+     * phases that occurred are listed. Serialization is not included since the header is sent before the body.
+     */
+    String toServerTiming() {
+        StringBuilder header = new StringBuilder(96);
+        for (TimingPhase phase : TimingPhase.VALUES) {
+            int count = phaseCounts[phase.ordinal()];
+            if (count == 0) {
+                continue;
+            }
+            header.append(phase.metricName()).append(";dur=");
+            appendMillis(header, phaseNanos[phase.ordinal()]);
+            if (phase == TimingPhase.UPSTREAM || phase == TimingPhase.BACKOFF) {
+                header.append(";desc=\"").append(count).append(count == 1 ? " call\"" : " calls\"");
+            }
+            header.append(", ");
+        }
+        header.append("app;dur=");
+        appendMillis(header, appNanos());
+        return header.toString();
+    }
+
+    static void appendMillis(StringBuilder out, long nanos) {
+        long hundredths = (nanos + 5_000) / 10_000;
+        out.append(hundredths / 100).append('.');
+        long fraction = hundredths % 100;
+        if (fraction < 10) {
+            out.append('0');
+        }
+        out.append(fraction);
+    }
+}
@@ -0,0 +1,146 @@
+package com.reliaquest.api.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Times each request and reports the breakdown in a {@code Server-Timing} header and a sampled logfmt line.
+ *
+ * <p>The header is added just before the first body byte is written, so it covers everything up to serialization.
+ * Serialization and total time are only known afterwards and appear in the log line.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final ServerTimingProperties properties;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.begin();
+        TimingResponseWrapper timedResponse = new TimingResponseWrapper(response, timings, properties.isHeader());
+        try {
+            filterChain.doFilter(request, timedResponse);
+        } finally {
+            timedResponse.responseStarting();
+            timings.finish();
+            RequestTimings.clear();
+            if (timings.totalNanos() >= properties.getSlowThreshold().toNanos()
+                    || ThreadLocalRandom.current().nextDouble() < properties.getLogSampleRate()) {
+                log.info(logLine(request, response, timings));
+            }
+        }
+    }
+
+    private static String logLine(HttpServletRequest request, HttpServletResponse response, RequestTimings timings) {
+        StringBuilder line = new StringBuilder(256)
+                .append("request_timing method=")
+                .append(request.getMethod())
+                .append(" path=")
+                .append(request.getRequestURI())
+                .append(" status=")
+                .append(response.getStatus())
+                .append(" total_ms=");
+        RequestTimings.appendMillis(line, timings.totalNanos());
+        line.append(" app_ms=");
+        RequestTimings.appendMillis(line, timings.appNanos());
+        line.append(" serialization_ms=");
+        RequestTimings.appendMillis(line, timings.serializationNanos());
+        for (TimingPhase phase : TimingPhase.VALUES) {
+            line.append(' ').append(phase.metricName()).append("_ms=");
+            RequestTimings.appendMillis(line, timings.phaseNanos(phase));
+        }
+        line.append(" upstream_calls=")
+                .append(timings.phaseCount(TimingPhase.UPSTREAM))
+                .append(" retries=")
+                .append(timings.phaseCount(TimingPhase.BACKOFF));
+        return line.toString();
+    }
+
+    /*
+     * Adds the Server-Timing header at the last moment it can still be sent: the first access to the body or an
+     * error/redirect that commits the response.
+     */
+    private static final class TimingResponseWrapper extends HttpServletResponseWrapper {
+
+        private final RequestTimings timings;
+        private final boolean header;
+        private boolean started;
+
+        TimingResponseWrapper(HttpServletResponse response, RequestTimings timings, boolean header) {
+            super(response);
+            this.timings = timings;
+            this.header = header;
+        }
+
+        void responseStarting() {
+            if (started) {
+                return;
+            }
+            started = true;
+            timings.markResponseStart();
+            if (header && !isCommitted()) {
+                setHeader(SERVER_TIMING_HEADER, timings.toServerTiming());
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            responseStarting();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            responseStarting();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            responseStarting();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            responseStarting();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            responseStarting();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            responseStarting();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.reliaquest.api.timing;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "employee.timing")
+public class ServerTimingProperties {
+
+    private boolean enabled = true;
+
+    /*
+     * Whether to expose the breakdown to clients in the Server-Timing response header.
+     */
+    private boolean header = true;
+
+    /*
+     * Fraction of requests (0.0 - 1.0) that get a structured timing log line.
+     */
+    private double logSampleRate = 0.01;
+
+    /*
+     * Requests slower than this are always logged, regardless of sampling.
+     */
+    private Duration slowThreshold = Duration.ofSeconds(1);
+}
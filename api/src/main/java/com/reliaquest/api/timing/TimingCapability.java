@@ -0,0 +1,36 @@
+package com.reliaquest.api.timing;
+
+import feign.Capability;
+import feign.Client;
+import feign.codec.Decoder;
+
+/**
+ * Attributes Feign client time to {@link TimingPhase#UPSTREAM} (execute) and {@link TimingPhase#DECODE} (body read and
+ * deserialization) of the current request.
+ */
+public class TimingCapability implements Capability {
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> {
+            long start = RequestTimings.start();
+            try {
+                return client.execute(request, options);
+            } finally {
+                RequestTimings.stop(TimingPhase.UPSTREAM, start);
+            }
+        };
+    }
+
+    @Override
+    public Decoder enrich(Decoder decoder) {
+        return (response, type) -> {
+            long start = RequestTimings.start();
+            try {
+                return decoder.decode(response, type);
+            } finally {
+                RequestTimings.stop(TimingPhase.DECODE, start);
+            }
+        };
+    }
+}
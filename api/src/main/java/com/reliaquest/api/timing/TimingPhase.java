@@ -0,0 +1,35 @@
+package com.reliaquest.api.timing;
+
+/**
+ * Phases of a request that are attributed separately in the {@code Server-Timing} header and the timing log line.
+ */
+public enum TimingPhase {
+    /*
+     * Feign client execute: connect, send and wait for the upstream status line and headers, summed over attempts.
+     */
+    UPSTREAM("upstream"),
+    /*
+     * Reading and deserializing upstream response bodies.
+     */
+    DECODE("decode"),
+    /*
+     * Time spent sleeping between retry attempts.
+     */
+    BACKOFF("backoff"),
+    /*
+     * Converting external employee records to the api representation.
+     */
+    MAPPING("mapping");
+
+    static final TimingPhase[] VALUES = values();
+
+    private final String metricName;
+
+    TimingPhase(String metricName) {
+        this.metricName = metricName;
+    }
+
+    public String metricName() {
+        return metricName;
+    }
+}
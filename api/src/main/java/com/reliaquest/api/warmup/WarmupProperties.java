@@ -0,0 +1,28 @@
+package com.reliaquest.api.warmup;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "employee.warmup")
+public class WarmupProperties {
+
+    private boolean enabled = true;
+
+    /*
+     * Local round trips of the prefetched roster through Jackson, in the shapes Feign decodes and the controllers
+     * write. Cheap, they do not touch the upstream.
+     */
+    private int serializationIterations = 500;
+
+    /*
+     * Rounds of loopback requests to the read endpoints; each one goes through the whole stack including the upstream.
+     */
+    private int requestRounds = 3;
+
+    /*
+     * Readiness is reported after this at the latest, even if warmup did not finish.
+     */
+    private Duration timeout = Duration.ofSeconds(30);
+}
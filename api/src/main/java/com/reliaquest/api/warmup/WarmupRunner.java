@@ -0,0 +1,147 @@
+package com.reliaquest.api.warmup;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.dto.external.ExternalApiResponse;
+import com.reliaquest.api.dto.external.ExternalEmployeeDTO;
+import com.reliaquest.api.service.EmployeeService;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Runs before the application reports readiness: Spring Boot only switches the readiness state to ACCEPTING_TRAFFIC
+ * once all runners have completed, so {@code /actuator/health/readiness} stays DOWN until warmup is done.
+ *
+ * <ol>
+ *   <li>prefetches the roster from the upstream (Feign contract, connection, decoder)
+ *   <li>round-trips it through Jackson in the upstream and the response shapes
+ *   <li>sends a few rounds of loopback requests to the read endpoints so filters, MVC, validation and
+ *       {@code EmployeeServiceImpl} are exercised end to end. Without a running web server (tests) the service is
+ *       called directly instead.
+ * </ol>
+ *
+ * Failures are logged and never prevent startup; a cold path is still better than an unavailable instance.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final String EMPLOYEE_PATH = "/api/v1/employee";
+
+    private final WarmupProperties properties;
+    private final EmployeeService employeeService;
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long started = System.nanoTime();
+        long deadline = started + properties.getTimeout().toNanos();
+
+        List<EmployeeDTO> roster = prefetch();
+        int serialized = exerciseSerialization(roster, deadline);
+        int requests = exerciseRequests(roster, deadline);
+
+        log.info(
+                "Warmup finished in {} ms: {} employees prefetched, {} serialization round trips, {} requests",
+                (System.nanoTime() - started) / 1_000_000,
+                roster.size(),
+                serialized,
+                requests);
+    }
+
+    List<EmployeeDTO> prefetch() {
+        try {
+            return employeeService.getAllEmployees();
+        } catch (RuntimeException e) {
+            log.warn("Warmup could not prefetch the employee roster: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    int exerciseSerialization(List<EmployeeDTO> roster, long deadline) {
+        TypeFactory types = objectMapper.getTypeFactory();
+        JavaType upstreamType = types.constructParametricType(
+                ExternalApiResponse.class, types.constructCollectionType(List.class, ExternalEmployeeDTO.class));
+        ExternalApiResponse<List<ExternalEmployeeDTO>> upstream =
+                ExternalApiResponse.<List<ExternalEmployeeDTO>>builder()
+                        .data(roster.stream().map(WarmupRunner::toExternal).toList())
+                        .status("Successfully processed request.")
+                        .build();
+
+        int iterations = 0;
+        try {
+            while (iterations < properties.getSerializationIterations() && System.nanoTime() < deadline) {
+                objectMapper.readValue(objectMapper.writeValueAsBytes(upstream), upstreamType);
+                objectMapper.writeValueAsBytes(roster);
+                iterations++;
+            }
+        } catch (IOException e) {
+            log.warn("Warmup serialization failed: {}", e.getMessage());
+        }
+        return iterations;
+    }
+
+    int exerciseRequests(List<EmployeeDTO> roster, long deadline) {
+        EmployeeDTO sample = roster.isEmpty() ? new EmployeeDTO() : roster.get(0);
+        String id = sample.getId() == null ? "unknown" : sample.getId();
+        String search = sample.getName() == null || sample.getName().isEmpty()
+                ? "a"
+                : sample.getName().substring(0, 1);
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+        List<Runnable> calls = port == null || port <= 0 ? serviceCalls(id, search) : httpCalls(port, id, search);
+
+        int requests = 0;
+        for (int round = 0; round < properties.getRequestRounds() && System.nanoTime() < deadline; round++) {
+            for (Runnable call : calls) {
+                try {
+                    call.run();
+                } catch (RuntimeException e) {
+                    log.debug("Warmup request failed: {}", e.getMessage());
+                }
+                requests++;
+            }
+        }
+        return requests;
+    }
+
+    private static List<Runnable> httpCalls(int port, String id, String search) {
+        RestClient client = RestClient.create("http://localhost:" + port + EMPLOYEE_PATH);
+        return Stream.of("", "/search/" + search, "/" + id, "/highestSalary", "/topTenHighestEarningEmployeeNames")
+                .<Runnable>map(path -> () -> client.get().uri(path).retrieve().toBodilessEntity())
+                .toList();
+    }
+
+    private List<Runnable> serviceCalls(String id, String search) {
+        return List.of(
+                employeeService::getAllEmployees,
+                () -> employeeService.getEmployeesByNameSearch(search),
+                () -> employeeService.getEmployeeById(id),
+                employeeService::getHighestSalaryOfEmployees,
+                employeeService::getTopTenHighestEarningEmployeeNames);
+    }
+
+    private static ExternalEmployeeDTO toExternal(EmployeeDTO employee) {
+        return new ExternalEmployeeDTO(
+                employee.getId(),
+                employee.getName(),
+                employee.getSalary(),
+                employee.getAge(),
+                employee.getTitle(),
+                employee.getEmail());
+    }
+}
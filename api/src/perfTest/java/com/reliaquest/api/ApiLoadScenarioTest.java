@@ -0,0 +1,83 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.loadtest.bench.Measurement;
+import com.reliaquest.loadtest.bench.PerfBaseline;
+import com.reliaquest.loadtest.config.LoadTestProperties;
+import com.reliaquest.loadtest.engine.EndpointResult;
+import com.reliaquest.loadtest.engine.LoadGenerator;
+import com.reliaquest.loadtest.engine.LoadResult;
+import com.reliaquest.loadtest.launcher.AppLauncher;
+import com.reliaquest.loadtest.model.Endpoint;
+import com.reliaquest.loadtest.model.LoadMode;
+import com.reliaquest.loadtest.report.LatencyReportWriter;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Boots the mock server (rate limiting off) and the api from their boot jars and runs a fixed closed-loop read mix
+ * through the real Feign client, {@code FeignConfiguration} and {@code EmployeeServiceImpl}.
+ */
+@Slf4j
+class ApiLoadScenarioTest {
+
+    private final PerfBaseline baseline = PerfBaseline.fromSystemProperties();
+    private final Path reportDir = Path.of(System.getProperty("perf.reportDir", "build/reports/perf"));
+
+    @Test
+    @DisplayName("load.closed.readMix")
+    void closedLoopReadMix() throws Exception {
+        LoadTestProperties properties = new LoadTestProperties();
+        properties.setMode(LoadMode.CLOSED);
+        properties.setConcurrency(8);
+        properties.setWarmup(Duration.ofSeconds(10));
+        properties.setDuration(Duration.ofSeconds(20));
+        properties.setMix(Map.of(
+                Endpoint.GET_ALL, 20,
+                Endpoint.SEARCH, 20,
+                Endpoint.GET_BY_ID, 20,
+                Endpoint.HIGHEST_SALARY, 20,
+                Endpoint.TOP_TEN, 20));
+
+        LoadTestProperties.Launch launch = properties.getLaunch();
+        launch.setServerJar(System.getProperty("perf.serverJar"));
+        launch.setApiJar(System.getProperty("perf.apiJar"));
+        launch.setServerPort(freePort());
+        launch.setApiPort(freePort());
+        launch.setJvmArgs("-Xmx512m");
+        launch.setServerArgs("--mock.rate-limit.enabled=false --mock.employees.max=1000");
+        properties.setTargetUrl("http://localhost:" + launch.getApiPort() + "/api/v1/employee");
+
+        LoadResult result;
+        try (AppLauncher launcher = new AppLauncher(launch, reportDir)) {
+            launcher.startServer();
+            launcher.startApi();
+            Duration cpuBefore = launcher.cpuTime("api").orElse(Duration.ZERO);
+            result = new LoadGenerator(properties).run();
+            long requests = Math.max(1, result.total().count());
+            // Includes warmup CPU, so it is an upper bound; comparable between runs of this scenario.
+            launcher.cpuTime("api")
+                    .ifPresent(cpu -> log.info(
+                            "api CPU per measured request: {} us",
+                            cpu.minus(cpuBefore).toNanos() / 1_000 / requests));
+        }
+        new LatencyReportWriter(reportDir.resolve("load")).write(result);
+
+        EndpointResult total = result.total();
+        assertTrue(total.errorRate() < 0.01, "Error rate too high for a baseline comparison: " + total.errorRate());
+        baseline.verify("load.closed.readMix", Measurement.of(total));
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.dto.external.ExternalApiResponse;
+import com.reliaquest.api.dto.external.ExternalEmployeeDTO;
+import com.reliaquest.loadtest.bench.Microbenchmark;
+import com.reliaquest.loadtest.bench.PerfBaseline;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Decoding a 100k employee {@code getAllEmployees} response from JSON, Smile and CBOR (see {@code employee.api.format})
+ * with mappers configured like Spring's message converters, the CPU cost of each format on the api. The size of each
+ * payload is logged.
+ */
+@Slf4j
+class UpstreamFormatBenchmarkTest {
+
+    private static final int ROSTER_SIZE = 100_000;
+    private static final int WARMUP_ITERATIONS = 30;
+    private static final int ITERATIONS = 50;
+
+    private static final ExternalApiResponse<List<ExternalEmployeeDTO>> response = response(ROSTER_SIZE, 42);
+
+    private final PerfBaseline baseline = PerfBaseline.fromSystemProperties();
+
+    @Test
+    @DisplayName("client.decode.json")
+    void decodeJson() {
+        bench("client.decode.json", Jackson2ObjectMapperBuilder.json().build());
+    }
+
+    @Test
+    @DisplayName("client.decode.smile")
+    void decodeSmile() {
+        bench("client.decode.smile", Jackson2ObjectMapperBuilder.smile().build());
+    }
+
+    @Test
+    @DisplayName("client.decode.cbor")
+    void decodeCbor() {
+        bench("client.decode.cbor", Jackson2ObjectMapperBuilder.cbor().build());
+    }
+
+    private void bench(String scenario, ObjectMapper mapper) {
+        JavaType type = mapper.constructType(new TypeReference<ExternalApiResponse<List<ExternalEmployeeDTO>>>() {});
+        byte[] payload;
+        try {
+            payload = mapper.writeValueAsBytes(response);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("{}: {} bytes for {} employees", scenario, payload.length, ROSTER_SIZE);
+        baseline.verify(scenario, Microbenchmark.run(scenario, WARMUP_ITERATIONS, ITERATIONS, () -> {
+            try {
+                return mapper.readValue(payload, type);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+    }
+
+    private static ExternalApiResponse<List<ExternalEmployeeDTO>> response(int size, long seed) {
+        Random random = new Random(seed);
+        List<ExternalEmployeeDTO> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(ExternalEmployeeDTO.builder()
+                    .id(new UUID(seed, i).toString())
+                    .employeeName("Employee " + random.nextInt(1_000_000) + " " + i)
+                    .employeeSalary(30_000 + random.nextInt(470_000))
+                    .employeeAge(16 + random.nextInt(55))
+                    .employeeTitle("Engineer " + random.nextInt(20))
+                    .employeeEmail("employee" + i + "@company.com")
+                    .build());
+        }
+        return ExternalApiResponse.<List<ExternalEmployeeDTO>>builder()
+                .data(employees)
+                .status("Successfully processed request.")
+                .build();
+    }
+}
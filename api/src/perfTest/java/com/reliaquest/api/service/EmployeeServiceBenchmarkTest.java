@@ -0,0 +1,72 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.roster.LastKnownGoodRoster;
+import com.reliaquest.api.roster.RosterProperties;
+import com.reliaquest.api.roster.RosterReplica;
+import com.reliaquest.api.service.impl.EmployeeServiceImpl;
+import com.reliaquest.loadtest.bench.Microbenchmark;
+import com.reliaquest.loadtest.bench.PerfBaseline;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Single-threaded timings of {@link EmployeeServiceImpl} over a fixed 10k employee roster served from memory.
+ */
+class EmployeeServiceBenchmarkTest {
+
+    private static final int ROSTER_SIZE = 10_000;
+    private static final int WARMUP_ITERATIONS = 300;
+    private static final int ITERATIONS = 1_000;
+
+    private final PerfBaseline baseline = PerfBaseline.fromSystemProperties();
+    private final StubEmployeeApiClient employeeApiClient = new StubEmployeeApiClient(ROSTER_SIZE, 42);
+    private final EmployeeServiceImpl employeeService = new EmployeeServiceImpl(
+            employeeApiClient,
+            new LastKnownGoodRoster(inMemoryRoster()),
+            new RosterReplica(inMemoryRoster()),
+            inMemoryRoster());
+
+    private static RosterProperties inMemoryRoster() {
+        RosterProperties properties = new RosterProperties();
+        properties.getLastKnownGood().setFile(null);
+        return properties;
+    }
+
+    @Test
+    @DisplayName("service.getAllEmployees")
+    void getAllEmployees() {
+        bench("service.getAllEmployees", () -> employeeService.getAllEmployees());
+    }
+
+    @Test
+    @DisplayName("service.getEmployeesByNameSearch")
+    void getEmployeesByNameSearch() {
+        bench("service.getEmployeesByNameSearch", () -> employeeService.getEmployeesByNameSearch("priya"));
+    }
+
+    @Test
+    @DisplayName("service.getEmployeeById")
+    void getEmployeeById() {
+        String id = employeeApiClient.roster().get(ROSTER_SIZE / 2).getId();
+        bench("service.getEmployeeById", () -> employeeService.getEmployeeById(id));
+    }
+
+    @Test
+    @DisplayName("service.getHighestSalaryOfEmployees")
+    void getHighestSalaryOfEmployees() {
+        bench("service.getHighestSalaryOfEmployees", () -> employeeService.getHighestSalaryOfEmployees());
+    }
+
+    @Test
+    @DisplayName("service.getTopTenHighestEarningEmployeeNames")
+    void getTopTenHighestEarningEmployeeNames() {
+        bench(
+                "service.getTopTenHighestEarningEmployeeNames",
+                () -> employeeService.getTopTenHighestEarningEmployeeNames());
+    }
+
+    private void bench(String scenario, Supplier<?> operation) {
+        baseline.verify(scenario, Microbenchmark.run(scenario, WARMUP_ITERATIONS, ITERATIONS, operation));
+    }
+}
@@ -0,0 +1,146 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.dto.external.ExternalApiResponse;
+import com.reliaquest.api.dto.external.ExternalEmployeeChanges;
+import com.reliaquest.api.dto.external.ExternalEmployeeDTO;
+import com.reliaquest.api.dto.request.CreateEmployeeRequest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * In-memory {@link EmployeeApiClient} with a deterministic roster, so benchmarks measure the api and not the network.
+ */
+class StubEmployeeApiClient implements EmployeeApiClient {
+
+    private static final String[] FIRST_NAMES = {"Arjun", "Priya", "Rahul", "Sneha", "Vikram", "Anita", "Tiger", "Jill"
+    };
+    private static final String[] LAST_NAMES = {"Sharma", "Nair", "Patel", "Singh", "Gupta", "Nixon", "Jenkins", "Bob"};
+
+    private final List<ExternalEmployeeDTO> roster;
+    private final Map<String, ExternalEmployeeDTO> byId;
+
+    StubEmployeeApiClient(int size, long seed) {
+        Random random = new Random(seed);
+        roster = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " " + i;
+            roster.add(ExternalEmployeeDTO.builder()
+                    .id(new UUID(seed, i).toString())
+                    .employeeName(name)
+                    .employeeSalary(30_000 + random.nextInt(470_000))
+                    .employeeAge(16 + random.nextInt(55))
+                    .employeeTitle("Engineer " + random.nextInt(20))
+                    .employeeEmail("employee" + i + "@company.com")
+                    .build());
+        }
+        byId = roster.stream().collect(Collectors.toMap(ExternalEmployeeDTO::getId, Function.identity()));
+    }
+
+    List<ExternalEmployeeDTO> roster() {
+        return roster;
+    }
+
+    @Override
+    public ExternalApiResponse<List<ExternalEmployeeDTO>> getAllEmployees() {
+        // A fresh list per call, as Jackson would produce from a real response.
+        return ExternalApiResponse.<List<ExternalEmployeeDTO>>builder()
+                .data(new ArrayList<>(roster))
+                .status("Successfully processed request.")
+                .build();
+    }
+
+    @Override
+    public ResponseEntity<ExternalApiResponse<List<ExternalEmployeeDTO>>> getEmployeesPage(int size, String cursor) {
+        // Like an upstream without paging: the parameters are ignored.
+        return ResponseEntity.ok(getAllEmployees());
+    }
+
+    @Override
+    public ResponseEntity<Void> headEmployees() {
+        // No X-Queries header, so the service answers queries from the roster as the benchmarks expect.
+        return ResponseEntity.ok()
+                .header("X-Total-Count", Integer.toString(roster.size()))
+                .build();
+    }
+
+    @Override
+    public ExternalApiResponse<List<ExternalEmployeeDTO>> searchEmployees(String name) {
+        String fragment = name.toLowerCase(Locale.ROOT);
+        return ExternalApiResponse.<List<ExternalEmployeeDTO>>builder()
+                .data(roster.stream()
+                        .filter(employee -> employee.getEmployeeName()
+                                .toLowerCase(Locale.ROOT)
+                                .contains(fragment))
+                        .collect(Collectors.toList()))
+                .status("Successfully processed request.")
+                .build();
+    }
+
+    @Override
+    public ExternalApiResponse<Integer> getMaxSalary() {
+        return ExternalApiResponse.<Integer>builder()
+                .data(roster.stream()
+                        .map(ExternalEmployeeDTO::getEmployeeSalary)
+                        .max(Integer::compare)
+                        .orElse(null))
+                .status("Successfully processed request.")
+                .build();
+    }
+
+    @Override
+    public ExternalApiResponse<List<ExternalEmployeeDTO>> getTopEmployees(String by, int n, String fields) {
+        // Salary is the only ranking; fields are ignored, every field is returned.
+        return ExternalApiResponse.<List<ExternalEmployeeDTO>>builder()
+                .data(roster.stream()
+                        .sorted(Comparator.comparing(ExternalEmployeeDTO::getEmployeeSalary)
+                                .reversed())
+                        .limit(n)
+                        .collect(Collectors.toList()))
+                .status("Successfully processed request.")
+                .build();
+    }
+
+    @Override
+    public ExternalApiResponse<ExternalEmployeeChanges> getChanges(long since) {
+        // The roster never changes: version 0, anything else has to be fetched in full.
+        return ExternalApiResponse.<ExternalEmployeeChanges>builder()
+                .data(new ExternalEmployeeChanges("stub", 0, since != 0, List.of()))
+                .status("Successfully processed request.")
+                .build();
+    }
+
+    @Override
+    public ExternalApiResponse<ExternalEmployeeDTO> getEmployeeById(String id) {
+        return ExternalApiResponse.<ExternalEmployeeDTO>builder()
+                .data(byId.get(id))
+                .status("Successfully processed request.")
+                .build();
+    }
+
+    @Override
+    public ExternalApiResponse<ExternalEmployeeDTO> createEmployee(CreateEmployeeRequest request) {
+        return ExternalApiResponse.<ExternalEmployeeDTO>builder()
+                .data(ExternalEmployeeDTO.builder()
+                        .id(UUID.randomUUID().toString())
+                        .employeeName(request.getName())
+                        .employeeSalary(request.getSalary())
+                        .employeeAge(request.getAge())
+                        .employeeTitle(request.getTitle())
+                        .build())
+                .status("Successfully processed request.")
+                .build();
+    }
+
+    @Override
+    public void deleteEmployee(String name) {}
+}
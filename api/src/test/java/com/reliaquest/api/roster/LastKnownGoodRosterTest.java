@@ -0,0 +1,138 @@
+package com.reliaquest.api.roster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class LastKnownGoodRosterTest {
+
+    private static final List<EmployeeDTO> ROSTER = List.of(
+            new EmployeeDTO("1", "Zoë Ångström", 120000, 34, "Engineer", "zoe@company.com"),
+            new EmployeeDTO("2", null, null, null, null, null));
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Roster file round-trips all fields, including nulls and non-ASCII names")
+    void fileRoundTrip() throws IOException {
+        Path file = dir.resolve("roster.bin");
+        RosterSnapshot snapshot = new RosterSnapshot(ROSTER, Instant.ofEpochMilli(1_700_000_000_000L));
+
+        RosterFile.write(file, snapshot);
+        RosterFile.write(file, snapshot);
+
+        assertEquals(snapshot, RosterFile.read(file).orElseThrow());
+        try (var files = Files.list(dir)) {
+            assertEquals(List.of(file), files.toList(), "temp files are renamed, not left behind");
+        }
+    }
+
+    @Test
+    @DisplayName("Corrupt roster file is reported, missing file is empty")
+    void corruptFile() throws IOException {
+        Path file = Files.write(dir.resolve("roster.bin"), new byte[] {1, 2, 3});
+
+        assertThrows(IOException.class, () -> RosterFile.read(file));
+        assertTrue(RosterFile.read(dir.resolve("missing.bin")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("A count or string length larger than the file is rejected before anything is allocated")
+    void corruptLengths() throws IOException {
+        byte[] encoded = RosterFile.encode(new RosterSnapshot(ROSTER, Instant.ofEpochMilli(1_700_000_000_000L)));
+        // magic, version and fetchedAt come first, then the count and the first id's length
+        ByteBuffer badCount = ByteBuffer.wrap(encoded.clone()).putInt(14, Integer.MAX_VALUE);
+        ByteBuffer badLength = ByteBuffer.wrap(encoded.clone()).putInt(18, Integer.MAX_VALUE);
+        ByteBuffer negativeLength = ByteBuffer.wrap(encoded.clone()).putInt(18, -2);
+
+        assertThrows(IllegalArgumentException.class, () -> RosterFile.decode(badCount));
+        assertThrows(IllegalArgumentException.class, () -> RosterFile.decode(badLength));
+        assertThrows(IllegalArgumentException.class, () -> RosterFile.decode(negativeLength));
+        Path file = Files.write(dir.resolve("roster.bin"), badCount.array());
+        assertThrows(IOException.class, () -> RosterFile.read(file));
+    }
+
+    @Test
+    @DisplayName("Updated roster is persisted and served as stale fallback after a restart")
+    void survivesRestart() throws InterruptedException {
+        RosterProperties properties = new RosterProperties();
+        properties.getLastKnownGood().setFile(dir.resolve("roster.bin"));
+
+        LastKnownGoodRoster before = new LastKnownGoodRoster(properties);
+        before.load();
+        before.update(ROSTER);
+        before.close();
+
+        LastKnownGoodRoster after = new LastKnownGoodRoster(properties);
+        after.load();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        assertEquals(ROSTER, after.fallback(new TooManyRequestsException("429")));
+        assertTrue(request.getAttribute(LastKnownGoodRoster.STALE_SINCE_ATTRIBUTE) instanceof Instant);
+    }
+
+    @Test
+    @DisplayName("A confirmed roster counts as fetched now, and is persisted as such once it is a minute fresher")
+    void confirmedRefreshesFetchedAt() throws IOException, InterruptedException {
+        RosterProperties properties = new RosterProperties();
+        properties.getLastKnownGood().setFile(dir.resolve("roster.bin"));
+        Instant fetchedAt = Instant.ofEpochMilli(1_700_000_000_000L);
+        RosterFile.write(dir.resolve("roster.bin"), new RosterSnapshot(ROSTER, fetchedAt));
+
+        LastKnownGoodRoster roster = new LastKnownGoodRoster(properties);
+        roster.load();
+        roster.confirmed();
+        Instant confirmedAt = roster.get().orElseThrow().fetchedAt();
+        roster.close();
+
+        assertTrue(confirmedAt.isAfter(fetchedAt));
+        assertEquals(ROSTER, roster.get().orElseThrow().employees());
+        assertEquals(
+                confirmedAt.toEpochMilli(),
+                RosterFile.read(dir.resolve("roster.bin"))
+                        .orElseThrow()
+                        .fetchedAt()
+                        .toEpochMilli());
+
+        RosterProperties inMemory = new RosterProperties();
+        inMemory.getLastKnownGood().setFile(null);
+        LastKnownGoodRoster empty = new LastKnownGoodRoster(inMemory);
+        empty.confirmed();
+        assertTrue(empty.get().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Without a roster to fall back to the upstream failure is rethrown")
+    void noFallback() {
+        RosterProperties properties = new RosterProperties();
+        properties.getLastKnownGood().setFile(null);
+        LastKnownGoodRoster roster = new LastKnownGoodRoster(properties);
+        TooManyRequestsException failure = new TooManyRequestsException("429");
+
+        assertSame(failure, assertThrows(TooManyRequestsException.class, () -> roster.fallback(failure)));
+    }
+}
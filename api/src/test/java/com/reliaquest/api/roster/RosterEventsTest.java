@@ -0,0 +1,131 @@
+package com.reliaquest.api.roster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.dto.external.ExternalApiResponse;
+import com.reliaquest.api.dto.external.ExternalEmployeeChange;
+import com.reliaquest.api.dto.external.ExternalEmployeeChanges;
+import com.reliaquest.api.dto.external.ExternalEmployeeDTO;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RosterEventsTest {
+
+    private static final ExternalEmployeeDTO ADA = employee("1", "Ada Lovelace");
+    private static final ExternalEmployeeDTO ALAN = employee("3", "Alan Turing");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RosterReplica replica = new RosterReplica(new RosterProperties());
+    private final List<String> lastEventIds = new CopyOnWriteArrayList<>();
+    private final CountDownLatch done = new CountDownLatch(1);
+    private HttpServer server;
+    private RosterEvents events;
+
+    @AfterEach
+    void stop() {
+        done.countDown();
+        if (events != null) {
+            events.stop();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Pushed events keep the replica current and a dropped stream resumes after the last event")
+    void pushesAndResumes() throws Exception {
+        start();
+        replica.sync(since -> response(changes(5, false)), () -> new ArrayList<>(List.of(ADA)));
+
+        events.start();
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        List<ExternalEmployeeDTO> roster = List.of();
+        while (System.nanoTime() < deadline && roster.size() < 2) {
+            roster = replica.sync(since -> response(changes(5, false)), () -> {
+                throw new AssertionError("no full fetch");
+            });
+            Thread.sleep(10);
+        }
+        assertEquals(List.of(ADA, ALAN), roster);
+        assertEquals(List.of("", "5"), lastEventIds.subList(0, 2));
+        assertTrue(events.isRunning());
+    }
+
+    private void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/api/v1/employee/events", this::serve);
+        server.start();
+        RosterProperties properties = new RosterProperties();
+        properties.getEvents().setReconnectDelay(Duration.ofMillis(10));
+        events = new RosterEvents(
+                replica,
+                properties,
+                "http://localhost:" + server.getAddress().getPort() + "/api/v1/employee",
+                objectMapper);
+    }
+
+    /*
+     * The first subscription gets one event and is dropped, the second resumes with a create and stays open.
+     */
+    private void serve(HttpExchange exchange) throws IOException {
+        String lastEventId = exchange.getRequestHeaders().getFirst("Last-Event-ID");
+        lastEventIds.add(lastEventId == null ? "" : lastEventId);
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream body = exchange.getResponseBody()) {
+            if (lastEventIds.size() == 1) {
+                send(body, changes(5, false));
+                return;
+            }
+            send(
+                    body,
+                    changes(6, false, new ExternalEmployeeChange(6, ExternalEmployeeChange.Type.CREATED, "3", ALAN)));
+            done.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void send(OutputStream body, ExternalEmployeeChanges changes) throws IOException {
+        String event = "id:" + changes.getVersion() + "\nevent:" + RosterEvents.EVENT_NAME + "\ndata:"
+                + objectMapper.writeValueAsString(changes) + "\n\n";
+        body.write(event.getBytes(StandardCharsets.UTF_8));
+        body.flush();
+    }
+
+    private static ExternalEmployeeChanges changes(long version, boolean truncated, ExternalEmployeeChange... changes) {
+        return new ExternalEmployeeChanges("e1", version, truncated, List.of(changes));
+    }
+
+    private static ExternalApiResponse<ExternalEmployeeChanges> response(ExternalEmployeeChanges changes) {
+        return ExternalApiResponse.<ExternalEmployeeChanges>builder()
+                .data(changes)
+                .status("Successfully processed request.")
+                .build();
+    }
+
+    private static ExternalEmployeeDTO employee(String id, String name) {
+        return ExternalEmployeeDTO.builder()
+                .id(id)
+                .employeeName(name)
+                .employeeSalary(100_000)
+                .build();
+    }
+}
@@ -0,0 +1,185 @@
+package com.reliaquest.api.roster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.reliaquest.api.constants.ErrorConstants;
+import com.reliaquest.api.dto.external.ExternalApiResponse;
+import com.reliaquest.api.dto.external.ExternalEmployeeChange;
+import com.reliaquest.api.dto.external.ExternalEmployeeChanges;
+import com.reliaquest.api.dto.external.ExternalEmployeeDTO;
+import com.reliaquest.api.exception.EmployeeNotFoundException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RosterReplicaTest {
+
+    private static final ExternalEmployeeDTO ADA = employee("1", "Ada Lovelace");
+    private static final ExternalEmployeeDTO GRACE = employee("2", "Grace Hopper");
+    private static final ExternalEmployeeDTO ALAN = employee("3", "Alan Turing");
+
+    private final RosterReplica replica = new RosterReplica(new RosterProperties());
+    private final AtomicInteger fullFetches = new AtomicInteger();
+    private final Supplier<List<ExternalEmployeeDTO>> fullFetch = () -> {
+        fullFetches.incrementAndGet();
+        return new ArrayList<>(List.of(ADA, GRACE));
+    };
+
+    @Test
+    @DisplayName("First sync downloads the roster, later syncs apply the upstream's changes")
+    void appliesDeltas() {
+        replica.sync(since -> changes("e1", 5, true), fullFetch);
+
+        List<ExternalEmployeeDTO> roster = replica.sync(
+                since -> changes(
+                        "e1",
+                        7,
+                        false,
+                        new ExternalEmployeeChange(6, ExternalEmployeeChange.Type.CREATED, "3", ALAN),
+                        new ExternalEmployeeChange(7, ExternalEmployeeChange.Type.DELETED, "1", null)),
+                fullFetch);
+
+        assertEquals(List.of(GRACE, ALAN), roster);
+        assertEquals(1, fullFetches.get());
+    }
+
+    @Test
+    @DisplayName("Unchanged roster is returned as the same list instance")
+    void unchanged() {
+        List<ExternalEmployeeDTO> first = replica.sync(since -> changes("e1", 5, true), fullFetch);
+        List<ExternalEmployeeDTO> second = replica.sync(since -> changes("e1", 5, false), fullFetch);
+
+        assertSame(first, second);
+        assertEquals(1, fullFetches.get());
+    }
+
+    @Test
+    @DisplayName("Truncated log or a restarted upstream (new epoch) trigger a full fetch")
+    void fullFetchWhenDeltaUnusable() {
+        replica.sync(since -> changes("e1", 5, true), fullFetch);
+        replica.sync(since -> changes("e1", 50, true), fullFetch);
+        replica.sync(since -> changes("e2", 51, false), fullFetch);
+
+        assertEquals(3, fullFetches.get());
+    }
+
+    @Test
+    @DisplayName("Upstream without a change log is fully fetched without asking again until the backoff passes")
+    void noChangeLog() {
+        AtomicInteger changeCalls = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            replica.sync(
+                    since -> {
+                        changeCalls.incrementAndGet();
+                        throw new EmployeeNotFoundException(ErrorConstants.EMPLOYEE_NOT_FOUND);
+                    },
+                    fullFetch);
+        }
+
+        assertEquals(1, changeCalls.get());
+        assertEquals(3, fullFetches.get());
+    }
+
+    @Test
+    @DisplayName("Delta sync resumes once an upstream without a change log offers one after the backoff")
+    void changeLogReprobed() {
+        RosterProperties properties = new RosterProperties();
+        properties.setChangesProbeBackoff(Duration.ZERO);
+        RosterReplica replica = new RosterReplica(properties);
+        replica.sync(
+                since -> {
+                    throw new EmployeeNotFoundException(ErrorConstants.EMPLOYEE_NOT_FOUND);
+                },
+                fullFetch);
+
+        replica.sync(since -> changes("e1", 5, true), fullFetch);
+        List<ExternalEmployeeDTO> roster = replica.sync(
+                since -> changes(
+                        "e1", 6, false, new ExternalEmployeeChange(6, ExternalEmployeeChange.Type.CREATED, "3", ALAN)),
+                fullFetch);
+
+        assertEquals(List.of(ADA, GRACE, ALAN), roster);
+        assertEquals(2, fullFetches.get());
+    }
+
+    @Test
+    @DisplayName("Pushed changes are applied and reads skip the upstream until the stream closes or we write")
+    void appliesPushedChanges() {
+        AtomicInteger changeCalls = new AtomicInteger();
+        LongFunction<ExternalApiResponse<ExternalEmployeeChanges>> changesSince = since -> {
+            changeCalls.incrementAndGet();
+            return changes("e1", 5, since < 0);
+        };
+        replica.sync(changesSince, fullFetch);
+        replica.pushed(-1, changes("e1", 5, true).getData());
+
+        replica.pushed(
+                5,
+                changes("e1", 6, false, new ExternalEmployeeChange(6, ExternalEmployeeChange.Type.CREATED, "3", ALAN))
+                        .getData());
+        List<ExternalEmployeeDTO> roster = replica.sync(changesSince, fullFetch);
+
+        assertEquals(List.of(ADA, GRACE, ALAN), roster);
+        assertEquals(1, changeCalls.get());
+
+        replica.wrote();
+        replica.sync(changesSince, fullFetch);
+        replica.sync(changesSince, fullFetch);
+        assertEquals(2, changeCalls.get());
+
+        replica.streamClosed();
+        replica.sync(changesSince, fullFetch);
+        assertEquals(3, changeCalls.get());
+        assertEquals(1, fullFetches.get());
+    }
+
+    @Test
+    @DisplayName("Pushed changes that do not follow on from the replica's version are left to the next sync")
+    void pushedGap() {
+        replica.sync(since -> changes("e1", 5, true), fullFetch);
+        replica.pushed(
+                6,
+                changes("e1", 7, false, new ExternalEmployeeChange(7, ExternalEmployeeChange.Type.DELETED, "1", null))
+                        .getData());
+
+        List<ExternalEmployeeDTO> roster = replica.sync(
+                since -> changes(
+                        "e1",
+                        7,
+                        false,
+                        new ExternalEmployeeChange(6, ExternalEmployeeChange.Type.CREATED, "3", ALAN),
+                        new ExternalEmployeeChange(7, ExternalEmployeeChange.Type.DELETED, "1", null)),
+                fullFetch);
+
+        assertEquals(List.of(GRACE, ALAN), roster);
+        assertSame(
+                roster,
+                replica.sync(
+                        since -> {
+                            throw new AssertionError("stream is current");
+                        },
+                        fullFetch));
+    }
+
+    private static ExternalApiResponse<ExternalEmployeeChanges> changes(
+            String epoch, long version, boolean truncated, ExternalEmployeeChange... changes) {
+        return ExternalApiResponse.<ExternalEmployeeChanges>builder()
+                .data(new ExternalEmployeeChanges(epoch, version, truncated, List.of(changes)))
+                .status("Successfully processed request.")
+                .build();
+    }
+
+    private static ExternalEmployeeDTO employee(String id, String name) {
+        return ExternalEmployeeDTO.builder()
+                .id(id)
+                .employeeName(name)
+                .employeeSalary(100_000)
+                .build();
+    }
+}
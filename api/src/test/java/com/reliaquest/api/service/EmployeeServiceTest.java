@@ -10,6 +10,10 @@ import com.reliaquest.api.dto.request.CreateEmployeeRequest;
 import com.reliaquest.api.exception.EmployeeNotFoundException;
 import com.reliaquest.api.exception.EmployeeServiceException;
 import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.roster.LastKnownGoodRoster;
+import com.reliaquest.api.roster.PartialRoster;
+import com.reliaquest.api.roster.RosterReplica;
+import com.reliaquest.api.roster.RosterProperties;
 import com.reliaquest.api.service.impl.EmployeeServiceImpl;
 import feign.FeignException;
 import feign.Request;
@@ -20,7 +24,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
@@ -38,9 +49,24 @@ class EmployeeServiceTest {
     @Mock
     private EmployeeApiClient employeeApiClient;
 
+    @Spy
+    private LastKnownGoodRoster lastKnownGoodRoster = new LastKnownGoodRoster(inMemoryRoster());
+
+    @Spy
+    private RosterReplica rosterReplica = new RosterReplica(inMemoryRoster());
+
+    @Spy
+    private RosterProperties rosterProperties = inMemoryRoster();
+
     @InjectMocks
     private EmployeeServiceImpl employeeService;
 
+    private static RosterProperties inMemoryRoster() {
+        RosterProperties properties = new RosterProperties();
+        properties.getLastKnownGood().setFile(null);
+        return properties;
+    }
+
     private ExternalEmployeeDTO createExternalEmployeeDTO(String id, String name, Integer salary, Integer age, String title, String email) {
         return ExternalEmployeeDTO.builder()
                 .id(id)
@@ -202,6 +228,102 @@ class EmployeeServiceTest {
         verify(employeeApiClient, times(1)).getAllEmployees();
     }
 
+    @Test
+    @DisplayName("getAllEmployees: Upstream failure serves the last known good roster")
+    void getAllEmployees_UpstreamFailure_ServesLastKnownGood() {
+        // Arrange
+        ExternalApiResponse<List<ExternalEmployeeDTO>> apiResponse = ExternalApiResponse.<List<ExternalEmployeeDTO>>builder()
+                .data(List.of(createExternalEmployeeDTO("1", "John Doe", 50000, 30, "Developer", "john@example.com")))
+                .status("success")
+                .build();
+        when(employeeApiClient.getAllEmployees())
+                .thenReturn(apiResponse)
+                .thenThrow(new TooManyRequestsException(ErrorConstants.TOO_MANY_REQUESTS));
+
+        // Act
+        List<EmployeeDTO> fresh = employeeService.getAllEmployees();
+        List<EmployeeDTO> stale = employeeService.getAllEmployees();
+
+        // Assert
+        assertEquals(fresh, stale);
+        assertEquals("John Doe", stale.get(0).getName());
+        verify(lastKnownGoodRoster, times(1)).fallback(any(TooManyRequestsException.class));
+    }
+
+    @Test
+    @DisplayName("getAllEmployees: An unchanged roster confirms the last known good one instead of replacing it")
+    void getAllEmployees_UnchangedRoster_ConfirmsLastKnownGood() {
+        // Arrange
+        ExternalApiResponse<List<ExternalEmployeeDTO>> apiResponse = ExternalApiResponse.<List<ExternalEmployeeDTO>>builder()
+                .data(List.of(createExternalEmployeeDTO("1", "John Doe", 50000, 30, "Developer", "john@example.com")))
+                .status("success")
+                .build();
+        when(employeeApiClient.getAllEmployees()).thenReturn(apiResponse);
+
+        // Act
+        employeeService.getAllEmployees();
+        employeeService.getAllEmployees();
+
+        // Assert
+        verify(lastKnownGoodRoster, times(1)).update(any());
+        verify(lastKnownGoodRoster, times(1)).confirmed();
+    }
+
+    @Test
+    @DisplayName("getAllEmployees: A partial roster is served but not kept as the last known good one")
+    void getAllEmployees_PartialRoster_NotKeptAsLastKnownGood() {
+        // Arrange
+        ExternalApiResponse<List<ExternalEmployeeDTO>> apiResponse = ExternalApiResponse.<List<ExternalEmployeeDTO>>builder()
+                .data(List.of(createExternalEmployeeDTO("1", "John Doe", 50000, 30, "Developer", "john@example.com")))
+                .status("success")
+                .build();
+        when(employeeApiClient.getAllEmployees()).thenAnswer(invocation -> {
+            PartialRoster.mark("1 of 2 shards did not answer");
+            return apiResponse;
+        });
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        try {
+            // Act
+            List<EmployeeDTO> result = employeeService.getAllEmployees();
+
+            // Assert
+            assertEquals("John Doe", result.get(0).getName());
+            verify(lastKnownGoodRoster, never()).update(any());
+            assertTrue(lastKnownGoodRoster.get().isEmpty());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    @DisplayName("getAllEmployees: With a page size the roster is fetched page by page following the cursor")
+    void getAllEmployees_PageSize_FollowsCursor() {
+        // Arrange
+        rosterProperties.setPageSize(2);
+        HttpHeaders firstPageHeaders = new HttpHeaders();
+        firstPageHeaders.add("X-Next-Cursor", "next");
+        when(employeeApiClient.getEmployeesPage(2, null)).thenReturn(new ResponseEntity<>(
+                ExternalApiResponse.<List<ExternalEmployeeDTO>>builder()
+                        .data(List.of(
+                                createExternalEmployeeDTO("1", "John Doe", 50000, 30, "Developer", "john@example.com"),
+                                createExternalEmployeeDTO("2", "Jane Doe", 60000, 31, "Manager", "jane@example.com")))
+                        .build(),
+                firstPageHeaders,
+                HttpStatus.OK));
+        when(employeeApiClient.getEmployeesPage(2, "next")).thenReturn(ResponseEntity.ok(
+                ExternalApiResponse.<List<ExternalEmployeeDTO>>builder()
+                        .data(List.of(createExternalEmployeeDTO("3", "Jim Doe", 70000, 32, "Tester", "jim@example.com")))
+                        .build()));
+
+        // Act
+        List<EmployeeDTO> result = employeeService.getAllEmployees();
+
+        // Assert
+        assertEquals(List.of("John Doe", "Jane Doe", "Jim Doe"), result.stream().map(EmployeeDTO::getName).toList());
+        verify(employeeApiClient, never()).getAllEmployees();
+    }
+
 
     // GetEmployeesByNameSearch() Tests
 
@@ -1007,4 +1129,138 @@ class EmployeeServiceTest {
         verify(employeeApiClient, times(1)).deleteEmployee("John Doe");
     }
 
+    // Query pushdown tests
+
+    private void upstreamOffersQueries() {
+        when(employeeApiClient.headEmployees()).thenReturn(ResponseEntity.ok()
+                .header("X-Total-Count", "100000")
+                .header("X-Queries", "search, stats/maxSalary, top")
+                .build());
+    }
+
+    @Test
+    @DisplayName("Pushdown: searches, the highest salary and the top earners are asked of the upstream's query endpoints")
+    void pushdown_UpstreamOffersQueries_SkipsRoster() {
+        // Arrange
+        upstreamOffersQueries();
+        when(employeeApiClient.searchEmployees("nai")).thenReturn(ExternalApiResponse.<List<ExternalEmployeeDTO>>builder()
+                .data(List.of(createExternalEmployeeDTO("3", "Arun Nair", 60000, 32, "Analyst", "arun.nair@amazon.com")))
+                .build());
+        when(employeeApiClient.getMaxSalary()).thenReturn(ExternalApiResponse.<Integer>builder().data(95000).build());
+        when(employeeApiClient.getTopEmployees("salary", 10, "name")).thenReturn(ExternalApiResponse.<List<ExternalEmployeeDTO>>builder()
+                .data(List.of(ExternalEmployeeDTO.builder().employeeName("Vikash Singh").build(),
+                        ExternalEmployeeDTO.builder().employeeName("Aditi Sharma").build()))
+                .build());
+
+        // Act & Assert
+        List<EmployeeDTO> found = employeeService.getEmployeesByNameSearch("nai");
+        assertEquals(1, found.size());
+        assertEquals("Arun Nair", found.get(0).getName());
+        assertEquals(Integer.valueOf(95000), employeeService.getHighestSalaryOfEmployees());
+        assertEquals(List.of("Vikash Singh", "Aditi Sharma"), employeeService.getTopTenHighestEarningEmployeeNames());
+        verify(employeeApiClient, times(1)).headEmployees();
+        verify(employeeApiClient, never()).getAllEmployees();
+    }
+
+    @Test
+    @DisplayName("Pushdown: an empty upstream roster has no highest salary")
+    void pushdown_EmptyRoster_ThrowsException() {
+        // Arrange
+        upstreamOffersQueries();
+        when(employeeApiClient.getMaxSalary()).thenReturn(ExternalApiResponse.<Integer>builder().build());
+
+        // Act & Assert
+        EmployeeServiceException exception = assertThrows(EmployeeServiceException.class,
+                () -> employeeService.getHighestSalaryOfEmployees());
+        assertEquals(ErrorConstants.EMPLOYEE_NO_DATA, exception.getMessage());
+        verify(employeeApiClient, never()).getAllEmployees();
+    }
+
+    @Test
+    @DisplayName("Pushdown: an upstream without query endpoints is asked once, then answered from the roster")
+    void pushdown_UpstreamWithoutQueries_UsesRoster() {
+        // Arrange
+        when(employeeApiClient.headEmployees()).thenReturn(ResponseEntity.ok().header("X-Total-Count", "2").build());
+        when(employeeApiClient.getAllEmployees()).thenReturn(ExternalApiResponse.<List<ExternalEmployeeDTO>>builder()
+                .data(Arrays.asList(
+                        createExternalEmployeeDTO("1", "Ravi Gupta", 50000, 30, "Developer", "ravi.gupta@google.com"),
+                        createExternalEmployeeDTO("2", "Kavya Sharma", 80000, 28, "Senior Developer", "kavya.sharma@microsoft.com")))
+                .build());
+
+        // Act & Assert
+        assertEquals(Integer.valueOf(80000), employeeService.getHighestSalaryOfEmployees());
+        assertEquals(List.of("Kavya Sharma", "Ravi Gupta"), employeeService.getTopTenHighestEarningEmployeeNames());
+        verify(employeeApiClient, times(1)).headEmployees();
+        verify(employeeApiClient, never()).getMaxSalary();
+        verify(employeeApiClient, never()).getTopEmployees(anyString(), anyInt(), anyString());
+    }
+
+    @Test
+    @DisplayName("Pushdown: a throttled query is answered from the last known good roster, the query endpoints are kept")
+    void pushdown_QueryThrottled_ServesLastKnownGood() {
+        // Arrange
+        upstreamOffersQueries();
+        when(employeeApiClient.getMaxSalary())
+                .thenThrow(new TooManyRequestsException(ErrorConstants.TOO_MANY_REQUESTS))
+                .thenThrow(new EmployeeServiceException(ErrorConstants.EMPLOYEE_API_UNAVAILABLE))
+                .thenReturn(ExternalApiResponse.<Integer>builder().data(80000).build());
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class, () -> employeeService.getHighestSalaryOfEmployees());
+        lastKnownGoodRoster.update(List.of(new EmployeeDTO("1", "Ravi Gupta", 50000, 30, "Developer", "ravi.gupta@google.com")));
+        assertEquals(Integer.valueOf(50000), employeeService.getHighestSalaryOfEmployees());
+        assertEquals(Integer.valueOf(80000), employeeService.getHighestSalaryOfEmployees());
+        verify(employeeApiClient, times(1)).headEmployees();
+        verify(employeeApiClient, never()).getAllEmployees();
+    }
+
+    @Test
+    @DisplayName("Pushdown: a query endpoint gone (404) is answered from the roster and the query endpoints are learned again")
+    void pushdown_QueryEndpointGone_RelearnsQueries() {
+        // Arrange
+        upstreamOffersQueries();
+        when(employeeApiClient.getMaxSalary())
+                .thenThrow(new EmployeeNotFoundException(ErrorConstants.EMPLOYEE_NOT_FOUND))
+                .thenReturn(ExternalApiResponse.<Integer>builder().data(80000).build());
+        when(employeeApiClient.getAllEmployees()).thenReturn(ExternalApiResponse.<List<ExternalEmployeeDTO>>builder()
+                .data(List.of(createExternalEmployeeDTO("1", "Ravi Gupta", 50000, 30, "Developer", "ravi.gupta@google.com")))
+                .build());
+
+        // Act & Assert
+        assertEquals(Integer.valueOf(50000), employeeService.getHighestSalaryOfEmployees());
+        assertEquals(Integer.valueOf(80000), employeeService.getHighestSalaryOfEmployees());
+        verify(employeeApiClient, times(2)).headEmployees();
+        verify(employeeApiClient, times(1)).getAllEmployees();
+    }
+
+    @Test
+    @DisplayName("Pushdown: a failed HEAD is not repeated on every call during the backoff")
+    void pushdown_ProbeFails_BacksOff() {
+        // Arrange
+        when(employeeApiClient.headEmployees()).thenThrow(new TooManyRequestsException(ErrorConstants.TOO_MANY_REQUESTS));
+        when(employeeApiClient.getAllEmployees()).thenReturn(ExternalApiResponse.<List<ExternalEmployeeDTO>>builder()
+                .data(List.of(createExternalEmployeeDTO("1", "Ravi Gupta", 50000, 30, "Developer", "ravi.gupta@google.com")))
+                .build());
+
+        // Act & Assert
+        assertEquals(Integer.valueOf(50000), employeeService.getHighestSalaryOfEmployees());
+        assertEquals(List.of("Ravi Gupta"), employeeService.getTopTenHighestEarningEmployeeNames());
+        verify(employeeApiClient, times(1)).headEmployees();
+        verify(employeeApiClient, never()).getMaxSalary();
+    }
+
+    @Test
+    @DisplayName("Pushdown: turned off, everything is answered from the roster")
+    void pushdown_Disabled_UsesRoster() {
+        // Arrange
+        rosterProperties.setPushdown(false);
+        when(employeeApiClient.getAllEmployees()).thenReturn(ExternalApiResponse.<List<ExternalEmployeeDTO>>builder()
+                .data(List.of(createExternalEmployeeDTO("1", "Ravi Gupta", 50000, 30, "Developer", "ravi.gupta@google.com")))
+                .build());
+
+        // Act & Assert
+        assertEquals(Integer.valueOf(50000), employeeService.getHighestSalaryOfEmployees());
+        verify(employeeApiClient, never()).headEmployees();
+    }
+
 }
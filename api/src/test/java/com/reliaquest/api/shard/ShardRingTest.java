@@ -0,0 +1,82 @@
+package com.reliaquest.api.shard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ShardRingTest {
+
+    private static final List<String> URLS = List.of("http://shard-a/api", "http://shard-b/api", "http://shard-c/api");
+    private static final int NAMES = 30_000;
+
+    @Test
+    @DisplayName("A name belongs to the same shard whatever its case")
+    void ignoresCase() {
+        ShardRing ring = new ShardRing(URLS, 160);
+
+        assertEquals(ring.shardFor("Tiger Nixon"), ring.shardFor("tiger nixon"));
+        assertEquals(ring.shardFor("Tiger Nixon"), new ShardRing(URLS, 160).shardFor("TIGER NIXON"));
+    }
+
+    @Test
+    @DisplayName("Spellings the upstream deletes as one name, by case folding or accent composition, share a shard")
+    void foldsLikeTheUpstream() {
+        assertEquals("strasse", ShardRing.fold("STRASSE"));
+        assertEquals(ShardRing.fold("Straße"), ShardRing.fold("STRASSE"));
+        assertEquals(ShardRing.fold("Zoë Ångström"), ShardRing.fold("ZOE\u0308 A\u030ANGSTRO\u0308M"));
+
+        // lower-cased alone, each pair would be two different keys
+        for (int virtualNodes : new int[] {1, 16, 160}) {
+            ShardRing ring = new ShardRing(URLS, virtualNodes);
+            for (String[] pair : new String[][] {
+                {"Jürgen Straße", "JÜRGEN STRASSE"},
+                {"Zoë Ångström", "zoe\u0308 a\u030angstro\u0308m"},
+                {"ﬁona Weiß", "FIONA WEISS"}
+            }) {
+                assertEquals(ring.shardFor(pair[0]), ring.shardFor(pair[1]), pair[0] + " / " + pair[1]);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Names spread evenly over the shards")
+    void spreadsEvenly() {
+        ShardRing ring = new ShardRing(URLS, 160);
+        int[] counts = new int[URLS.size()];
+        for (int i = 0; i < NAMES; i++) {
+            counts[ring.shardFor("Employee " + i)]++;
+        }
+
+        for (int count : counts) {
+            assertTrue(Math.abs(count - NAMES / 3) < NAMES / 3 * 0.15, "shard sizes " + Arrays.toString(counts));
+        }
+    }
+
+    @Test
+    @DisplayName("Adding a shard only moves names to it, about its share of them; reordering moves none")
+    void consistent() {
+        ShardRing three = new ShardRing(URLS, 160);
+        List<String> fourUrls = List.of(URLS.get(0), URLS.get(1), URLS.get(2), "http://shard-d/api");
+        ShardRing four = new ShardRing(fourUrls, 160);
+        List<String> reorderedUrls = List.of(URLS.get(2), URLS.get(0), URLS.get(1));
+        ShardRing reordered = new ShardRing(reorderedUrls, 160);
+
+        int moved = 0;
+        for (int i = 0; i < NAMES; i++) {
+            String name = "Employee " + i;
+            String before = URLS.get(three.shardFor(name));
+            String after = fourUrls.get(four.shardFor(name));
+            if (!before.equals(after)) {
+                assertEquals("http://shard-d/api", after);
+                moved++;
+            }
+            assertEquals(before, reorderedUrls.get(reordered.shardFor(name)));
+        }
+        // the new shard's arcs vary in size with its points, 160 of them get it within about 30% of a fair share
+        assertTrue(Math.abs(moved - NAMES / 4) < NAMES / 4 * 0.3, moved + " names moved");
+    }
+}
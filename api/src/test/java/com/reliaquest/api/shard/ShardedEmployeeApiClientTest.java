@@ -0,0 +1,270 @@
+package com.reliaquest.api.shard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.constants.ErrorConstants;
+import com.reliaquest.api.dto.external.ExternalApiResponse;
+import com.reliaquest.api.dto.external.ExternalEmployeeDTO;
+import com.reliaquest.api.dto.request.CreateEmployeeRequest;
+import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.exception.EmployeeServiceException;
+import com.reliaquest.api.roster.PartialRoster;
+import com.reliaquest.api.roster.RosterProperties;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class ShardedEmployeeApiClientTest {
+
+    private static final List<String> URLS = List.of("http://shard-a/api", "http://shard-b/api", "http://shard-c/api");
+
+    private final List<EmployeeApiClient> clients =
+            List.of(mock(EmployeeApiClient.class), mock(EmployeeApiClient.class), mock(EmployeeApiClient.class));
+    private final ShardProperties properties = new ShardProperties();
+    private ShardedEmployeeApiClient sharded;
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        if (sharded != null) {
+            sharded.close();
+        }
+    }
+
+    @Test
+    @DisplayName("The roster is the shards' rosters in shard order, the same list while no shard changed")
+    void concatenatesRosters() {
+        ExternalApiResponse<List<ExternalEmployeeDTO>> first = response(employee("1", "Ada Lovelace", 100));
+        when(clients.get(0).getAllEmployees()).thenReturn(first);
+        when(clients.get(1).getAllEmployees()).thenReturn(response());
+        when(clients.get(2).getAllEmployees())
+                .thenReturn(response(employee("2", "Grace Hopper", 200), employee("3", "Alan Turing", 300)));
+
+        List<ExternalEmployeeDTO> roster = sharded().getAllEmployees().getData();
+
+        assertEquals(List.of("1", "2", "3"), ids(roster));
+        assertSame(roster, sharded.getAllEmployees().getData());
+
+        when(clients.get(0).getAllEmployees()).thenReturn(response(employee("4", "Edsger Dijkstra", 400)));
+        List<ExternalEmployeeDTO> changed = sharded.getAllEmployees().getData();
+        assertNotSame(roster, changed);
+        assertEquals(List.of("4", "2", "3"), ids(changed));
+    }
+
+    @Test
+    @DisplayName("Searches are the union of the shards' matches, the highest salary the highest of the shards'")
+    void mergesQueries() {
+        when(clients.get(0).searchEmployees("an")).thenReturn(response(employee("1", "Ada Lovelace", 100)));
+        when(clients.get(1).searchEmployees("an"))
+                .thenReturn(response(employee("3", "Alan Turing", 300), employee("1", "Ada Lovelace", 100)));
+        when(clients.get(2).searchEmployees("an")).thenReturn(response());
+        when(clients.get(0).getMaxSalary())
+                .thenReturn(ExternalApiResponse.<Integer>builder().data(120).build());
+        when(clients.get(1).getMaxSalary())
+                .thenReturn(ExternalApiResponse.<Integer>builder().build());
+        when(clients.get(2).getMaxSalary())
+                .thenReturn(ExternalApiResponse.<Integer>builder().data(310).build());
+
+        assertEquals(List.of("1", "3"), ids(sharded().searchEmployees("an").getData()));
+        assertEquals(310, sharded.getMaxSalary().getData());
+    }
+
+    @Test
+    @DisplayName("The top earners merge each shard's top earners, asking for their salaries")
+    void mergesTopEarners() {
+        when(clients.get(0).getTopEmployees("salary", 4, "name,salary"))
+                .thenReturn(response(
+                        employee("1", "Ada Lovelace", 500),
+                        employee("2", "Grace Hopper", 300),
+                        employee("3", "Alan Turing", 100)));
+        when(clients.get(1).getTopEmployees("salary", 4, "name,salary"))
+                .thenReturn(response(employee("4", "Edsger Dijkstra", 400), employee("5", "Barbara Liskov", 350)));
+        when(clients.get(2).getTopEmployees("salary", 4, "name,salary")).thenReturn(response());
+
+        assertEquals(
+                List.of("1", "4", "5", "2"),
+                ids(sharded().getTopEmployees("salary", 4, "name").getData()));
+    }
+
+    @Test
+    @DisplayName(
+            "A roster's highest earners are the first ones of the roster sorted by salary, none if none are asked for")
+    void highestPaid() {
+        Random random = new Random(42);
+        List<ExternalEmployeeDTO> roster = new ArrayList<>();
+        IntStream.range(0, 1_000)
+                .forEach(i -> roster.add(employee(Integer.toString(i), "Employee " + i, random.nextInt(1_000_000))));
+        roster.add(employee("unpaid", "Unpaid", null));
+
+        List<Integer> expected = roster.stream()
+                .map(ExternalEmployeeDTO::getEmployeeSalary)
+                .filter(salary -> salary != null)
+                .sorted(Comparator.reverseOrder())
+                .limit(10)
+                .toList();
+        assertEquals(
+                expected,
+                ShardedEmployeeApiClient.highestPaid(roster, 10).stream()
+                        .map(ExternalEmployeeDTO::getEmployeeSalary)
+                        .toList());
+        assertEquals(List.of(), ShardedEmployeeApiClient.highestPaid(roster, 0));
+        assertEquals(List.of(), ShardedEmployeeApiClient.highestPaid(roster, -1));
+        assertEquals(List.of(), ShardedEmployeeApiClient.mergeTop(List.of(roster), -1));
+    }
+
+    @Test
+    @DisplayName("Creates and deletes go only to the shard the name hashes to")
+    void routesWrites() {
+        int owner = new ShardRing(URLS, properties.getVirtualNodes()).shardFor("Tiger Nixon");
+        CreateEmployeeRequest request = CreateEmployeeRequest.builder()
+                .name("Tiger Nixon")
+                .salary(320_800)
+                .age(61)
+                .title("Architect")
+                .build();
+        when(clients.get(owner).createEmployee(request))
+                .thenReturn(ExternalApiResponse.<ExternalEmployeeDTO>builder()
+                        .data(employee("1", "Tiger Nixon", 320_800))
+                        .build());
+
+        assertEquals("1", sharded().createEmployee(request).getData().getId());
+        sharded.deleteEmployee("tiger nixon");
+
+        for (int shard = 0; shard < clients.size(); shard++) {
+            if (shard == owner) {
+                verify(clients.get(shard)).deleteEmployee("tiger nixon");
+            } else {
+                verify(clients.get(shard), never()).createEmployee(any());
+                verify(clients.get(shard), never()).deleteEmployee(any());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("A lookup by id is answered by the shard that has the employee, not found only if no shard failed")
+    void findsById() {
+        when(clients.get(0).getEmployeeById("2"))
+                .thenThrow(new EmployeeNotFoundException(ErrorConstants.EMPLOYEE_NOT_FOUND));
+        when(clients.get(1).getEmployeeById("2"))
+                .thenReturn(ExternalApiResponse.<ExternalEmployeeDTO>builder()
+                        .data(employee("2", "Grace Hopper", 200))
+                        .build());
+        when(clients.get(2).getEmployeeById("2"))
+                .thenThrow(new EmployeeServiceException(ErrorConstants.EMPLOYEE_API_UNAVAILABLE));
+        clients.forEach(client -> when(client.getEmployeeById("9"))
+                .thenThrow(new EmployeeNotFoundException(ErrorConstants.EMPLOYEE_NOT_FOUND)));
+        when(clients.get(0).getEmployeeById("7"))
+                .thenThrow(new EmployeeNotFoundException(ErrorConstants.EMPLOYEE_NOT_FOUND));
+        when(clients.get(1).getEmployeeById("7"))
+                .thenThrow(new EmployeeServiceException(ErrorConstants.EMPLOYEE_API_UNAVAILABLE));
+        when(clients.get(2).getEmployeeById("7"))
+                .thenThrow(new EmployeeNotFoundException(ErrorConstants.EMPLOYEE_NOT_FOUND));
+
+        assertEquals("Grace Hopper", sharded().getEmployeeById("2").getData().getEmployeeName());
+        assertThrows(EmployeeNotFoundException.class, () -> sharded.getEmployeeById("9"));
+        assertThrows(EmployeeServiceException.class, () -> sharded.getEmployeeById("7"));
+    }
+
+    @Test
+    @DisplayName("A failed shard fails the read, or is left out of it and flagged with the partial policy")
+    void partialFailures() {
+        when(clients.get(0).getAllEmployees()).thenReturn(response(employee("1", "Ada Lovelace", 100)));
+        when(clients.get(1).getAllEmployees())
+                .thenThrow(new EmployeeServiceException(ErrorConstants.EMPLOYEE_API_UNAVAILABLE));
+        when(clients.get(2).getAllEmployees()).thenAnswer(invocation -> {
+            Thread.sleep(2_000);
+            return response(employee("3", "Alan Turing", 300));
+        });
+        properties.setTimeout(Duration.ofMillis(200));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        assertThrows(EmployeeServiceException.class, () -> sharded().getAllEmployees());
+        assertNull(PartialRoster.missing());
+
+        properties.setPartialFailure(ShardProperties.PartialFailure.PARTIAL);
+        assertEquals(List.of("1"), ids(sharded.getAllEmployees().getData()));
+        assertEquals("2 of 3 shards did not answer", PartialRoster.missing());
+
+        when(clients.get(0).getAllEmployees())
+                .thenThrow(new EmployeeServiceException(ErrorConstants.EMPLOYEE_API_UNAVAILABLE));
+        assertThrows(EmployeeServiceException.class, () -> sharded.getAllEmployees());
+    }
+
+    @Test
+    @DisplayName("HEAD sums the shards' sizes and offers the query endpoints all shards offer")
+    void mergesHeads() {
+        when(clients.get(0).headEmployees()).thenReturn(head("2", "search, stats/maxSalary, top"));
+        when(clients.get(1).headEmployees()).thenReturn(head("3", "search, top"));
+        when(clients.get(2).headEmployees()).thenReturn(head("0", "top, search"));
+
+        HttpHeaders headers = sharded().headEmployees().getHeaders();
+
+        assertEquals("5", headers.getFirst("X-Total-Count"));
+        assertEquals("search, top", headers.getFirst("X-Queries"));
+
+        when(clients.get(2).headEmployees()).thenReturn(ResponseEntity.ok().build());
+        assertNull(sharded.headEmployees().getHeaders().getFirst("X-Queries"));
+    }
+
+    // Shard change logs are not mocked, so each replica falls back to full fetches
+    private ShardedEmployeeApiClient sharded() {
+        if (sharded == null) {
+            clients.forEach(client -> when(client.getChanges(anyLong()))
+                    .thenThrow(new EmployeeNotFoundException(ErrorConstants.EMPLOYEE_NOT_FOUND)));
+            RosterProperties rosterProperties = new RosterProperties();
+            rosterProperties.getEvents().setEnabled(false);
+            sharded = new ShardedEmployeeApiClient(URLS, clients, properties, rosterProperties, new ObjectMapper());
+        }
+        return sharded;
+    }
+
+    private static ResponseEntity<Void> head(String count, String queries) {
+        return ResponseEntity.status(HttpStatus.OK)
+                .header("X-Total-Count", count)
+                .header("X-Queries", queries)
+                .build();
+    }
+
+    private static ExternalApiResponse<List<ExternalEmployeeDTO>> response(ExternalEmployeeDTO... employees) {
+        return ExternalApiResponse.<List<ExternalEmployeeDTO>>builder()
+                .data(List.of(employees))
+                .build();
+    }
+
+    private static ExternalEmployeeDTO employee(String id, String name, Integer salary) {
+        return ExternalEmployeeDTO.builder()
+                .id(id)
+                .employeeName(name)
+                .employeeSalary(salary)
+                .build();
+    }
+
+    private static List<String> ids(List<ExternalEmployeeDTO> employees) {
+        return employees.stream().map(ExternalEmployeeDTO::getId).toList();
+    }
+}
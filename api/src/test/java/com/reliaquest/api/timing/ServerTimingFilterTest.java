@@ -0,0 +1,57 @@
+package com.reliaquest.api.timing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ServerTimingFilterTest {
+
+    private final ServerTimingProperties properties = new ServerTimingProperties();
+    private final ServerTimingFilter filter = new ServerTimingFilter(properties);
+
+    @Test
+    @DisplayName("Server-Timing header lists recorded phases before the body is written")
+    void addsServerTimingHeader() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(
+                new MockHttpServletRequest("GET", "/api/v1/employee/topTenHighestEarningEmployeeNames"),
+                response,
+                (request, servletResponse) -> {
+                    RequestTimings.record(TimingPhase.UPSTREAM, TimeUnit.MILLISECONDS.toNanos(12));
+                    RequestTimings.record(TimingPhase.UPSTREAM, TimeUnit.MILLISECONDS.toNanos(3));
+                    RequestTimings.record(TimingPhase.MAPPING, 420_000);
+                    servletResponse.getWriter().write("[]");
+                });
+
+        String header = response.getHeader(ServerTimingFilter.SERVER_TIMING_HEADER);
+        assertTrue(header.startsWith("upstream;dur=15.00;desc=\"2 calls\", mapping;dur=0.42, app;dur="), header);
+        assertEquals("[]", response.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("Timings are not recorded outside of a filtered request")
+    void noTimingOutsideRequest() {
+        assertEquals(0L, RequestTimings.start());
+        RequestTimings.record(TimingPhase.UPSTREAM, 1_000);
+    }
+
+    @Test
+    @DisplayName("Header can be disabled while keeping timing capture")
+    void headerDisabled() throws Exception {
+        properties.setHeader(false);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/employee"), response, (request, servletResponse) -> {
+            servletResponse.getOutputStream().write('x');
+        });
+
+        assertNull(response.getHeader(ServerTimingFilter.SERVER_TIMING_HEADER));
+    }
+}
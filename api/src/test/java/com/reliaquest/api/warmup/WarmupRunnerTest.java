@@ -0,0 +1,76 @@
+package com.reliaquest.api.warmup;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.exception.EmployeeServiceException;
+import com.reliaquest.api.service.EmployeeService;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.env.MockEnvironment;
+
+@ExtendWith(MockitoExtension.class)
+class WarmupRunnerTest {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    private final WarmupProperties properties = new WarmupProperties();
+    private WarmupRunner warmupRunner;
+
+    @BeforeEach
+    void setUp() {
+        properties.setSerializationIterations(10);
+        properties.setRequestRounds(2);
+        warmupRunner = new WarmupRunner(
+                properties, employeeService, Jackson2ObjectMapperBuilder.json().build(), new MockEnvironment());
+    }
+
+    @Test
+    @DisplayName("Warmup prefetches the roster and calls every read path of the service without a web server")
+    void warmsUpServicePaths() {
+        EmployeeDTO employee = new EmployeeDTO("7", "Priya Natarajan", 120000, 34, "Engineer", "priya@company.com");
+        when(employeeService.getAllEmployees()).thenReturn(List.of(employee));
+
+        warmupRunner.run(new DefaultApplicationArguments());
+
+        // prefetch + one per round
+        verify(employeeService, times(3)).getAllEmployees();
+        verify(employeeService, times(2)).getEmployeesByNameSearch("P");
+        verify(employeeService, times(2)).getEmployeeById("7");
+        verify(employeeService, times(2)).getHighestSalaryOfEmployees();
+        verify(employeeService, times(2)).getTopTenHighestEarningEmployeeNames();
+    }
+
+    @Test
+    @DisplayName("Upstream failures during warmup do not fail startup")
+    void toleratesFailures() {
+        when(employeeService.getAllEmployees()).thenThrow(new EmployeeServiceException("upstream down"));
+        when(employeeService.getEmployeeById(anyString())).thenThrow(new EmployeeServiceException("upstream down"));
+
+        assertDoesNotThrow(() -> warmupRunner.run(new DefaultApplicationArguments()));
+        verify(employeeService, times(2)).getEmployeeById("unknown");
+    }
+
+    @Test
+    @DisplayName("Disabled warmup does nothing")
+    void disabled() {
+        properties.setEnabled(false);
+
+        warmupRunner.run(new DefaultApplicationArguments());
+
+        verifyNoInteractions(employeeService);
+    }
+}
@@ -0,0 +1,42 @@
+package com.reliaquest.loadtest;
+
+import com.reliaquest.loadtest.config.LoadTestProperties;
+import com.reliaquest.loadtest.engine.LoadGenerator;
+import com.reliaquest.loadtest.engine.LoadResult;
+import com.reliaquest.loadtest.launcher.AppLauncher;
+import com.reliaquest.loadtest.report.LatencyReportWriter;
+import java.nio.file.Path;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+@Slf4j
+@SpringBootApplication
+@EnableConfigurationProperties(LoadTestProperties.class)
+public class LoadTestApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(LoadTestApplication.class)
+                .properties("spring.config.name=loadtest")
+                .run(args)
+                .close();
+    }
+
+    @Bean
+    public CommandLineRunner loadTestRunner(LoadTestProperties properties) {
+        return args -> {
+            try (AppLauncher launcher = new AppLauncher(properties.getLaunch(), Path.of(properties.getReportDir()))) {
+                if (properties.getLaunch().isEnabled()) {
+                    launcher.startServer();
+                    launcher.startApi();
+                }
+                LoadResult result = new LoadGenerator(properties).run();
+                Path reportDir = new LatencyReportWriter(Path.of(properties.getReportDir())).write(result);
+                log.info("Load test finished, reports written to {}", reportDir);
+            }
+        };
+    }
+}
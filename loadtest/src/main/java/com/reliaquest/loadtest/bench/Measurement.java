@@ -0,0 +1,13 @@
+package com.reliaquest.loadtest.bench;
+
+import com.reliaquest.loadtest.engine.EndpointResult;
+
+/**
+ * Throughput in operations (or requests) per second and 99th percentile latency in milliseconds.
+ */
+public record Measurement(double throughput, double p99Ms) {
+
+    public static Measurement of(EndpointResult result) {
+        return new Measurement(result.throughput(), result.percentileMillis(99));
+    }
+}
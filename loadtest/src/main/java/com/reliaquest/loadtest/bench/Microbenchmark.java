@@ -0,0 +1,60 @@
+package com.reliaquest.loadtest.bench;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Fixed-iteration, single-threaded timing loop. Not a replacement for JMH, but stable enough to catch the kind of
+ * regressions the perf gate is for (an accidental O(n log n) sort, a per-element log call, a doubled allocation).
+ */
+@Slf4j
+public final class Microbenchmark {
+
+    private static volatile int sink;
+
+    private Microbenchmark() {}
+
+    public static Measurement run(String name, int warmupIterations, int iterations, Supplier<?> operation) {
+        for (int i = 0; i < warmupIterations; i++) {
+            consume(operation.get());
+        }
+        Histogram histogram = new Histogram(3);
+        long allocatedBefore = allocatedBytes();
+        long started = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            long t0 = System.nanoTime();
+            consume(operation.get());
+            histogram.recordValue(System.nanoTime() - t0);
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        long allocatedPerOp = (allocatedBytes() - allocatedBefore) / iterations;
+        Measurement measurement =
+                new Measurement(iterations / seconds, histogram.getValueAtPercentile(99) / 1_000_000.0);
+        log.info(
+                "{}: {} ops/s, p50 {} ms, p99 {} ms, {} bytes/op allocated",
+                name,
+                Math.round(measurement.throughput()),
+                histogram.getValueAtPercentile(50) / 1_000_000.0,
+                measurement.p99Ms(),
+                allocatedPerOp);
+        return measurement;
+    }
+
+    /*
+     * Bytes allocated by the current thread so far, or 0 when the JVM does not support the measurement.
+     */
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported()) {
+            return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    // Keeps the JIT from eliminating the measured work.
+    private static void consume(Object result) {
+        sink += System.identityHashCode(result);
+    }
+}
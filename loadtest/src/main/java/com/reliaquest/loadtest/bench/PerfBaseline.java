@@ -0,0 +1,112 @@
+package com.reliaquest.loadtest.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compares measurements against the checked-in {@code perf-baseline.json} of a module.
+ *
+ * <p>A scenario fails when its throughput drops below {@code baseline * (1 - tolerance)} or its p99 rises above
+ * {@code baseline * (1 + tolerance)}. The p99 ceiling is at least {@code baseline + p99Slack}, since percentiles of
+ * sub-millisecond operations are dominated by scheduler and GC noise. With {@code perf.updateBaseline=true} measurements are written into the baseline
+ * instead of being checked. Every measurement is also recorded in {@code <perf.reportDir>/results.json}.
+ */
+@Slf4j
+public class PerfBaseline {
+
+    private static final Object FILE_LOCK = new Object();
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final Path baselineFile;
+    private final Path reportDir;
+    private final double tolerance;
+    private final double p99SlackMs;
+    private final boolean update;
+
+    public PerfBaseline(Path baselineFile, Path reportDir, double tolerance, double p99SlackMs, boolean update) {
+        this.baselineFile = baselineFile;
+        this.reportDir = reportDir;
+        this.tolerance = tolerance;
+        this.p99SlackMs = p99SlackMs;
+        this.update = update;
+    }
+
+    public static PerfBaseline fromSystemProperties() {
+        return new PerfBaseline(
+                Path.of(System.getProperty("perf.baseline", "perf-baseline.json")),
+                Path.of(System.getProperty("perf.reportDir", "build/reports/perf")),
+                Double.parseDouble(System.getProperty("perf.tolerance", "0.30")),
+                Double.parseDouble(System.getProperty("perf.p99SlackMs", "0.1")),
+                Boolean.parseBoolean(System.getProperty("perf.updateBaseline", "false")));
+    }
+
+    /**
+     * @throws AssertionError if the measurement regressed beyond the tolerance
+     */
+    public void verify(String scenario, Measurement measured) {
+        synchronized (FILE_LOCK) {
+            write(reportDir.resolve("results.json"), scenario, measured);
+            if (update) {
+                write(baselineFile, scenario, measured);
+                log.info("Updated baseline for {}: {}", scenario, measured);
+                return;
+            }
+
+            ObjectNode baseline = (ObjectNode) read(baselineFile).get(scenario);
+            if (baseline == null) {
+                log.warn(
+                        "No baseline for {} in {}; run with -PperfUpdateBaseline to record one",
+                        scenario,
+                        baselineFile);
+                return;
+            }
+            double throughputFloor = baseline.path("throughput").asDouble() * (1 - tolerance);
+            double baselineP99 = baseline.path("p99Ms").asDouble();
+            double p99Ceiling = Math.max(baselineP99 * (1 + tolerance), baselineP99 + p99SlackMs);
+
+            List<String> violations = new ArrayList<>();
+            if (measured.throughput() < throughputFloor) {
+                violations.add("throughput %.1f/s < %.1f/s".formatted(measured.throughput(), throughputFloor));
+            }
+            if (measured.p99Ms() > p99Ceiling) {
+                violations.add("p99 %.3f ms > %.3f ms".formatted(measured.p99Ms(), p99Ceiling));
+            }
+            if (!violations.isEmpty()) {
+                throw new AssertionError("Performance regression in %s (tolerance %.0f%%): %s"
+                        .formatted(scenario, tolerance * 100, String.join(", ", violations)));
+            }
+            log.info("{} within baseline: {} vs {}", scenario, measured, baseline);
+        }
+    }
+
+    private ObjectNode read(Path file) {
+        try {
+            return Files.exists(file)
+                    ? (ObjectNode) objectMapper.readTree(file.toFile())
+                    : objectMapper.createObjectNode();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + file, e);
+        }
+    }
+
+    private void write(Path file, String scenario, Measurement measured) {
+        ObjectNode scenarios = read(file);
+        ObjectNode entry = scenarios.putObject(scenario);
+        entry.put("throughput", Math.round(measured.throughput() * 10) / 10.0);
+        entry.put("p99Ms", Math.round(measured.p99Ms() * 1000) / 1000.0);
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            objectMapper.writeValue(file.toFile(), scenarios);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write " + file, e);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.reliaquest.loadtest.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.reliaquest.loadtest.config.LoadTestProperties;
+import com.reliaquest.loadtest.launcher.AppLauncher;
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Starts the mock server on Tomcat (the default) and then on Netty (the reactive profile) and holds an increasing
+ * number of concurrent connections against each, every connection fetching the full employee list again as soon as
+ * the last one arrived. The list is served after an injected latency ({@code concurrency.latency}, 200ms by default),
+ * like a slow upstream. The roster is small ({@code concurrency.rows}, 100 by default) so the connections, not writing
+ * the list, are what the server runs out of.
+ *
+ * <p>Reports per runtime and connection count the completed requests per second, latency percentiles and failures
+ * (timeouts and refused or reset connections).
+ *
+ * <p>Configured through system properties ({@code concurrency.*}), see the {@code concurrencyBenchmark} task in
+ * loadtest/build.gradle.
+ */
+@Slf4j
+public class ConcurrencyBenchmark {
+
+    private static final String EMPLOYEE_PATH = "/api/v1/employee";
+    private static final int RAMP_UP_BATCH = 250;
+    private static final Duration RAMP_UP_PAUSE = Duration.ofMillis(100);
+
+    private final HttpClient client;
+    private final URI uri;
+    private final Duration duration;
+    private final Duration timeout;
+
+    public ConcurrencyBenchmark(URI uri, Duration duration, Duration timeout) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        this.uri = uri;
+        this.duration = duration;
+        this.timeout = timeout;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rows = Integer.getInteger("concurrency.rows", 100);
+        List<Integer> levels = Arrays.stream(System.getProperty("concurrency.levels", "1000,4000,8000,12000")
+                        .split(","))
+                .map(level -> Integer.parseInt(level.trim()))
+                .toList();
+        Duration latency = Duration.parse(System.getProperty("concurrency.latency", "PT0.2S"));
+        Duration duration = Duration.parse(System.getProperty("concurrency.duration", "PT20S"));
+        Duration timeout = Duration.parse(System.getProperty("concurrency.timeout", "PT30S"));
+        Path reportDir = Path.of(System.getProperty("concurrency.report-dir", "build/reports/concurrency"));
+
+        LoadTestProperties.Launch launch = new LoadTestProperties.Launch();
+        launch.setServerJar(Objects.requireNonNull(
+                System.getProperty("concurrency.server-jar"), "System property concurrency.server-jar is required"));
+        launch.setJvmArgs(System.getProperty("concurrency.jvm-args", "-Xmx2g"));
+        launch.setStartupTimeout(Duration.ofMinutes(5));
+
+        Map<String, List<Map<String, Object>>> results = new LinkedHashMap<>();
+        for (String runtime :
+                System.getProperty("concurrency.runtimes", "servlet,reactive").split(",")) {
+            List<String> appArgs = new ArrayList<>(List.of(
+                    "--server.port=" + launch.getServerPort(),
+                    "--mock.employees.max=" + rows,
+                    "--mock.employees.seed=42",
+                    "--mock.rate-limit.enabled=false",
+                    "--mock.faults.enabled=true",
+                    "--mock.faults.endpoints[0].method=GET",
+                    "--mock.faults.endpoints[0].path=" + EMPLOYEE_PATH,
+                    "--mock.faults.endpoints[0].latency.distribution=fixed",
+                    "--mock.faults.endpoints[0].latency.mean=" + latency.toMillis() + "ms"));
+            if (runtime.equals("reactive")) {
+                appArgs.add("--spring.profiles.active=reactive");
+            }
+            try (AppLauncher launcher = new AppLauncher(launch, reportDir.resolve(runtime))) {
+                launcher.start(
+                        "server",
+                        launch.getServerJar(),
+                        launch.getServerPort(),
+                        EMPLOYEE_PATH + "/changes?since=-1",
+                        appArgs,
+                        "");
+                ConcurrencyBenchmark benchmark = new ConcurrencyBenchmark(
+                        URI.create("http://localhost:" + launch.getServerPort() + EMPLOYEE_PATH), duration, timeout);
+                benchmark.warmUp();
+                List<Map<String, Object>> rowsOfRuntime = new ArrayList<>();
+                for (int connections : levels) {
+                    rowsOfRuntime.add(benchmark.measure(runtime, connections));
+                }
+                results.put(runtime, rowsOfRuntime);
+            }
+        }
+        report(rows, latency, duration, results, reportDir);
+    }
+
+    private void warmUp() throws InterruptedException {
+        hold(50, Duration.ofSeconds(10), new ConcurrentHistogram(3), new AtomicLong(), new Failures());
+    }
+
+    public Map<String, Object> measure(String runtime, int connections) throws InterruptedException {
+        Histogram latencies = new ConcurrentHistogram(3);
+        AtomicLong bytes = new AtomicLong();
+        Failures failures = new Failures();
+        long started = System.nanoTime();
+        hold(connections, duration, latencies, bytes, failures);
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("connections", connections);
+        row.put("completed", latencies.getTotalCount());
+        row.put("requestsPerSecond", Math.round(latencies.getTotalCount() / seconds));
+        row.put("megabytesPerSecond", Math.round(bytes.get() / seconds / 1e6));
+        row.put("p50Ms", millis(latencies.getValueAtPercentile(50)));
+        row.put("p99Ms", millis(latencies.getValueAtPercentile(99)));
+        row.put("maxMs", millis(latencies.getMaxValue()));
+        row.put("timeouts", failures.timeouts.get());
+        row.put("errors", failures.errors.get());
+        log.info("{} at {} connections: {}", runtime, connections, row);
+        return row;
+    }
+
+    /*
+     * Each of the connections sends its next request when the last one completed, until the duration is over; then the
+     * requests in flight are awaited. Connections are opened RAMP_UP_BATCH at a time, thousands of simultaneous
+     * connects leave some of the client's exchanges waiting for a response the server was never sent.
+     */
+    private void hold(int connections, Duration length, Histogram latencies, AtomicLong bytes, Failures failures)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + length.toNanos();
+        List<CompletableFuture<Void>> loops = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            if (i > 0 && i % RAMP_UP_BATCH == 0) {
+                Thread.sleep(RAMP_UP_PAUSE.toMillis());
+            }
+            loops.add(loop(deadline, latencies, bytes, failures));
+        }
+        try {
+            loops.forEach(CompletableFuture::join);
+        } finally {
+            // the client stops its selector, with every exchange in flight, once it is no longer reachable
+            Reference.reachabilityFence(client);
+        }
+    }
+
+    private CompletableFuture<Void> loop(long deadline, Histogram latencies, AtomicLong bytes, Failures failures) {
+        if (System.nanoTime() >= deadline) {
+            return CompletableFuture.completedFuture(null);
+        }
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(timeout).build();
+        long started = System.nanoTime();
+        return client.sendAsync(
+                        request,
+                        info -> HttpResponse.BodySubscribers.fromSubscriber(new ByteCounter(), ByteCounter::bytes))
+                // the request timeout ends at the response headers, this one also covers the body
+                .orTimeout(timeout.multipliedBy(2).toMillis(), TimeUnit.MILLISECONDS)
+                .handle((response, error) -> {
+                    if (error == null && response.statusCode() == 200) {
+                        latencies.recordValue((System.nanoTime() - started) / 1_000);
+                        bytes.addAndGet(response.body());
+                    } else {
+                        failures.record(error);
+                    }
+                    return null;
+                })
+                .thenCompose(ignored -> loop(deadline, latencies, bytes, failures));
+    }
+
+    private static void report(
+            int rows,
+            Duration latency,
+            Duration duration,
+            Map<String, List<Map<String, Object>>> results,
+            Path reportDir)
+            throws IOException {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("rows", rows);
+        summary.put("latencyMs", latency.toMillis());
+        summary.put("durationSeconds", duration.toSeconds());
+        summary.put("results", results);
+        Files.createDirectories(reportDir);
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(reportDir.resolve("concurrency.json").toFile(), summary);
+
+        StringBuilder table = new StringBuilder();
+        String format = "%-10s %12s %10s %8s %10s %10s %10s %9s %8s%n";
+        table.append(String.format(
+                format, "runtime", "connections", "req/s", "MB/s", "p50 ms", "p99 ms", "max ms", "timeouts", "errors"));
+        results.forEach((runtime, runtimeRows) -> {
+            for (Map<String, Object> row : runtimeRows) {
+                table.append(String.format(
+                        format,
+                        runtime,
+                        row.get("connections"),
+                        row.get("requestsPerSecond"),
+                        row.get("megabytesPerSecond"),
+                        row.get("p50Ms"),
+                        row.get("p99Ms"),
+                        row.get("maxMs"),
+                        row.get("timeouts"),
+                        row.get("errors")));
+            }
+        });
+        Files.writeString(reportDir.resolve("summary.txt"), table);
+        log.info("Concurrent connections, full list of {} rows after {} ms:\n{}", rows, latency.toMillis(), table);
+    }
+
+    private static double millis(long micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+
+    /*
+     * Failed requests: timeouts, and everything else (refused or reset connections, non-200 responses).
+     */
+    private static final class Failures {
+
+        private final AtomicLong timeouts = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+
+        private void record(Throwable error) {
+            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            if (cause instanceof HttpTimeoutException || cause instanceof TimeoutException) {
+                timeouts.incrementAndGet();
+            } else {
+                errors.incrementAndGet();
+            }
+        }
+    }
+
+    /*
+     * Counts a body's bytes without keeping them, thousands of large bodies can be arriving at once.
+     */
+    private static final class ByteCounter implements Flow.Subscriber<List<ByteBuffer>> {
+
+        private long bytes;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            for (ByteBuffer buffer : buffers) {
+                bytes += buffer.remaining();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {}
+
+        @Override
+        public void onComplete() {}
+
+        private long bytes() {
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.reliaquest.loadtest.config;
+
+import com.reliaquest.loadtest.model.Endpoint;
+import com.reliaquest.loadtest.model.LoadMode;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "loadtest")
+public class LoadTestProperties {
+
+    private LoadMode mode = LoadMode.CLOSED;
+    private String targetUrl = "http://localhost:8111/api/v1/employee";
+    private Duration duration = Duration.ofSeconds(60);
+    private Duration warmup = Duration.ofSeconds(10);
+
+    /*
+     * Open-loop settings: constant arrival rate in requests/second, and a cap on outstanding requests so a stalled
+     * target cannot exhaust the generator. Time spent waiting for a free slot still counts towards latency.
+     */
+    private double rate = 50;
+    private int maxInFlight = 512;
+
+    /*
+     * Closed-loop settings: number of workers and optional per-worker pacing between request starts.
+     */
+    private int concurrency = 8;
+    private Duration pacing = Duration.ZERO;
+
+    /*
+     * Expected interval between requests of one closed-loop worker used for coordinated omission correction when no
+     * pacing is configured. Defaults to the mean observed service time.
+     */
+    private Duration expectedInterval;
+
+    private Duration requestTimeout = Duration.ofSeconds(15);
+    private Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+    private String reportDir = "build/reports/loadtest";
+    private Launch launch = new Launch();
+
+    @Data
+    public static class Launch {
+
+        private boolean enabled = true;
+        private String serverJar;
+        private String apiJar;
+        private int serverPort = 8112;
+        private int apiPort = 8111;
+        private Duration startupTimeout = Duration.ofSeconds(120);
+        private String jvmArgs = "";
+        private String serverArgs = "";
+        private String apiArgs = "";
+
+        /*
+         * Load starts only once this returns 200, i.e. after the api's warmup. Blank to start at the first response.
+         */
+        private String apiReadinessPath = "/actuator/health/readiness";
+    }
+}
@@ -0,0 +1,158 @@
+package com.reliaquest.loadtest.engine;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.loadtest.model.Endpoint;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Builds requests for each {@link Endpoint} against the api and keeps the pools of ids and names they draw from.
+ *
+ * <p>Ids and names are seeded from one {@code GET /} before the run. Deletes only consume ids created during the run so
+ * a load test does not shrink the seeded roster; when none are available a random id is used (expected 404).
+ */
+@Slf4j
+public class EmployeeRequestFactory {
+
+    private static final HttpResponse.BodyHandler<byte[]> DISCARDING = HttpResponse.BodyHandlers.replacing(null);
+    private static final HttpResponse.BodyHandler<byte[]> BUFFERING = HttpResponse.BodyHandlers.ofByteArray();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final Duration requestTimeout;
+    private final ConcurrentLinkedQueue<String> createdIds = new ConcurrentLinkedQueue<>();
+    private final AtomicLong createSequence = new AtomicLong();
+    private volatile List<String> seededIds = List.of();
+    private volatile List<String> searchFragments = List.of("a");
+
+    public EmployeeRequestFactory(String baseUrl, Duration requestTimeout) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /*
+     * Retries until the roster is returned (the mock server throttles aggressively) or the deadline passes.
+     */
+    public void seed(HttpClient client, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                HttpResponse<byte[]> response = client.send(request(Endpoint.GET_ALL), BUFFERING);
+                if (response.statusCode() == 200) {
+                    applySeed(objectMapper.readTree(response.body()));
+                    log.info("Seeded {} employee ids for load generation", seededIds.size());
+                    return;
+                }
+                log.info("Seeding roster returned {}, retrying", response.statusCode());
+            } catch (IOException e) {
+                log.info("Seeding roster failed: {}, retrying", e.getMessage());
+            }
+            Thread.sleep(1_000);
+        }
+        log.warn("Could not seed roster within {}; id based endpoints will mostly return 404", timeout);
+    }
+
+    private void applySeed(JsonNode employees) {
+        List<String> ids = new ArrayList<>();
+        List<String> fragments = new ArrayList<>();
+        for (JsonNode employee : employees) {
+            ids.add(employee.path("id").asText());
+            String name = employee.path("name").asText("");
+            if (name.length() >= 3) {
+                fragments.add(name.substring(0, 3));
+            }
+        }
+        seededIds = List.copyOf(ids);
+        if (!fragments.isEmpty()) {
+            searchFragments = List.copyOf(fragments);
+        }
+    }
+
+    public HttpRequest request(Endpoint endpoint) {
+        return switch (endpoint) {
+            case GET_ALL -> get("");
+            case SEARCH -> get("/search/" + encode(pick(searchFragments, "a")));
+            case GET_BY_ID -> get("/" + pick(seededIds, UUID.randomUUID().toString()));
+            case HIGHEST_SALARY -> get("/highestSalary");
+            case TOP_TEN -> get("/topTenHighestEarningEmployeeNames");
+            case CREATE -> builder("")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(createBody()))
+                    .build();
+            case DELETE -> {
+                String id = createdIds.poll();
+                yield builder("/" + (id != null ? id : UUID.randomUUID().toString()))
+                        .DELETE()
+                        .build();
+            }
+        };
+    }
+
+    public HttpResponse.BodyHandler<byte[]> bodyHandler(Endpoint endpoint) {
+        return endpoint == Endpoint.CREATE ? BUFFERING : DISCARDING;
+    }
+
+    public void onResponse(Endpoint endpoint, HttpResponse<byte[]> response) {
+        if (endpoint != Endpoint.CREATE || response.statusCode() != 200 || response.body() == null) {
+            return;
+        }
+        try {
+            String id = objectMapper.readTree(response.body()).path("id").asText(null);
+            if (id != null) {
+                createdIds.add(id);
+            }
+        } catch (IOException e) {
+            log.debug("Could not read created employee id: {}", e.getMessage());
+        }
+    }
+
+    private String createBody() {
+        var random = ThreadLocalRandom.current();
+        try {
+            return objectMapper.writeValueAsString(Map.of(
+                    "name",
+                    "Load Test " + createSequence.incrementAndGet(),
+                    "salary",
+                    random.nextInt(30_000, 500_000),
+                    "age",
+                    random.nextInt(18, 61),
+                    "title",
+                    "Load Tester"));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return builder(path).GET().build();
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(requestTimeout);
+    }
+
+    private static String pick(List<String> values, String fallback) {
+        return values.isEmpty()
+                ? fallback
+                : values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
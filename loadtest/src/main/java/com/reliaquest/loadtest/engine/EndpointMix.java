@@ -0,0 +1,47 @@
+package com.reliaquest.loadtest.engine;
+
+import com.reliaquest.loadtest.model.Endpoint;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted random choice of the next endpoint to call.
+ */
+public class EndpointMix {
+
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    public EndpointMix(Map<Endpoint, Integer> weights) {
+        var entries = weights.entrySet().stream()
+                .filter(entry -> entry.getValue() != null && entry.getValue() > 0)
+                .toList();
+        if (entries.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix must contain at least one endpoint with weight > 0");
+        }
+        endpoints = new Endpoint[entries.size()];
+        cumulativeWeights = new int[entries.size()];
+        int total = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            endpoints[i] = entries.get(i).getKey();
+            total += entries.get(i).getValue();
+            cumulativeWeights[i] = total;
+        }
+        totalWeight = total;
+    }
+
+    public Endpoint next() {
+        int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+
+    public Endpoint[] endpoints() {
+        return endpoints.clone();
+    }
+}
@@ -0,0 +1,53 @@
+package com.reliaquest.loadtest.engine;
+
+import com.reliaquest.loadtest.model.Endpoint;
+import java.time.Duration;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Immutable outcome of one endpoint over the measurement window. Histogram values are in microseconds.
+ */
+public record EndpointResult(
+        Endpoint endpoint,
+        Duration measured,
+        Histogram responseTime,
+        Histogram serviceTime,
+        long success,
+        long throttled,
+        long clientErrors,
+        long serverErrors,
+        long failures) {
+
+    public long count() {
+        return success + throttled + clientErrors + serverErrors + failures;
+    }
+
+    public double throughput() {
+        double seconds = measured.toNanos() / 1e9;
+        return seconds > 0 ? count() / seconds : 0;
+    }
+
+    public double throttledRate() {
+        return ratio(throttled);
+    }
+
+    /*
+     * Everything that is neither a 2xx/3xx nor a 429.
+     */
+    public double errorRate() {
+        return ratio(clientErrors + serverErrors + failures);
+    }
+
+    public double percentileMillis(double percentile) {
+        return responseTime.getValueAtPercentile(percentile) / 1_000.0;
+    }
+
+    public double maxMillis() {
+        return responseTime.getMaxValue() / 1_000.0;
+    }
+
+    private double ratio(long value) {
+        long count = count();
+        return count == 0 ? 0 : (double) value / count;
+    }
+}
@@ -0,0 +1,89 @@
+package com.reliaquest.loadtest.engine;
+
+import com.reliaquest.loadtest.model.Endpoint;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Thread-safe latency and outcome accumulator for a single endpoint.
+ *
+ * <p>Two histograms are kept: <em>response time</em> is measured from the moment a request was supposed to be sent
+ * (its slot in the schedule), <em>service time</em> from the moment it was actually sent. The difference between the
+ * two is the queueing delay a closed-loop generator would otherwise hide (coordinated omission).
+ */
+public class EndpointStats {
+
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+    static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Endpoint endpoint;
+    private final Recorder responseTime = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final Recorder serviceTime = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final LongAdder success = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public EndpointStats(Endpoint endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public void record(long intendedStartNanos, long actualStartNanos, long endNanos, int status) {
+        recordLatency(intendedStartNanos, actualStartNanos, endNanos);
+        if (status == 429) {
+            throttled.increment();
+        } else if (status >= 500) {
+            serverErrors.increment();
+        } else if (status >= 400) {
+            clientErrors.increment();
+        } else {
+            success.increment();
+        }
+    }
+
+    /*
+     * Transport-level failure (connection refused, reset, timeout): no status code was received.
+     */
+    public void recordFailure(long intendedStartNanos, long actualStartNanos, long endNanos) {
+        recordLatency(intendedStartNanos, actualStartNanos, endNanos);
+        failures.increment();
+    }
+
+    private void recordLatency(long intendedStartNanos, long actualStartNanos, long endNanos) {
+        responseTime.recordValue(toMicros(endNanos - intendedStartNanos));
+        serviceTime.recordValue(toMicros(endNanos - actualStartNanos));
+    }
+
+    /**
+     * @param measured length of the measurement window, used for throughput
+     * @param expectedInterval when non-null, the response time histogram is additionally corrected with HdrHistogram's
+     *     expected-interval back-fill. Used for unpaced closed-loop runs where there is no schedule to measure from.
+     */
+    public EndpointResult result(Duration measured, Duration expectedInterval) {
+        Histogram response = responseTime.getIntervalHistogram();
+        Histogram service = serviceTime.getIntervalHistogram();
+        if (expectedInterval != null && response.getTotalCount() > 0) {
+            long intervalMicros = expectedInterval.toNanos() / 1_000;
+            response = response.copyCorrectedForCoordinatedOmission(
+                    intervalMicros > 0 ? intervalMicros : Math.max(1, Math.round(service.getMean())));
+        }
+        return new EndpointResult(
+                endpoint,
+                measured,
+                response,
+                service,
+                success.sum(),
+                throttled.sum(),
+                clientErrors.sum(),
+                serverErrors.sum(),
+                failures.sum());
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(0, nanos / 1_000));
+    }
+}
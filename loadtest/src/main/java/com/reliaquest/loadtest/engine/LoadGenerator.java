@@ -0,0 +1,192 @@
+package com.reliaquest.loadtest.engine;
+
+import com.reliaquest.loadtest.config.LoadTestProperties;
+import com.reliaquest.loadtest.model.Endpoint;
+import com.reliaquest.loadtest.model.LoadMode;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drives a weighted mix of api endpoints in closed-loop or open-loop (constant arrival rate) mode.
+ *
+ * <p>Every request is assigned an intended start time. In open-loop mode that is its slot in the arrival schedule; in
+ * paced closed-loop mode it is the worker's next scheduled start. Latency is always measured from the intended start,
+ * so a slow response delays the measurement of everything queued behind it instead of silently thinning the sample
+ * (coordinated omission). Requests whose intended start falls in the warmup window are sent but not recorded.
+ */
+@Slf4j
+public class LoadGenerator {
+
+    private final LoadTestProperties properties;
+    private final EmployeeRequestFactory requestFactory;
+    private final EndpointMix mix;
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+
+    public LoadGenerator(LoadTestProperties properties) {
+        this(properties, new EmployeeRequestFactory(properties.getTargetUrl(), properties.getRequestTimeout()));
+    }
+
+    public LoadGenerator(LoadTestProperties properties, EmployeeRequestFactory requestFactory) {
+        this.properties = properties;
+        this.requestFactory = requestFactory;
+        this.mix = new EndpointMix(properties.getMix());
+        for (Endpoint endpoint : mix.endpoints()) {
+            stats.put(endpoint, new EndpointStats(endpoint));
+        }
+    }
+
+    public LoadResult run() throws InterruptedException {
+        ExecutorService clientExecutor = Executors.newCachedThreadPool();
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(properties.getRequestTimeout())
+                    .executor(clientExecutor)
+                    .build();
+            requestFactory.seed(client, properties.getRequestTimeout().multipliedBy(4));
+
+            long start = System.nanoTime();
+            long measureStart = start + properties.getWarmup().toNanos();
+            long end = measureStart + properties.getDuration().toNanos();
+            log.info(
+                    "Starting {} load: warmup {}, duration {}, mix {}",
+                    properties.getMode(),
+                    properties.getWarmup(),
+                    properties.getDuration(),
+                    properties.getMix());
+
+            Duration expectedInterval = null;
+            if (properties.getMode() == LoadMode.OPEN) {
+                runOpenLoop(client, start, measureStart, end);
+            } else {
+                runClosedLoop(client, start, measureStart, end);
+                if (properties.getPacing().isZero()) {
+                    // No schedule to measure from: back-fill using the expected interval (or mean service time).
+                    expectedInterval =
+                            properties.getExpectedInterval() != null ? properties.getExpectedInterval() : Duration.ZERO;
+                }
+            }
+
+            Duration measured = Duration.ofNanos(end - measureStart);
+            List<EndpointResult> results = new ArrayList<>();
+            for (EndpointStats endpointStats : stats.values()) {
+                results.add(endpointStats.result(measured, expectedInterval));
+            }
+            return new LoadResult(properties.getMode(), measured, results);
+        } finally {
+            clientExecutor.shutdownNow();
+        }
+    }
+
+    private void runOpenLoop(HttpClient client, long start, long measureStart, long end) throws InterruptedException {
+        long intervalNanos = Math.max(1, Math.round(1e9 / properties.getRate()));
+        Semaphore inFlight = new Semaphore(properties.getMaxInFlight());
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            parkUntil(intended);
+            // Waiting for a slot is part of the response time: it is measured from `intended`.
+            inFlight.acquire();
+            Endpoint endpoint = mix.next();
+            HttpRequest request = requestFactory.request(endpoint);
+            long actual = System.nanoTime();
+            client.sendAsync(request, requestFactory.bodyHandler(endpoint)).whenComplete((response, error) -> {
+                inFlight.release();
+                complete(endpoint, intended, actual, measureStart, response, error);
+            });
+        }
+        long drainTimeout = properties.getRequestTimeout().toMillis() * 2;
+        if (!inFlight.tryAcquire(properties.getMaxInFlight(), drainTimeout, TimeUnit.MILLISECONDS)) {
+            log.warn("Requests still outstanding after {} ms, stopping anyway", drainTimeout);
+        }
+    }
+
+    private void runClosedLoop(HttpClient client, long start, long measureStart, long end) throws InterruptedException {
+        long pacingNanos = properties.getPacing().toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(properties.getConcurrency());
+        for (int w = 0; w < properties.getConcurrency(); w++) {
+            workers.execute(() -> {
+                long intended = start;
+                while (!Thread.currentThread().isInterrupted()) {
+                    if (pacingNanos > 0) {
+                        parkUntil(intended);
+                    } else {
+                        intended = System.nanoTime();
+                    }
+                    if (intended >= end) {
+                        return;
+                    }
+                    Endpoint endpoint = mix.next();
+                    HttpRequest request = requestFactory.request(endpoint);
+                    long actual = System.nanoTime();
+                    try {
+                        complete(
+                                endpoint,
+                                intended,
+                                actual,
+                                measureStart,
+                                client.send(request, requestFactory.bodyHandler(endpoint)),
+                                null);
+                    } catch (IOException e) {
+                        complete(endpoint, intended, actual, measureStart, null, e);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    intended += pacingNanos;
+                }
+            });
+        }
+        workers.shutdown();
+        long awaitMillis = (end - System.nanoTime()) / 1_000_000
+                + properties.getRequestTimeout().toMillis() * 2;
+        if (!workers.awaitTermination(Math.max(awaitMillis, 1), TimeUnit.MILLISECONDS)) {
+            log.warn("Closed-loop workers did not finish in time, interrupting");
+            workers.shutdownNow();
+        }
+    }
+
+    private void complete(
+            Endpoint endpoint,
+            long intended,
+            long actual,
+            long measureStart,
+            HttpResponse<byte[]> response,
+            Throwable error) {
+        long now = System.nanoTime();
+        if (response != null) {
+            requestFactory.onResponse(endpoint, response);
+        }
+        if (intended < measureStart) {
+            return;
+        }
+        EndpointStats endpointStats = stats.get(endpoint);
+        if (response != null) {
+            endpointStats.record(intended, actual, now, response.statusCode());
+        } else {
+            log.debug("{} failed: {}", endpoint, error != null ? error.toString() : "no response");
+            endpointStats.recordFailure(intended, actual, now);
+        }
+    }
+
+    private static void parkUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
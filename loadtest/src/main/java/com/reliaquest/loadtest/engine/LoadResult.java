@@ -0,0 +1,29 @@
+package com.reliaquest.loadtest.engine;
+
+import com.reliaquest.loadtest.model.LoadMode;
+import java.time.Duration;
+import java.util.List;
+import org.HdrHistogram.Histogram;
+
+public record LoadResult(LoadMode mode, Duration measured, List<EndpointResult> endpoints) {
+
+    /*
+     * All endpoints folded into one result, reported as the "ALL" row.
+     */
+    public EndpointResult total() {
+        Histogram response = new Histogram(EndpointStats.HIGHEST_TRACKABLE_MICROS, EndpointStats.SIGNIFICANT_DIGITS);
+        Histogram service = new Histogram(EndpointStats.HIGHEST_TRACKABLE_MICROS, EndpointStats.SIGNIFICANT_DIGITS);
+        long success = 0, throttled = 0, clientErrors = 0, serverErrors = 0, failures = 0;
+        for (EndpointResult result : endpoints) {
+            response.add(result.responseTime());
+            service.add(result.serviceTime());
+            success += result.success();
+            throttled += result.throttled();
+            clientErrors += result.clientErrors();
+            serverErrors += result.serverErrors();
+            failures += result.failures();
+        }
+        return new EndpointResult(
+                null, measured, response, service, success, throttled, clientErrors, serverErrors, failures);
+    }
+}
@@ -0,0 +1,155 @@
+package com.reliaquest.loadtest.launcher;
+
+import com.reliaquest.loadtest.config.LoadTestProperties;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Starts the mock server and the api as child JVMs from their boot jars and waits until each accepts HTTP requests.
+ * Process output goes to {@code <reportDir>/<name>.log}; processes are stopped on {@link #close()}.
+ */
+@Slf4j
+public class AppLauncher implements AutoCloseable {
+
+    private final LoadTestProperties.Launch launch;
+    private final Path logDir;
+    private final Map<String, Process> processes = new LinkedHashMap<>();
+
+    public AppLauncher(LoadTestProperties.Launch launch, Path logDir) {
+        this.launch = launch;
+        this.logDir = logDir;
+    }
+
+    public Duration startServer() throws IOException, InterruptedException {
+        return start(
+                "server",
+                launch.getServerJar(),
+                launch.getServerPort(),
+                "/api/v1/employee",
+                List.of("--server.port=" + launch.getServerPort()),
+                launch.getServerArgs());
+    }
+
+    /**
+     * @return time until the api answered its first request; when a readiness path is configured this also waits until
+     *     the api reports ready
+     */
+    public Duration startApi() throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        Duration firstResponse = start(
+                "api",
+                launch.getApiJar(),
+                launch.getApiPort(),
+                "/api/v1/employee/highestSalary",
+                List.of(
+                        "--server.port=" + launch.getApiPort(),
+                        "--employee.api.base-url=http://localhost:" + launch.getServerPort() + "/api/v1/employee"),
+                launch.getApiArgs());
+        String readinessPath = launch.getApiReadinessPath();
+        if (readinessPath != null && !readinessPath.isBlank()) {
+            URI probe = URI.create("http://localhost:" + launch.getApiPort() + readinessPath);
+            Duration ready = awaitResponse(processes.get("api"), probe, started, true);
+            log.info("api reported ready after {} ms", ready.toMillis());
+        }
+        return firstResponse;
+    }
+
+    /**
+     * @return time from process start until the first HTTP response on {@code probePath}
+     */
+    public Duration start(
+            String name, String jar, int port, String probePath, List<String> appArgs, String extraAppArgs)
+            throws IOException, InterruptedException {
+        Objects.requireNonNull(jar, "loadtest.launch." + name + "-jar must point at the " + name + " boot jar");
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(split(launch.getJvmArgs()));
+        command.add("-jar");
+        command.add(jar);
+        command.addAll(appArgs);
+        command.addAll(split(extraAppArgs));
+
+        Files.createDirectories(logDir);
+        Path logFile = logDir.resolve(name + ".log");
+        log.info("Starting {}: {}", name, String.join(" ", command));
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+        processes.put(name, process);
+
+        Duration ready = awaitResponse(process, URI.create("http://localhost:" + port + probePath), started, false);
+        log.info("{} answered its first request after {} ms (log: {})", name, ready.toMillis(), logFile);
+        return ready;
+    }
+
+    private Duration awaitResponse(Process process, URI probe, long started, boolean requireOk)
+            throws IOException, InterruptedException {
+        HttpClient client =
+                HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest request =
+                HttpRequest.newBuilder(probe).timeout(Duration.ofSeconds(30)).build();
+        long deadline = started + launch.getStartupTimeout().toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IOException("Process for " + probe + " exited with " + process.exitValue());
+            }
+            try {
+                // Unless readiness is required, any status (including 429) means the application is up.
+                int status = client.send(request, HttpResponse.BodyHandlers.discarding())
+                        .statusCode();
+                if (!requireOk || status == 200) {
+                    return Duration.ofNanos(System.nanoTime() - started);
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(50);
+        }
+        throw new IOException("Timed out after " + launch.getStartupTimeout() + " waiting for " + probe);
+    }
+
+    /**
+     * CPU time consumed so far by a launched application, if the platform reports it.
+     */
+    public Optional<Duration> cpuTime(String name) {
+        return Optional.ofNullable(processes.get(name))
+                .flatMap(process -> process.info().totalCpuDuration());
+    }
+
+    @Override
+    public void close() {
+        for (Process process : processes.values()) {
+            process.destroy();
+        }
+        for (Process process : processes.values()) {
+            try {
+                process.onExit().get();
+            } catch (Exception e) {
+                process.destroyForcibly();
+            }
+        }
+        processes.clear();
+    }
+
+    private static List<String> split(String args) {
+        return args == null || args.isBlank()
+                ? List.of()
+                : Arrays.asList(args.trim().split("\\s+"));
+    }
+}
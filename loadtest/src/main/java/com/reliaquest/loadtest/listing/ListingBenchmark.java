@@ -0,0 +1,159 @@
+package com.reliaquest.loadtest.listing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.reliaquest.loadtest.config.LoadTestProperties;
+import com.reliaquest.loadtest.launcher.AppLauncher;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Starts the mock server with a large roster ({@code listing.rows}, 1M by default) and compares payload size and latency
+ * of the full employee list with paged, sorted and projected requests.
+ *
+ * <p>Configured through system properties ({@code listing.*}), see the {@code listingBenchmark} task in
+ * loadtest/build.gradle.
+ */
+@Slf4j
+public class ListingBenchmark {
+
+    private static final String EMPLOYEE_PATH = "/api/v1/employee";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final String baseUrl;
+    private final int warmups;
+    private final int iterations;
+
+    public ListingBenchmark(String baseUrl, int warmups, int iterations) {
+        this.baseUrl = baseUrl;
+        this.warmups = warmups;
+        this.iterations = iterations;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rows = Integer.getInteger("listing.rows", 1_000_000);
+        Path reportDir = Path.of(System.getProperty("listing.report-dir", "build/reports/listing"));
+
+        LoadTestProperties.Launch launch = new LoadTestProperties.Launch();
+        launch.setServerJar(Objects.requireNonNull(
+                System.getProperty("listing.server-jar"), "System property listing.server-jar is required"));
+        launch.setJvmArgs(System.getProperty("listing.jvm-args", "-Xmx3g"));
+        launch.setStartupTimeout(Duration.ofMinutes(10));
+
+        try (AppLauncher launcher = new AppLauncher(launch, reportDir)) {
+            launcher.start(
+                    "server",
+                    launch.getServerJar(),
+                    launch.getServerPort(),
+                    EMPLOYEE_PATH + "?size=1",
+                    List.of(
+                            "--server.port=" + launch.getServerPort(),
+                            "--mock.employees.max=" + rows,
+                            "--mock.rate-limit.enabled=false"),
+                    "");
+            ListingBenchmark benchmark = new ListingBenchmark(
+                    "http://localhost:" + launch.getServerPort() + EMPLOYEE_PATH,
+                    Integer.getInteger("listing.warmups", 3),
+                    Integer.getInteger("listing.iterations", 10));
+            benchmark.report(rows, benchmark.run(), reportDir);
+        }
+    }
+
+    public List<Map<String, Object>> run() throws IOException, InterruptedException {
+        Map<String, String> scenarios = new LinkedHashMap<>();
+        scenarios.put("full list", "");
+        scenarios.put("full list, fields=salary", "?fields=salary");
+        scenarios.put("page of 100", "?size=100");
+        scenarios.put("page of 100, fields=name", "?size=100&fields=name");
+        scenarios.put("top 100 by salary", "?size=100&sort=salary,desc");
+        scenarios.put("page 1000 of 100 by name", "?size=100&page=1000&sort=name");
+        scenarios.put("cursor page of 100 by name", "?size=100&cursor=" + deepCursor());
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Map.Entry<String, String> scenario : scenarios.entrySet()) {
+            rows.add(measure(scenario.getKey(), scenario.getValue()));
+        }
+        return rows;
+    }
+
+    /*
+     * The cursor of the same position as "page 1000 of 100 by name", so both rows compare offset and keyset paging.
+     */
+    private String deepCursor() throws IOException, InterruptedException {
+        HttpResponse<Void> response = send("?size=100000&sort=name&fields=id", HttpResponse.BodyHandlers.discarding());
+        return response.headers()
+                .firstValue(NEXT_CURSOR_HEADER)
+                .orElseThrow(() -> new IOException("No " + NEXT_CURSOR_HEADER + ", the roster is too small"));
+    }
+
+    private Map<String, Object> measure(String name, String query) throws IOException, InterruptedException {
+        for (int i = 0; i < warmups; i++) {
+            send(query, HttpResponse.BodyHandlers.discarding());
+        }
+        long bytes = 0;
+        long[] nanos = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long started = System.nanoTime();
+            HttpResponse<byte[]> response = send(query, HttpResponse.BodyHandlers.ofByteArray());
+            nanos[i] = System.nanoTime() - started;
+            if (response.statusCode() != 200) {
+                throw new IOException(name + " returned " + response.statusCode());
+            }
+            bytes = response.body().length;
+        }
+        Arrays.sort(nanos);
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("scenario", name);
+        row.put("query", query);
+        row.put("bytes", bytes);
+        row.put("p50Ms", millis(nanos[nanos.length / 2]));
+        row.put("maxMs", millis(nanos[nanos.length - 1]));
+        log.info("{}: {}", name, row);
+        return row;
+    }
+
+    private <T> HttpResponse<T> send(String query, HttpResponse.BodyHandler<T> handler)
+            throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create(baseUrl + query)).build(), handler);
+    }
+
+    public void report(int rows, List<Map<String, Object>> results, Path reportDir) throws IOException {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("rows", rows);
+        summary.put("iterations", iterations);
+        summary.put("results", results);
+        Files.createDirectories(reportDir);
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(reportDir.resolve("listing.json").toFile(), summary);
+
+        StringBuilder table = new StringBuilder();
+        String format = "%-28s %14s %10s %10s%n";
+        table.append(String.format(format, "scenario", "bytes", "p50 ms", "max ms"));
+        for (Map<String, Object> row : results) {
+            table.append(
+                    String.format(format, row.get("scenario"), row.get("bytes"), row.get("p50Ms"), row.get("maxMs")));
+        }
+        Files.writeString(reportDir.resolve("summary.txt"), table);
+        log.info("Employee list at {} rows:\n{}", rows, table);
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
@@ -0,0 +1,24 @@
+package com.reliaquest.loadtest.model;
+
+/**
+ * Endpoints of {@code com.reliaquest.api.controller.IEmployeeController} that the load generator can drive.
+ */
+public enum Endpoint {
+    GET_ALL("getAllEmployees"),
+    SEARCH("getEmployeesByNameSearch"),
+    GET_BY_ID("getEmployeeById"),
+    HIGHEST_SALARY("getHighestSalaryOfEmployees"),
+    TOP_TEN("getTopTenHighestEarningEmployeeNames"),
+    CREATE("createEmployee"),
+    DELETE("deleteEmployeeById");
+
+    private final String operation;
+
+    Endpoint(String operation) {
+        this.operation = operation;
+    }
+
+    public String operation() {
+        return operation;
+    }
+}
@@ -0,0 +1,12 @@
+package com.reliaquest.loadtest.model;
+
+public enum LoadMode {
+    /*
+     * Fixed number of workers, each sending its next request only after the previous one completed.
+     */
+    CLOSED,
+    /*
+     * Requests are issued on a fixed schedule (constant arrival rate) independent of response times.
+     */
+    OPEN
+}
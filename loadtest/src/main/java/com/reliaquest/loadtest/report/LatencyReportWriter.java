@@ -0,0 +1,130 @@
+package com.reliaquest.loadtest.report;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.reliaquest.loadtest.engine.EndpointResult;
+import com.reliaquest.loadtest.engine.LoadResult;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Writes one timestamped report directory per run:
+ *
+ * <ul>
+ *   <li>{@code <endpoint>.hgrm} - HdrHistogram percentile distribution of the (coordinated omission corrected) response
+ *       time in milliseconds, plottable with the HdrHistogram plotter
+ *   <li>{@code <endpoint>-service.hgrm} - same for service time (send to response)
+ *   <li>{@code summary.txt} / {@code summary.json} - throughput, percentiles, 429 and error rates per endpoint
+ * </ul>
+ */
+@Slf4j
+public class LatencyReportWriter {
+
+    private static final double MICROS_PER_MILLI = 1_000.0;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final Path baseDir;
+
+    public LatencyReportWriter(Path baseDir) {
+        this.baseDir = baseDir;
+    }
+
+    public Path write(LoadResult result) throws IOException {
+        Path dir = baseDir.resolve(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        Files.createDirectories(dir);
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (EndpointResult endpoint : result.endpoints()) {
+            String name = endpoint.endpoint().name();
+            writeHistogram(dir.resolve(name + ".hgrm"), endpoint.responseTime());
+            writeHistogram(dir.resolve(name + "-service.hgrm"), endpoint.serviceTime());
+            rows.add(row(name, endpoint));
+        }
+        rows.add(row("ALL", result.total()));
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("mode", result.mode());
+        summary.put("measuredSeconds", result.measured().toMillis() / 1_000.0);
+        summary.put("endpoints", rows);
+        objectMapper.writeValue(dir.resolve("summary.json").toFile(), summary);
+
+        String table = table(rows);
+        Files.writeString(dir.resolve("summary.txt"), table);
+        log.info("\n{}", table);
+        return dir;
+    }
+
+    private void writeHistogram(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+
+    private static Map<String, Object> row(String name, EndpointResult result) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("endpoint", name);
+        row.put("count", result.count());
+        row.put("throughput", round(result.throughput()));
+        for (double percentile : PERCENTILES) {
+            row.put("p" + format(percentile) + "Ms", round(result.percentileMillis(percentile)));
+        }
+        row.put("maxMs", round(result.maxMillis()));
+        row.put("serviceP99Ms", round(result.serviceTime().getValueAtPercentile(99) / MICROS_PER_MILLI));
+        row.put("throttled", result.throttled());
+        row.put("throttledRate", round(result.throttledRate()));
+        row.put("errors", result.clientErrors() + result.serverErrors() + result.failures());
+        row.put("errorRate", round(result.errorRate()));
+        return row;
+    }
+
+    private static String table(List<Map<String, Object>> rows) {
+        StringBuilder out = new StringBuilder();
+        String format = "%-15s %9s %9s %10s %10s %10s %10s %10s %9s %9s%n";
+        out.append(String.format(
+                format,
+                "endpoint",
+                "count",
+                "req/s",
+                "p50 ms",
+                "p90 ms",
+                "p99 ms",
+                "p99.9 ms",
+                "max ms",
+                "429 %",
+                "err %"));
+        for (Map<String, Object> row : rows) {
+            out.append(String.format(
+                    format,
+                    row.get("endpoint"),
+                    row.get("count"),
+                    row.get("throughput"),
+                    row.get("p50Ms"),
+                    row.get("p90Ms"),
+                    row.get("p99Ms"),
+                    row.get("p99.9Ms"),
+                    row.get("maxMs"),
+                    round((double) row.get("throttledRate") * 100),
+                    round((double) row.get("errorRate") * 100)));
+        }
+        return out.toString();
+    }
+
+    private static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
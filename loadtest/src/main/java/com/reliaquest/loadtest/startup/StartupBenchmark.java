@@ -0,0 +1,170 @@
+package com.reliaquest.loadtest.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.reliaquest.loadtest.config.LoadTestProperties;
+import com.reliaquest.loadtest.launcher.AppLauncher;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Starts the server and the api repeatedly in the default and the fast-startup mode and reports Spring's own startup
+ * time and the time to the first HTTP response for each. The server keeps running while the api is measured because
+ * the api's probe request goes upstream.
+ *
+ * <p>Configured through system properties ({@code startup.*}), see the {@code startupBenchmark} task in
+ * loadtest/build.gradle.
+ */
+@Slf4j
+public class StartupBenchmark {
+
+    private static final Pattern STARTED =
+            Pattern.compile("Started \\w+ in ([0-9.]+) seconds \\(process running for ([0-9.]+)\\)");
+
+    private final String serverJar;
+    private final String apiJar;
+    private final Path serverCdsDir;
+    private final Path apiCdsDir;
+    private final Path reportDir;
+
+    public StartupBenchmark(String serverJar, String apiJar, Path serverCdsDir, Path apiCdsDir, Path reportDir) {
+        this.serverJar = serverJar;
+        this.apiJar = apiJar;
+        this.serverCdsDir = serverCdsDir;
+        this.apiCdsDir = apiCdsDir;
+        this.reportDir = reportDir;
+    }
+
+    public static void main(String[] args) throws Exception {
+        StartupBenchmark benchmark = new StartupBenchmark(
+                required("startup.server-jar"),
+                required("startup.api-jar"),
+                Path.of(required("startup.server-cds-dir")),
+                Path.of(required("startup.api-cds-dir")),
+                Path.of(System.getProperty("startup.report-dir", "build/reports/startup")));
+        int runs = Integer.getInteger("startup.runs", 3);
+        boolean aot = Boolean.getBoolean("startup.aot");
+
+        List<StartupSample> samples = new ArrayList<>();
+        for (StartupMode mode : List.of(StartupMode.standard(), StartupMode.fast(aot))) {
+            for (int run = 0; run < runs; run++) {
+                samples.addAll(benchmark.measure(mode));
+            }
+        }
+        benchmark.report(samples, aot);
+    }
+
+    public List<StartupSample> measure(StartupMode mode) throws IOException, InterruptedException {
+        Path logDir = reportDir.resolve(mode.name());
+        LoadTestProperties.Launch server =
+                launch(mode, mode.jar(serverJar, serverCdsDir, "server"), null, serverCdsDir);
+        LoadTestProperties.Launch api = launch(mode, null, mode.jar(apiJar, apiCdsDir, "api"), apiCdsDir);
+
+        try (AppLauncher serverLauncher = new AppLauncher(server, logDir);
+                AppLauncher apiLauncher = new AppLauncher(api, logDir)) {
+            Duration serverReady = serverLauncher.startServer();
+            StartupSample serverSample = sample(mode, "server", logDir.resolve("server.log"), serverReady);
+            Duration apiReady = apiLauncher.startApi();
+            StartupSample apiSample = sample(mode, "api", logDir.resolve("api.log"), apiReady);
+            log.info("{}: {}", mode.name(), List.of(serverSample, apiSample));
+            return List.of(serverSample, apiSample);
+        }
+    }
+
+    private static LoadTestProperties.Launch launch(StartupMode mode, String serverJar, String apiJar, Path cdsDir) {
+        LoadTestProperties.Launch launch = new LoadTestProperties.Launch();
+        launch.setServerJar(serverJar);
+        launch.setApiJar(apiJar);
+        launch.setJvmArgs(mode.jvmArgs(cdsDir));
+        launch.setServerArgs(mode.appArgs());
+        launch.setApiArgs(mode.appArgs());
+        return launch;
+    }
+
+    private static StartupSample sample(StartupMode mode, String application, Path logFile, Duration ready)
+            throws IOException, InterruptedException {
+        // the application logs through an async appender, give it a moment to reach the file
+        for (int attempt = 0; attempt < 50; attempt++) {
+            Matcher matcher = STARTED.matcher(Files.readString(logFile));
+            if (matcher.find()) {
+                return new StartupSample(
+                        mode.name(),
+                        application,
+                        seconds(matcher.group(1)),
+                        seconds(matcher.group(2)),
+                        ready.toMillis());
+            }
+            Thread.sleep(100);
+        }
+        throw new IOException("No startup line in " + logFile);
+    }
+
+    public void report(List<StartupSample> samples, boolean aot) throws IOException {
+        Map<String, List<StartupSample>> byRun = samples.stream()
+                .collect(Collectors.groupingBy(
+                        sample -> sample.mode() + "/" + sample.application(), LinkedHashMap::new, Collectors.toList()));
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Map.Entry<String, List<StartupSample>> entry : byRun.entrySet()) {
+            List<StartupSample> runs = entry.getValue();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("mode", runs.get(0).mode());
+            row.put("application", runs.get(0).application());
+            row.put("runs", runs.size());
+            row.put("startedMs", median(runs, StartupSample::startedMillis));
+            row.put("processMs", median(runs, StartupSample::processMillis));
+            row.put("firstResponseMs", median(runs, StartupSample::firstResponseMillis));
+            rows.add(row);
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("aot", aot);
+        summary.put("medians", rows);
+        summary.put("samples", samples);
+        Files.createDirectories(reportDir);
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(reportDir.resolve("startup.json").toFile(), summary);
+
+        StringBuilder table = new StringBuilder();
+        String format = "%-8s %-8s %6s %12s %12s %18s%n";
+        table.append(String.format(format, "mode", "app", "runs", "started ms", "process ms", "first response ms"));
+        for (Map<String, Object> row : rows) {
+            table.append(String.format(
+                    format,
+                    row.get("mode"),
+                    row.get("application"),
+                    row.get("runs"),
+                    row.get("startedMs"),
+                    row.get("processMs"),
+                    row.get("firstResponseMs")));
+        }
+        Files.writeString(reportDir.resolve("summary.txt"), table);
+        log.info("Startup medians (AOT {}):\n{}", aot ? "on" : "off", table);
+    }
+
+    private static long median(List<StartupSample> samples, ToLongFunction<StartupSample> metric) {
+        long[] values = samples.stream().mapToLong(metric).sorted().toArray();
+        return values[values.length / 2];
+    }
+
+    private static long seconds(String value) {
+        return Math.round(Double.parseDouble(value) * 1_000);
+    }
+
+    private static String required(String property) {
+        return Objects.requireNonNull(System.getProperty(property), "System property " + property + " is required");
+    }
+}
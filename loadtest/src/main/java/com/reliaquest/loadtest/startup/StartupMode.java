@@ -0,0 +1,36 @@
+package com.reliaquest.loadtest.startup;
+
+import java.nio.file.Path;
+
+/**
+ * How the applications are started for one side of the startup comparison.
+ *
+ * @param jvmArgs JVM options; {@code %s} is replaced with the application's CDS directory
+ * @param appArgs application arguments added to both the server and the api
+ */
+public record StartupMode(String name, boolean cds, String jvmArgs, String appArgs) {
+
+    public static StartupMode standard() {
+        return new StartupMode("default", false, "", "--mock.rate-limit.enabled=false");
+    }
+
+    /**
+     * AppCDS archive from {@code cdsArchive}, Spring AOT initializers when the jars were built with -PfastStartup, and
+     * the lazy-initialization profile.
+     */
+    public static StartupMode fast(boolean aot) {
+        return new StartupMode(
+                "fast",
+                true,
+                "-XX:SharedArchiveFile=%s/app.jsa -Xshare:auto -Dspring.aot.enabled=" + aot,
+                "--mock.rate-limit.enabled=false --spring.profiles.active=fast-startup");
+    }
+
+    public String jar(String bootJar, Path cdsDir, String name) {
+        return cds ? cdsDir.resolve(name + ".jar").toString() : bootJar;
+    }
+
+    public String jvmArgs(Path cdsDir) {
+        return jvmArgs.formatted(cdsDir);
+    }
+}
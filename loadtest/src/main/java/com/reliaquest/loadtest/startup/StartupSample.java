@@ -0,0 +1,11 @@
+package com.reliaquest.loadtest.startup;
+
+/**
+ * One application start.
+ *
+ * @param startedMillis time Spring reports in its {@code Started ... in} line (context refresh and runners)
+ * @param processMillis JVM uptime Spring reports alongside it, including JVM boot and class loading
+ * @param firstResponseMillis process launch until the first HTTP response, as seen by a client
+ */
+public record StartupSample(
+        String mode, String application, long startedMillis, long processMillis, long firstResponseMillis) {}
@@ -0,0 +1,131 @@
+package com.reliaquest.server.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.web.FaultInjectionProperties;
+import com.reliaquest.server.web.FaultInjectionWebFilter;
+import com.reliaquest.server.web.RateLimitWebFilter;
+import com.reliaquest.server.web.RateLimiter;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.MimeType;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+ * The reactive runtime (the reactive profile): what ServerConfiguration sets up for MVC, for WebFlux. Rate limiting
+ * comes before injected faults, as the interceptors do.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveServerConfiguration implements WebFluxConfigurer {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborHttpMessageConverter;
+
+    /*
+     * Boot prefers Tomcat, on the classpath for the servlet runtime, to Netty.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /*
+     * Boot only provides message converters to servlet applications; the list writer writes with their mappers.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2HttpMessageConverter(objectMapper);
+    }
+
+    @Bean
+    @Order(0)
+    @ConditionalOnProperty(name = "mock.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+    public RateLimitWebFilter rateLimitWebFilter(
+            RateLimiter rateLimiter, @Value("${mock.rate-limit.key-header:}") String keyHeader) {
+        return new RateLimitWebFilter(rateLimiter, RateLimitWebFilter.clientKey(keyHeader), System::nanoTime);
+    }
+
+    @Bean
+    @Order(1)
+    @ConditionalOnProperty(name = "mock.faults.enabled", havingValue = "true")
+    public FaultInjectionWebFilter faultInjectionWebFilter(
+            FaultInjectionProperties properties, ObjectMapper objectMapper) {
+        log.info(
+                "Injecting latency and faults for {} endpoint profiles",
+                properties.getEndpoints().size());
+        return new FaultInjectionWebFilter(properties, objectMapper);
+    }
+
+    /*
+     * Smile and CBOR with the converters' mappers and media types (given a mapper alone, the codecs claim JSON's), so
+     * every endpoint writes them like MVC does. Custom codecs come before the defaults, so a JSON encoder goes first to
+     * stay the default for clients that accept anything.
+     */
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        ObjectMapper smile = smileHttpMessageConverter.getObjectMapper();
+        MimeType[] smileTypes =
+                smileHttpMessageConverter.getSupportedMediaTypes().toArray(MimeType[]::new);
+        ObjectMapper cbor = cborHttpMessageConverter.getObjectMapper();
+        MimeType[] cborTypes = cborHttpMessageConverter.getSupportedMediaTypes().toArray(MimeType[]::new);
+        configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smile, smileTypes));
+        configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smile, smileTypes));
+        configurer.customCodecs().register(new Jackson2JsonEncoder(objectMapper));
+        configurer.customCodecs().register(new CborEncoder(cbor, cborTypes));
+        configurer.customCodecs().register(new Jackson2CborDecoder(cbor, cborTypes));
+    }
+
+    /*
+     * Spring's CBOR encoder refuses every body, not only streams; a single value is encoded whole.
+     */
+    private static final class CborEncoder extends Jackson2CborEncoder {
+
+        private CborEncoder(ObjectMapper mapper, MimeType... mimeTypes) {
+            super(mapper, mimeTypes);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(
+                Publisher<?> input,
+                DataBufferFactory bufferFactory,
+                ResolvableType elementType,
+                MimeType mimeType,
+                Map<String, Object> hints) {
+            if (!(input instanceof Mono<?> value)) {
+                return super.encode(input, bufferFactory, elementType, mimeType, hints);
+            }
+            return value.map(body -> encodeValue(body, bufferFactory, elementType, mimeType, hints))
+                    .flux();
+        }
+    }
+}
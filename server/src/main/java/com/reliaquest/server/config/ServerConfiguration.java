@@ -1,59 +1,187 @@
 package com.reliaquest.server.config;
 
-import com.reliaquest.server.model.MockEmployee;
-import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
-import java.util.List;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.reliaquest.server.service.MockEmployeeChangeLog;
+import com.reliaquest.server.service.MockEmployeeGenerator;
+import com.reliaquest.server.service.MockEmployeePersistence;
+import com.reliaquest.server.service.MockEmployeeStore;
+import com.reliaquest.server.web.FaultInjectionInterceptor;
+import com.reliaquest.server.web.FaultInjectionProperties;
+import com.reliaquest.server.web.RateLimitAlgorithm;
+import com.reliaquest.server.web.RateLimitInterceptor;
+import com.reliaquest.server.web.RateLimiter;
+import java.time.Duration;
 import java.util.Locale;
+import java.util.Random;
 import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Slf4j
 @Configuration
+@EnableConfigurationProperties(FaultInjectionProperties.class)
 public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    /*
+     * Benchmarks and load tests turn rate limiting off, or fix its limits (mock.rate-limit.limit and .window) or seed
+     * them (mock.rate-limit.seed) to get repeatable numbers. Unset limits are drawn at random: 5 to 9 requests per 30 to
+     * 89 seconds per client.
+     */
+    @Value("${mock.rate-limit.algorithm:fixed-window}")
+    private String rateLimitAlgorithm;
+
+    @Value("${mock.rate-limit.limit:0}")
+    private int rateLimit;
+
+    @Value("${mock.rate-limit.window:#{null}}")
+    private Duration rateLimitWindow;
+
+    @Value("${mock.rate-limit.seed:#{null}}")
+    private Long rateLimitSeed;
+
+    /*
+     * Clients are keyed by this request header when present, by remote address otherwise.
+     */
+    @Value("${mock.rate-limit.key-header:}")
+    private String rateLimitKeyHeader;
+
+    @Autowired
+    private FaultInjectionProperties faultInjection;
+
+    @Autowired
+    private ObjectProvider<RateLimiter> rateLimiter;
+
+    @Autowired
+    private ObjectProvider<FaultInjectionInterceptor> faultInjectionInterceptor;
+
     @Bean
     public Faker faker() {
         return new Faker(Locale.getDefault());
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * MockEmployee is annotated with a Jackson filter for the list endpoint's fields projection. Unless a response
+     * registers that filter, all fields are written.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer unfilteredByDefault() {
+        return builder -> builder.filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+    }
+
+    /*
+     * Smile and CBOR would write UUIDs as 16 raw bytes; clients read ids as text whatever the format.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer uuidsAsText() {
+        return builder -> builder.postConfigurer(mapper ->
+                mapper.configOverride(UUID.class).setFormat(JsonFormat.Value.forShape(JsonFormat.Shape.STRING)));
+    }
+
+    /*
+     * Smile and CBOR for clients that ask for them (Accept), configured like the JSON mapper. Spring lists them after
+     * JSON, which stays the default.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(
+                builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(
+                builder.factory(new CBORFactory()).build());
+    }
+
+    /*
+     * The store is modifiable by design for CRUD operations. Never lazy, even under the fast-startup profile. A saved
+     * roster (mock.snapshot.file) takes precedence over generating one, whatever its size. Writes go to the change log,
+     * then to the persistence's write log, if enabled, and then signal the change event subscribers (of whichever
+     * runtime is running, see the reactive profile).
+     */
+    @Bean
+    @Lazy(false)
+    public MockEmployeeStore mockEmployeeStore(
+            MockEmployeeGenerator generator,
+            MockEmployeeChangeLog changeLog,
+            MockEmployeePersistence persistence,
+            @Qualifier("mockEmployeeChangeEvents") MockEmployeeStore.Listener changeEvents,
+            @Value("${mock.employees.max:20}") int maxEmployees) {
+        final var employees = persistence.load().orElseGet(() -> generator.generate(maxEmployees));
+        final var store =
+                new MockEmployeeStore(employees, changeLog.andThen(persistence).andThen(changeEvents));
+        persistence.persist(store);
+        return store;
+    }
+
+    /*
+     * Without mock.employees.seed every start generates a different roster; the seed in use is logged either way, so
+     * a run can be repeated.
+     */
+    @Bean
+    public MockEmployeeGenerator mockEmployeeGenerator(
+            @Value("${mock.employees.seed:#{null}}") Long seed,
+            @Value("${mock.employees.generator-threads:0}") int threads) {
+        return new MockEmployeeGenerator(
+                seed != null ? seed : ThreadLocalRandom.current().nextLong(),
+                Locale.getDefault(),
+                threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+    }
+
+    /*
+     * One limiter for either runtime, shared by all requests.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "mock.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+    public RateLimiter rateLimiter() {
+        final var random = rateLimitSeed != null ? new Random(rateLimitSeed) : RandomGenerator.getDefault();
+        final var limit = rateLimit > 0 ? rateLimit : random.nextInt(5, 10);
+        final var window = rateLimitWindow != null ? rateLimitWindow : Duration.ofSeconds(random.nextInt(30, 90));
+        final var algorithm = RateLimitAlgorithm.of(rateLimitAlgorithm);
+        log.info("Rate limiting {} requests per {} per client ({})", limit, window, algorithm.property());
+        return algorithm.create(limit, window);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FaultInjectionInterceptor faultInjectionInterceptor(
+            FaultInjectionProperties properties, ObjectMapper objectMapper) {
+        return new FaultInjectionInterceptor(properties, objectMapper);
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        rateLimiter.ifAvailable(limiter -> registry.addInterceptor(new RateLimitInterceptor(
+                limiter, RateLimitInterceptor.clientKey(rateLimitKeyHeader), System::nanoTime)));
+        if (faultInjection.isEnabled()) {
+            log.info(
+                    "Injecting latency and faults for {} endpoint profiles",
+                    faultInjection.getEndpoints().size());
+            registry.addInterceptor(faultInjectionInterceptor.getObject());
+        }
     }
 }
@@ -0,0 +1,226 @@
+package com.reliaquest.server.controller;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.service.MockEmployeeChangeLog;
+import com.reliaquest.server.service.MockEmployeeStore;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes roster changes to subscribers of {@code GET /events} as server-sent events, so clients learn about writes as
+ * they happen instead of polling {@code /changes}.
+ *
+ * <p>Each event is named {@code changes}, carries a {@link MockEmployeeChanges} as its data (the same body as
+ * {@code /changes}) and the version it brings the client to as its id. A subscriber starts at a version and gets every
+ * change after it, first in one event catching up and then as they are written, so a client that reconnects with its
+ * last event id ({@code Last-Event-ID}) misses nothing. When the change log no longer reaches back to a subscriber's
+ * version it gets an event with {@code truncated} set, like {@code /changes}, and continues from the current version.
+ *
+ * <p>Events are read from the {@link MockEmployeeChangeLog} and sent in the background; the store only signals that
+ * something changed, so a slow client never holds up writes. Sends block until the client has taken the event, so each
+ * subscriber is sent to by at most one pooled thread at a time: a client that stops reading holds up only its own
+ * events, until the container's write timeout drops it. Writes made while a subscriber's send is in flight are sent
+ * together in its next event. Idle connections get a comment every {@code mock.events.heartbeat}, and each
+ * subscription ends after {@code mock.events.timeout}, after which clients are expected to reconnect.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class MockEmployeeChangeEvents implements MockEmployeeStore.Listener {
+
+    static final String EVENT_NAME = "changes";
+
+    private final MockEmployeeChangeLog changeLog;
+    private final Duration timeout;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean publishing = new AtomicBoolean();
+    // only wakes subscribers, never sends, so it is never held up by a client
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "change-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // grows with the sends in flight, at most one per subscriber
+    private final ExecutorService sender = Executors.newCachedThreadPool(new ThreadFactory() {
+        private final AtomicInteger threads = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "change-events-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    public MockEmployeeChangeEvents(
+            MockEmployeeChangeLog changeLog,
+            @Value("${mock.events.heartbeat:15s}") Duration heartbeat,
+            @Value("${mock.events.timeout:30m}") Duration timeout) {
+        this.changeLog = changeLog;
+        this.timeout = timeout;
+        if (!heartbeat.isZero() && !heartbeat.isNegative()) {
+            scheduler.scheduleAtFixedRate(
+                    this::heartbeat, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Subscribes to the changes after {@code since}; -1 starts at the current version.
+     */
+    public SseEmitter subscribe(long since) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, since);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        wake(subscriber);
+        return emitter;
+    }
+
+    int subscribers() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void created(long version, MockEmployee employee) {
+        signal();
+    }
+
+    @Override
+    public void deleted(long version, MockEmployee employee) {
+        signal();
+    }
+
+    @Override
+    public void createdAll(long version, List<MockEmployee> employees) {
+        signal();
+    }
+
+    @Override
+    public void deletedAll(long version, List<MockEmployee> employees) {
+        signal();
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.shutdownNow();
+        sender.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    /*
+     * Called under the store's lock: only schedules a send, at most one pending at a time.
+     */
+    private void signal() {
+        if (!subscribers.isEmpty() && publishing.compareAndSet(false, true)) {
+            execute(scheduler, this::publish);
+        }
+    }
+
+    private void publish() {
+        // cleared first, so a write from here on schedules another round
+        publishing.set(false);
+        subscribers.forEach(this::wake);
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue = true;
+            wake(subscriber);
+        }
+    }
+
+    /*
+     * Starts a send to the subscriber unless one is in flight, in which case that one goes round again when done.
+     */
+    private void wake(Subscriber subscriber) {
+        if (subscriber.wakeups.getAndIncrement() == 0) {
+            execute(sender, () -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        int handled;
+        do {
+            handled = subscriber.wakeups.get();
+            send(subscriber);
+        } while (subscriber.wakeups.addAndGet(-handled) != 0);
+    }
+
+    private void send(Subscriber subscriber) {
+        MockEmployeeChanges changes = changeLog.since(subscriber.version);
+        boolean upToDate = subscriber.started && !changes.truncated() && changes.version() == subscriber.version;
+        if (upToDate && !subscriber.heartbeatDue) {
+            return;
+        }
+        // any event keeps the connection alive
+        subscriber.heartbeatDue = false;
+        try {
+            if (upToDate) {
+                subscriber.emitter.send(SseEmitter.event().comment(""));
+                return;
+            }
+            subscriber.emitter.send(SseEmitter.event()
+                    .id(Long.toString(changes.version()))
+                    .name(EVENT_NAME)
+                    .data(changes, MediaType.APPLICATION_JSON));
+            subscriber.version = changes.version();
+            subscriber.started = true;
+        } catch (IOException | IllegalStateException e) {
+            // the client went away
+            drop(subscriber, e);
+        }
+    }
+
+    private void drop(Subscriber subscriber, Exception e) {
+        log.debug("Dropping change event subscriber: {}", e.getMessage());
+        subscribers.remove(subscriber);
+        subscriber.emitter.completeWithError(e);
+    }
+
+    private static void execute(ExecutorService executor, Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // shutting down
+        }
+    }
+
+    /*
+     * version is the newest version sent, only read and written by the one send in flight; wakeups counts the wakes
+     * since it started, and hands version over from one send to the next.
+     */
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicInteger wakeups = new AtomicInteger();
+        private volatile boolean heartbeatDue;
+        private long version;
+        private boolean started;
+
+        private Subscriber(SseEmitter emitter, long version) {
+            this.emitter = emitter;
+            this.version = version;
+        }
+    }
+}
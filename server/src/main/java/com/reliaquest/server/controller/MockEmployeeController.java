@@ -3,32 +3,203 @@ package com.reliaquest.server.controller;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.model.MockEmployeePage;
 import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.MockEmployeeQuery;
 import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.MockEmployeeSnapshot;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+    public static final String QUERIES_HEADER = "X-Queries";
+
     private final MockEmployeeService mockEmployeeService;
 
+    private final MockEmployeeListWriter listWriter;
+
+    private final MockEmployeeListCache listCache;
+
+    private final MockEmployeeChangeEvents changeEvents;
+
+    private final Validator validator;
+
+    @Value("${mock.bulk.max-items:10000}")
+    private int maxBulkItems;
+
+    /**
+     * The whole list in storage order, streamed one employee at a time (see {@link MockEmployeeListWriter}), so even a
+     * roster of millions starts arriving at once and is never held in memory as a response. {@code fields} limits each
+     * employee to the listed fields. The list size is returned in {@value #TOTAL_COUNT_HEADER}.
+     *
+     * <p>The list is one roster snapshot, tagged with its version ({@code ETag: "<epoch>-<version>"}), so a matching
+     * {@code If-None-Match} is answered with 304 Not Modified.
+     *
+     * <p>It is written as JSON unless {@code Accept} prefers Smile or CBOR, which also tag the ETag.
+     *
+     * <p>Clients that accept gzip ({@code Accept-Encoding}) get it compressed, the ETag tagged {@code -gzip}. Without
+     * {@code fields} the list comes from the {@link MockEmployeeListCache}, written and compressed once per roster
+     * version, and is streamed only when too large to cache.
+     *
+     * <p>The query endpoints the server offers besides the list are named in {@value #QUERIES_HEADER}.
+     */
+    @GetMapping(params = {"!page", "!size", "!cursor", "!sort"})
+    public ResponseEntity<StreamingResponseBody> getAllEmployees(
+            @RequestParam(value = "fields", required = false) String fields, WebRequest request) {
+        MockEmployeeSnapshot snapshot = mockEmployeeService.snapshot();
+        MediaType mediaType = negotiate(request);
+        boolean gzip = MockEmployeeListCache.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        // the streaming return value handler does not evaluate conditional requests, so this does (and sets the ETag)
+        if (request.checkNotModified(MockEmployeeRequests.listETag(eTag(snapshot), mediaType, gzip))) {
+            return null;
+        }
+        List<MockEmployee> employees = snapshot.employees();
+        ResponseEntity.BodyBuilder response = listHeaders(employees, mediaType, gzip);
+        var cached =
+                fields == null ? listCache.get(snapshot, mediaType) : Optional.<MockEmployeeListCache.Entry>empty();
+        if (cached.isPresent()) {
+            byte[] bytes = cached.get().bytes(gzip);
+            return response.contentLength(bytes.length).body(output -> output.write(bytes));
+        }
+        StreamingResponseBody body = listWriter.write(employees, MockEmployeeRequests.filters(fields), mediaType);
+        return response.body(gzip ? listCache.gzipped(body) : body);
+    }
+
+    /**
+     * The full list's headers without the list, among them its size ({@value #TOTAL_COUNT_HEADER}) and the query
+     * endpoints ({@value #QUERIES_HEADER}), so clients learn both without downloading it.
+     */
+    @RequestMapping(
+            method = RequestMethod.HEAD,
+            params = {"!page", "!size", "!cursor", "!sort"})
+    public ResponseEntity<Void> headEmployees(WebRequest request) {
+        MockEmployeeSnapshot snapshot = mockEmployeeService.snapshot();
+        MediaType mediaType = negotiate(request);
+        boolean gzip = MockEmployeeListCache.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (request.checkNotModified(MockEmployeeRequests.listETag(eTag(snapshot), mediaType, gzip))) {
+            return null;
+        }
+        return listHeaders(snapshot.employees(), mediaType, gzip).build();
+    }
+
+    /**
+     * One page of the list as selected by {@code page}, {@code size}, {@code cursor} and {@code sort} (see
+     * {@link MockEmployeeQuery}). {@code fields} limits each employee to the listed fields. The list size is returned in
+     * {@value #TOTAL_COUNT_HEADER}, the cursor of the following page in {@value #NEXT_CURSOR_HEADER}.
+     *
+     * <p>The page is built from one roster snapshot and tagged with its version like the whole list.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<MappingJacksonValue> getEmployees(
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestParam(value = "fields", required = false) String fields) {
+        MockEmployeeSnapshot snapshot = mockEmployeeService.snapshot();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(eTag(snapshot));
+        List<MockEmployee> employees;
+        var query = MockEmployeeQuery.of(page, size, cursor, sort);
+        if (query.isPresent()) {
+            MockEmployeePage selected = query.get().select(snapshot.employees());
+            employees = selected.employees();
+            response.header(TOTAL_COUNT_HEADER, Integer.toString(selected.total()));
+            if (selected.nextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, selected.nextCursor());
+            }
+        } else {
+            employees = snapshot.employees();
+            response.header(TOTAL_COUNT_HEADER, Integer.toString(employees.size()));
+        }
+
+        MappingJacksonValue body = new MappingJacksonValue(Response.handledWith(employees));
+        body.setFilters(MockEmployeeRequests.filters(fields));
+        return response.body(body);
+    }
+
+    /**
+     * Changes after {@code since}, see {@link MockEmployeeChanges}. Pass -1 to only learn the current version.
+     */
+    @GetMapping("/changes")
+    public Response<MockEmployeeChanges> getChanges(@RequestParam("since") long since) {
+        return Response.handledWith(mockEmployeeService.changesSince(since));
+    }
+
+    /**
+     * Server-sent events of the changes after {@code since} or, when a client reconnects, after its
+     * {@code Last-Event-ID}; see {@link MockEmployeeChangeEvents}. Without either, events start at the current version.
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter getEvents(
+            @RequestParam(value = "since", required = false) Long since,
+            @RequestHeader(value = LAST_EVENT_ID_HEADER, required = false) Long lastEventId) {
+        return changeEvents.subscribe(lastEventId != null ? lastEventId : since != null ? since : -1);
+    }
+
+    /**
+     * Employees whose name contains {@code name} ignoring case, in list order. {@code fields} limits each employee to
+     * the listed fields.
+     */
+    @GetMapping("/search")
+    public MappingJacksonValue searchEmployees(
+            @RequestParam("name") String name, @RequestParam(value = "fields", required = false) String fields) {
+        return MockEmployeeRequests.projected(Response.handledWith(mockEmployeeService.search(name)), fields);
+    }
+
+    /**
+     * The highest salary, no data when the roster is empty.
+     */
+    @GetMapping("/stats/maxSalary")
+    public Response<Integer> getMaxSalary() {
+        return Response.handledWith(mockEmployeeService.maxSalary().orElse(null));
+    }
+
+    /**
+     * The {@code n} highest earners, highest first (see {@link MockEmployeeService#topBySalary}); {@code salary} is the
+     * only ranking. {@code fields} limits each employee to the listed fields.
+     */
+    @GetMapping("/top")
+    public MappingJacksonValue getTopEmployees(
+            @RequestParam("by") String by,
+            @RequestParam("n") int n,
+            @RequestParam(value = "fields", required = false) String fields) {
+        MockEmployeeRequests.rankedBy(by);
+        return MockEmployeeRequests.projected(Response.handledWith(mockEmployeeService.topBySalary(n)), fields);
     }
 
     @GetMapping("/{id}")
@@ -48,4 +219,60 @@ public class MockEmployeeController {
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    /**
+     * Creates up to {@code mock.bulk.max-items} employees in one roster write (a single new version). The result has
+     * one entry per input, in order: the created employee, or the input's validation error. Invalid inputs don't stop
+     * the valid ones.
+     */
+    @PostMapping("/bulk")
+    public Response<List<Response<MockEmployee>>> createEmployees(@RequestBody List<CreateMockEmployeeInput> inputs) {
+        List<String> errors = MockEmployeeRequests.validate(validator, maxBulkItems, inputs);
+        Iterator<MockEmployee> created = mockEmployeeService
+                .createAll(MockEmployeeRequests.valid(inputs, errors))
+                .iterator();
+        return Response.handledWith(errors.stream()
+                .map(error ->
+                        error == null ? Response.handledWith(created.next()) : Response.<MockEmployee>error(error))
+                .toList());
+    }
+
+    /**
+     * Deletes the oldest employee by each name, like {@code DELETE /} one after another, in one roster write. The
+     * result has one entry per input, in order: whether an employee was deleted, or the input's validation error.
+     */
+    @DeleteMapping("/bulk")
+    public Response<List<Response<Boolean>>> deleteEmployees(@RequestBody List<DeleteMockEmployeeInput> inputs) {
+        List<String> errors = MockEmployeeRequests.validate(validator, maxBulkItems, inputs);
+        Iterator<Boolean> deleted = mockEmployeeService
+                .deleteAll(MockEmployeeRequests.valid(inputs, errors))
+                .iterator();
+        return Response.handledWith(errors.stream()
+                .map(error -> error == null ? Response.handledWith(deleted.next()) : Response.<Boolean>error(error))
+                .toList());
+    }
+
+    private MediaType negotiate(WebRequest request) {
+        List<MediaType> acceptable = MediaType.parseMediaTypes(request.getHeader(HttpHeaders.ACCEPT));
+        MimeTypeUtils.sortBySpecificity(acceptable);
+        return listWriter.negotiate(acceptable);
+    }
+
+    private static ResponseEntity.BodyBuilder listHeaders(
+            List<MockEmployee> employees, MediaType mediaType, boolean gzip) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(mediaType)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .header(TOTAL_COUNT_HEADER, Integer.toString(employees.size()))
+                .header(QUERIES_HEADER, MockEmployeeRequests.QUERIES);
+        if (gzip) {
+            // also keeps the container from compressing it again
+            response.header(HttpHeaders.CONTENT_ENCODING, MockEmployeeListCache.GZIP);
+        }
+        return response;
+    }
+
+    private String eTag(MockEmployeeSnapshot snapshot) {
+        return mockEmployeeService.epoch() + "-" + snapshot.version();
+    }
 }
@@ -10,6 +10,15 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 @ControllerAdvice
 public class MockEmployeeControllerAdvice {
 
+    /*
+     * Invalid list parameters (page, size, cursor, sort, fields).
+     */
+    @ExceptionHandler
+    protected ResponseEntity<?> handleIllegalArgument(IllegalArgumentException ex) {
+        log.debug("Rejected web request: {}", ex.getMessage());
+        return ResponseEntity.badRequest().body(Response.error(ex.getMessage()));
+    }
+
     @ExceptionHandler
     protected ResponseEntity<?> handleException(Throwable ex) {
         log.error("Error handling web request.", ex);
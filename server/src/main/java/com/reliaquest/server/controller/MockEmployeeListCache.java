@@ -0,0 +1,277 @@
+package com.reliaquest.server.controller;
+
+import com.reliaquest.server.service.MockEmployeeSnapshot;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * The full list of the latest roster snapshot, written by the {@link MockEmployeeListWriter} and gzip-compressed once
+ * per snapshot version and media type, so reads of an unchanged roster copy bytes instead of serializing and
+ * compressing it again.
+ *
+ * <p>Entries are built by the first read of a new version, outside the lock; a write only makes the next read rebuild.
+ * Reads of a version being built wait for it rather than building it again, reads of an older snapshot than the cached
+ * one are not served from the cache. A list larger than {@code mock.list-cache.max-size} once serialized is not cached,
+ * and neither is any list when that is 0.
+ *
+ * <p>Once a version turned out too large, later versions with at least as many employees are not built at all, only a
+ * roster that shrank is tried again. Reads do not wait for a build that might turn out too large, one not following a
+ * cached version, but stream the list themselves. Compression uses {@code mock.list-cache.gzip-level} (1-9, 6 by
+ * default).
+ */
+@Slf4j
+@Component
+public class MockEmployeeListCache {
+
+    public static final String GZIP = "gzip";
+
+    private final MockEmployeeListWriter listWriter;
+    private final long maxSize;
+    private final int gzipLevel;
+    private final Map<MediaType, Slot> slots = new ConcurrentHashMap<>();
+
+    public MockEmployeeListCache(
+            MockEmployeeListWriter listWriter,
+            @Value("${mock.list-cache.max-size:64MB}") DataSize maxSize,
+            @Value("${mock.list-cache.gzip-level:6}") int gzipLevel) {
+        if (gzipLevel < Deflater.BEST_SPEED || gzipLevel > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("mock.list-cache.gzip-level must be 1-9, was " + gzipLevel);
+        }
+        this.listWriter = listWriter;
+        this.maxSize = maxSize.toBytes();
+        this.gzipLevel = gzipLevel;
+    }
+
+    /**
+     * The unfiltered list of the snapshot in one of the media types {@link MockEmployeeListWriter#negotiate} returns;
+     * empty when it is not cached and has to be streamed.
+     */
+    public Optional<Entry> get(MockEmployeeSnapshot snapshot, MediaType mediaType) {
+        if (maxSize == 0) {
+            return Optional.empty();
+        }
+        Slot slot = slots.computeIfAbsent(mediaType, type -> new Slot());
+        long version = snapshot.version();
+        int employees = snapshot.employees().size();
+        int identitySize;
+        int gzipSize;
+        synchronized (slot) {
+            while (slot.building == version && slot.likelyToFit) {
+                try {
+                    slot.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return Optional.empty();
+                }
+            }
+            if (version <= slot.version) {
+                return version == slot.version ? Optional.ofNullable(slot.entry) : Optional.empty();
+            }
+            if (slot.overflowedAt >= 0 && employees >= slot.overflowedAt) {
+                // no smaller than a list that did not fit
+                slot.entry = null;
+                slot.version = version;
+                return Optional.empty();
+            }
+            if (slot.building >= 0) {
+                // another read builds a version, the list is streamed rather than built twice or waited for
+                return Optional.empty();
+            }
+            Entry previous = slot.entry;
+            identitySize = previous == null ? -1 : previous.identity().length;
+            gzipSize = previous == null ? -1 : previous.gzip().length;
+            // dropped first, the old and the new list need not fit in memory together
+            slot.entry = null;
+            slot.building = version;
+            slot.likelyToFit = previous != null;
+        }
+        Entry entry = null;
+        boolean built = false;
+        try {
+            entry = build(snapshot, mediaType, identitySize, gzipSize);
+            built = true;
+        } finally {
+            synchronized (slot) {
+                slot.building = -1;
+                if (built && version > slot.version) {
+                    slot.version = version;
+                    slot.entry = entry;
+                    slot.overflowedAt = entry == null ? employees : -1;
+                }
+                slot.notifyAll();
+            }
+        }
+        return Optional.ofNullable(entry);
+    }
+
+    /**
+     * The body, gzip-compressed as it is written.
+     */
+    public StreamingResponseBody gzipped(StreamingResponseBody body) {
+        return output -> {
+            try (OutputStream compressed = gzip(output)) {
+                body.writeTo(compressed);
+            }
+        };
+    }
+
+    /**
+     * gzip at the configured level, for lists written in chunks.
+     */
+    public MockEmployeeListWriter.Encoding gzipEncoding() {
+        return this::gzip;
+    }
+
+    /**
+     * Whether an {@code Accept-Encoding} header accepts gzip, by name or {@code *}, with a q-value above 0.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzip = -1;
+        double any = -1;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            String name = parameters[0].trim();
+            if (name.equalsIgnoreCase(GZIP)) {
+                gzip = quality(parameters);
+            } else if (name.equals("*")) {
+                any = quality(parameters);
+            }
+        }
+        return gzip >= 0 ? gzip > 0 : any > 0;
+    }
+
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /*
+     * Sized like the previous entry, if any (sizes of -1 if not), since writes change the list's size by little.
+     */
+    private Entry build(MockEmployeeSnapshot snapshot, MediaType mediaType, int previousIdentity, int previousGzip) {
+        int identitySize = previousIdentity < 0 ? 1024 * 1024 : previousIdentity + previousIdentity / 64;
+        int gzipSize = previousGzip < 0 ? identitySize / 4 : previousGzip + previousGzip / 64;
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(gzipSize);
+        // written and compressed in one pass
+        try (BoundedBuffer identity = new BoundedBuffer(maxSize, identitySize, gzip(compressed))) {
+            listWriter.write(snapshot.employees(), null, mediaType).writeTo(identity);
+            identity.close();
+            return new Entry(snapshot.version(), identity.bytes.toByteArray(), compressed.toByteArray());
+        } catch (TooLarge e) {
+            log.debug(
+                    "Not caching roster version {} as {}, larger than {} bytes",
+                    snapshot.version(),
+                    mediaType,
+                    maxSize);
+            return null;
+        } catch (IOException e) {
+            // only written to memory
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private OutputStream gzip(OutputStream output) throws IOException {
+        return new GZIPOutputStream(output, 64 * 1024) {
+            {
+                def.setLevel(gzipLevel);
+            }
+        };
+    }
+
+    /**
+     * One list, as written and gzip-compressed.
+     */
+    public record Entry(long version, byte[] identity, byte[] gzip) {
+
+        public byte[] bytes(boolean gzipped) {
+            return gzipped ? gzip : identity;
+        }
+    }
+
+    /*
+     * The entry of one media type, entry is null when the list of version was too large or not built. Guarded by itself.
+     */
+    private static final class Slot {
+
+        private long version = -1;
+        private Entry entry;
+        // employees in the last version built that was too large, -1 if it was not
+        private int overflowedAt = -1;
+        // the version being built, -1 if none; waited for only if it follows a cached version
+        private long building = -1;
+        private boolean likelyToFit;
+    }
+
+    /*
+     * Keeps what is written, up to limit bytes, and passes it on to compressed, which is finished when this is closed.
+     */
+    private static final class BoundedBuffer extends OutputStream {
+
+        private final ByteArrayOutputStream bytes;
+        private final OutputStream compressed;
+        private final long limit;
+
+        private BoundedBuffer(long limit, int size, OutputStream compressed) {
+            this.bytes = new ByteArrayOutputStream((int) Math.min(limit, size));
+            this.compressed = compressed;
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            ensureRoom(1);
+            bytes.write(b);
+            compressed.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            ensureRoom(len);
+            bytes.write(b, off, len);
+            compressed.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            compressed.close();
+        }
+
+        private void ensureRoom(int length) throws TooLarge {
+            if (bytes.size() + (long) length > limit) {
+                throw new TooLarge();
+            }
+        }
+    }
+
+    // an IOException, so Jackson passes it through unwrapped when the limit is hit mid-write
+    private static final class TooLarge extends IOException {
+
+        private TooLarge() {
+            super("List larger than the cache allows");
+        }
+    }
+}
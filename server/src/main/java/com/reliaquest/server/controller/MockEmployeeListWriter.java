@@ -0,0 +1,195 @@
+package com.reliaquest.server.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Writes a list of employees as the usual {@code {"data":[...],"status":...}} envelope one employee at a time, so the
+ * response is never held in memory as a whole and its first bytes go out right away. The list must not change while
+ * it is written, e.g. a roster snapshot.
+ *
+ * <p>Besides JSON the list can be written in the binary formats of the Jackson message converters, Smile and CBOR,
+ * with the same envelope and field names.
+ */
+@Component
+public class MockEmployeeListWriter {
+
+    // by media type, JSON first
+    private final Map<MediaType, ObjectWriter> employeeWriters = new LinkedHashMap<>();
+
+    public MockEmployeeListWriter(List<AbstractJackson2HttpMessageConverter> converters) {
+        // JSON stays the default for clients that accept anything
+        converters.stream()
+                .filter(converter -> converter.getSupportedMediaTypes().contains(MediaType.APPLICATION_JSON))
+                .findFirst()
+                .ifPresent(this::add);
+        if (employeeWriters.isEmpty()) {
+            throw new IllegalArgumentException("No JSON converter among " + converters);
+        }
+        converters.forEach(this::add);
+    }
+
+    private void add(AbstractJackson2HttpMessageConverter converter) {
+        for (MediaType mediaType : converter.getSupportedMediaTypes()) {
+            // the generator is flushed by the container as its buffer fills, not after every employee
+            employeeWriters.putIfAbsent(
+                    mediaType,
+                    converter
+                            .getObjectMapper()
+                            .writerFor(MockEmployee.class)
+                            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE));
+        }
+    }
+
+    /**
+     * The first of the acceptable media types, most preferred first, the list can be written in; JSON if none.
+     */
+    public MediaType negotiate(List<MediaType> acceptable) {
+        for (MediaType accepted : acceptable) {
+            for (MediaType mediaType : employeeWriters.keySet()) {
+                if (accepted.isCompatibleWith(mediaType)) {
+                    return mediaType;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    /**
+     * @param filters the fields projection, {@code null} for all fields
+     */
+    public StreamingResponseBody write(List<MockEmployee> employees, FilterProvider filters) {
+        return write(employees, filters, MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * @param filters the fields projection, {@code null} for all fields
+     * @param mediaType one of the types {@link #negotiate(List)} returns
+     */
+    public StreamingResponseBody write(List<MockEmployee> employees, FilterProvider filters, MediaType mediaType) {
+        ObjectWriter writer = writer(filters, mediaType);
+        return output -> {
+            try (JsonGenerator generator = writer.getFactory().createGenerator(output)) {
+                generator.writeStartObject();
+                generator.writeFieldName("data");
+                // one sequence writer shares the serializer and its state across all employees
+                try (SequenceWriter array = writer.writeValuesAsArray(generator)) {
+                    for (MockEmployee employee : employees) {
+                        array.write(employee);
+                    }
+                }
+                generator.writeStringField("status", Response.Status.HANDLED.getValue());
+                generator.writeEndObject();
+            }
+        };
+    }
+
+    /**
+     * The same bytes as {@link #write}, made a chunk at a time when asked for, so a non-blocking server can write the
+     * list as fast as the client takes it without a thread waiting on the connection.
+     *
+     * @param filters the fields projection, {@code null} for all fields
+     * @param mediaType one of the types {@link #negotiate(List)} returns
+     * @param encoding wraps the output, e.g. to compress it
+     */
+    public Chunks chunks(List<MockEmployee> employees, FilterProvider filters, MediaType mediaType, Encoding encoding)
+            throws IOException {
+        return new Chunks(employees, writer(filters, mediaType), encoding);
+    }
+
+    private ObjectWriter writer(FilterProvider filters, MediaType mediaType) {
+        ObjectWriter employeeWriter = employeeWriters.get(mediaType);
+        if (employeeWriter == null) {
+            throw new IllegalArgumentException("Cannot write " + mediaType);
+        }
+        return filters == null ? employeeWriter : employeeWriter.with(filters);
+    }
+
+    /**
+     * Wraps the stream a list is written to.
+     */
+    @FunctionalInterface
+    public interface Encoding {
+
+        Encoding IDENTITY = output -> output;
+
+        OutputStream wrap(OutputStream output) throws IOException;
+    }
+
+    /**
+     * A list being written in chunks: one generator writes into a buffer that is handed out and emptied by each
+     * {@link #next()}, so binary formats keep their state (e.g. Smile's back-references) across chunks. Not thread-safe;
+     * chunks are taken one after another.
+     */
+    public static final class Chunks implements AutoCloseable {
+
+        static final int CHUNK_SIZE = 32 * 1024;
+        // employees written between checks of the buffered size
+        private static final int BATCH = 32;
+
+        private final List<MockEmployee> employees;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(CHUNK_SIZE + CHUNK_SIZE / 4);
+        private final JsonGenerator generator;
+        private final SequenceWriter array;
+        private int next;
+        private boolean done;
+
+        private Chunks(List<MockEmployee> employees, ObjectWriter writer, Encoding encoding) throws IOException {
+            this.employees = employees;
+            this.generator = writer.getFactory().createGenerator(encoding.wrap(buffer));
+            generator.writeStartObject();
+            generator.writeFieldName("data");
+            this.array = writer.writeValuesAsArray(generator);
+        }
+
+        /**
+         * The next chunk, about {@value #CHUNK_SIZE} bytes, or {@code null} after the last one.
+         */
+        public byte[] next() throws IOException {
+            if (done) {
+                return null;
+            }
+            while (buffer.size() < CHUNK_SIZE && next < employees.size()) {
+                int end = Math.min(employees.size(), next + BATCH);
+                while (next < end) {
+                    array.write(employees.get(next++));
+                }
+                generator.flush();
+            }
+            if (next == employees.size()) {
+                array.close();
+                generator.writeStringField("status", Response.Status.HANDLED.getValue());
+                generator.writeEndObject();
+                // also finishes the encoding
+                generator.close();
+                done = true;
+            }
+            byte[] chunk = buffer.toByteArray();
+            buffer.reset();
+            return chunk;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!done) {
+                done = true;
+                generator.close();
+            }
+        }
+    }
+}
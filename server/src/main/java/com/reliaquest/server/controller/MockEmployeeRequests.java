@@ -0,0 +1,108 @@
+package com.reliaquest.server.controller;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeField;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+/*
+ * Request handling shared by the servlet and the reactive controllers, so both runtimes answer alike.
+ */
+final class MockEmployeeRequests {
+
+    /*
+     * The query endpoints, as advertised in the QUERIES_HEADER.
+     */
+    static final String QUERIES = "search, stats/maxSalary, top";
+
+    private MockEmployeeRequests() {}
+
+    /*
+     * The full list's ETag: the roster version's, tagged with the format unless JSON and with -gzip when compressed.
+     */
+    static String listETag(String eTag, MediaType mediaType, boolean gzip) {
+        if (!mediaType.equals(MediaType.APPLICATION_JSON)) {
+            eTag += "-" + mediaType.getSubtype();
+        }
+        return gzip ? eTag + "-" + MockEmployeeListCache.GZIP : eTag;
+    }
+
+    /*
+     * The fields projection, null for all fields.
+     */
+    static FilterProvider filters(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        return new SimpleFilterProvider()
+                .addFilter(MockEmployee.FIELDS_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(projection(fields)));
+    }
+
+    static MappingJacksonValue projected(Object body, String fields) {
+        MappingJacksonValue projected = new MappingJacksonValue(body);
+        projected.setFilters(filters(fields));
+        return projected;
+    }
+
+    /*
+     * The top employees are only ranked by salary.
+     */
+    static void rankedBy(String by) {
+        if (MockEmployeeField.of(by) != MockEmployeeField.SALARY) {
+            throw new IllegalArgumentException("Employees can only be ranked by salary, not " + by);
+        }
+    }
+
+    private static Set<String> projection(String fields) {
+        return Arrays.stream(fields.split(","))
+                .filter(field -> !field.isBlank())
+                .map(field -> MockEmployeeField.of(field).jsonName())
+                .collect(Collectors.toSet());
+    }
+
+    /*
+     * The validation error of each bulk input, null where it is valid.
+     */
+    static <T> List<String> validate(Validator validator, int maxBulkItems, List<T> inputs) {
+        if (inputs.size() > maxBulkItems) {
+            throw new IllegalArgumentException(
+                    "At most " + maxBulkItems + " items per bulk request, got " + inputs.size());
+        }
+        List<String> errors = new ArrayList<>(inputs.size());
+        for (T input : inputs) {
+            if (input == null) {
+                errors.add("must not be null");
+                continue;
+            }
+            Set<ConstraintViolation<T>> violations = validator.validate(input);
+            errors.add(
+                    violations.isEmpty()
+                            ? null
+                            : violations.stream()
+                                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                                    .sorted()
+                                    .collect(Collectors.joining(", ")));
+        }
+        return errors;
+    }
+
+    static <T> List<T> valid(List<T> inputs, List<String> errors) {
+        List<T> valid = new ArrayList<>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            if (errors.get(i) == null) {
+                valid.add(inputs.get(i));
+            }
+        }
+        return valid;
+    }
+}
@@ -0,0 +1,132 @@
+package com.reliaquest.server.controller;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.service.MockEmployeeChangeLog;
+import com.reliaquest.server.service.MockEmployeeStore;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * The reactive runtime's {@link MockEmployeeChangeEvents}: the same events, heartbeats and timeout, as a {@link Flux}
+ * per subscriber instead of an emitter, so an idle subscription holds no thread.
+ *
+ * <p>The store only signals that something changed. Each subscriber reads its changes from the
+ * {@link MockEmployeeChangeLog} when it is ready for them; signals that arrive while it is busy, or while its client is
+ * slow, are merged into one, so writes are sent together in the next event.
+ */
+@Component("mockEmployeeChangeEvents")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveMockEmployeeChangeEvents implements MockEmployeeStore.Listener {
+
+    private final MockEmployeeChangeLog changeLog;
+    private final Duration heartbeat;
+    private final Duration timeout;
+    private final Sinks.Many<Long> signals = Sinks.many().multicast().directBestEffort();
+
+    public ReactiveMockEmployeeChangeEvents(
+            MockEmployeeChangeLog changeLog,
+            @Value("${mock.events.heartbeat:15s}") Duration heartbeat,
+            @Value("${mock.events.timeout:30m}") Duration timeout) {
+        this.changeLog = changeLog;
+        this.heartbeat = heartbeat;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Subscribes to the changes after {@code since}; -1 starts at the current version.
+     */
+    public Flux<ServerSentEvent<MockEmployeeChanges>> subscribe(long since) {
+        Flux<ServerSentEvent<MockEmployeeChanges>> events = Flux.defer(() -> {
+            Subscriber subscriber = new Subscriber(since);
+            // the first event catches up at once, later signals only while a send is not pending
+            return Flux.merge(Mono.just(since), signals.asFlux())
+                    .onBackpressureLatest()
+                    .publishOn(Schedulers.parallel(), 1)
+                    .handle((signal, sink) -> {
+                        ServerSentEvent<MockEmployeeChanges> event = subscriber.next();
+                        if (event != null) {
+                            sink.next(event);
+                        }
+                    });
+        });
+        if (!heartbeat.isZero() && !heartbeat.isNegative()) {
+            events =
+                    events.mergeWith(Flux.interval(heartbeat).map(tick -> ServerSentEvent.<MockEmployeeChanges>builder()
+                            .comment("")
+                            .build()));
+        }
+        return events.take(timeout);
+    }
+
+    int subscribers() {
+        return signals.currentSubscriberCount();
+    }
+
+    @Override
+    public void created(long version, MockEmployee employee) {
+        signal(version);
+    }
+
+    @Override
+    public void deleted(long version, MockEmployee employee) {
+        signal(version);
+    }
+
+    @Override
+    public void createdAll(long version, List<MockEmployee> employees) {
+        signal(version);
+    }
+
+    @Override
+    public void deletedAll(long version, List<MockEmployee> employees) {
+        signal(version);
+    }
+
+    @PreDestroy
+    public void close() {
+        signals.tryEmitComplete();
+    }
+
+    /*
+     * Called under the store's lock, so never concurrently.
+     */
+    private void signal(long version) {
+        signals.tryEmitNext(version);
+    }
+
+    /*
+     * version is the newest version sent, only read and written by one send at a time.
+     */
+    private final class Subscriber {
+
+        private long version;
+        private boolean started;
+
+        private Subscriber(long version) {
+            this.version = version;
+        }
+
+        private ServerSentEvent<MockEmployeeChanges> next() {
+            MockEmployeeChanges changes = changeLog.since(version);
+            if (started && !changes.truncated() && changes.version() == version) {
+                return null;
+            }
+            version = changes.version();
+            started = true;
+            return ServerSentEvent.builder(changes)
+                    .id(Long.toString(changes.version()))
+                    .event(MockEmployeeChangeEvents.EVENT_NAME)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.reliaquest.server.controller;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.model.MockEmployeePage;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.MockEmployeeQuery;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.MockEmployeeSnapshot;
+import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * The reactive runtime's {@link MockEmployeeController}, serving the same requests with the same responses and
+ * headers. Nothing here waits on the event loop: the full list is written a chunk at a time as the client takes it (see
+ * {@link MockEmployeeListWriter#chunks}), serializing on the parallel scheduler, and work that may block (building the
+ * {@link MockEmployeeListCache} entry, writes to the roster and its write log) runs on the bounded elastic one.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/v1/employee")
+@RequiredArgsConstructor
+public class ReactiveMockEmployeeController {
+
+    private final MockEmployeeService mockEmployeeService;
+
+    private final MockEmployeeListWriter listWriter;
+
+    private final MockEmployeeListCache listCache;
+
+    private final ReactiveMockEmployeeChangeEvents changeEvents;
+
+    private final Validator validator;
+
+    @Value("${mock.bulk.max-items:10000}")
+    private int maxBulkItems;
+
+    /**
+     * See {@link MockEmployeeController#getAllEmployees}.
+     */
+    @GetMapping(params = {"!page", "!size", "!cursor", "!sort"})
+    public Mono<Void> getAllEmployees(
+            @RequestParam(value = "fields", required = false) String fields, ServerWebExchange exchange) {
+        // invalid fields are rejected before any header is set
+        FilterProvider filters = MockEmployeeRequests.filters(fields);
+        MockEmployeeSnapshot snapshot = mockEmployeeService.snapshot();
+        HttpHeaders requestHeaders = exchange.getRequest().getHeaders();
+        MediaType mediaType = negotiate(requestHeaders);
+        boolean gzip = MockEmployeeListCache.acceptsGzip(requestHeaders.getFirst(HttpHeaders.ACCEPT_ENCODING));
+        if (exchange.checkNotModified(MockEmployeeRequests.listETag(eTag(snapshot), mediaType, gzip))) {
+            return exchange.getResponse().setComplete();
+        }
+        List<MockEmployee> employees = snapshot.employees();
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        listHeaders(headers, employees, mediaType, gzip);
+        if (filters != null) {
+            return response.writeWith(chunks(employees, filters, mediaType, gzip, response.bufferFactory()));
+        }
+        return Mono.fromCallable(() -> listCache.get(snapshot, mediaType))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(cached -> {
+                    if (cached.isEmpty()) {
+                        return response.writeWith(chunks(employees, null, mediaType, gzip, response.bufferFactory()));
+                    }
+                    byte[] bytes = cached.get().bytes(gzip);
+                    headers.setContentLength(bytes.length);
+                    return response.writeWith(slices(bytes, response.bufferFactory()));
+                });
+    }
+
+    /**
+     * See {@link MockEmployeeController#headEmployees}.
+     */
+    @RequestMapping(
+            method = RequestMethod.HEAD,
+            params = {"!page", "!size", "!cursor", "!sort"})
+    public Mono<Void> headEmployees(ServerWebExchange exchange) {
+        MockEmployeeSnapshot snapshot = mockEmployeeService.snapshot();
+        HttpHeaders requestHeaders = exchange.getRequest().getHeaders();
+        MediaType mediaType = negotiate(requestHeaders);
+        boolean gzip = MockEmployeeListCache.acceptsGzip(requestHeaders.getFirst(HttpHeaders.ACCEPT_ENCODING));
+        if (!exchange.checkNotModified(MockEmployeeRequests.listETag(eTag(snapshot), mediaType, gzip))) {
+            listHeaders(exchange.getResponse().getHeaders(), snapshot.employees(), mediaType, gzip);
+        }
+        return exchange.getResponse().setComplete();
+    }
+
+    /**
+     * See {@link MockEmployeeController#getEmployees}.
+     */
+    @GetMapping()
+    public ResponseEntity<MappingJacksonValue> getEmployees(
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestParam(value = "fields", required = false) String fields) {
+        MockEmployeeSnapshot snapshot = mockEmployeeService.snapshot();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(eTag(snapshot));
+        List<MockEmployee> employees;
+        var query = MockEmployeeQuery.of(page, size, cursor, sort);
+        if (query.isPresent()) {
+            MockEmployeePage selected = query.get().select(snapshot.employees());
+            employees = selected.employees();
+            response.header(MockEmployeeController.TOTAL_COUNT_HEADER, Integer.toString(selected.total()));
+            if (selected.nextCursor() != null) {
+                response.header(MockEmployeeController.NEXT_CURSOR_HEADER, selected.nextCursor());
+            }
+        } else {
+            employees = snapshot.employees();
+            response.header(MockEmployeeController.TOTAL_COUNT_HEADER, Integer.toString(employees.size()));
+        }
+
+        MappingJacksonValue body = new MappingJacksonValue(Response.handledWith(employees));
+        body.setFilters(MockEmployeeRequests.filters(fields));
+        return response.body(body);
+    }
+
+    @GetMapping("/changes")
+    public Response<MockEmployeeChanges> getChanges(@RequestParam("since") long since) {
+        return Response.handledWith(mockEmployeeService.changesSince(since));
+    }
+
+    /**
+     * See {@link MockEmployeeController#getEvents}.
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<MockEmployeeChanges>> getEvents(
+            @RequestParam(value = "since", required = false) Long since,
+            @RequestHeader(value = MockEmployeeController.LAST_EVENT_ID_HEADER, required = false) Long lastEventId) {
+        return changeEvents.subscribe(lastEventId != null ? lastEventId : since != null ? since : -1);
+    }
+
+    /**
+     * See {@link MockEmployeeController#searchEmployees}; the roster is scanned on the parallel scheduler.
+     */
+    @GetMapping("/search")
+    public Mono<MappingJacksonValue> searchEmployees(
+            @RequestParam("name") String name, @RequestParam(value = "fields", required = false) String fields) {
+        return Mono.fromCallable(() ->
+                        MockEmployeeRequests.projected(Response.handledWith(mockEmployeeService.search(name)), fields))
+                .subscribeOn(Schedulers.parallel());
+    }
+
+    @GetMapping("/stats/maxSalary")
+    public Response<Integer> getMaxSalary() {
+        return Response.handledWith(mockEmployeeService.maxSalary().orElse(null));
+    }
+
+    /**
+     * See {@link MockEmployeeController#getTopEmployees}.
+     */
+    @GetMapping("/top")
+    public MappingJacksonValue getTopEmployees(
+            @RequestParam("by") String by,
+            @RequestParam("n") int n,
+            @RequestParam(value = "fields", required = false) String fields) {
+        MockEmployeeRequests.rankedBy(by);
+        return MockEmployeeRequests.projected(Response.handledWith(mockEmployeeService.topBySalary(n)), fields);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Response<MockEmployee>> getEmployee(@PathVariable("id") UUID uuid) {
+        return mockEmployeeService
+                .findById(uuid)
+                .map(employee -> ResponseEntity.ok(Response.handledWith(employee)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
+    }
+
+    @PostMapping()
+    public Mono<Response<MockEmployee>> createEmployee(@Valid @RequestBody CreateMockEmployeeInput input) {
+        return Mono.fromCallable(() -> Response.handledWith(mockEmployeeService.create(input)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @DeleteMapping()
+    public Mono<Response<Boolean>> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
+        return Mono.fromCallable(() -> Response.handledWith(mockEmployeeService.delete(input)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * See {@link MockEmployeeController#createEmployees}.
+     */
+    @PostMapping("/bulk")
+    public Mono<Response<List<Response<MockEmployee>>>> createEmployees(
+            @RequestBody List<CreateMockEmployeeInput> inputs) {
+        List<String> errors = MockEmployeeRequests.validate(validator, maxBulkItems, inputs);
+        return Mono.fromCallable(() -> {
+                    Iterator<MockEmployee> created = mockEmployeeService
+                            .createAll(MockEmployeeRequests.valid(inputs, errors))
+                            .iterator();
+                    return Response.handledWith(errors.stream()
+                            .map(error -> error == null
+                                    ? Response.handledWith(created.next())
+                                    : Response.<MockEmployee>error(error))
+                            .toList());
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * See {@link MockEmployeeController#deleteEmployees}.
+     */
+    @DeleteMapping("/bulk")
+    public Mono<Response<List<Response<Boolean>>>> deleteEmployees(@RequestBody List<DeleteMockEmployeeInput> inputs) {
+        List<String> errors = MockEmployeeRequests.validate(validator, maxBulkItems, inputs);
+        return Mono.fromCallable(() -> {
+                    Iterator<Boolean> deleted = mockEmployeeService
+                            .deleteAll(MockEmployeeRequests.valid(inputs, errors))
+                            .iterator();
+                    return Response.handledWith(errors.stream()
+                            .map(error -> error == null
+                                    ? Response.handledWith(deleted.next())
+                                    : Response.<Boolean>error(error))
+                            .toList());
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /*
+     * The list a chunk at a time, each made when the connection asks for more.
+     */
+    private Flux<DataBuffer> chunks(
+            List<MockEmployee> employees,
+            FilterProvider filters,
+            MediaType mediaType,
+            boolean gzip,
+            DataBufferFactory buffers) {
+        return Flux.using(
+                        () -> listWriter.chunks(
+                                employees,
+                                filters,
+                                mediaType,
+                                gzip ? listCache.gzipEncoding() : MockEmployeeListWriter.Encoding.IDENTITY),
+                        chunks -> Flux.<DataBuffer>generate(sink -> {
+                            try {
+                                byte[] chunk = chunks.next();
+                                if (chunk == null) {
+                                    sink.complete();
+                                } else {
+                                    sink.next(buffers.wrap(chunk));
+                                }
+                            } catch (IOException e) {
+                                sink.error(e);
+                            }
+                        }),
+                        ReactiveMockEmployeeController::close)
+                .subscribeOn(Schedulers.parallel());
+    }
+
+    /*
+     * The cached bytes a chunk at a time too: Netty copies what it writes to direct memory, a whole list per connection
+     * would take as much of it as there are connections.
+     */
+    private static Flux<DataBuffer> slices(byte[] bytes, DataBufferFactory buffers) {
+        int size = MockEmployeeListWriter.Chunks.CHUNK_SIZE;
+        return Flux.range(0, (bytes.length + size - 1) / size)
+                .map(i -> buffers.wrap(ByteBuffer.wrap(bytes, i * size, Math.min(size, bytes.length - i * size))));
+    }
+
+    private static void close(MockEmployeeListWriter.Chunks chunks) {
+        try {
+            chunks.close();
+        } catch (IOException e) {
+            // only written to memory
+        }
+    }
+
+    private MediaType negotiate(HttpHeaders requestHeaders) {
+        List<MediaType> acceptable = new ArrayList<>(requestHeaders.getAccept());
+        MimeTypeUtils.sortBySpecificity(acceptable);
+        return listWriter.negotiate(acceptable);
+    }
+
+    private static void listHeaders(
+            HttpHeaders headers, List<MockEmployee> employees, MediaType mediaType, boolean gzip) {
+        headers.setContentType(mediaType);
+        headers.setVary(List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING));
+        headers.set(MockEmployeeController.TOTAL_COUNT_HEADER, Integer.toString(employees.size()));
+        headers.set(MockEmployeeController.QUERIES_HEADER, MockEmployeeRequests.QUERIES);
+        if (gzip) {
+            // also keeps the server from compressing it again
+            headers.set(HttpHeaders.CONTENT_ENCODING, MockEmployeeListCache.GZIP);
+        }
+    }
+
+    private String eTag(MockEmployeeSnapshot snapshot) {
+        return mockEmployeeService.epoch() + "-" + snapshot.version();
+    }
+}
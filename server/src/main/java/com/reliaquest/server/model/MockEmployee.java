@@ -1,5 +1,6 @@
 package com.reliaquest.server.model;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import java.util.UUID;
@@ -12,8 +13,14 @@ import lombok.NonNull;
 @AllArgsConstructor
 @Builder(toBuilder = true)
 @JsonNaming(MockEmployee.PrefixNamingStrategy.class)
+@JsonFilter(MockEmployee.FIELDS_FILTER)
 public class MockEmployee {
 
+    /**
+     * Jackson filter id used to project responses to the requested fields; without a filter all fields are written.
+     */
+    public static final String FIELDS_FILTER = "mockEmployeeFields";
+
     private UUID id;
     private String name;
     private Integer salary;
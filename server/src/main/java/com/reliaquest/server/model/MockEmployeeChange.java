@@ -0,0 +1,16 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.UUID;
+
+/**
+ * One roster mutation. {@code employee} is the created employee, or absent for deletions.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MockEmployeeChange(long version, Type type, UUID id, MockEmployee employee) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
@@ -0,0 +1,13 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * Changes after a client's version, oldest first.
+ *
+ * @param epoch identifies this server instance; versions of different epochs are unrelated
+ * @param version the roster version after applying {@code changes}
+ * @param truncated the log no longer reaches back to the requested version (or the version is unknown); the client
+ *     must fetch the full roster, tagging it with {@code version}
+ */
+public record MockEmployeeChanges(String epoch, long version, boolean truncated, List<MockEmployeeChange> changes) {}
@@ -0,0 +1,83 @@
+package com.reliaquest.server.model;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The properties of {@link MockEmployee} as the list endpoint's {@code sort} and {@code fields} parameters see them.
+ */
+public enum MockEmployeeField {
+    ID("id", MockEmployee::getId, MockEmployee::setId, UUID::fromString, Comparator.naturalOrder()),
+    NAME("name", MockEmployee::getName, MockEmployee::setName, Function.identity(), String.CASE_INSENSITIVE_ORDER),
+    SALARY("salary", MockEmployee::getSalary, MockEmployee::setSalary, Integer::valueOf, Comparator.naturalOrder()),
+    AGE("age", MockEmployee::getAge, MockEmployee::setAge, Integer::valueOf, Comparator.naturalOrder()),
+    TITLE("title", MockEmployee::getTitle, MockEmployee::setTitle, Function.identity(), Comparator.naturalOrder()),
+    EMAIL("email", MockEmployee::getEmail, MockEmployee::setEmail, Function.identity(), Comparator.naturalOrder());
+
+    private final String property;
+    private final String jsonName;
+    private final Function<MockEmployee, ?> getter;
+    private final BiConsumer<MockEmployee, String> parser;
+    private final Comparator<MockEmployee> order;
+
+    <T> MockEmployeeField(
+            String property,
+            Function<MockEmployee, T> getter,
+            BiConsumer<MockEmployee, T> setter,
+            Function<String, T> parse,
+            Comparator<? super T> order) {
+        this.property = property;
+        this.jsonName = new MockEmployee.PrefixNamingStrategy().translate(property);
+        this.getter = getter;
+        this.parser = (employee, text) -> setter.accept(employee, text == null ? null : parse.apply(text));
+        this.order = Comparator.comparing(getter, Comparator.nullsFirst(order));
+    }
+
+    /**
+     * @param name the property name ({@code salary}) or its JSON name ({@code employee_salary}), case-insensitive
+     * @throws IllegalArgumentException for anything else
+     */
+    public static MockEmployeeField of(String name) {
+        String normalized = name.trim().toLowerCase(Locale.ROOT);
+        return Arrays.stream(values())
+                .filter(field -> field.property.equals(normalized) || field.jsonName.equals(normalized))
+                .findFirst()
+                .orElseThrow(
+                        () -> new IllegalArgumentException("Unknown employee field '" + name + "', expected one of "
+                                + Arrays.stream(values())
+                                        .map(MockEmployeeField::property)
+                                        .collect(Collectors.joining(", "))));
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public String jsonName() {
+        return jsonName;
+    }
+
+    /**
+     * Ascending order of this field, nulls first. Names compare case-insensitively.
+     */
+    public Comparator<MockEmployee> order() {
+        return order;
+    }
+
+    public String format(MockEmployee employee) {
+        Object value = getter.apply(employee);
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     * Sets this field of {@code employee} from its {@link #format(MockEmployee) formatted} value.
+     */
+    public void parse(MockEmployee employee, String value) {
+        parser.accept(employee, value);
+    }
+}
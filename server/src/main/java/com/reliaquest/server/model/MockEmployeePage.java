@@ -0,0 +1,9 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * @param total number of employees in the whole list
+ * @param nextCursor cursor for the following page, null on the last page
+ */
+public record MockEmployeePage(List<MockEmployee> employees, int total, String nextCursor) {}
@@ -0,0 +1,113 @@
+package com.reliaquest.server.service;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list stored in fixed-size chunks. Updates return a new list that shares every chunk it did not touch, so
+ * appending, replacing or removing one element copies at most two chunks plus the chunk table (n / 1024 references)
+ * instead of the whole array. {@link #withAll(List)} appends a batch at the cost of a single append.
+ *
+ * <p>{@link #withoutIndex(int)} moves the last element into the gap rather than shifting the tail, so removal does not
+ * preserve order.
+ */
+final class ChunkedList<E> extends AbstractList<E> implements RandomAccess {
+
+    private static final int SHIFT = 10;
+    private static final int CHUNK_SIZE = 1 << SHIFT;
+    private static final int MASK = CHUNK_SIZE - 1;
+    private static final ChunkedList<?> EMPTY = new ChunkedList<>(new Object[0][], 0);
+
+    private final Object[][] chunks;
+    private final int size;
+
+    private ChunkedList(Object[][] chunks, int size) {
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <E> ChunkedList<E> empty() {
+        return (ChunkedList<E>) EMPTY;
+    }
+
+    static <E> ChunkedList<E> copyOf(List<? extends E> elements) {
+        int size = elements.size();
+        Object[][] chunks = new Object[(size + MASK) >>> SHIFT][];
+        for (int chunk = 0; chunk < chunks.length; chunk++) {
+            int from = chunk << SHIFT;
+            chunks[chunk] =
+                    elements.subList(from, Math.min(from + CHUNK_SIZE, size)).toArray();
+        }
+        return new ChunkedList<>(chunks, size);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Objects.checkIndex(index, size);
+        return (E) chunks[index >>> SHIFT][index & MASK];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    ChunkedList<E> with(E element) {
+        int offset = size & MASK;
+        Object[][] copy;
+        if (offset == 0) {
+            copy = Arrays.copyOf(chunks, chunks.length + 1);
+            copy[chunks.length] = new Object[] {element};
+        } else {
+            copy = chunks.clone();
+            Object[] last = Arrays.copyOf(chunks[chunks.length - 1], offset + 1);
+            last[offset] = element;
+            copy[chunks.length - 1] = last;
+        }
+        return new ChunkedList<>(copy, size + 1);
+    }
+
+    /**
+     * Appends all of {@code elements} with a single copy of the chunk table and the partly filled last chunk.
+     */
+    ChunkedList<E> withAll(List<? extends E> elements) {
+        if (elements.isEmpty()) {
+            return this;
+        }
+        int newSize = size + elements.size();
+        Object[][] copy = Arrays.copyOf(chunks, (newSize + MASK) >>> SHIFT);
+        for (int chunk = size >>> SHIFT; chunk < copy.length; chunk++) {
+            int start = chunk << SHIFT;
+            int length = Math.min(CHUNK_SIZE, newSize - start);
+            Object[] filled = chunk < chunks.length ? Arrays.copyOf(chunks[chunk], length) : new Object[length];
+            for (int index = Math.max(start, size); index < start + length; index++) {
+                filled[index - start] = elements.get(index - size);
+            }
+            copy[chunk] = filled;
+        }
+        return new ChunkedList<>(copy, newSize);
+    }
+
+    ChunkedList<E> withoutIndex(int index) {
+        Objects.checkIndex(index, size);
+        int lastIndex = size - 1;
+        int lastChunk = lastIndex >>> SHIFT;
+        int lastOffset = lastIndex & MASK;
+        Object[][] copy = lastOffset == 0 ? Arrays.copyOf(chunks, lastChunk) : chunks.clone();
+        if (lastOffset != 0) {
+            copy[lastChunk] = Arrays.copyOf(chunks[lastChunk], lastOffset);
+        }
+        if (index != lastIndex) {
+            int chunk = index >>> SHIFT;
+            Object[] replaced = copy[chunk] == chunks[chunk] ? chunks[chunk].clone() : copy[chunk];
+            replaced[index & MASK] = chunks[lastChunk][lastOffset];
+            copy[chunk] = replaced;
+        }
+        return new ChunkedList<>(copy, lastIndex);
+    }
+}
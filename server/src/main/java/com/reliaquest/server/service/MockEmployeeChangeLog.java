@@ -0,0 +1,96 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded log of the most recent roster changes, so clients can catch up with {@code GET /changes?since={version}}
+ * instead of downloading the whole roster. Versions are assigned by the {@link MockEmployeeStore}, which records each
+ * change in version order. The changes of a batch share one version and are recorded together, so a client never sees
+ * part of a batch.
+ *
+ * <p>Changes are recorded only after they are visible in the roster. A client that reads the version first and then
+ * the roster may therefore see a change twice (once in the roster, once in the next delta) but never miss one.
+ */
+@Component
+public class MockEmployeeChangeLog implements MockEmployeeStore.Listener {
+
+    private final String epoch = UUID.randomUUID().toString();
+    private final int capacity;
+    private final Deque<MockEmployeeChange> changes;
+    private long version;
+    // the newest version the log dropped changes of
+    private long evicted;
+
+    public MockEmployeeChangeLog(@Value("${mock.changes.capacity:1000}") int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.changes = new ArrayDeque<>(this.capacity);
+    }
+
+    @Override
+    public synchronized void created(long version, MockEmployee employee) {
+        append(new MockEmployeeChange(version, MockEmployeeChange.Type.CREATED, employee.getId(), employee));
+    }
+
+    @Override
+    public synchronized void deleted(long version, MockEmployee employee) {
+        append(new MockEmployeeChange(version, MockEmployeeChange.Type.DELETED, employee.getId(), null));
+    }
+
+    @Override
+    public synchronized void createdAll(long version, List<MockEmployee> employees) {
+        MockEmployeeStore.Listener.super.createdAll(version, employees);
+    }
+
+    @Override
+    public synchronized void deletedAll(long version, List<MockEmployee> employees) {
+        MockEmployeeStore.Listener.super.deletedAll(version, employees);
+    }
+
+    public String epoch() {
+        return epoch;
+    }
+
+    public synchronized long version() {
+        return version;
+    }
+
+    public synchronized MockEmployeeChanges since(long since) {
+        // the log can serve any version from the newest one it dropped changes of up to the current one
+        if (since < evicted || since > version) {
+            return new MockEmployeeChanges(epoch, version, true, List.of());
+        }
+        List<MockEmployeeChange> newer = new ArrayList<>();
+        Iterator<MockEmployeeChange> newestFirst = changes.descendingIterator();
+        while (newestFirst.hasNext()) {
+            MockEmployeeChange change = newestFirst.next();
+            if (change.version() <= since) {
+                break;
+            }
+            newer.add(change);
+        }
+        Collections.reverse(newer);
+        return new MockEmployeeChanges(epoch, version, false, newer);
+    }
+
+    private void append(MockEmployeeChange change) {
+        if (change.version() != version + 1 && (change.version() != version || changes.isEmpty())) {
+            throw new IllegalStateException("Change " + change.version() + " does not follow version " + version);
+        }
+        if (changes.size() == capacity) {
+            evicted = changes.pollFirst().version();
+        }
+        changes.addLast(change);
+        version = change.version();
+    }
+}
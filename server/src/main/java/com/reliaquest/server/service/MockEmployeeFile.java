@@ -0,0 +1,222 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Compact binary roster snapshot:
+ *
+ * <pre>
+ * int    magic "RQMS"
+ * short  format version
+ * long   savedAt, epoch millis
+ * long   roster version when saved
+ * int    employee count
+ * per employee: id, name, salary, age, title, email
+ *   id: two longs, strings: int byte length (-1 = null) + UTF-8 bytes, integers: int (Integer.MIN_VALUE = null)
+ *   title: int index of an earlier title, or -2 followed by a new title string, or -1 for null
+ * </pre>
+ *
+ * Titles repeat across employees, so each distinct title is stored once and shared again when loaded. Writes stream to
+ * a sibling temp file which is forced to disk and then atomically renamed over the target. Reads memory-map the file in
+ * windows of up to 1 GiB, so rosters larger than a single mapping can be loaded.
+ */
+public final class MockEmployeeFile {
+
+    private static final int MAGIC = 0x52514D53;
+    private static final short VERSION = 1;
+    private static final int NULL_LENGTH = -1;
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    private static final int NEW_TITLE = -2;
+    private static final long WINDOW = 1L << 30;
+
+    private MockEmployeeFile() {}
+
+    public static void write(Path file, MockEmployeeSnapshot snapshot) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                DataOutputStream out =
+                        new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+                encode(snapshot, out);
+                out.flush();
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * @return the roster stored in {@code file}, empty if there is none
+     * @throws IOException if the file exists but cannot be read or is not a roster snapshot
+     */
+    public static Optional<MockEmployeeSnapshot> read(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return Optional.of(decode(new Input(channel)));
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt roster snapshot " + file, e);
+        }
+    }
+
+    private static void encode(MockEmployeeSnapshot snapshot, DataOutputStream out) throws IOException {
+        List<MockEmployee> employees = snapshot.employees();
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(System.currentTimeMillis());
+        out.writeLong(snapshot.version());
+        out.writeInt(employees.size());
+        Map<String, Integer> titles = new HashMap<>();
+        for (MockEmployee employee : employees) {
+            out.writeLong(employee.getId().getMostSignificantBits());
+            out.writeLong(employee.getId().getLeastSignificantBits());
+            writeString(out, employee.getName());
+            writeInt(out, employee.getSalary());
+            writeInt(out, employee.getAge());
+            String title = employee.getTitle();
+            Integer index = title == null ? null : titles.putIfAbsent(title, titles.size());
+            if (title == null) {
+                out.writeInt(NULL_LENGTH);
+            } else if (index == null) {
+                out.writeInt(NEW_TITLE);
+                writeString(out, title);
+            } else {
+                out.writeInt(index);
+            }
+            writeString(out, employee.getEmail());
+        }
+    }
+
+    private static MockEmployeeSnapshot decode(Input in) throws IOException {
+        if (in.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a roster snapshot");
+        }
+        short version = in.getShort();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported roster snapshot version " + version);
+        }
+        in.getLong(); // savedAt
+        long rosterVersion = in.getLong();
+        int count = in.getInt();
+        List<MockEmployee> employees = new ArrayList<>(count);
+        List<String> titles = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            UUID id = new UUID(in.getLong(), in.getLong());
+            String name = readString(in);
+            Integer salary = readInt(in);
+            Integer age = readInt(in);
+            int titleIndex = in.getInt();
+            String title = null;
+            if (titleIndex == NEW_TITLE) {
+                title = readString(in);
+                titles.add(title);
+            } else if (titleIndex != NULL_LENGTH) {
+                title = titles.get(titleIndex);
+            }
+            employees.add(new MockEmployee(id, name, salary, age, title, readString(in)));
+        }
+        return new MockEmployeeSnapshot(rosterVersion, employees);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static void writeInt(DataOutputStream out, Integer value) throws IOException {
+        out.writeInt(value == null ? NULL_INT : value);
+    }
+
+    private static String readString(Input in) throws IOException {
+        int length = in.getInt();
+        return length == NULL_LENGTH ? null : in.getString(length);
+    }
+
+    private static Integer readInt(Input in) throws IOException {
+        int value = in.getInt();
+        return value == NULL_INT ? null : value;
+    }
+
+    /*
+     * Reads the file through consecutive read-only mappings, moving the window on whenever the next value would run
+     * past its end.
+     */
+    private static final class Input {
+
+        private final FileChannel channel;
+        private final long size;
+        private long windowStart;
+        private MappedByteBuffer window;
+        private byte[] scratch = new byte[256];
+
+        private Input(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            map(0);
+        }
+
+        int getInt() throws IOException {
+            return ensure(Integer.BYTES).getInt();
+        }
+
+        short getShort() throws IOException {
+            return ensure(Short.BYTES).getShort();
+        }
+
+        long getLong() throws IOException {
+            return ensure(Long.BYTES).getLong();
+        }
+
+        String getString(int length) throws IOException {
+            if (length > scratch.length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            ensure(length).get(scratch, 0, length);
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+
+        private MappedByteBuffer ensure(int bytes) throws IOException {
+            if (window.remaining() < bytes) {
+                long position = windowStart + window.position();
+                if (position + bytes > size) {
+                    throw new BufferUnderflowException();
+                }
+                map(position);
+            }
+            return window;
+        }
+
+        private void map(long position) throws IOException {
+            windowStart = position;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW, size - position));
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import net.datafaker.Faker;
+
+/**
+ * Generates the initial mock roster. The roster is cut into chunks of {@value #CHUNK_SIZE} employees that are generated
+ * in parallel, each with its own {@link Faker} seeded from the roster seed and the chunk number, so the same seed yields
+ * the same roster (for the same locale) whatever the number of threads.
+ */
+@Slf4j
+public class MockEmployeeGenerator {
+
+    static final int CHUNK_SIZE = 8_192;
+
+    /*
+     * Smaller rosters are generated without progress logging.
+     */
+    private static final int PROGRESS_THRESHOLD = 100_000;
+
+    private final long seed;
+    private final Locale locale;
+    private final int threads;
+
+    /*
+     * Job titles combine a few hundred words into a few thousand distinct values; sharing one instance per value keeps
+     * millions of copies off the heap.
+     */
+    private final Map<String, String> titles = new ConcurrentHashMap<>();
+
+    public MockEmployeeGenerator(long seed, @NonNull Locale locale, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive: " + threads);
+        }
+        this.seed = seed;
+        this.locale = locale;
+        this.threads = threads;
+    }
+
+    public List<MockEmployee> generate(int count) {
+        long started = System.nanoTime();
+        int chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        AtomicInteger generated = new AtomicInteger();
+        List<MockEmployee> employees = new ArrayList<>(count);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, Math.max(1, chunks)), runnable -> {
+            Thread thread = new Thread(runnable, "mock-employee-generator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<List<MockEmployee>>> results = new ArrayList<>(chunks);
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int from = chunk * CHUNK_SIZE;
+                int size = Math.min(CHUNK_SIZE, count - from);
+                int number = chunk;
+                results.add(executor.submit(() -> {
+                    List<MockEmployee> part = chunk(number, size);
+                    progress(generated.addAndGet(size), size, count);
+                    return part;
+                }));
+            }
+            for (Future<List<MockEmployee>> result : results) {
+                employees.addAll(result.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating employees", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to generate employees", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        log.info(
+                "Generated {} employees in {} ms with seed {} on {} threads",
+                count,
+                (System.nanoTime() - started) / 1_000_000,
+                seed,
+                threads);
+        return employees;
+    }
+
+    private List<MockEmployee> chunk(int number, int size) {
+        Random random = new Random(mix(seed + number));
+        Faker faker = new Faker(locale, random);
+        List<MockEmployee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            MockEmployee employee = MockEmployee.builder()
+                    .id(uuid(random))
+                    .name(faker.name().fullName())
+                    .salary(faker.number().numberBetween(30000, 500000))
+                    .age(faker.number().numberBetween(16, 70))
+                    .title(titles.computeIfAbsent(faker.job().title(), Function.identity()))
+                    .email(ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                            faker.twitter().userName().toLowerCase()))
+                    .build();
+            log.debug("Created employee: {}", employee);
+            employees.add(employee);
+        }
+        return employees;
+    }
+
+    /*
+     * Logs every tenth of a large roster, once by whichever thread crosses it.
+     */
+    private static void progress(int generated, int added, int count) {
+        if (count < PROGRESS_THRESHOLD) {
+            return;
+        }
+        long tenth = (long) generated * 10 / count;
+        if (tenth > (long) (generated - added) * 10 / count) {
+            log.info("Generated {} of {} employees ({}%)", generated, count, tenth * 10);
+        }
+    }
+
+    /*
+     * A random (version 4) UUID drawn from the chunk's seeded random rather than SecureRandom.
+     */
+    private static UUID uuid(Random random) {
+        long most = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long least = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(most, least);
+    }
+
+    /*
+     * SplitMix64 finalizer, so neighbouring chunk numbers get unrelated seeds.
+     */
+    private static long mix(long value) {
+        long z = value * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
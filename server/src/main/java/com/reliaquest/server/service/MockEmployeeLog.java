@@ -0,0 +1,573 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only log of roster writes, next to a {@link MockEmployeeFile} ({@code <file>.log.<n>}), so writes made since
+ * the roster was last saved survive a restart:
+ *
+ * <pre>
+ * int    magic "RQML"
+ * short  format version
+ * per write: int payload length, int CRC32C of the payload, payload
+ *   create: byte 1, the employee as in MockEmployeeFile (titles written out every time)
+ *   delete: byte 2, id as two longs
+ *   batch:  byte 3, int count, count creates or deletes as above (format version 2)
+ * </pre>
+ *
+ * Each segment is a memory-mapped file of a fixed capacity; a write is copied into the mapping under the store's lock
+ * and is safe from a crash of the process right away. {@link #sync()} makes it safe from a crash of the machine by
+ * forcing the mapping to disk, committing the writes of all threads waiting meanwhile together (group commit). When a
+ * write doesn't fit, the log continues in a new segment and calls its {@code onFull} callback, so the roster can be
+ * saved and the older segments dropped ({@link #roll()}, {@link #deleteBefore(long)}). Moving on to a new segment only
+ * swaps the mapping under the lock; the old segment's last writes are forced outside it, by {@link #roll()} or the next
+ * {@link #sync()}. A write too large for a segment is
+ * rejected before the store publishes it ({@link #writing}). If no new segment can be started the log fails: it logs
+ * nothing more, {@link #sync()} returns right away, and {@code onFull} is called so the roster is saved instead. The
+ * write in hand, already published, still succeeds.
+ *
+ * <p>Ids are never reused, so replaying a write onto a roster that already contains it changes nothing. A roster saved
+ * at any point after a segment was started, replayed with that segment and all later ones, is therefore the latest
+ * roster. Replay stops at the first zeroed or torn record of a segment. A bulk write is logged as one batch record, so
+ * it is replayed whole or not at all, as it was published.
+ */
+@Slf4j
+public class MockEmployeeLog implements MockEmployeeStore.Listener, AutoCloseable {
+
+    private static final int MAGIC = 0x52514D4C;
+    private static final short VERSION = 2;
+    private static final int HEADER = Integer.BYTES + Short.BYTES;
+    private static final int RECORD_HEADER = 2 * Integer.BYTES;
+    private static final byte CREATE = 1;
+    private static final byte DELETE = 2;
+    private static final byte BATCH = 3;
+    private static final int NULL_LENGTH = -1;
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    // type and count of a batch
+    private static final int BATCH_HEADER = Byte.BYTES + Integer.BYTES;
+    private static final int DELETE_SIZE = Byte.BYTES + 2 * Long.BYTES;
+
+    private final Path file;
+    private final int capacity;
+    private final Runnable onFull;
+    private final CRC32C crc = new CRC32C();
+    private ByteBuffer payload = ByteBuffer.allocate(512);
+
+    // guarded by this
+    private long segment;
+    private FileChannel channel;
+    private MappedByteBuffer mapping;
+    private int unforced;
+    private long appended;
+    private boolean failed;
+    // segments moved on from whose writes may not be forced yet
+    private final List<Retired> retired = new ArrayList<>();
+
+    private final Object syncLock = new Object();
+    // guarded by syncLock
+    private boolean forcing;
+    private long durable;
+
+    /**
+     * Starts a new segment after the existing ones of {@code file}.
+     *
+     * @param capacity the size of a segment in bytes
+     * @param onFull called (under the store's lock) when the log moves on to a new segment because one is full
+     */
+    public MockEmployeeLog(Path file, int capacity, Runnable onFull) throws IOException {
+        if (capacity < 4096) {
+            throw new IllegalArgumentException("Log segments must hold at least 4096 bytes: " + capacity);
+        }
+        this.file = file;
+        this.capacity = capacity;
+        this.onFull = onFull;
+        List<Long> existing = segments(file);
+        open(existing.isEmpty() ? 1 : existing.get(existing.size() - 1) + 1);
+    }
+
+    /**
+     * @return {@code roster} with the writes of all segments of {@code file} applied, in order
+     */
+    public static Replay replay(Path file, List<MockEmployee> roster) throws IOException {
+        Map<UUID, MockEmployee> employees = new LinkedHashMap<>(Math.max(16, roster.size() * 4 / 3 + 1));
+        for (MockEmployee employee : roster) {
+            employees.put(employee.getId(), employee);
+        }
+        int operations = 0;
+        for (long segment : segments(file)) {
+            operations += replay(segment(file, segment), employees);
+        }
+        return new Replay(new ArrayList<>(employees.values()), operations);
+    }
+
+    /**
+     * The replayed roster and the number of writes read from the log.
+     */
+    public record Replay(List<MockEmployee> employees, int operations) {}
+
+    /**
+     * Deletes all segments of {@code file}.
+     */
+    public static void clear(Path file) throws IOException {
+        for (long segment : segments(file)) {
+            Files.deleteIfExists(segment(file, segment));
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the write could not be logged as one record in a segment
+     */
+    @Override
+    public void writing(List<MockEmployee> created, int deleted) {
+        long size = BATCH_HEADER + (long) deleted * DELETE_SIZE;
+        for (MockEmployee employee : created) {
+            size += Byte.BYTES
+                    + 2 * Long.BYTES
+                    + stringSize(employee.getName())
+                    + 2 * Integer.BYTES
+                    + stringSize(employee.getTitle())
+                    + stringSize(employee.getEmail());
+        }
+        if (HEADER + RECORD_HEADER + size > capacity) {
+            throw new IllegalArgumentException("Roster write of " + size + " bytes exceeds the log segment size");
+        }
+    }
+
+    /**
+     * Whether the log could not continue in a new segment and logs nothing anymore.
+     */
+    public synchronized boolean isFailed() {
+        return failed;
+    }
+
+    @Override
+    public synchronized void created(long version, MockEmployee employee) {
+        payload.clear();
+        putCreate(employee);
+        append();
+    }
+
+    @Override
+    public synchronized void deleted(long version, MockEmployee employee) {
+        payload.clear();
+        putDelete(employee);
+        append();
+    }
+
+    @Override
+    public synchronized void createdAll(long version, List<MockEmployee> employees) {
+        payload.clear();
+        payload = put(payload, BATCH);
+        payload = putInt(payload, employees.size());
+        employees.forEach(this::putCreate);
+        append();
+    }
+
+    @Override
+    public synchronized void deletedAll(long version, List<MockEmployee> employees) {
+        payload.clear();
+        payload = put(payload, BATCH);
+        payload = putInt(payload, employees.size());
+        employees.forEach(this::putDelete);
+        append();
+    }
+
+    /**
+     * Waits until every write appended so far is on disk. The first waiting thread forces the mapping for everyone
+     * waiting behind it.
+     */
+    public void sync() {
+        long target;
+        synchronized (this) {
+            if (failed) {
+                return;
+            }
+            target = appended;
+        }
+        while (true) {
+            synchronized (syncLock) {
+                while (forcing && durable < target) {
+                    try {
+                        syncLock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Interrupted while waiting for the roster log", e);
+                    }
+                }
+                if (durable >= target) {
+                    return;
+                }
+                forcing = true;
+            }
+            long forced = durable;
+            try {
+                forced = force();
+            } finally {
+                synchronized (syncLock) {
+                    forcing = false;
+                    durable = Math.max(durable, forced);
+                    syncLock.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Continues in a new segment.
+     *
+     * @return the new segment's number; all writes before it are in lower ones
+     * @throws IOException if no new segment could be started, which fails the log
+     */
+    public long roll() throws IOException {
+        long next;
+        synchronized (this) {
+            next = swap();
+        }
+        // outside the lock, writers carry on in the new segment while the old one goes to disk
+        forceRetired(retired());
+        return next;
+    }
+
+    /**
+     * Deletes the segments numbered below {@code segment}.
+     */
+    public void deleteBefore(long segment) throws IOException {
+        for (long existing : segments(file)) {
+            if (existing < segment) {
+                Files.deleteIfExists(segment(file, existing));
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        forceRetired(retired());
+        if (channel == null) {
+            return;
+        }
+        mapping.force();
+        channel.close();
+        channel = null;
+    }
+
+    private void putCreate(MockEmployee employee) {
+        payload = put(payload, CREATE);
+        payload = putLong(payload, employee.getId().getMostSignificantBits());
+        payload = putLong(payload, employee.getId().getLeastSignificantBits());
+        payload = putString(payload, employee.getName());
+        payload = putInt(payload, employee.getSalary());
+        payload = putInt(payload, employee.getAge());
+        payload = putString(payload, employee.getTitle());
+        payload = putString(payload, employee.getEmail());
+    }
+
+    private void putDelete(MockEmployee employee) {
+        payload = put(payload, DELETE);
+        payload = putLong(payload, employee.getId().getMostSignificantBits());
+        payload = putLong(payload, employee.getId().getLeastSignificantBits());
+    }
+
+    private void append() {
+        if (failed) {
+            return;
+        }
+        payload.flip();
+        int length = payload.remaining();
+        if (RECORD_HEADER + length > mapping.remaining()) {
+            try {
+                if (HEADER + RECORD_HEADER + length > capacity) {
+                    throw new IOException("Roster write of " + length + " bytes exceeds the log segment size");
+                }
+                // the old segment is forced by the next sync, or the save onFull starts
+                swap();
+            } catch (IOException e) {
+                // fails the log, not the write: it is published, and the save onFull starts will have it
+                failed = true;
+                onFull.run();
+                return;
+            }
+            onFull.run();
+        }
+        crc.reset();
+        crc.update(payload.duplicate());
+        mapping.putInt(length);
+        mapping.putInt((int) crc.getValue());
+        mapping.put(payload);
+        appended += RECORD_HEADER + length;
+    }
+
+    /*
+     * Forces what was appended since the last force, to the current segment and to the ones moved on from meanwhile.
+     */
+    private long force() {
+        MappedByteBuffer target;
+        int from;
+        int to;
+        long reached;
+        List<Retired> previous;
+        synchronized (this) {
+            target = mapping;
+            from = unforced;
+            to = mapping.position();
+            unforced = to;
+            reached = appended;
+            previous = List.copyOf(retired);
+        }
+        forceRetired(previous);
+        if (to > from) {
+            target.force(from, to - from);
+        }
+        return reached;
+    }
+
+    private synchronized List<Retired> retired() {
+        return List.copyOf(retired);
+    }
+
+    private void forceRetired(List<Retired> segments) {
+        if (segments.isEmpty()) {
+            return;
+        }
+        for (Retired segment : segments) {
+            segment.mapping.force(segment.from, segment.to - segment.from);
+        }
+        synchronized (this) {
+            retired.removeAll(segments);
+        }
+    }
+
+    /*
+     * Moves on to a new segment, under the lock. Creating and mapping the file touch no data; the old segment's writes
+     * are left to be forced outside the lock. Fails the log if the new segment cannot be started.
+     */
+    private long swap() throws IOException {
+        if (failed) {
+            throw new IOException("Roster log " + file + " has failed");
+        }
+        long next = segment + 1;
+        try {
+            MappedByteBuffer previous = mapping;
+            int from = unforced;
+            open(next);
+            retired.add(new Retired(previous, from, previous.position()));
+            return next;
+        } catch (IOException e) {
+            failed = true;
+            log.error("Roster log {} failed, writes are no longer logged: {}", file, e.getMessage());
+            throw e;
+        }
+    }
+
+    /*
+     * Replaces the current segment, if any, by a new one; its header is forced with the first writes. The old mapping
+     * stays valid after its channel is closed.
+     */
+    private void open(long number) throws IOException {
+        Path path = segment(file, number);
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        FileChannel opened = FileChannel.open(
+                path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer mapped;
+        try {
+            mapped = opened.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        } catch (IOException e) {
+            opened.close();
+            throw e;
+        }
+        mapped.putInt(MAGIC);
+        mapped.putShort(VERSION);
+        if (channel != null) {
+            channel.close();
+        }
+        channel = opened;
+        mapping = mapped;
+        unforced = 0;
+        segment = number;
+    }
+
+    /*
+     * The part of a segment moved on from that may not be on disk yet. Compared by identity, as List.removeAll does.
+     */
+    private static final class Retired {
+        final MappedByteBuffer mapping;
+        final int from;
+        final int to;
+
+        Retired(MappedByteBuffer mapping, int from, int to) {
+            this.mapping = mapping;
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    private static int replay(Path path, Map<UUID, MockEmployee> employees) throws IOException {
+        int operations = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (in.remaining() >= HEADER && in.getInt(0) == 0 && in.getShort(Integer.BYTES) == 0) {
+                // started, but the machine went down before anything in it was forced
+                return 0;
+            }
+            // version 1 segments are the same without batches
+            if (in.remaining() < HEADER || in.getInt() != MAGIC || !readable(in.getShort())) {
+                throw new IOException("Not a roster log segment: " + path);
+            }
+            CRC32C crc = new CRC32C();
+            while (in.remaining() >= RECORD_HEADER) {
+                int length = in.getInt();
+                int checksum = in.getInt();
+                if (length <= 0 || length > in.remaining()) {
+                    break;
+                }
+                ByteBuffer record = in.slice(in.position(), length);
+                crc.reset();
+                crc.update(record.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    log.warn("Ignoring torn write at the end of {}", path);
+                    break;
+                }
+                in.position(in.position() + length);
+                operations += apply(record, employees);
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Corrupt roster log segment " + path, e);
+        }
+        return operations;
+    }
+
+    private static boolean readable(short version) {
+        return version >= 1 && version <= VERSION;
+    }
+
+    /*
+     * Applies a record and returns how many writes it held. A batch passed its checksum, so it is there in full.
+     */
+    private static int apply(ByteBuffer record, Map<UUID, MockEmployee> employees) {
+        if (record.get(record.position()) != BATCH) {
+            applyOne(record, employees);
+            return 1;
+        }
+        record.get();
+        int count = record.getInt();
+        if (count < 0 || count > record.remaining()) {
+            throw new IllegalArgumentException("Invalid roster log batch of " + count + " writes");
+        }
+        for (int i = 0; i < count; i++) {
+            applyOne(record, employees);
+        }
+        return count;
+    }
+
+    private static void applyOne(ByteBuffer record, Map<UUID, MockEmployee> employees) {
+        byte operation = record.get();
+        UUID id = new UUID(record.getLong(), record.getLong());
+        switch (operation) {
+            case CREATE -> employees.putIfAbsent(
+                    id,
+                    new MockEmployee(
+                            id,
+                            getString(record),
+                            getInt(record),
+                            getInt(record),
+                            getString(record),
+                            getString(record)));
+            case DELETE -> employees.remove(id);
+            default -> throw new IllegalArgumentException("Unknown roster log operation " + operation);
+        }
+    }
+
+    private static List<Long> segments(Path file) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        String prefix = file.getFileName() + ".log.";
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> paths = Files.list(dir)) {
+            return paths.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix)
+                            && name.length() > prefix.length()
+                            && name.substring(prefix.length()).chars().allMatch(Character::isDigit))
+                    .map(name -> Long.parseLong(name.substring(prefix.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static Path segment(Path file, long number) {
+        return file.resolveSibling(file.getFileName() + ".log." + number);
+    }
+
+    private static int stringSize(String value) {
+        if (value == null) {
+            return Integer.BYTES;
+        }
+        int utf8 = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            // a surrogate pair takes four bytes, two for each of its chars
+            utf8 += c < 0x80 ? 1 : c < 0x800 || Character.isSurrogate(c) ? 2 : 3;
+        }
+        return Integer.BYTES + utf8;
+    }
+
+    private static ByteBuffer ensure(ByteBuffer buffer, int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return buffer;
+        }
+        ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+        buffer.flip();
+        return larger.put(buffer);
+    }
+
+    private static ByteBuffer put(ByteBuffer buffer, byte value) {
+        return ensure(buffer, Byte.BYTES).put(value);
+    }
+
+    private static ByteBuffer putLong(ByteBuffer buffer, long value) {
+        return ensure(buffer, Long.BYTES).putLong(value);
+    }
+
+    private static ByteBuffer putInt(ByteBuffer buffer, Integer value) {
+        return ensure(buffer, Integer.BYTES).putInt(value == null ? NULL_INT : value);
+    }
+
+    private static ByteBuffer putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            return ensure(buffer, Integer.BYTES).putInt(NULL_LENGTH);
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        return ensure(buffer, Integer.BYTES + utf8.length).putInt(utf8.length).put(utf8);
+    }
+
+    private static Integer getInt(ByteBuffer buffer) {
+        int value = buffer.getInt();
+        return value == NULL_INT ? null : value;
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        buffer.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
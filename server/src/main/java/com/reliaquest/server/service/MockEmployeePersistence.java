@@ -0,0 +1,260 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Keeps the roster in a {@link MockEmployeeFile} ({@code mock.snapshot.file}), so a server restarts with the roster it
+ * had instead of generating a new one. Without a file configured nothing is loaded or saved.
+ *
+ * <p>A generated roster is saved right away. After that the roster is saved every {@code mock.snapshot.save-interval}
+ * (off by default) and on shutdown ({@code mock.snapshot.save-on-shutdown}), each time only if it changed since the last
+ * save. Saves run on a single background thread and write a lock-free {@link MockEmployeeSnapshot}, so they don't hold
+ * up requests.
+ *
+ * <p>With {@code mock.snapshot.log} every write is also appended to a {@link MockEmployeeLog} as it happens, and
+ * {@link #sync()} waits until it is on disk unless {@code mock.snapshot.log-sync} is off. A full log segment
+ * ({@code mock.snapshot.log-segment-size}) triggers a save, which compacts the log into the roster file. At startup the
+ * log is replayed onto the loaded roster. A log that fails to start a new segment is given up on and the roster saved
+ * instead; writes are then only kept by saves until the next start.
+ */
+@Slf4j
+@Component
+public class MockEmployeePersistence implements MockEmployeeStore.Listener {
+
+    private final Path file;
+    private final Duration saveInterval;
+    private final boolean saveOnShutdown;
+    private final boolean logEnabled;
+    private final boolean logSync;
+    private final int logSegmentSize;
+    private final ScheduledExecutorService saver = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "roster-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private MockEmployeeStore store;
+    private long savedVersion = -1;
+    private volatile MockEmployeeLog writes;
+
+    public MockEmployeePersistence(
+            @Value("${mock.snapshot.file:}") String file,
+            @Value("${mock.snapshot.save-interval:0s}") Duration saveInterval,
+            @Value("${mock.snapshot.save-on-shutdown:true}") boolean saveOnShutdown,
+            @Value("${mock.snapshot.log:false}") boolean logEnabled,
+            @Value("${mock.snapshot.log-sync:true}") boolean logSync,
+            @Value("${mock.snapshot.log-segment-size:64MB}") DataSize logSegmentSize) {
+        this.file = file.isEmpty() ? null : Path.of(file);
+        this.saveInterval = saveInterval;
+        this.saveOnShutdown = saveOnShutdown;
+        this.logEnabled = logEnabled;
+        this.logSync = logSync;
+        this.logSegmentSize = (int) Math.min(Integer.MAX_VALUE, logSegmentSize.toBytes());
+    }
+
+    /**
+     * Loads the saved roster with the logged writes replayed onto it, and starts logging if enabled.
+     *
+     * @return the saved roster, empty if no file is configured, there is none yet or it cannot be read
+     */
+    public synchronized Optional<List<MockEmployee>> load() {
+        if (file == null) {
+            return Optional.empty();
+        }
+        Optional<List<MockEmployee>> roster = read();
+        if (logEnabled) {
+            try {
+                writes = new MockEmployeeLog(file, logSegmentSize, this::compact);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start the roster log next to " + file, e);
+            }
+        }
+        return roster;
+    }
+
+    private Optional<List<MockEmployee>> read() {
+        try {
+            long started = System.nanoTime();
+            Optional<MockEmployeeSnapshot> snapshot = MockEmployeeFile.read(file);
+            if (snapshot.isEmpty()) {
+                // a log without its roster is dropped by the first save
+                return Optional.empty();
+            }
+            List<MockEmployee> employees = snapshot.get().employees();
+            log.info(
+                    "Loaded {} employees from {} in {} ms",
+                    employees.size(),
+                    file,
+                    (System.nanoTime() - started) / 1_000_000);
+            // the store starts over at version 0 with the loaded roster
+            savedVersion = 0;
+            started = System.nanoTime();
+            MockEmployeeLog.Replay replay = MockEmployeeLog.replay(file, employees);
+            if (replay.operations() > 0) {
+                // save the replayed roster right away, which compacts the log
+                savedVersion = -1;
+                log.info(
+                        "Replayed {} logged writes onto the roster in {} ms",
+                        replay.operations(),
+                        (System.nanoTime() - started) / 1_000_000);
+                return Optional.of(replay.employees());
+            }
+            return Optional.of(employees);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable roster snapshot {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void writing(List<MockEmployee> created, int deleted) {
+        MockEmployeeLog current = writes;
+        if (current != null) {
+            current.writing(created, deleted);
+        }
+    }
+
+    @Override
+    public void created(long version, MockEmployee employee) {
+        MockEmployeeLog current = writes;
+        if (current != null) {
+            current.created(version, employee);
+        }
+    }
+
+    @Override
+    public void deleted(long version, MockEmployee employee) {
+        MockEmployeeLog current = writes;
+        if (current != null) {
+            current.deleted(version, employee);
+        }
+    }
+
+    @Override
+    public void createdAll(long version, List<MockEmployee> employees) {
+        MockEmployeeLog current = writes;
+        if (current != null) {
+            current.createdAll(version, employees);
+        }
+    }
+
+    @Override
+    public void deletedAll(long version, List<MockEmployee> employees) {
+        MockEmployeeLog current = writes;
+        if (current != null) {
+            current.deletedAll(version, employees);
+        }
+    }
+
+    /**
+     * Waits until the writes made so far are on disk, if they are logged and {@code mock.snapshot.log-sync} is on.
+     */
+    public void sync() {
+        MockEmployeeLog current = writes;
+        if (current != null && logSync) {
+            current.sync();
+        }
+    }
+
+    /**
+     * Starts saving {@code store}: now if it was not loaded from the file, then periodically and on shutdown.
+     */
+    public synchronized void persist(MockEmployeeStore store) {
+        if (file == null) {
+            return;
+        }
+        this.store = store;
+        saver.execute(this::save);
+        if (!saveInterval.isZero() && !saveInterval.isNegative()) {
+            saver.scheduleWithFixedDelay(
+                    this::save, saveInterval.toMillis(), saveInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Saves the current roster unless it is the one saved last.
+     *
+     * @return whether the file was written
+     */
+    public synchronized boolean save() {
+        if (file == null || store == null) {
+            return false;
+        }
+        MockEmployeeSnapshot snapshot = store.snapshot();
+        if (snapshot.version() == savedVersion) {
+            return false;
+        }
+        try {
+            long started = System.nanoTime();
+            long segment = 0;
+            if (writes != null && !writes.isFailed()) {
+                try {
+                    // every write logged before the new segment is in the roster taken after it
+                    segment = writes.roll();
+                } catch (IOException e) {
+                    // the log has failed, see below
+                }
+            }
+            if (writes != null && writes.isFailed()) {
+                // the roster about to be saved has every write the failed log missed, its segments go with it
+                writes.close();
+                writes = null;
+            }
+            snapshot = store.snapshot();
+            MockEmployeeFile.write(file, snapshot);
+            if (writes == null) {
+                MockEmployeeLog.clear(file);
+            } else {
+                writes.deleteBefore(segment);
+            }
+            savedVersion = snapshot.version();
+            log.info(
+                    "Saved {} employees (version {}) to {} in {} ms",
+                    snapshot.employees().size(),
+                    snapshot.version(),
+                    file,
+                    (System.nanoTime() - started) / 1_000_000);
+            return true;
+        } catch (IOException e) {
+            log.warn("Could not save roster snapshot to {}: {}", file, e.getMessage());
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException, IOException {
+        saver.shutdown();
+        saver.awaitTermination(30, TimeUnit.SECONDS);
+        if (saveOnShutdown) {
+            save();
+        }
+        if (writes != null) {
+            writes.close();
+        }
+    }
+
+    /*
+     * Called by the log, under the store's lock, when a segment is full.
+     */
+    private void compact() {
+        try {
+            saver.execute(this::save);
+        } catch (RejectedExecutionException e) {
+            // shutting down, the log keeps the writes
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeField;
+import com.reliaquest.server.model.MockEmployeePage;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * A page of the employee list in a total order: the sort field, then the id as a tie breaker (the whole order is
+ * reversed for descending sorts). Without a sort the list is ordered by id.
+ *
+ * <p>Pages are addressed either by number ({@code page} x {@code size} rows are skipped) or by an opaque cursor that
+ * names the last row of the previous page. Cursor pages are keyset based: rows created or deleted elsewhere in the list
+ * do not shift them, and they cost the same however deep the client is.
+ *
+ * @param after a probe holding the sort field and id of the last row of the previous page, null for the first page
+ */
+public record MockEmployeeQuery(MockEmployeeField sort, boolean descending, int page, int size, MockEmployee after) {
+
+    public static final int DEFAULT_SIZE = 100;
+
+    private static final String ASCENDING = "asc";
+    private static final String DESCENDING = "desc";
+    private static final char SEPARATOR = '|';
+
+    /**
+     * @param sort {@code field} or {@code field,asc|desc}
+     * @return empty when no paging or sorting parameter is given, i.e. the whole list in storage order is wanted
+     * @throws IllegalArgumentException for invalid parameters or a cursor that does not match the sort
+     */
+    public static Optional<MockEmployeeQuery> of(Integer page, Integer size, String cursor, String sort) {
+        if (page == null && size == null && cursor == null && sort == null) {
+            return Optional.empty();
+        }
+        if (page != null && page < 0) {
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        if (size != null && size < 1) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        int pageSize = size == null ? DEFAULT_SIZE : size;
+        MockEmployeeField field = MockEmployeeField.ID;
+        boolean descending = false;
+        if (sort != null && !sort.isBlank()) {
+            String[] parts = sort.split(",", 2);
+            field = MockEmployeeField.of(parts[0]);
+            descending = parts.length > 1 && direction(parts[1]);
+        }
+        if (cursor == null) {
+            return Optional.of(new MockEmployeeQuery(field, descending, page == null ? 0 : page, pageSize, null));
+        }
+        if (page != null && page != 0) {
+            throw new IllegalArgumentException("page cannot be combined with cursor");
+        }
+        MockEmployeeQuery resumed = decode(cursor, pageSize);
+        if (sort != null && (resumed.sort() != field || resumed.descending() != descending)) {
+            throw new IllegalArgumentException("cursor belongs to a different sort");
+        }
+        return Optional.of(resumed);
+    }
+
+    public Comparator<MockEmployee> order() {
+        Comparator<MockEmployee> order =
+                sort == MockEmployeeField.ID ? sort.order() : sort.order().thenComparing(MockEmployeeField.ID.order());
+        return descending ? order.reversed() : order;
+    }
+
+    /**
+     * Selects this page from {@code employees} without sorting all of them: a bounded heap keeps the smallest
+     * {@code skip + size + 1} rows after the cursor, so a page costs O(n log(skip + size)) instead of O(n log n). The
+     * extra row tells whether another page follows.
+     */
+    public MockEmployeePage select(Collection<MockEmployee> employees) {
+        Comparator<MockEmployee> order = order();
+        long skip = (long) page * size;
+        int keep = (int) Math.min(skip + size + 1, Math.max(employees.size(), 1));
+        PriorityQueue<MockEmployee> largestFirst = new PriorityQueue<>(keep, order.reversed());
+        for (MockEmployee employee : employees) {
+            if (employee == null || (after != null && order.compare(employee, after) <= 0)) {
+                continue;
+            }
+            if (largestFirst.size() < keep) {
+                largestFirst.add(employee);
+            } else if (order.compare(employee, largestFirst.peek()) < 0) {
+                largestFirst.poll();
+                largestFirst.add(employee);
+            }
+        }
+
+        List<MockEmployee> selected = new ArrayList<>(largestFirst);
+        selected.sort(order);
+        if (skip >= selected.size()) {
+            return new MockEmployeePage(List.of(), employees.size(), null);
+        }
+        int end = (int) Math.min(skip + size, selected.size());
+        List<MockEmployee> rows = List.copyOf(selected.subList((int) skip, end));
+        String next = end < selected.size() ? cursorAfter(rows.get(rows.size() - 1)) : null;
+        return new MockEmployeePage(rows, employees.size(), next);
+    }
+
+    /**
+     * @return a cursor for the page after {@code last}
+     */
+    public String cursorAfter(MockEmployee last) {
+        // the id is always part of the cursor, the sort field only when it is another one
+        String value = sort == MockEmployeeField.ID ? null : sort.format(last);
+        String raw = (descending ? DESCENDING : ASCENDING)
+                + SEPARATOR
+                + sort.property()
+                + SEPARATOR
+                + last.getId()
+                + SEPARATOR
+                + (value == null ? "" : "=" + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MockEmployeeQuery decode(String cursor, int size) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 4);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        MockEmployeeField field = MockEmployeeField.of(parts[1]);
+        MockEmployee after =
+                MockEmployee.builder().id(UUID.fromString(parts[2])).build();
+        if (field != MockEmployeeField.ID) {
+            field.parse(after, parts[3].isEmpty() ? null : parts[3].substring(1));
+        }
+        return new MockEmployeeQuery(field, direction(parts[0]), 0, size, after);
+    }
+
+    private static boolean direction(String direction) {
+        return switch (direction.trim().toLowerCase(Locale.ROOT)) {
+            case ASCENDING -> false;
+            case DESCENDING -> true;
+            default -> throw new IllegalArgumentException(
+                    "Sort direction must be asc or desc, not '" + direction + "'");
+        };
+    }
+}
@@ -4,11 +4,11 @@ import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChanges;
 import java.util.List;
-import java.util.Objects;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,39 +20,118 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class MockEmployeeService {
 
+    public static final int MAX_TOP = 1_000;
+
     private final Faker faker;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final MockEmployeeStore store;
+
+    private final MockEmployeeChangeLog changeLog;
+
+    private final MockEmployeePersistence persistence;
+
+    public MockEmployeeChanges changesSince(long version) {
+        return changeLog.since(version);
+    }
+
+    /**
+     * The current roster version; it stays consistent while it is read, whatever is written meanwhile.
+     */
+    public MockEmployeeSnapshot snapshot() {
+        return store.snapshot();
+    }
+
+    /**
+     * Identifies this server instance; snapshot versions of different epochs are unrelated.
+     */
+    public String epoch() {
+        return changeLog.epoch();
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return store.findById(uuid);
+    }
+
+    /**
+     * Employees whose name contains {@code fragment} ignoring case, in list order, from the current snapshot.
+     */
+    public List<MockEmployee> search(@NonNull String fragment) {
+        if (fragment.isBlank()) {
+            throw new IllegalArgumentException("The name to search for must not be blank");
+        }
+        final var folded = fragment.toLowerCase(Locale.ROOT);
+        return store.snapshot().employees().stream()
+                .filter(employee -> employee.getName() != null
+                        && employee.getName().toLowerCase(Locale.ROOT).contains(folded))
+                .toList();
+    }
+
+    public Optional<Integer> maxSalary() {
+        return store.maxSalary();
+    }
+
+    /**
+     * The {@code n} highest earners, see {@link MockEmployeeStore#topBySalary(int)}.
+     */
+    public List<MockEmployee> topBySalary(int n) {
+        if (n < 1 || n > MAX_TOP) {
+            throw new IllegalArgumentException("n must be between 1 and " + MAX_TOP + ", was " + n);
+        }
+        return store.topBySalary(n);
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
-        final var mockEmployee = MockEmployee.from(
-                ServerConfiguration.EMAIL_TEMPLATE.formatted(
-                        faker.twitter().userName().toLowerCase()),
-                input);
-        mockEmployees.add(mockEmployee);
+        final var mockEmployee = employee(input);
+        store.add(mockEmployee);
+        persistence.sync();
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
+    /**
+     * Creates all employees in one store write, so they appear together under a single new version.
+     */
+    public List<MockEmployee> createAll(@NonNull List<CreateMockEmployeeInput> inputs) {
+        final var mockEmployees = inputs.stream().map(this::employee).toList();
+        store.addAll(mockEmployees);
+        persistence.sync();
+        log.debug("Added {} employees", mockEmployees.size());
+        return mockEmployees;
+    }
+
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
+        final var mockEmployee = store.removeFirstByName(input.getName());
         if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
+            persistence.sync();
             log.debug("Removed employee: {}", mockEmployee.get());
             return true;
         }
 
         return false;
     }
+
+    /**
+     * Deletes the oldest employee by each name in one store write, see {@link MockEmployeeStore#removeFirstByNames}.
+     *
+     * @return for each input whether an employee was deleted
+     */
+    public List<Boolean> deleteAll(@NonNull List<DeleteMockEmployeeInput> inputs) {
+        final var removed = store.removeFirstByNames(
+                inputs.stream().map(DeleteMockEmployeeInput::getName).toList());
+        final var deleted = removed.stream().map(Optional::isPresent).toList();
+        if (deleted.contains(true)) {
+            persistence.sync();
+            log.debug(
+                    "Removed {} employees",
+                    deleted.stream().filter(Boolean::booleanValue).count());
+        }
+        return deleted;
+    }
+
+    private MockEmployee employee(CreateMockEmployeeInput input) {
+        return MockEmployee.from(
+                ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                        faker.twitter().userName().toLowerCase()),
+                input);
+    }
 }
@@ -0,0 +1,11 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+
+/**
+ * One immutable version of the roster, see {@link MockEmployeeStore}.
+ *
+ * @param version increases by one with every create or delete; the same numbering as the change log
+ */
+public record MockEmployeeSnapshot(long version, List<MockEmployee> employees) {}
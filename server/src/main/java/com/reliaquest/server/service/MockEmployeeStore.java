@@ -0,0 +1,366 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import lombok.NonNull;
+
+/**
+ * Thread-safe, versioned roster. Every write publishes a new immutable {@link MockEmployeeSnapshot} with the next
+ * version; readers take the current snapshot without locking and see a consistent roster for as long as they hold it,
+ * no matter what is written meanwhile (multi-version concurrency control). The snapshot's list is a
+ * {@link ChunkedList}, so a write copies a couple of small chunks rather than the roster.
+ *
+ * <p>Besides the snapshot, employees are indexed by id and by case-folded name (see {@link #fold(String)}). Employees
+ * sharing a folded name are chained oldest first, so adding one and removing the oldest are O(1) however many share
+ * it. Writers are serialized by a lock; each write updates the indexes, publishes the snapshot and then tells the
+ * {@link Listener} under that lock, so listeners see versions in order.
+ *
+ * <p>Employees are also ranked by salary, highest first and the oldest first among equal salaries, so the highest
+ * salaries are read without going through the roster. Unlike the snapshot, the ranking is read lock-free as of the
+ * latest write and may reflect a write that is in progress.
+ */
+public class MockEmployeeStore {
+
+    /**
+     * Notified of every write after its snapshot is published, in version order. The employees of a batch share one
+     * version and are reported together.
+     */
+    public interface Listener {
+
+        /**
+         * Called under the lock before a write changes anything, with the employees it creates and at most how many it
+         * deletes. Throwing rejects the write, which then publishes nothing.
+         */
+        default void writing(List<MockEmployee> created, int deleted) {}
+
+        void created(long version, MockEmployee employee);
+
+        void deleted(long version, MockEmployee employee);
+
+        default void createdAll(long version, List<MockEmployee> employees) {
+            for (MockEmployee employee : employees) {
+                created(version, employee);
+            }
+        }
+
+        default void deletedAll(long version, List<MockEmployee> employees) {
+            for (MockEmployee employee : employees) {
+                deleted(version, employee);
+            }
+        }
+
+        /**
+         * @return a listener that notifies this one and then {@code next}
+         */
+        default Listener andThen(@NonNull Listener next) {
+            Listener first = this;
+            return new Listener() {
+                @Override
+                public void writing(List<MockEmployee> created, int deleted) {
+                    first.writing(created, deleted);
+                    next.writing(created, deleted);
+                }
+
+                @Override
+                public void created(long version, MockEmployee employee) {
+                    first.created(version, employee);
+                    next.created(version, employee);
+                }
+
+                @Override
+                public void deleted(long version, MockEmployee employee) {
+                    first.deleted(version, employee);
+                    next.deleted(version, employee);
+                }
+
+                @Override
+                public void createdAll(long version, List<MockEmployee> employees) {
+                    first.createdAll(version, employees);
+                    next.createdAll(version, employees);
+                }
+
+                @Override
+                public void deletedAll(long version, List<MockEmployee> employees) {
+                    first.deletedAll(version, employees);
+                    next.deletedAll(version, employees);
+                }
+            };
+        }
+    }
+
+    private static final Listener NO_LISTENER = new Listener() {
+        @Override
+        public void created(long version, MockEmployee employee) {}
+
+        @Override
+        public void deleted(long version, MockEmployee employee) {}
+    };
+
+    private static final Comparator<Slot> BY_SALARY = Comparator.<Slot>comparingInt(slot -> slot.employee.getSalary())
+            .reversed()
+            .thenComparingLong(slot -> slot.sequence);
+
+    private final Map<UUID, Slot> byId;
+    private final NavigableSet<Slot> bySalary = new ConcurrentSkipListSet<>(BY_SALARY);
+    // only used under the lock
+    private final Map<String, Names> byName;
+    private final Listener listener;
+    private volatile MockEmployeeSnapshot snapshot;
+    // only used under the lock
+    private long sequence;
+
+    public MockEmployeeStore() {
+        this(List.of(), NO_LISTENER);
+    }
+
+    /**
+     * @param employees the initial roster, published as version 0 without notifying the listener
+     */
+    public MockEmployeeStore(@NonNull List<MockEmployee> employees, @NonNull Listener listener) {
+        this.byId = new ConcurrentHashMap<>(Math.max(16, employees.size()));
+        this.byName = new HashMap<>(Math.max(16, employees.size() * 4 / 3 + 1));
+        this.listener = listener;
+        for (int i = 0; i < employees.size(); i++) {
+            index(employees.get(i), i);
+        }
+        this.snapshot = new MockEmployeeSnapshot(0, ChunkedList.copyOf(employees));
+    }
+
+    public synchronized void add(@NonNull MockEmployee employee) {
+        listener.writing(List.of(employee), 0);
+        MockEmployeeSnapshot current = snapshot;
+        ChunkedList<MockEmployee> employees = chunked(current);
+        index(employee, employees.size());
+        snapshot = new MockEmployeeSnapshot(current.version() + 1, employees.with(employee));
+        listener.created(snapshot.version(), employee);
+    }
+
+    /**
+     * Adds all {@code employees} as a single write: one new version, reported to the listener as one batch.
+     */
+    public synchronized void addAll(@NonNull List<MockEmployee> employees) {
+        if (employees.isEmpty()) {
+            return;
+        }
+        listener.writing(employees, 0);
+        MockEmployeeSnapshot current = snapshot;
+        ChunkedList<MockEmployee> before = chunked(current);
+        for (int i = 0; i < employees.size(); i++) {
+            index(employees.get(i), before.size() + i);
+        }
+        snapshot = new MockEmployeeSnapshot(current.version() + 1, before.withAll(employees));
+        listener.createdAll(snapshot.version(), List.copyOf(employees));
+    }
+
+    /**
+     * Removes the oldest employee whose name equals {@code name} ignoring case.
+     *
+     * @return the removed employee, empty if there was none
+     */
+    public synchronized Optional<MockEmployee> removeFirstByName(@NonNull String name) {
+        listener.writing(List.of(), 1);
+        Slot removed = unindexFirst(name);
+        if (removed == null) {
+            return Optional.empty();
+        }
+        MockEmployeeSnapshot current = snapshot;
+        snapshot = new MockEmployeeSnapshot(current.version() + 1, remove(chunked(current), removed));
+        listener.deleted(snapshot.version(), removed.employee);
+        return Optional.of(removed.employee);
+    }
+
+    /**
+     * Removes the oldest employee by each of {@code names} in turn, as {@link #removeFirstByName(String)} would, but as
+     * a single write: one new version, reported to the listener as one batch. A name given twice removes two employees.
+     *
+     * @return the employee removed for each name, empty where there was none
+     */
+    public synchronized List<Optional<MockEmployee>> removeFirstByNames(@NonNull List<String> names) {
+        listener.writing(List.of(), names.size());
+        MockEmployeeSnapshot current = snapshot;
+        ChunkedList<MockEmployee> employees = chunked(current);
+        List<Optional<MockEmployee>> results = new ArrayList<>(names.size());
+        List<MockEmployee> removed = new ArrayList<>();
+        for (String name : names) {
+            Slot slot = unindexFirst(name);
+            if (slot == null) {
+                results.add(Optional.empty());
+                continue;
+            }
+            employees = remove(employees, slot);
+            removed.add(slot.employee);
+            results.add(Optional.of(slot.employee));
+        }
+        if (!removed.isEmpty()) {
+            snapshot = new MockEmployeeSnapshot(current.version() + 1, employees);
+            listener.deletedAll(snapshot.version(), Collections.unmodifiableList(removed));
+        }
+        return results;
+    }
+
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        Slot slot = byId.get(id);
+        return slot == null ? Optional.empty() : Optional.of(slot.employee);
+    }
+
+    /**
+     * The current version of the roster; it does not change while it is being read.
+     */
+    public MockEmployeeSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * The employees of the current snapshot in no particular order.
+     */
+    public Collection<MockEmployee> all() {
+        return snapshot.employees();
+    }
+
+    public int size() {
+        return snapshot.employees().size();
+    }
+
+    /**
+     * The highest salary, empty when no employee has one.
+     */
+    public Optional<Integer> maxSalary() {
+        Iterator<Slot> ranked = bySalary.iterator();
+        return ranked.hasNext() ? Optional.of(ranked.next().employee.getSalary()) : Optional.empty();
+    }
+
+    /**
+     * The {@code n} employees with the highest salaries, highest first; the oldest first among equal salaries.
+     */
+    public List<MockEmployee> topBySalary(int n) {
+        return bySalary.stream().limit(n).map(slot -> slot.employee).toList();
+    }
+
+    /**
+     * Caseless matching key of a name: names that differ only in case, including full case mappings such as "ß" to "SS"
+     * or "ﬁ" to "FI", and canonically equivalent names (composed or decomposed accents) map to the same key. Case is
+     * folded with Java's locale-independent full case mappings, lower, upper and lower again so that both "ẞ" and "ß"
+     * end up as "ss", and the result is composed (NFC). ASCII names, by far the most common, are just lower-cased.
+     */
+    static String fold(String name) {
+        if (isAscii(name)) {
+            return name.toLowerCase(Locale.ROOT);
+        }
+        String folded = name.toLowerCase(Locale.ROOT).toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+        return Normalizer.normalize(folded, Normalizer.Form.NFC);
+    }
+
+    private static boolean isAscii(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void index(MockEmployee employee, int position) {
+        Objects.requireNonNull(employee.getId(), "employee id");
+        Slot slot = new Slot(employee, position, sequence++);
+        byId.put(employee.getId(), slot);
+        if (employee.getSalary() != null) {
+            bySalary.add(slot);
+        }
+        if (employee.getName() != null) {
+            String folded = fold(employee.getName());
+            Names names = byName.get(folded);
+            if (names == null) {
+                byName.put(folded, new Names(slot));
+            } else {
+                names.last.nextByName = slot;
+                names.last = slot;
+            }
+        }
+    }
+
+    /*
+     * Drops the oldest employee named name from the indexes, returning its slot or null.
+     */
+    private Slot unindexFirst(String name) {
+        String folded = fold(name);
+        Names names = byName.get(folded);
+        if (names == null) {
+            return null;
+        }
+        Slot first = names.first;
+        if (first.nextByName == null) {
+            byName.remove(folded);
+        } else {
+            names.first = first.nextByName;
+            first.nextByName = null;
+        }
+        byId.remove(first.employee.getId());
+        if (first.employee.getSalary() != null) {
+            bySalary.remove(first);
+        }
+        return first;
+    }
+
+    /*
+     * The last employee moves into the removed one's position.
+     */
+    private ChunkedList<MockEmployee> remove(ChunkedList<MockEmployee> employees, Slot removed) {
+        int last = employees.size() - 1;
+        if (removed.position != last) {
+            byId.get(employees.get(last).getId()).position = removed.position;
+        }
+        return employees.withoutIndex(removed.position);
+    }
+
+    private static ChunkedList<MockEmployee> chunked(MockEmployeeSnapshot snapshot) {
+        return (ChunkedList<MockEmployee>) snapshot.employees();
+    }
+
+    /*
+     * position is the employee's index in the current snapshot, nextByName the next younger employee with the same
+     * folded name; both are only read and written under the store's lock. sequence orders employees by when they were
+     * added.
+     */
+    private static final class Slot {
+
+        private final MockEmployee employee;
+        private final long sequence;
+        private int position;
+        private Slot nextByName;
+
+        private Slot(MockEmployee employee, int position, long sequence) {
+            this.employee = employee;
+            this.position = position;
+            this.sequence = sequence;
+        }
+    }
+
+    /*
+     * The chain of employees sharing a folded name, oldest first.
+     */
+    private static final class Names {
+
+        private Slot first;
+        private Slot last;
+
+        private Names(Slot slot) {
+            this.first = slot;
+            this.last = slot;
+        }
+    }
+}
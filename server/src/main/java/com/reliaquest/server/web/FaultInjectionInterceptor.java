@@ -0,0 +1,204 @@
+package com.reliaquest.server.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.web.FaultInjectionRules.Fault;
+import com.reliaquest.server.web.FaultInjectionRules.Mode;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+/**
+ * Makes the mock server behave like a real upstream: adds latency drawn from a {@link LatencyDistribution} and injects
+ * faults (500s, responses cut off mid-body, bodies sent in slow chunks), per endpoint as configured in
+ * {@link FaultInjectionProperties}.
+ *
+ * <p>No request thread waits. A delayed request is put into async mode and the container thread is released; a
+ * scheduler thread later either answers it (faults) or dispatches it back to the handler. A slow body is captured from
+ * the handler and then written chunk by chunk, again in async mode, with non-blocking writes: the scheduler only times
+ * the chunks, so a client that reads slowly holds up its own body and nothing else.
+ */
+@Slf4j
+public class FaultInjectionInterceptor implements HandlerInterceptor, AutoCloseable {
+
+    static final String FAULT_ATTRIBUTE = FaultInjectionInterceptor.class.getName() + ".FAULT";
+
+    private final FaultInjectionRules rules;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "fault-injection");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public FaultInjectionInterceptor(FaultInjectionProperties properties, ObjectMapper objectMapper) {
+        this.rules = new FaultInjectionRules(properties, objectMapper);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            // the dispatch back from a delay
+            return true;
+        }
+        Fault fault = fault(request);
+        if (fault.mode() == Mode.NONE && fault.delayNanos() == 0) {
+            return true;
+        }
+        request.setAttribute(FAULT_ATTRIBUTE, fault);
+        AsyncContext async = fault.mode() == Mode.SLOW_BODY
+                ? request.startAsync(request, new ContentCachingResponseWrapper(response))
+                : request.startAsync();
+        async.setTimeout(0);
+        scheduler.schedule(() -> resume(async, fault, response), fault.delayNanos(), TimeUnit.NANOSECONDS);
+        return false;
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request, HttpServletResponse response, Object handler, Exception failure) {
+        if (request.getDispatcherType() != DispatcherType.ASYNC
+                || !(request.getAttribute(FAULT_ATTRIBUTE) instanceof Fault fault)
+                || fault.mode() != Mode.SLOW_BODY) {
+            return;
+        }
+        ContentCachingResponseWrapper captured =
+                WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (captured == null) {
+            return;
+        }
+        AsyncContext async = request.startAsync();
+        async.setTimeout(0);
+        try {
+            ServletOutputStream out = captured.getResponse().getOutputStream();
+            // the container calls it back as soon as the first chunk can be written
+            out.setWriteListener(new SlowBodyWriter(async, out, captured.getContentAsByteArray(), fault.slowBody()));
+        } catch (IOException | RuntimeException e) {
+            log.debug("Slow body aborted: {}", e.getMessage());
+            async.complete();
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    Fault fault(HttpServletRequest request) {
+        return rules.fault(request.getMethod(), request.getRequestURI());
+    }
+
+    private void resume(AsyncContext async, Fault fault, HttpServletResponse response) {
+        try {
+            switch (fault.mode()) {
+                case NONE, SLOW_BODY -> {
+                    async.dispatch();
+                    return;
+                }
+                case ERROR -> {
+                    response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+                    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                    response.getOutputStream().write(rules.errorBody());
+                }
+                case RESET -> {
+                    // the connection is closed after a body that ends short of its Content-Length
+                    response.setStatus(HttpStatus.OK.value());
+                    response.setHeader(HttpHeaders.CONNECTION, "close");
+                    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                    response.setContentLength(FaultInjectionRules.RESET_CONTENT_LENGTH);
+                    response.getOutputStream().write(FaultInjectionRules.resetBody());
+                    response.flushBuffer();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("Could not inject {}: {}", fault.mode(), e.getMessage());
+        }
+        async.complete();
+    }
+
+    /**
+     * Writes a captured body a chunk at a time. A chunk falls due on the scheduler and is written there only if the client
+     * can take it without blocking; otherwise the container writes it from {@link #onWritePossible()} once the client has
+     * caught up. Calls from the two threads are serialized on the writer.
+     */
+    private final class SlowBodyWriter implements WriteListener {
+
+        private final AsyncContext async;
+        private final ServletOutputStream out;
+        private final byte[] body;
+        private final FaultInjectionProperties.SlowBody slowBody;
+        private int offset;
+        private boolean due = true;
+        private boolean done;
+
+        private SlowBodyWriter(
+                AsyncContext async, ServletOutputStream out, byte[] body, FaultInjectionProperties.SlowBody slowBody) {
+            this.async = async;
+            this.out = out;
+            this.body = body;
+            this.slowBody = slowBody;
+        }
+
+        @Override
+        public void onWritePossible() {
+            writeDue();
+        }
+
+        @Override
+        public void onError(Throwable failure) {
+            log.debug("Slow body aborted: {}", failure.getMessage());
+            synchronized (this) {
+                finish();
+            }
+        }
+
+        private synchronized void chunkDue() {
+            due = true;
+            writeDue();
+        }
+
+        private synchronized void writeDue() {
+            try {
+                // when not ready, the container calls onWritePossible() once the pending bytes have gone out
+                if (done || !due || !out.isReady()) {
+                    return;
+                }
+                int length = Math.min(Math.max(1, slowBody.getChunkSize()), body.length - offset);
+                out.write(body, offset, length);
+                offset += length;
+                if (offset == body.length) {
+                    // completing sends whatever the client has yet to take
+                    finish();
+                    return;
+                }
+                if (out.isReady()) {
+                    out.flush();
+                }
+                due = false;
+                scheduler.schedule(this::chunkDue, slowBody.getChunkDelay().toNanos(), TimeUnit.NANOSECONDS);
+            } catch (IOException | RuntimeException e) {
+                log.debug("Slow body aborted: {}", e.getMessage());
+                finish();
+            }
+        }
+
+        private void finish() {
+            if (!done) {
+                done = true;
+                async.complete();
+            }
+        }
+    }
+}
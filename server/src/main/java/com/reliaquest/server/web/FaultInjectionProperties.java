@@ -0,0 +1,94 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Latency and fault profiles per endpoint, see {@link FaultInjectionInterceptor} and the {@code faults} profile
+ * (application-faults.yml) for an example.
+ */
+@Data
+@ConfigurationProperties(prefix = "mock.faults")
+public class FaultInjectionProperties {
+
+    private boolean enabled = false;
+
+    /*
+     * Makes the sequence of latencies and faults repeatable for a client sending one request at a time. Unset draws
+     * them from a per-thread random.
+     */
+    private Long seed;
+
+    /*
+     * The first endpoint matching a request applies; requests matching none are left alone.
+     */
+    private List<Endpoint> endpoints = new ArrayList<>();
+
+    @Data
+    public static class Endpoint {
+
+        /*
+         * HTTP method; blank matches any.
+         */
+        private String method;
+
+        /*
+         * Path pattern, e.g. /api/v1/employee/{id} or /api/v1/**.
+         */
+        private String path = "/**";
+
+        private Latency latency = new Latency();
+
+        /*
+         * Shares of requests answered with 500, cut off mid-response or sent slowly. Together at most 1.
+         */
+        private double errorRate;
+
+        private double resetRate;
+        private double slowBodyRate;
+
+        private SlowBody slowBody = new SlowBody();
+    }
+
+    @Data
+    public static class Latency {
+
+        /*
+         * Unset adds no latency.
+         */
+        private LatencyDistribution distribution;
+
+        /*
+         * The fixed latency, the mean of normal and of bimodal's fast mode, or the median of log-normal.
+         */
+        private Duration mean = Duration.ZERO;
+
+        /*
+         * Standard deviation of normal and of bimodal's fast mode.
+         */
+        private Duration stddev = Duration.ZERO;
+
+        /*
+         * Shape of log-normal: the standard deviation of the latency's logarithm.
+         */
+        private double sigma = 0.5;
+
+        /*
+         * Bimodal: the share of requests that take the slow mode, and its mean and standard deviation.
+         */
+        private double tailProbability = 0.05;
+
+        private Duration tailMean = Duration.ofSeconds(1);
+        private Duration tailStddev = Duration.ZERO;
+    }
+
+    @Data
+    public static class SlowBody {
+
+        private int chunkSize = 256;
+        private Duration chunkDelay = Duration.ofMillis(50);
+    }
+}
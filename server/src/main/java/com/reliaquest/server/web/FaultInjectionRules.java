@@ -0,0 +1,130 @@
+package com.reliaquest.server.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.Response;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * The faults configured in {@link FaultInjectionProperties}: which one, if any, a request gets, drawn per request. The
+ * servlet ({@link FaultInjectionInterceptor}) and reactive ({@link FaultInjectionWebFilter}) runtimes inject them.
+ */
+final class FaultInjectionRules {
+
+    /*
+     * A cut-off response promises this many bytes and sends only the first half.
+     */
+    static final int RESET_CONTENT_LENGTH = 1024;
+
+    enum Mode {
+        NONE,
+        ERROR,
+        RESET,
+        SLOW_BODY
+    }
+
+    record Fault(Mode mode, long delayNanos, FaultInjectionProperties.SlowBody slowBody) {}
+
+    private final List<Rule> rules;
+    private final Supplier<RandomGenerator> random;
+    private final byte[] errorBody;
+
+    FaultInjectionRules(FaultInjectionProperties properties, ObjectMapper objectMapper) {
+        this.rules = properties.getEndpoints().stream().map(Rule::new).toList();
+        if (properties.getSeed() != null) {
+            Random seeded = new Random(properties.getSeed());
+            this.random = () -> seeded;
+        } else {
+            this.random = ThreadLocalRandom::current;
+        }
+        try {
+            this.errorBody = objectMapper.writeValueAsBytes(Response.error("Injected fault"));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    Fault fault(String method, String path) {
+        PathContainer parsed = PathContainer.parsePath(path);
+        for (Rule rule : rules) {
+            if (rule.matches(method, parsed)) {
+                return rule.sample(random.get());
+            }
+        }
+        return new Fault(Mode.NONE, 0, null);
+    }
+
+    /**
+     * The JSON body of an injected 500.
+     */
+    byte[] errorBody() {
+        return errorBody;
+    }
+
+    /**
+     * The body of a cut-off response, the first half of what it promises: the start of a JSON object.
+     */
+    static byte[] resetBody() {
+        byte[] partial = new byte[RESET_CONTENT_LENGTH / 2];
+        Arrays.fill(partial, (byte) ' ');
+        partial[0] = '{';
+        return partial;
+    }
+
+    /*
+     * One configured endpoint with its pattern parsed once.
+     */
+    private static final class Rule {
+
+        private final String method;
+        private final PathPattern path;
+        private final FaultInjectionProperties.Endpoint endpoint;
+
+        private Rule(FaultInjectionProperties.Endpoint endpoint) {
+            double faultRate = endpoint.getErrorRate() + endpoint.getResetRate() + endpoint.getSlowBodyRate();
+            if (endpoint.getErrorRate() < 0
+                    || endpoint.getResetRate() < 0
+                    || endpoint.getSlowBodyRate() < 0
+                    || faultRate > 1) {
+                throw new IllegalArgumentException(
+                        "Fault rates of " + endpoint.getPath() + " must be between 0 and 1 in total");
+            }
+            this.method = endpoint.getMethod() == null || endpoint.getMethod().isBlank()
+                    ? null
+                    : endpoint.getMethod().trim();
+            this.path = PathPatternParser.defaultInstance.parse(endpoint.getPath());
+            this.endpoint = endpoint;
+        }
+
+        private boolean matches(String requestMethod, PathContainer requestPath) {
+            return (method == null || method.equalsIgnoreCase(requestMethod)) && path.matches(requestPath);
+        }
+
+        private Fault sample(RandomGenerator random) {
+            FaultInjectionProperties.Latency latency = endpoint.getLatency();
+            long delay = latency.getDistribution() == null
+                    ? 0
+                    : latency.getDistribution().sample(latency, random);
+            double draw = random.nextDouble();
+            Mode mode;
+            if (draw < endpoint.getErrorRate()) {
+                mode = Mode.ERROR;
+            } else if (draw < endpoint.getErrorRate() + endpoint.getResetRate()) {
+                mode = Mode.RESET;
+            } else if (draw < endpoint.getErrorRate() + endpoint.getResetRate() + endpoint.getSlowBodyRate()) {
+                mode = Mode.SLOW_BODY;
+            } else {
+                mode = Mode.NONE;
+            }
+            return new Fault(mode, delay, endpoint.getSlowBody());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.reliaquest.server.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.web.FaultInjectionRules.Fault;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The reactive runtime's {@link FaultInjectionInterceptor}: the same latency and faults, drawn by the same
+ * {@link FaultInjectionRules}. Delays are timers, not waiting threads. A slow body is the handler's response collected
+ * and then written chunk by chunk, each chunk flushed after a timer.
+ */
+public class FaultInjectionWebFilter implements WebFilter {
+
+    private final FaultInjectionRules rules;
+
+    public FaultInjectionWebFilter(FaultInjectionProperties properties, ObjectMapper objectMapper) {
+        this.rules = new FaultInjectionRules(properties, objectMapper);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        Fault fault = rules.fault(request.getMethod().name(), request.getPath().value());
+        if (fault.mode() == FaultInjectionRules.Mode.NONE && fault.delayNanos() == 0) {
+            return chain.filter(exchange);
+        }
+        Mono<Void> delay = fault.delayNanos() == 0
+                ? Mono.empty()
+                : Mono.delay(Duration.ofNanos(fault.delayNanos())).then();
+        return delay.then(Mono.defer(() -> switch (fault.mode()) {
+            case NONE -> chain.filter(exchange);
+            case ERROR -> error(exchange.getResponse());
+            case RESET -> reset(exchange.getResponse());
+            case SLOW_BODY -> chain.filter(exchange.mutate()
+                    .response(new SlowBody(exchange.getResponse(), fault.slowBody()))
+                    .build());
+        }));
+    }
+
+    private Mono<Void> error(ServerHttpResponse response) {
+        response.setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(
+                Mono.fromSupplier(() -> response.bufferFactory().wrap(rules.errorBody())));
+    }
+
+    // the connection is closed after a body that ends short of its Content-Length
+    private static Mono<Void> reset(ServerHttpResponse response) {
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().set(HttpHeaders.CONNECTION, "close");
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(FaultInjectionRules.RESET_CONTENT_LENGTH);
+        return response.writeWith(
+                Mono.fromSupplier(() -> response.bufferFactory().wrap(FaultInjectionRules.resetBody())));
+    }
+
+    private static final class SlowBody extends ServerHttpResponseDecorator {
+
+        private final FaultInjectionProperties.SlowBody slowBody;
+
+        private SlowBody(ServerHttpResponse delegate, FaultInjectionProperties.SlowBody slowBody) {
+            super(delegate);
+            this.slowBody = slowBody;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return DataBufferUtils.join(body).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+                int chunkSize = Math.max(1, slowBody.getChunkSize());
+                int chunks = (bytes.length + chunkSize - 1) / chunkSize;
+                return getDelegate().writeAndFlushWith(Flux.range(0, chunks).concatMap(i -> {
+                    Mono<DataBuffer> chunk = Mono.fromSupplier(() -> bufferFactory()
+                            .wrap(ByteBuffer.wrap(
+                                    bytes, i * chunkSize, Math.min(chunkSize, bytes.length - i * chunkSize))));
+                    return Mono.just(
+                            i == 0
+                                    ? chunk
+                                    : Mono.delay(slowBody.getChunkDelay()).then(chunk));
+                }));
+            });
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.reliaquest.server.web;
+
+/**
+ * Counts requests per window of {@code window} length. Windows are aligned to the key's first request.
+ */
+final class FixedWindowRateLimiter extends KeyedRateLimiter<FixedWindowRateLimiter.Window> {
+
+    record Window(long start, int count) {}
+
+    FixedWindowRateLimiter(int limit, long windowNanos) {
+        super(limit, windowNanos);
+    }
+
+    @Override
+    Window initial(long nowNanos) {
+        return new Window(nowNanos, 0);
+    }
+
+    @Override
+    Attempt<Window> attempt(Window window, long nowNanos) {
+        long elapsed = nowNanos - window.start();
+        Window current = elapsed < windowNanos ? window : new Window(nowNanos - elapsed % windowNanos, 0);
+        long reset = current.start() + windowNanos - nowNanos;
+        if (current.count() >= limit) {
+            return new Attempt<>(new RateLimitDecision(false, limit, 0, reset, reset), window);
+        }
+        int count = current.count() + 1;
+        return new Attempt<>(
+                new RateLimitDecision(true, limit, limit - count, reset, 0), new Window(current.start(), count));
+    }
+
+    @Override
+    boolean idle(Window window, long nowNanos) {
+        return nowNanos - window.start() >= windowNanos;
+    }
+}
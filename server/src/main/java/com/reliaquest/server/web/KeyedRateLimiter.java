@@ -0,0 +1,99 @@
+package com.reliaquest.server.web;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Base of the rate limiters: one {@link AtomicReference} per key holding an immutable state {@code S}, advanced by
+ * {@link #attempt} in a compare-and-set loop. A rejected request leaves the state as it is and writes nothing.
+ *
+ * <p>Once more than {@value #SWEEP_THRESHOLD} keys are tracked, each new key checks the next {@value #SWEEP_BATCH}
+ * keys of a sweep that walks the map round and round and forgets the idle ones, so the map does not grow with every
+ * client ever seen while a request never does more than a fixed amount of sweeping.
+ */
+abstract class KeyedRateLimiter<S> implements RateLimiter {
+
+    static final int SWEEP_THRESHOLD = 10_000;
+    static final int SWEEP_BATCH = 16;
+
+    final int limit;
+    final long windowNanos;
+    private final Map<String, AtomicReference<S>> states = new ConcurrentHashMap<>();
+    // where the sweep left off, only touched by the thread holding sweeping
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private Iterator<AtomicReference<S>> sweep;
+
+    KeyedRateLimiter(int limit, long windowNanos) {
+        if (limit < 1 || windowNanos < 1) {
+            throw new IllegalArgumentException(
+                    "Rate limit needs a positive limit and window: " + limit + " per " + windowNanos + " ns");
+        }
+        this.limit = limit;
+        this.windowNanos = windowNanos;
+    }
+
+    /**
+     * The outcome of one attempt: the decision and the state to publish, or the same state if nothing changes.
+     */
+    record Attempt<S>(RateLimitDecision decision, S next) {}
+
+    abstract S initial(long nowNanos);
+
+    abstract Attempt<S> attempt(S state, long nowNanos);
+
+    /**
+     * Whether {@code state} allows as much as a new key would, so it can be forgotten.
+     */
+    abstract boolean idle(S state, long nowNanos);
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, long nowNanos) {
+        AtomicReference<S> state = states.get(key);
+        if (state == null) {
+            state = newState(key, nowNanos);
+        }
+        while (true) {
+            S current = state.get();
+            Attempt<S> attempt = attempt(current, nowNanos);
+            if (attempt.next() == current || state.compareAndSet(current, attempt.next())) {
+                return attempt.decision();
+            }
+        }
+    }
+
+    int size() {
+        return states.size();
+    }
+
+    private AtomicReference<S> newState(String key, long nowNanos) {
+        if (states.size() >= SWEEP_THRESHOLD) {
+            sweep(nowNanos);
+        }
+        return states.computeIfAbsent(key, ignored -> new AtomicReference<>(initial(nowNanos)));
+    }
+
+    // A request that finds another sweeping leaves it to that one rather than waiting
+    private void sweep(long nowNanos) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            for (int checked = 0; checked < SWEEP_BATCH; checked++) {
+                if (sweep == null || !sweep.hasNext()) {
+                    sweep = states.values().iterator();
+                    if (!sweep.hasNext()) {
+                        return;
+                    }
+                }
+                if (idle(sweep.next().get(), nowNanos)) {
+                    sweep.remove();
+                }
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.reliaquest.server.web;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * How {@link FaultInjectionProperties.Latency} turns into a delay. Samples are never negative.
+ */
+public enum LatencyDistribution {
+    FIXED {
+        @Override
+        long sample(FaultInjectionProperties.Latency latency, RandomGenerator random) {
+            return latency.getMean().toNanos();
+        }
+    },
+    NORMAL {
+        @Override
+        long sample(FaultInjectionProperties.Latency latency, RandomGenerator random) {
+            return normal(latency.getMean().toNanos(), latency.getStddev().toNanos(), random);
+        }
+    },
+    LOG_NORMAL {
+        @Override
+        long sample(FaultInjectionProperties.Latency latency, RandomGenerator random) {
+            return (long) (latency.getMean().toNanos() * Math.exp(latency.getSigma() * random.nextGaussian()));
+        }
+    },
+    BIMODAL {
+        @Override
+        long sample(FaultInjectionProperties.Latency latency, RandomGenerator random) {
+            return random.nextDouble() < latency.getTailProbability()
+                    ? normal(
+                            latency.getTailMean().toNanos(),
+                            latency.getTailStddev().toNanos(),
+                            random)
+                    : normal(latency.getMean().toNanos(), latency.getStddev().toNanos(), random);
+        }
+    };
+
+    abstract long sample(FaultInjectionProperties.Latency latency, RandomGenerator random);
+
+    private static long normal(long mean, long stddev, RandomGenerator random) {
+        return Math.max(0, (long) (mean + stddev * random.nextGaussian()));
+    }
+}
@@ -0,0 +1,48 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * The {@link RateLimiter} implementations by their {@code mock.rate-limit.algorithm} name.
+ */
+public enum RateLimitAlgorithm {
+    TOKEN_BUCKET("token-bucket", RateLimiter::tokenBucket),
+    FIXED_WINDOW("fixed-window", RateLimiter::fixedWindow),
+    SLIDING_WINDOW("sliding-window", RateLimiter::slidingWindow);
+
+    private final String property;
+    private final BiFunction<Integer, Duration, RateLimiter> factory;
+
+    RateLimitAlgorithm(String property, BiFunction<Integer, Duration, RateLimiter> factory) {
+        this.property = property;
+        this.factory = factory;
+    }
+
+    /**
+     * @param name {@code token-bucket}, {@code fixed-window} or {@code sliding-window}, case-insensitive
+     * @throws IllegalArgumentException for anything else
+     */
+    public static RateLimitAlgorithm of(String name) {
+        String normalized = name.trim().toLowerCase(Locale.ROOT).replace('_', '-');
+        return Arrays.stream(values())
+                .filter(algorithm -> algorithm.property.equals(normalized))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown rate limit algorithm '" + name
+                        + "', expected one of "
+                        + Arrays.stream(values())
+                                .map(RateLimitAlgorithm::property)
+                                .collect(Collectors.joining(", "))));
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public RateLimiter create(int limit, Duration window) {
+        return factory.apply(limit, window);
+    }
+}
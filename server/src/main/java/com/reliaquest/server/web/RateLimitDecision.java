@@ -0,0 +1,10 @@
+package com.reliaquest.server.web;
+
+/**
+ * The outcome of {@link RateLimiter#tryAcquire(String, long)}.
+ *
+ * @param remaining requests still allowed right now, after this one
+ * @param resetNanos until the client's quota is fully restored
+ * @param retryAfterNanos until the next request would be allowed, 0 if it would be now
+ */
+public record RateLimitDecision(boolean allowed, int limit, int remaining, long resetNanos, long retryAfterNanos) {}
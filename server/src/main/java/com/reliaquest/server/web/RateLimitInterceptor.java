@@ -0,0 +1,73 @@
+package com.reliaquest.server.web;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import lombok.NonNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Applies a {@link RateLimiter} per client. Every response carries {@code RateLimit-Limit}, {@code RateLimit-Remaining}
+ * and {@code RateLimit-Reset} (seconds until the quota is fully restored); a rejected request gets 429 with
+ * {@code Retry-After} in seconds.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    static final String LIMIT_HEADER = "RateLimit-Limit";
+    static final String REMAINING_HEADER = "RateLimit-Remaining";
+    static final String RESET_HEADER = "RateLimit-Reset";
+
+    private final RateLimiter limiter;
+    private final Function<HttpServletRequest, String> clientKey;
+    private final LongSupplier clock;
+
+    public RateLimitInterceptor(
+            @NonNull RateLimiter limiter,
+            @NonNull Function<HttpServletRequest, String> clientKey,
+            @NonNull LongSupplier clock) {
+        this.limiter = limiter;
+        this.clientKey = clientKey;
+        this.clock = clock;
+    }
+
+    /**
+     * Clients are told apart by {@code header} if it is set and present on the request, else by remote address.
+     */
+    public static Function<HttpServletRequest, String> clientKey(String header) {
+        if (header == null || header.isEmpty()) {
+            return HttpServletRequest::getRemoteAddr;
+        }
+        return request -> {
+            String key = request.getHeader(header);
+            return key == null || key.isEmpty() ? request.getRemoteAddr() : key;
+        };
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            // counted when it arrived, e.g. before being delayed by fault injection
+            return true;
+        }
+        RateLimitDecision decision = limiter.tryAcquire(clientKey.apply(request), clock.getAsLong());
+        response.setHeader(LIMIT_HEADER, Integer.toString(decision.limit()));
+        response.setHeader(REMAINING_HEADER, Integer.toString(decision.remaining()));
+        response.setHeader(RESET_HEADER, Long.toString(seconds(decision.resetNanos())));
+        if (!decision.allowed()) {
+            response.setHeader(
+                    HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, seconds(decision.retryAfterNanos()))));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            return false;
+        }
+        return true;
+    }
+
+    static long seconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,72 @@
+package com.reliaquest.server.web;
+
+import java.net.InetSocketAddress;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import lombok.NonNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * The reactive runtime's {@link RateLimitInterceptor}: the same {@link RateLimiter} per client and the same headers. The
+ * limiters never block, so the decision is made on the event loop.
+ */
+public class RateLimitWebFilter implements WebFilter {
+
+    private final RateLimiter limiter;
+    private final Function<ServerHttpRequest, String> clientKey;
+    private final LongSupplier clock;
+
+    public RateLimitWebFilter(
+            @NonNull RateLimiter limiter,
+            @NonNull Function<ServerHttpRequest, String> clientKey,
+            @NonNull LongSupplier clock) {
+        this.limiter = limiter;
+        this.clientKey = clientKey;
+        this.clock = clock;
+    }
+
+    /**
+     * Clients are told apart by {@code header} if it is set and present on the request, else by remote address.
+     */
+    public static Function<ServerHttpRequest, String> clientKey(String header) {
+        if (header == null || header.isEmpty()) {
+            return RateLimitWebFilter::remoteAddress;
+        }
+        return request -> {
+            String key = request.getHeaders().getFirst(header);
+            return key == null || key.isEmpty() ? remoteAddress(request) : key;
+        };
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        RateLimitDecision decision = limiter.tryAcquire(clientKey.apply(exchange.getRequest()), clock.getAsLong());
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        headers.set(RateLimitInterceptor.LIMIT_HEADER, Integer.toString(decision.limit()));
+        headers.set(RateLimitInterceptor.REMAINING_HEADER, Integer.toString(decision.remaining()));
+        headers.set(
+                RateLimitInterceptor.RESET_HEADER, Long.toString(RateLimitInterceptor.seconds(decision.resetNanos())));
+        if (!decision.allowed()) {
+            headers.set(
+                    HttpHeaders.RETRY_AFTER,
+                    Long.toString(Math.max(1, RateLimitInterceptor.seconds(decision.retryAfterNanos()))));
+            exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+            return exchange.getResponse().setComplete();
+        }
+        return chain.filter(exchange);
+    }
+
+    private static String remoteAddress(ServerHttpRequest request) {
+        InetSocketAddress address = request.getRemoteAddress();
+        if (address == null) {
+            return "";
+        }
+        return address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+    }
+}
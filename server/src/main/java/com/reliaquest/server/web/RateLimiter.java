@@ -0,0 +1,37 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+
+/**
+ * Admits or rejects requests per client key. Implementations keep one immutable state per key and replace it with a
+ * compare-and-set, so concurrent requests never block each other and never lose an update.
+ *
+ * <p>Time is passed in by the caller ({@link System#nanoTime()} in production), read once per request.
+ */
+public interface RateLimiter {
+
+    RateLimitDecision tryAcquire(String key, long nowNanos);
+
+    /**
+     * Starts at {@code limit} tokens and refills one token every {@code window / limit}, so bursts of up to
+     * {@code limit} are allowed but the long-run rate is {@code limit} per {@code window}.
+     */
+    static RateLimiter tokenBucket(int limit, Duration window) {
+        return new TokenBucketRateLimiter(limit, window.toNanos());
+    }
+
+    /**
+     * Allows {@code limit} requests per {@code window}; the count starts over at each window boundary.
+     */
+    static RateLimiter fixedWindow(int limit, Duration window) {
+        return new FixedWindowRateLimiter(limit, window.toNanos());
+    }
+
+    /**
+     * Like a fixed window, but the previous window's count is weighted by how much of it still overlaps the last
+     * {@code window}, which avoids allowing twice the limit across a boundary.
+     */
+    static RateLimiter slidingWindow(int limit, Duration window) {
+        return new SlidingWindowRateLimiter(limit, window.toNanos());
+    }
+}
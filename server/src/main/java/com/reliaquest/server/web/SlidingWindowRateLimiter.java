@@ -0,0 +1,66 @@
+package com.reliaquest.server.web;
+
+/**
+ * Sliding window counter: keeps the counts of the current and the previous fixed window and estimates the requests of
+ * the last {@code window} as {@code previous * (share of the previous window still inside it) + current}.
+ */
+final class SlidingWindowRateLimiter extends KeyedRateLimiter<SlidingWindowRateLimiter.Windows> {
+
+    record Windows(long start, int previous, int current) {}
+
+    SlidingWindowRateLimiter(int limit, long windowNanos) {
+        super(limit, windowNanos);
+    }
+
+    @Override
+    Windows initial(long nowNanos) {
+        return new Windows(nowNanos, 0, 0);
+    }
+
+    @Override
+    Attempt<Windows> attempt(Windows windows, long nowNanos) {
+        Windows current = roll(windows, nowNanos);
+        long elapsed = nowNanos - current.start();
+        double estimate = current.previous() * (1 - (double) elapsed / windowNanos) + current.current();
+        long reset = current.start() + (current.current() > 0 ? 2 : 1) * windowNanos - nowNanos;
+        if (estimate + 1 > limit) {
+            return new Attempt<>(new RateLimitDecision(false, limit, 0, reset, retryAfter(current, nowNanos)), windows);
+        }
+        int remaining = (int) Math.floor(limit - estimate - 1);
+        return new Attempt<>(
+                new RateLimitDecision(true, limit, remaining, reset, 0),
+                new Windows(current.start(), current.previous(), current.current() + 1));
+    }
+
+    @Override
+    boolean idle(Windows windows, long nowNanos) {
+        return nowNanos - windows.start() >= 2 * windowNanos;
+    }
+
+    private Windows roll(Windows windows, long nowNanos) {
+        long elapsed = nowNanos - windows.start();
+        if (elapsed < windowNanos) {
+            return windows;
+        }
+        if (elapsed < 2 * windowNanos) {
+            return new Windows(windows.start() + windowNanos, windows.current(), 0);
+        }
+        return new Windows(nowNanos - elapsed % windowNanos, 0, 0);
+    }
+
+    /*
+     * The earliest time at which previous * (1 - elapsed / window) + current <= limit - 1, looking into the next window
+     * when the current one alone is already at the limit.
+     */
+    private long retryAfter(Windows windows, long nowNanos) {
+        long at;
+        if (windows.current() < limit) {
+            double share = 1 - (double) (limit - 1 - windows.current()) / windows.previous();
+            at = windows.start() + (long) Math.ceil(windowNanos * share);
+        } else {
+            double share = 1 - (double) (limit - 1) / windows.current();
+            at = windows.start() + windowNanos + (long) Math.ceil(windowNanos * share);
+        }
+        return Math.max(at - nowNanos, 1);
+    }
+}
@@ -0,0 +1,38 @@
+package com.reliaquest.server.web;
+
+/**
+ * Token bucket in its generic cell rate algorithm form: instead of a token count the state is the theoretical arrival
+ * time (TAT) at which the bucket would be full again. Each request pushes it {@code window / limit} further; a request
+ * that would push it more than a window ahead of now is rejected.
+ */
+final class TokenBucketRateLimiter extends KeyedRateLimiter<Long> {
+
+    private final long interval;
+
+    TokenBucketRateLimiter(int limit, long windowNanos) {
+        super(limit, windowNanos);
+        this.interval = Math.max(1, windowNanos / limit);
+    }
+
+    @Override
+    Long initial(long nowNanos) {
+        return nowNanos;
+    }
+
+    @Override
+    Attempt<Long> attempt(Long tat, long nowNanos) {
+        long next = Math.max(tat, nowNanos) + interval;
+        long ahead = next - nowNanos;
+        if (ahead > windowNanos) {
+            long backlog = Math.max(tat - nowNanos, 0);
+            return new Attempt<>(new RateLimitDecision(false, limit, 0, backlog, ahead - windowNanos), tat);
+        }
+        int remaining = (int) ((windowNanos - ahead) / interval);
+        return new Attempt<>(new RateLimitDecision(true, limit, remaining, ahead, 0), next);
+    }
+
+    @Override
+    boolean idle(Long tat, long nowNanos) {
+        return tat - nowNanos <= 0;
+    }
+}
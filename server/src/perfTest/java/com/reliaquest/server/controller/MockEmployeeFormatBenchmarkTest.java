@@ -0,0 +1,82 @@
+package com.reliaquest.server.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.loadtest.bench.Microbenchmark;
+import com.reliaquest.loadtest.bench.PerfBaseline;
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeGenerator;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Writing the full list of a 100k employee roster as JSON, Smile and CBOR with the {@link MockEmployeeListWriter},
+ * the CPU cost of each format on the server. The size of each response is logged.
+ */
+@Slf4j
+class MockEmployeeFormatBenchmarkTest {
+
+    private static final int ROSTER_SIZE = 100_000;
+    private static final int WARMUP_ITERATIONS = 30;
+    private static final int ITERATIONS = 50;
+
+    private static final List<MockEmployee> roster =
+            new MockEmployeeGenerator(42, Locale.ROOT, 1).generate(ROSTER_SIZE);
+
+    private final PerfBaseline baseline = PerfBaseline.fromSystemProperties();
+    private final MockEmployeeListWriter writer = new MockEmployeeListWriter(List.of(
+            new MappingJackson2HttpMessageConverter(mapper(Jackson2ObjectMapperBuilder.json())),
+            new MappingJackson2SmileHttpMessageConverter(mapper(Jackson2ObjectMapperBuilder.smile())),
+            new MappingJackson2CborHttpMessageConverter(mapper(Jackson2ObjectMapperBuilder.cbor()))));
+
+    @Test
+    @DisplayName("server.list.write.json")
+    void writeJson() {
+        bench("server.list.write.json", MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    @DisplayName("server.list.write.smile")
+    void writeSmile() {
+        bench("server.list.write.smile", new MediaType("application", "x-jackson-smile"));
+    }
+
+    @Test
+    @DisplayName("server.list.write.cbor")
+    void writeCbor() {
+        bench("server.list.write.cbor", MediaType.APPLICATION_CBOR);
+    }
+
+    private void bench(String scenario, MediaType mediaType) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(32 * 1024 * 1024);
+        baseline.verify(scenario, Microbenchmark.run(scenario, WARMUP_ITERATIONS, ITERATIONS, () -> {
+            out.reset();
+            try {
+                writer.write(roster, null, mediaType).writeTo(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out;
+        }));
+        log.info("{}: {} bytes for {} employees", scenario, out.size(), ROSTER_SIZE);
+    }
+
+    // configured like the server's converters
+    private static ObjectMapper mapper(Jackson2ObjectMapperBuilder builder) {
+        ServerConfiguration configuration = new ServerConfiguration();
+        configuration.unfilteredByDefault().customize(builder);
+        configuration.uuidsAsText().customize(builder);
+        return builder.build();
+    }
+}
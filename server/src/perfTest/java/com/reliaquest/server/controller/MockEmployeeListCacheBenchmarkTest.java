@@ -0,0 +1,117 @@
+package com.reliaquest.server.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.loadtest.bench.Microbenchmark;
+import com.reliaquest.loadtest.bench.PerfBaseline;
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeChangeLog;
+import com.reliaquest.server.service.MockEmployeeGenerator;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Writing the gzip-compressed full list of a 100k employee roster: compressed on every request, copied from the
+ * {@link MockEmployeeListCache}, and rebuilt in the cache after a write.
+ */
+@Slf4j
+class MockEmployeeListCacheBenchmarkTest {
+
+    private static final int ROSTER_SIZE = 100_000;
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int ITERATIONS = 30;
+
+    private static final MockEmployeeStore store = new MockEmployeeStore(
+            new MockEmployeeGenerator(42, Locale.ROOT, 1).generate(ROSTER_SIZE), new MockEmployeeChangeLog(1_000));
+
+    private final PerfBaseline baseline = PerfBaseline.fromSystemProperties();
+    private final MockEmployeeListWriter writer =
+            new MockEmployeeListWriter(List.of(new MappingJackson2HttpMessageConverter(mapper())));
+    private final MockEmployeeListCache cache = new MockEmployeeListCache(writer, DataSize.ofMegabytes(64), 6);
+
+    @Test
+    @DisplayName("server.list.gzip.streamed")
+    void streamed() {
+        bench(
+                "server.list.gzip.streamed",
+                () -> write(
+                        cache.gzipped(writer.write(store.snapshot().employees(), null, MediaType.APPLICATION_JSON))));
+    }
+
+    @Test
+    @DisplayName("server.list.gzip.cached")
+    void cached() {
+        bench("server.list.gzip.cached", () -> {
+            byte[] bytes = cache.get(store.snapshot(), MediaType.APPLICATION_JSON)
+                    .orElseThrow()
+                    .gzip();
+            return write(output -> output.write(bytes));
+        });
+    }
+
+    @Test
+    @DisplayName("server.list.gzip.rebuilt")
+    void rebuilt() {
+        bench("server.list.gzip.rebuilt", () -> {
+            MockEmployee added = MockEmployee.builder()
+                    .id(UUID.randomUUID())
+                    .name("Tiger Nixon")
+                    .salary(320_800)
+                    .age(61)
+                    .title("Architect")
+                    .build();
+            store.add(added);
+            store.removeFirstByName("tiger nixon");
+            byte[] bytes = cache.get(store.snapshot(), MediaType.APPLICATION_JSON)
+                    .orElseThrow()
+                    .gzip();
+            return write(output -> output.write(bytes));
+        });
+    }
+
+    @Test
+    @DisplayName("server.list.gzip.sizes")
+    void sizes() {
+        MockEmployeeListCache.Entry entry =
+                cache.get(store.snapshot(), MediaType.APPLICATION_JSON).orElseThrow();
+        log.info("{} bytes, {} gzip-compressed", entry.identity().length, entry.gzip().length);
+    }
+
+    private void bench(String scenario, Supplier<?> operation) {
+        baseline.verify(scenario, Microbenchmark.run(scenario, WARMUP_ITERATIONS, ITERATIONS, operation));
+    }
+
+    // the bytes go nowhere, as to a client on a fast network; a new stream each time, as writing closes it
+    private static OutputStream write(StreamingResponseBody body) {
+        OutputStream discard = OutputStream.nullOutputStream();
+        try {
+            body.writeTo(discard);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return discard;
+    }
+
+    // configured like the server's converters
+    private static ObjectMapper mapper() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        ServerConfiguration configuration = new ServerConfiguration();
+        configuration.unfilteredByDefault().customize(builder);
+        configuration.uuidsAsText().customize(builder);
+        return builder.build();
+    }
+}
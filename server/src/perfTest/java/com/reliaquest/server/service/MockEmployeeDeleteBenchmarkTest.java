@@ -0,0 +1,92 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.loadtest.bench.Microbenchmark;
+import com.reliaquest.loadtest.bench.PerfBaseline;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Deleting by name from a 1M employee {@link MockEmployeeStore}: a name nobody has, a freshly added unique name (ASCII
+ * and not), and the oldest of 10k employees sharing a name, which is added back so the duplicates stay.
+ */
+class MockEmployeeDeleteBenchmarkTest {
+
+    private static final int ROSTER_SIZE = 1_000_000;
+    private static final int DUPLICATES = 10_000;
+    private static final int WARMUP_ITERATIONS = 5_000;
+    private static final int ITERATIONS = 5_000;
+
+    private final PerfBaseline baseline = PerfBaseline.fromSystemProperties();
+    // built once; every scenario leaves the roster as it found it
+    private static final MockEmployeeStore store = new MockEmployeeStore(roster(), new MockEmployeeChangeLog(1_000));
+    private static long added;
+
+    @Test
+    @DisplayName("server.store.deleteByName.missing")
+    void deleteMissing() {
+        bench("server.store.deleteByName.missing", () -> store.removeFirstByName("Nobody Here"));
+    }
+
+    @Test
+    @DisplayName("server.store.deleteByName.unique")
+    void deleteUnique() {
+        bench("server.store.deleteByName.unique", () -> {
+            store.add(employee("Tiger Nixon"));
+            return store.removeFirstByName("tiger nixon");
+        });
+    }
+
+    @Test
+    @DisplayName("server.store.deleteByName.unicode")
+    void deleteUnicode() {
+        bench("server.store.deleteByName.unicode", () -> {
+            store.add(employee("Zoë Ångström Straße"));
+            return store.removeFirstByName("ZOË ÅNGSTRÖM STRASSE");
+        });
+    }
+
+    @Test
+    @DisplayName("server.store.deleteByName.duplicates")
+    void deleteDuplicate() {
+        bench("server.store.deleteByName.duplicates", () -> {
+            store.add(employee("Jill Jenkins"));
+            return store.removeFirstByName("jill jenkins");
+        });
+    }
+
+    private void bench(String scenario, Supplier<?> operation) {
+        baseline.verify(scenario, Microbenchmark.run(scenario, WARMUP_ITERATIONS, ITERATIONS, operation));
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(new UUID(7, added++))
+                .name(name)
+                .salary(100_000)
+                .age(40)
+                .title("Engineer")
+                .build();
+    }
+
+    /*
+     * Slim employees, every hundredth one named Jill Jenkins.
+     */
+    private static List<MockEmployee> roster() {
+        List<MockEmployee> roster = new ArrayList<>(ROSTER_SIZE);
+        for (int i = 0; i < ROSTER_SIZE; i++) {
+            roster.add(MockEmployee.builder()
+                    .id(new UUID(42, i))
+                    .name(i % (ROSTER_SIZE / DUPLICATES) == 0 ? "Jill Jenkins" : "Employee " + i)
+                    .salary(100_000)
+                    .age(40)
+                    .title("Engineer")
+                    .build());
+        }
+        return roster;
+    }
+}
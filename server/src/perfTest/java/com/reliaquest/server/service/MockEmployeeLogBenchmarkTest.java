@@ -0,0 +1,167 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.loadtest.bench.Measurement;
+import com.reliaquest.loadtest.bench.Microbenchmark;
+import com.reliaquest.loadtest.bench.PerfBaseline;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Cost of logging writes ({@link MockEmployeeLog}) over a 100k employee roster: creates and deletes through the service
+ * without and with waiting for the disk, the same from 8 threads sharing group commits, and replaying a log at startup.
+ */
+@Slf4j
+class MockEmployeeLogBenchmarkTest {
+
+    private static final int ROSTER_SIZE = 100_000;
+    private static final int WARMUP_ITERATIONS = 300;
+    private static final int ITERATIONS = 1_000;
+    private static final int THREADS = 8;
+    private static final int REPLAYED_WRITES = 10_000;
+
+    @TempDir
+    Path dir;
+
+    private final PerfBaseline baseline = PerfBaseline.fromSystemProperties();
+    private final List<MockEmployee> roster = new MockEmployeeGenerator(42, Locale.ROOT, 1).generate(ROSTER_SIZE);
+
+    @Test
+    @DisplayName("server.log.createAndDelete")
+    void createAndDelete() throws Exception {
+        MockEmployeeService service = service(false);
+        bench("server.log.createAndDelete", () -> createAndDelete(service, "Jill Jenkins"));
+    }
+
+    @Test
+    @DisplayName("server.log.createAndDelete.sync")
+    void createAndDeleteSynced() throws Exception {
+        MockEmployeeService service = service(true);
+        bench("server.log.createAndDelete.sync", () -> createAndDelete(service, "Jill Jenkins"));
+    }
+
+    @Test
+    @DisplayName("server.log.createAndDelete.sync.8threads")
+    void createAndDeleteSyncedConcurrently() throws Exception {
+        MockEmployeeService service = service(true);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            run(executor, service, WARMUP_ITERATIONS / THREADS);
+            long started = System.nanoTime();
+            long[] nanos = run(executor, service, ITERATIONS / THREADS).stream()
+                    .flatMapToLong(Arrays::stream)
+                    .sorted()
+                    .toArray();
+            double seconds = (System.nanoTime() - started) / 1e9;
+            Measurement measurement =
+                    new Measurement(nanos.length / seconds, nanos[(int) (nanos.length * 0.99)] / 1_000_000.0);
+            log.info(
+                    "server.log.createAndDelete.sync.8threads: {} ops/s, p99 {} ms",
+                    Math.round(measurement.throughput()),
+                    measurement.p99Ms());
+            baseline.verify("server.log.createAndDelete.sync.8threads", measurement);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("server.log.replay")
+    void replay() throws Exception {
+        Path file = dir.resolve("roster.bin");
+        try (MockEmployeeLog writes = new MockEmployeeLog(file, 64 << 20, () -> {})) {
+            MockEmployeeStore store = new MockEmployeeStore(roster, writes);
+            Random random = new Random(42);
+            for (int i = 0; i < REPLAYED_WRITES; i++) {
+                if (i % 3 == 2) {
+                    store.removeFirstByName(
+                            roster.get(random.nextInt(ROSTER_SIZE)).getName());
+                } else {
+                    store.add(MockEmployee.builder()
+                            .id(new UUID(7, i))
+                            .name("Employee " + i)
+                            .salary(100_000)
+                            .age(40)
+                            .title("Engineer")
+                            .email("employee" + i + "@company.com")
+                            .build());
+                }
+            }
+        }
+        baseline.verify("server.log.replay", Microbenchmark.run("server.log.replay", 3, 10, () -> {
+            try {
+                return MockEmployeeLog.replay(file, roster);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+    }
+
+    private MockEmployeeService service(boolean sync) {
+        MockEmployeeChangeLog changeLog = new MockEmployeeChangeLog(1_000);
+        MockEmployeePersistence persistence = new MockEmployeePersistence(
+                dir.resolve("roster.bin").toString(), Duration.ZERO, false, true, sync, DataSize.ofMegabytes(64));
+        persistence.load();
+        MockEmployeeStore store = new MockEmployeeStore(roster, changeLog.andThen(persistence));
+        return new MockEmployeeService(new Faker(Locale.ROOT, new Random(42)), store, changeLog, persistence);
+    }
+
+    /*
+     * Runs the iterations on every thread and returns each thread's latencies.
+     */
+    private List<long[]> run(ExecutorService executor, MockEmployeeService service, int iterations) throws Exception {
+        List<Future<long[]>> threads = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            String name = "Writer " + thread;
+            threads.add(executor.submit(() -> {
+                long[] nanos = new long[iterations];
+                for (int i = 0; i < iterations; i++) {
+                    long t0 = System.nanoTime();
+                    createAndDelete(service, name);
+                    nanos[i] = System.nanoTime() - t0;
+                }
+                return nanos;
+            }));
+        }
+        List<long[]> latencies = new ArrayList<>();
+        for (Future<long[]> thread : threads) {
+            latencies.add(thread.get());
+        }
+        return latencies;
+    }
+
+    private static boolean createAndDelete(MockEmployeeService service, String name) {
+        CreateMockEmployeeInput create = new CreateMockEmployeeInput();
+        create.setName(name);
+        create.setSalary(139_082);
+        create.setAge(48);
+        create.setTitle("Financial Advisor");
+        DeleteMockEmployeeInput delete = new DeleteMockEmployeeInput();
+        delete.setName(name);
+        service.create(create);
+        return service.delete(delete);
+    }
+
+    private void bench(String scenario, Supplier<?> operation) {
+        baseline.verify(scenario, Microbenchmark.run(scenario, WARMUP_ITERATIONS, ITERATIONS, operation));
+    }
+}
@@ -0,0 +1,88 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.loadtest.bench.Microbenchmark;
+import com.reliaquest.loadtest.bench.PerfBaseline;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Supplier;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Single-threaded timings of {@link MockEmployeeService} lookups and writes over a 100k employee roster.
+ */
+class MockEmployeeServiceBenchmarkTest {
+
+    private static final int ROSTER_SIZE = 100_000;
+    private static final int WARMUP_ITERATIONS = 300;
+    private static final int ITERATIONS = 1_000;
+
+    private final PerfBaseline baseline = PerfBaseline.fromSystemProperties();
+    private final List<MockEmployee> roster = roster(ROSTER_SIZE, 42);
+    private final MockEmployeeChangeLog changeLog = new MockEmployeeChangeLog(1_000);
+    private final MockEmployeeService service = new MockEmployeeService(
+            new Faker(Locale.ROOT, new Random(42)),
+            new MockEmployeeStore(roster, changeLog),
+            changeLog,
+            new MockEmployeePersistence("", Duration.ZERO, false, false, false, DataSize.ofMegabytes(1)));
+
+    @Test
+    @DisplayName("server.findById")
+    void findById() {
+        UUID id = roster.get(ROSTER_SIZE / 2).getId();
+        bench("server.findById", () -> service.findById(id));
+    }
+
+    @Test
+    @DisplayName("server.deleteMissing")
+    void deleteMissing() {
+        DeleteMockEmployeeInput input = new DeleteMockEmployeeInput();
+        input.setName("Nobody Here");
+        bench("server.deleteMissing", () -> service.delete(input));
+    }
+
+    @Test
+    @DisplayName("server.createAndDelete")
+    void createAndDelete() {
+        CreateMockEmployeeInput create = new CreateMockEmployeeInput();
+        create.setName("Jill Jenkins");
+        create.setSalary(139_082);
+        create.setAge(48);
+        create.setTitle("Financial Advisor");
+        DeleteMockEmployeeInput delete = new DeleteMockEmployeeInput();
+        delete.setName("jill jenkins");
+        bench("server.createAndDelete", () -> {
+            service.create(create);
+            return service.delete(delete);
+        });
+    }
+
+    private void bench(String scenario, Supplier<?> operation) {
+        baseline.verify(scenario, Microbenchmark.run(scenario, WARMUP_ITERATIONS, ITERATIONS, operation));
+    }
+
+    private static List<MockEmployee> roster(int size, long seed) {
+        Random random = new Random(seed);
+        List<MockEmployee> roster = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            roster.add(MockEmployee.builder()
+                    .id(new UUID(seed, i))
+                    .name("Employee " + i)
+                    .salary(30_000 + random.nextInt(470_000))
+                    .age(16 + random.nextInt(55))
+                    .title("Engineer " + random.nextInt(20))
+                    .email("employee" + i + "@company.com")
+                    .build());
+        }
+        return roster;
+    }
+}
@@ -0,0 +1,39 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.loadtest.bench.Microbenchmark;
+import com.reliaquest.loadtest.bench.PerfBaseline;
+import java.time.Duration;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * Single-threaded cost of one rate limit decision per algorithm, spread over 1,000 clients of which about half are over
+ * their limit.
+ */
+class RateLimiterBenchmarkTest {
+
+    private static final int CLIENTS = 1_000;
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    private final PerfBaseline baseline = PerfBaseline.fromSystemProperties();
+
+    @ParameterizedTest
+    @EnumSource(RateLimitAlgorithm.class)
+    void tryAcquire(RateLimitAlgorithm algorithm) {
+        RateLimiter limiter = algorithm.create(50, Duration.ofHours(1));
+        String[] clients = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = "10.0.0." + i;
+        }
+        int[] next = {0};
+        String scenario = "server.rateLimit." + algorithm.property();
+        baseline.verify(
+                scenario,
+                Microbenchmark.run(
+                        scenario,
+                        WARMUP_ITERATIONS,
+                        ITERATIONS,
+                        () -> limiter.tryAcquire(clients[next[0]++ % CLIENTS], System.nanoTime())));
+    }
+}
@@ -0,0 +1,249 @@
+package com.reliaquest.server.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeChangeLog;
+import com.reliaquest.server.service.MockEmployeeGenerator;
+import com.reliaquest.server.service.MockEmployeePersistence;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.MockEmployeeStore;
+import jakarta.servlet.Filter;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import jakarta.validation.Validation;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+
+class MockEmployeeChangeEventsTest {
+
+    private static final String STALL_HEADER = "X-Stall";
+
+    private final ObjectMapper objectMapper =
+            new ObjectMapper().setFilterProvider(new SimpleFilterProvider().setFailOnUnknownId(false));
+    private final MockEmployeeChangeLog changeLog = new MockEmployeeChangeLog(3);
+    private final MockEmployeeChangeEvents events =
+            new MockEmployeeChangeEvents(changeLog, Duration.ZERO, Duration.ofMinutes(1));
+    private final MockEmployeeStore store = new MockEmployeeStore(
+            new MockEmployeeGenerator(42, Locale.ROOT, 1).generate(10), changeLog.andThen(events));
+    // released when a test is done with the client that stopped reading
+    private final CountDownLatch stalled = new CountDownLatch(1);
+    // responses to requests with the stall header block every write until released
+    private final Filter stall = (request, response, chain) -> chain.doFilter(
+            request,
+            ((HttpServletRequest) request).getHeader(STALL_HEADER) == null
+                    ? response
+                    : new StalledResponse((HttpServletResponse) response));
+    private final MockEmployeeListWriter listWriter =
+            new MockEmployeeListWriter(List.of(new MappingJackson2HttpMessageConverter(objectMapper)));
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new MockEmployeeController(
+                    new MockEmployeeService(
+                            new Faker(Locale.ROOT, new Random(42)),
+                            store,
+                            changeLog,
+                            new MockEmployeePersistence(
+                                    "", Duration.ZERO, false, false, false, DataSize.ofMegabytes(1))),
+                    listWriter,
+                    new MockEmployeeListCache(listWriter, DataSize.ofMegabytes(1), 6),
+                    events,
+                    Validation.buildDefaultValidatorFactory().getValidator()))
+            .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+            .addFilter(stall)
+            .build();
+
+    @AfterEach
+    void close() {
+        stalled.countDown();
+        events.close();
+    }
+
+    @Test
+    @DisplayName("A subscriber gets the current version and then every write as it happens")
+    void pushesWrites() throws Exception {
+        MockHttpServletResponse response = subscribe("/api/v1/employee/events", null);
+        List<JsonNode> first = await(response, received -> received.size() == 1);
+        assertEquals(0, first.get(0).get("version").asLong());
+
+        MockEmployee added = employee("Ada Lovelace");
+        store.add(added);
+        store.removeFirstByName("ada lovelace");
+
+        List<JsonNode> received = await(response, changes -> lastVersion(changes) == 2);
+        List<String> changes = new ArrayList<>();
+        received.forEach(event -> event.get("changes")
+                .forEach(change -> changes.add(
+                        change.get("type").asText() + " " + change.get("id").asText())));
+        assertEquals(List.of("CREATED " + added.getId(), "DELETED " + added.getId()), changes);
+        assertTrue(response.getContentAsString().contains("id:2\n"));
+    }
+
+    @Test
+    @DisplayName("Last-Event-ID resumes after that version and a version the log no longer has is truncated")
+    void resumes() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            store.add(employee("Employee " + i));
+        }
+
+        List<JsonNode> resumed = await(subscribe("/api/v1/employee/events", "3"), received -> !received.isEmpty());
+        assertEquals(5, resumed.get(0).get("version").asLong());
+        assertEquals(2, resumed.get(0).get("changes").size());
+
+        List<JsonNode> tooOld =
+                await(subscribe("/api/v1/employee/events?since=1", null), received -> !received.isEmpty());
+        assertTrue(tooOld.get(0).get("truncated").asBoolean());
+        assertEquals(5, tooOld.get(0).get("version").asLong());
+    }
+
+    @Test
+    @DisplayName("A subscriber that stops reading holds up only its own events")
+    void stalledSubscriber() throws Exception {
+        MockHttpServletResponse stalledResponse = subscribe("/api/v1/employee/events", null, true);
+        MockHttpServletResponse response = subscribe("/api/v1/employee/events", null);
+
+        store.add(employee("Ada Lovelace"));
+
+        assertEquals(1, lastVersion(await(response, received -> lastVersion(received) == 1)));
+        assertEquals("", stalledResponse.getContentAsString());
+
+        stalled.countDown();
+        store.add(employee("Grace Hopper"));
+        assertEquals(2, lastVersion(await(stalledResponse, received -> lastVersion(received) == 2)));
+    }
+
+    private MockHttpServletResponse subscribe(String path, String lastEventId) throws Exception {
+        return subscribe(path, lastEventId, false);
+    }
+
+    private MockHttpServletResponse subscribe(String path, String lastEventId, boolean stall) throws Exception {
+        var request = get(path);
+        if (lastEventId != null) {
+            request.header(MockEmployeeController.LAST_EVENT_ID_HEADER, lastEventId);
+        }
+        if (stall) {
+            request.header(STALL_HEADER, "true");
+        }
+        return mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+
+    /*
+     * Polls the events received so far until they satisfy done.
+     */
+    private List<JsonNode> await(MockHttpServletResponse response, Predicate<List<JsonNode>> done) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (true) {
+            List<JsonNode> received = new ArrayList<>();
+            String content = response.getContentAsString();
+            // only complete events, an event's parts may still be arriving
+            for (String line :
+                    content.substring(0, content.lastIndexOf("\n\n") + 1).split("\n")) {
+                if (line.startsWith("data:")) {
+                    received.add(objectMapper.readTree(line.substring("data:".length())));
+                }
+            }
+            if (done.test(received) || System.nanoTime() > deadline) {
+                return received;
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static long lastVersion(List<JsonNode> received) {
+        return received.isEmpty()
+                ? -1
+                : received.get(received.size() - 1).get("version").asLong();
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(100_000)
+                .age(40)
+                .title("Engineer")
+                .build();
+    }
+
+    /*
+     * A client that has stopped reading: every write blocks until the test releases it.
+     */
+    private final class StalledResponse extends HttpServletResponseWrapper {
+
+        private StalledResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            ServletOutputStream out = super.getOutputStream();
+            return new ServletOutputStream() {
+                @Override
+                public boolean isReady() {
+                    return stalled.getCount() == 0;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                    out.setWriteListener(writeListener);
+                }
+
+                @Override
+                public void write(int b) throws IOException {
+                    awaitReader();
+                    out.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    awaitReader();
+                    out.write(b, off, len);
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    awaitReader();
+                    out.flush();
+                }
+            };
+        }
+
+        private void awaitReader() throws IOException {
+            try {
+                if (!stalled.await(10, TimeUnit.SECONDS)) {
+                    throw new IOException("Write timed out");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+        }
+    }
+}
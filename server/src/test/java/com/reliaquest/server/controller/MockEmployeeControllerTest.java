@@ -0,0 +1,137 @@
+package com.reliaquest.server.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeChangeLog;
+import com.reliaquest.server.service.MockEmployeePersistence;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.MockEmployeeStore;
+import jakarta.validation.Validation;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+
+class MockEmployeeControllerTest {
+
+    private final ObjectMapper objectMapper =
+            new ObjectMapper().setFilterProvider(new SimpleFilterProvider().setFailOnUnknownId(false));
+    private final MockEmployeeChangeLog changeLog = new MockEmployeeChangeLog(10);
+    private final MockEmployeeStore store = new MockEmployeeStore(
+            List.of(
+                    employee("Tiger Nixon", 320_800),
+                    employee("Garrett Winters", 170_750),
+                    employee("Ashton Cox", 86_000),
+                    employee("Cedric Kelly", 433_060),
+                    employee("Airi Satou", 170_750)),
+            changeLog);
+    private final MockEmployeeListWriter listWriter =
+            new MockEmployeeListWriter(List.of(new MappingJackson2HttpMessageConverter(objectMapper)));
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new MockEmployeeController(
+                    new MockEmployeeService(
+                            new Faker(Locale.ROOT, new Random(42)),
+                            store,
+                            changeLog,
+                            new MockEmployeePersistence(
+                                    "", Duration.ZERO, false, false, false, DataSize.ofMegabytes(1))),
+                    listWriter,
+                    new MockEmployeeListCache(listWriter, DataSize.ofMegabytes(1), 6),
+                    new MockEmployeeChangeEvents(changeLog, Duration.ZERO, Duration.ofMinutes(1)),
+                    Validation.buildDefaultValidatorFactory().getValidator()))
+            .setControllerAdvice(new MockEmployeeControllerAdvice())
+            .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+            .build();
+
+    @Test
+    @DisplayName("Name searches ignore case and keep list order")
+    void searchEmployees() throws Exception {
+        assertEquals(List.of("Garrett Winters"), names("/api/v1/employee/search?name=TT"));
+        assertEquals(
+                List.of("Tiger Nixon", "Garrett Winters", "Cedric Kelly", "Airi Satou"),
+                names("/api/v1/employee/search?name=i&fields=name"));
+        mockMvc.perform(get("/api/v1/employee/search?name=i&fields=name"))
+                .andExpect(jsonPath("$.data[0].employee_salary").doesNotExist());
+        mockMvc.perform(get("/api/v1/employee/search").param("name", " ")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("The highest salary and the top earners come from the salary ranking, following writes")
+    void salaryQueries() throws Exception {
+        mockMvc.perform(get("/api/v1/employee/stats/maxSalary"))
+                .andExpect(jsonPath("$.data").value(433_060));
+        assertEquals(
+                List.of("Cedric Kelly", "Tiger Nixon", "Garrett Winters", "Airi Satou"),
+                names("/api/v1/employee/top?by=salary&n=4&fields=name"));
+
+        store.removeFirstByName("cedric kelly");
+        mockMvc.perform(get("/api/v1/employee/stats/maxSalary"))
+                .andExpect(jsonPath("$.data").value(320_800));
+        mockMvc.perform(get("/api/v1/employee/top?by=employee_salary&n=10"))
+                .andExpect(jsonPath("$.data.length()").value(4));
+
+        mockMvc.perform(get("/api/v1/employee/top?by=age&n=3")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/employee/top?by=salary&n=0")).andExpect(status().isBadRequest());
+        store.removeFirstByNames(List.of("Tiger Nixon", "Garrett Winters", "Ashton Cox", "Airi Satou"));
+        mockMvc.perform(get("/api/v1/employee/stats/maxSalary"))
+                .andExpect(jsonPath("$.data").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("HEAD answers the full list's headers, its size and the query endpoints without the list")
+    void headEmployees() throws Exception {
+        String eTag = mockMvc.perform(head("/api/v1/employee"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(MockEmployeeController.TOTAL_COUNT_HEADER, "5"))
+                .andExpect(header().string(MockEmployeeController.QUERIES_HEADER, MockEmployeeRequests.QUERIES))
+                .andExpect(content().bytes(new byte[0]))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        assertEquals("\"" + changeLog.epoch() + "-0\"", eTag);
+        mockMvc.perform(head("/api/v1/employee").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    private List<String> names(String uri) throws Exception {
+        byte[] body = mockMvc.perform(get(uri))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        List<String> names = new ArrayList<>();
+        objectMapper
+                .readTree(body)
+                .get("data")
+                .forEach(employee -> names.add(employee.get("employee_name").asText()));
+        return names;
+    }
+
+    private static MockEmployee employee(String name, int salary) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(salary)
+                .age(40)
+                .title("Engineer")
+                .build();
+    }
+}
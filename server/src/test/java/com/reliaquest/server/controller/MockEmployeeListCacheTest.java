@@ -0,0 +1,254 @@
+package com.reliaquest.server.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeChangeLog;
+import com.reliaquest.server.service.MockEmployeeGenerator;
+import com.reliaquest.server.service.MockEmployeePersistence;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.MockEmployeeSnapshot;
+import com.reliaquest.server.service.MockEmployeeStore;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+class MockEmployeeListCacheTest {
+
+    private final ObjectMapper objectMapper =
+            new ObjectMapper().setFilterProvider(new SimpleFilterProvider().setFailOnUnknownId(false));
+    private final MockEmployeeListWriter listWriter =
+            new MockEmployeeListWriter(List.of(new MappingJackson2HttpMessageConverter(objectMapper)));
+    private final MockEmployeeListCache cache = new MockEmployeeListCache(listWriter, DataSize.ofMegabytes(1), 6);
+    private final MockEmployeeChangeLog changeLog = new MockEmployeeChangeLog(10);
+    private final MockEmployeeStore store =
+            new MockEmployeeStore(new MockEmployeeGenerator(42, Locale.ROOT, 1).generate(100), changeLog);
+
+    @Test
+    @DisplayName("The cached list is the streamed list, compressed once per roster version")
+    void cachesPerVersion() throws Exception {
+        MockEmployeeSnapshot snapshot = store.snapshot();
+        MockEmployeeListCache.Entry entry =
+                cache.get(snapshot, MediaType.APPLICATION_JSON).orElseThrow();
+
+        assertArrayEquals(streamed(snapshot), entry.identity());
+        assertArrayEquals(entry.identity(), gunzip(entry.gzip()));
+        assertTrue(entry.gzip().length < entry.identity().length);
+        assertSame(entry, cache.get(snapshot, MediaType.APPLICATION_JSON).orElseThrow());
+
+        store.add(employee("Ada Lovelace"));
+        MockEmployeeListCache.Entry rebuilt =
+                cache.get(store.snapshot(), MediaType.APPLICATION_JSON).orElseThrow();
+        assertNotSame(entry, rebuilt);
+        assertEquals(store.snapshot().version(), rebuilt.version());
+        assertArrayEquals(streamed(store.snapshot()), gunzip(rebuilt.gzip()));
+        // a read still holding the old snapshot doesn't evict the new one
+        assertTrue(cache.get(snapshot, MediaType.APPLICATION_JSON).isEmpty());
+        assertSame(
+                rebuilt, cache.get(store.snapshot(), MediaType.APPLICATION_JSON).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Lists larger than the limit are not cached")
+    void tooLarge() {
+        MockEmployeeListCache small = new MockEmployeeListCache(listWriter, DataSize.ofBytes(1_000), 6);
+        MockEmployeeListCache disabled = new MockEmployeeListCache(listWriter, DataSize.ofBytes(0), 6);
+
+        assertTrue(small.get(store.snapshot(), MediaType.APPLICATION_JSON).isEmpty());
+        assertTrue(disabled.get(store.snapshot(), MediaType.APPLICATION_JSON).isEmpty());
+    }
+
+    @Test
+    @DisplayName("After a list too large, versions no smaller are not built until the roster shrinks")
+    void skipsBuildsAfterOverflow() throws Exception {
+        AtomicInteger builds = new AtomicInteger();
+        MockEmployeeListWriter counting =
+                new MockEmployeeListWriter(List.of(new MappingJackson2HttpMessageConverter(objectMapper))) {
+                    @Override
+                    public StreamingResponseBody write(
+                            List<MockEmployee> employees, FilterProvider filters, MediaType mediaType) {
+                        builds.incrementAndGet();
+                        return super.write(employees, filters, mediaType);
+                    }
+                };
+        // room for about 50 of the 100 employees
+        long half = streamed(store.snapshot()).length / 2;
+        MockEmployeeListCache small = new MockEmployeeListCache(counting, DataSize.ofBytes(half), 6);
+
+        assertTrue(small.get(store.snapshot(), MediaType.APPLICATION_JSON).isEmpty());
+        store.add(employee("Ada Lovelace"));
+        assertTrue(small.get(store.snapshot(), MediaType.APPLICATION_JSON).isEmpty());
+        assertEquals(1, builds.get());
+
+        for (int i = 0; i < 60; i++) {
+            store.removeFirstByName(store.snapshot().employees().get(0).getName());
+        }
+        assertTrue(small.get(store.snapshot(), MediaType.APPLICATION_JSON).isPresent());
+        assertEquals(2, builds.get());
+    }
+
+    @Test
+    @DisplayName("Reads stream the list rather than wait for a build that may turn out too large")
+    void doesNotWaitForUncertainBuilds() throws Exception {
+        CountDownLatch building = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MockEmployeeListWriter blocking =
+                new MockEmployeeListWriter(List.of(new MappingJackson2HttpMessageConverter(objectMapper))) {
+                    @Override
+                    public StreamingResponseBody write(
+                            List<MockEmployee> employees, FilterProvider filters, MediaType mediaType) {
+                        building.countDown();
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return super.write(employees, filters, mediaType);
+                    }
+                };
+        MockEmployeeListCache cache = new MockEmployeeListCache(blocking, DataSize.ofMegabytes(1), 6);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Optional<MockEmployeeListCache.Entry>> first =
+                    executor.submit(() -> cache.get(store.snapshot(), MediaType.APPLICATION_JSON));
+            building.await();
+
+            assertTrue(cache.get(store.snapshot(), MediaType.APPLICATION_JSON).isEmpty());
+            release.countDown();
+            assertTrue(first.get(10, TimeUnit.SECONDS).isPresent());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("gzip is accepted by name or wildcard unless its q-value is 0")
+    void acceptsGzip() {
+        assertTrue(MockEmployeeListCache.acceptsGzip("gzip, deflate, br"));
+        assertTrue(MockEmployeeListCache.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertTrue(MockEmployeeListCache.acceptsGzip("*"));
+        assertFalse(MockEmployeeListCache.acceptsGzip(null));
+        assertFalse(MockEmployeeListCache.acceptsGzip("identity"));
+        assertFalse(MockEmployeeListCache.acceptsGzip("gzip;q=0"));
+        assertFalse(MockEmployeeListCache.acceptsGzip("gzip;q=0, *"));
+    }
+
+    @Test
+    @DisplayName("The full list is served gzip-compressed from the cache and revalidated by its ETag")
+    void servesCompressed() throws Exception {
+        MockMvc mockMvc = mockMvc();
+
+        MockHttpServletResponse gzipped =
+                perform(mockMvc, get("/api/v1/employee").header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+        String eTag = gzipped.getHeader(HttpHeaders.ETAG);
+        assertEquals(MockEmployeeListCache.GZIP, gzipped.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(eTag.endsWith("-gzip\""));
+        assertArrayEquals(streamed(store.snapshot()), gunzip(gzipped.getContentAsByteArray()));
+
+        MockHttpServletResponse plain = perform(mockMvc, get("/api/v1/employee"));
+        assertNull(plain.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(streamed(store.snapshot()), plain.getContentAsByteArray());
+
+        mockMvc.perform(get("/api/v1/employee")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        // projections are compressed as they are streamed
+        MockHttpServletResponse projected =
+                perform(mockMvc, get("/api/v1/employee?fields=name").header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+        assertTrue(objectMapper
+                .readTree(gunzip(projected.getContentAsByteArray()))
+                .at("/data/0")
+                .has("employee_name"));
+
+        store.add(employee("Ada Lovelace"));
+        mockMvc.perform(get("/api/v1/employee")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, "Accept, Accept-Encoding"));
+    }
+
+    private MockMvc mockMvc() {
+        return MockMvcBuilders.standaloneSetup(new MockEmployeeController(
+                        new MockEmployeeService(
+                                new Faker(Locale.ROOT, new Random(42)),
+                                store,
+                                changeLog,
+                                new MockEmployeePersistence(
+                                        "", Duration.ZERO, false, false, false, DataSize.ofMegabytes(1))),
+                        listWriter,
+                        cache,
+                        new MockEmployeeChangeEvents(changeLog, Duration.ZERO, Duration.ofMinutes(1)),
+                        Validation.buildDefaultValidatorFactory().getValidator()))
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .build();
+    }
+
+    private static MockHttpServletResponse perform(MockMvc mockMvc, RequestBuilder request) throws Exception {
+        MvcResult started = mockMvc.perform(request).andReturn();
+        return mockMvc.perform(asyncDispatch(started)).andReturn().getResponse();
+    }
+
+    private byte[] streamed(MockEmployeeSnapshot snapshot) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        listWriter.write(snapshot.employees(), null).writeTo(out);
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(100_000)
+                .age(40)
+                .title("Engineer")
+                .build();
+    }
+}
@@ -0,0 +1,151 @@
+package com.reliaquest.server.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.MockEmployeeGenerator;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+class MockEmployeeListWriterTest {
+
+    private final ObjectMapper objectMapper =
+            new ObjectMapper().setFilterProvider(new SimpleFilterProvider().setFailOnUnknownId(false));
+    private final ObjectMapper smileMapper = configured(Jackson2ObjectMapperBuilder.smile());
+    private final ObjectMapper cborMapper = configured(Jackson2ObjectMapperBuilder.cbor());
+    private final MockEmployeeListWriter writer = new MockEmployeeListWriter(List.of(
+            new MappingJackson2SmileHttpMessageConverter(smileMapper),
+            new MappingJackson2HttpMessageConverter(objectMapper),
+            new MappingJackson2CborHttpMessageConverter(cborMapper)));
+    private final List<MockEmployee> employees = new MockEmployeeGenerator(42, Locale.ROOT, 1).generate(100);
+
+    @Test
+    @DisplayName("A streamed list is the same JSON as the serialized response")
+    void streamedMatchesSerialized() throws Exception {
+        assertEquals(serialized(employees, null), streamed(employees, null));
+        assertEquals(serialized(List.of(), null), streamed(List.of(), null));
+    }
+
+    @Test
+    @DisplayName("A streamed list applies the fields projection")
+    void streamedAppliesProjection() throws Exception {
+        FilterProvider filters = new SimpleFilterProvider()
+                .addFilter(
+                        MockEmployee.FIELDS_FILTER,
+                        SimpleBeanPropertyFilter.filterOutAllExcept(Set.of("id", "employee_name")));
+
+        assertEquals(serialized(employees, filters), streamed(employees, filters));
+    }
+
+    @Test
+    @DisplayName("Smile and CBOR are negotiated by Accept and streamed like their serialized responses")
+    void streamedBinary() throws Exception {
+        MediaType smile = writer.negotiate(MediaType.parseMediaTypes("application/x-jackson-smile, application/json"));
+        MediaType cbor = writer.negotiate(MediaType.parseMediaTypes("application/cbor"));
+
+        assertEquals(new MediaType("application", "x-jackson-smile"), smile);
+        assertEquals(MediaType.APPLICATION_CBOR, cbor);
+        // the streamed array has no length up front, so compare what they decode to
+        assertEquals(
+                smileMapper.readTree(smileMapper.writeValueAsBytes(Response.handledWith(employees))),
+                smileMapper.readTree(bytes(employees, smile)));
+        assertEquals(
+                cborMapper.readTree(cborMapper.writeValueAsBytes(Response.handledWith(employees))),
+                cborMapper.readTree(bytes(employees, cbor)));
+        assertEquals(
+                employees.get(0).getId().toString(),
+                cborMapper.readTree(bytes(employees, cbor)).at("/data/0/id").textValue());
+    }
+
+    @Test
+    @DisplayName("JSON is written to clients that accept anything or nothing the writer knows")
+    void negotiatesJsonByDefault() {
+        assertEquals(MediaType.APPLICATION_JSON, writer.negotiate(MediaType.parseMediaTypes("*/*")));
+        assertEquals(MediaType.APPLICATION_JSON, writer.negotiate(MediaType.parseMediaTypes("text/html")));
+        assertEquals(MediaType.APPLICATION_JSON, writer.negotiate(List.of()));
+    }
+
+    @Test
+    @DisplayName("A list written in chunks is the same as the streamed list, in every format and compressed")
+    void chunked() throws Exception {
+        List<MockEmployee> roster = new MockEmployeeGenerator(7, Locale.ROOT, 1).generate(2_000);
+        MediaType smile = new MediaType("application", "x-jackson-smile");
+
+        List<byte[]> chunks = chunks(roster, MediaType.APPLICATION_JSON, MockEmployeeListWriter.Encoding.IDENTITY);
+        assertTrue(chunks.size() > 2);
+        assertArrayEquals(bytes(roster, MediaType.APPLICATION_JSON), concat(chunks));
+        assertArrayEquals(
+                bytes(roster, smile), concat(chunks(roster, smile, MockEmployeeListWriter.Encoding.IDENTITY)));
+        assertArrayEquals(
+                bytes(List.of(), MediaType.APPLICATION_JSON),
+                concat(chunks(List.of(), MediaType.APPLICATION_JSON, MockEmployeeListWriter.Encoding.IDENTITY)));
+        byte[] compressed = concat(chunks(roster, MediaType.APPLICATION_JSON, GZIPOutputStream::new));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertArrayEquals(bytes(roster, MediaType.APPLICATION_JSON), in.readAllBytes());
+        }
+    }
+
+    private List<byte[]> chunks(List<MockEmployee> list, MediaType mediaType, MockEmployeeListWriter.Encoding encoding)
+            throws Exception {
+        List<byte[]> chunks = new ArrayList<>();
+        try (MockEmployeeListWriter.Chunks written = writer.chunks(list, null, mediaType, encoding)) {
+            for (byte[] chunk = written.next(); chunk != null; chunk = written.next()) {
+                chunks.add(chunk);
+            }
+        }
+        return chunks;
+    }
+
+    private static byte[] concat(List<byte[]> chunks) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        chunks.forEach(out::writeBytes);
+        return out.toByteArray();
+    }
+
+    // like the server's converters
+    private static ObjectMapper configured(Jackson2ObjectMapperBuilder builder) {
+        ServerConfiguration configuration = new ServerConfiguration();
+        configuration.unfilteredByDefault().customize(builder);
+        configuration.uuidsAsText().customize(builder);
+        return builder.build();
+    }
+
+    private byte[] bytes(List<MockEmployee> list, MediaType mediaType) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(list, null, mediaType).writeTo(out);
+        return out.toByteArray();
+    }
+
+    private String streamed(List<MockEmployee> list, FilterProvider filters) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(list, filters).writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private String serialized(List<MockEmployee> list, FilterProvider filters) throws Exception {
+        return (filters == null ? objectMapper.writer() : objectMapper.writer(filters))
+                .writeValueAsString(Response.handledWith(list));
+    }
+}
@@ -0,0 +1,256 @@
+package com.reliaquest.server.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.service.MockEmployeeChangeLog;
+import com.reliaquest.server.service.MockEmployeeGenerator;
+import com.reliaquest.server.service.MockEmployeePersistence;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.MockEmployeeStore;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.util.unit.DataSize;
+
+class ReactiveMockEmployeeControllerTest {
+
+    private final ObjectMapper objectMapper =
+            new ObjectMapper().setFilterProvider(new SimpleFilterProvider().setFailOnUnknownId(false));
+    private final MockEmployeeChangeLog changeLog = new MockEmployeeChangeLog(10);
+    private final ReactiveMockEmployeeChangeEvents events =
+            new ReactiveMockEmployeeChangeEvents(changeLog, Duration.ZERO, Duration.ofMinutes(1));
+    private final MockEmployeeStore store = new MockEmployeeStore(
+            new MockEmployeeGenerator(42, Locale.ROOT, 1).generate(2_000), changeLog.andThen(events));
+    private final MockEmployeeListWriter listWriter =
+            new MockEmployeeListWriter(List.of(new MappingJackson2HttpMessageConverter(objectMapper)));
+    private final WebTestClient client = WebTestClient.bindToController(new ReactiveMockEmployeeController(
+                    new MockEmployeeService(
+                            new Faker(Locale.ROOT, new Random(42)),
+                            store,
+                            changeLog,
+                            new MockEmployeePersistence(
+                                    "", Duration.ZERO, false, false, false, DataSize.ofMegabytes(1))),
+                    listWriter,
+                    new MockEmployeeListCache(listWriter, DataSize.ofMegabytes(1), 6),
+                    events,
+                    Validation.buildDefaultValidatorFactory().getValidator()))
+            .controllerAdvice(new MockEmployeeControllerAdvice())
+            .httpMessageCodecs(codecs -> {
+                codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+            })
+            .configureClient()
+            .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(-1))
+            .build();
+
+    @AfterEach
+    void close() {
+        events.close();
+    }
+
+    @Test
+    @DisplayName(
+            "The full list is the servlet runtime's, cached or written in chunks, compressed and revalidated alike")
+    void getAllEmployees() throws Exception {
+        // the cache holds lists up to 1MB, this one is about 400KB
+        EntityExchangeResult<byte[]> cached = get("/api/v1/employee", "gzip");
+        String eTag = cached.getResponseHeaders().getETag();
+        assertTrue(eTag.endsWith("-gzip\""));
+        assertEquals(MockEmployeeListCache.GZIP, cached.getResponseHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("2000", cached.getResponseHeaders().getFirst(MockEmployeeController.TOTAL_COUNT_HEADER));
+        assertArrayEquals(streamed(null), gunzip(cached.getResponseBody()));
+        assertArrayEquals(streamed(null), get("/api/v1/employee", null).getResponseBody());
+
+        client.get()
+                .uri("/api/v1/employee")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus()
+                .isNotModified();
+
+        // projections are written in chunks, compressed or not
+        assertArrayEquals(
+                streamed("name,salary"),
+                get("/api/v1/employee?fields=name,salary", null).getResponseBody());
+        EntityExchangeResult<byte[]> projected = get("/api/v1/employee?fields=name,salary", "gzip");
+        assertNull(projected.getResponseHeaders().get(HttpHeaders.CONTENT_LENGTH));
+        assertArrayEquals(streamed("name,salary"), gunzip(projected.getResponseBody()));
+
+        client.get()
+                .uri("/api/v1/employee?fields=bogus")
+                .exchange()
+                .expectStatus()
+                .isBadRequest()
+                .expectHeader()
+                .doesNotExist(HttpHeaders.CONTENT_ENCODING);
+    }
+
+    @Test
+    @DisplayName("Searches, the highest salary and the top earners are answered like the servlet runtime's")
+    void queries() throws Exception {
+        List<MockEmployee> ranked = store.snapshot().employees().stream()
+                .sorted(Comparator.comparing(MockEmployee::getSalary).reversed())
+                .toList();
+        String fragment = ranked.get(0).getName().substring(1, 4).toUpperCase(Locale.ROOT);
+
+        JsonNode found = json("/api/v1/employee/search?name=" + fragment);
+        assertEquals(
+                store.snapshot().employees().stream()
+                        .filter(employee ->
+                                employee.getName().toLowerCase(Locale.ROOT).contains(fragment.toLowerCase(Locale.ROOT)))
+                        .count(),
+                found.get("data").size());
+        assertEquals(
+                ranked.get(0).getSalary(),
+                json("/api/v1/employee/stats/maxSalary").get("data").asInt());
+        JsonNode top = json("/api/v1/employee/top?by=salary&n=3&fields=name").get("data");
+        assertEquals(3, top.size());
+        assertEquals(ranked.get(0).getName(), top.get(0).get("employee_name").asText());
+        assertFalse(top.get(0).has("employee_salary"));
+
+        client.get()
+                .uri("/api/v1/employee/top?by=age&n=3")
+                .exchange()
+                .expectStatus()
+                .isBadRequest();
+        client.get()
+                .uri("/api/v1/employee/search?name= ")
+                .exchange()
+                .expectStatus()
+                .isBadRequest();
+
+        EntityExchangeResult<byte[]> head = client.head()
+                .uri("/api/v1/employee")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .returnResult();
+        assertEquals("2000", head.getResponseHeaders().getFirst(MockEmployeeController.TOTAL_COUNT_HEADER));
+        assertEquals(
+                MockEmployeeRequests.QUERIES,
+                head.getResponseHeaders().getFirst(MockEmployeeController.QUERIES_HEADER));
+        assertEquals(
+                get("/api/v1/employee", null).getResponseHeaders().getETag(),
+                head.getResponseHeaders().getETag());
+        assertNull(head.getResponseBody());
+    }
+
+    @Test
+    @DisplayName("Bulk creates answer per input, in order, in one roster write")
+    void createEmployees() throws Exception {
+        long version = store.snapshot().version();
+
+        JsonNode result = objectMapper.readTree(client.post()
+                .uri("/api/v1/employee/bulk")
+                .bodyValue(List.of(
+                        Map.of("name", "Ada Lovelace", "salary", 100_000, "age", 36, "title", "Engineer"),
+                        Map.of("name", "")))
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .returnResult()
+                .getResponseBody());
+
+        assertEquals("Ada Lovelace", result.at("/data/0/data/employee_name").asText());
+        assertFalse(result.at("/data/1/error").isMissingNode());
+        assertEquals(version + 1, store.snapshot().version());
+    }
+
+    @Test
+    @DisplayName("A subscriber gets the current version and then the writes, merged when it is behind")
+    void pushesWrites() {
+        Iterator<ServerSentEvent<MockEmployeeChanges>> received =
+                events.subscribe(-1).toIterable(1).iterator();
+        ServerSentEvent<MockEmployeeChanges> first = received.next();
+        assertEquals(MockEmployeeChangeEvents.EVENT_NAME, first.event());
+        assertEquals("0", first.id());
+
+        MockEmployee added = employee("Ada Lovelace");
+        store.add(added);
+        store.removeFirstByName("ada lovelace");
+
+        long version = 0;
+        int changes = 0;
+        while (version < 2) {
+            MockEmployeeChanges next = received.next().data();
+            version = next.version();
+            changes += next.changes().size();
+        }
+        assertEquals(2, changes);
+    }
+
+    private EntityExchangeResult<byte[]> get(String uri, String acceptEncoding) {
+        return client.get()
+                .uri(uri)
+                .headers(headers -> {
+                    if (acceptEncoding != null) {
+                        headers.set(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+                    }
+                })
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .returnResult();
+    }
+
+    private JsonNode json(String uri) throws Exception {
+        return objectMapper.readTree(get(uri, null).getResponseBody());
+    }
+
+    private byte[] streamed(String fields) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        listWriter
+                .write(store.snapshot().employees(), MockEmployeeRequests.filters(fields))
+                .writeTo(out);
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(100_000)
+                .age(40)
+                .title("Engineer")
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeChangeLogTest {
+
+    private final MockEmployeeChangeLog changeLog = new MockEmployeeChangeLog(3);
+
+    @Test
+    @DisplayName("Changes after a version are returned oldest first with the current version")
+    void changesSince() {
+        MockEmployee first = employee("Ada");
+        MockEmployee second = employee("Grace");
+        changeLog.created(1, first);
+        changeLog.created(2, second);
+        changeLog.deleted(3, first);
+
+        MockEmployeeChanges changes = changeLog.since(1);
+
+        assertFalse(changes.truncated());
+        assertEquals(3, changes.version());
+        assertEquals(2, changes.changes().size());
+        assertEquals(second, changes.changes().get(0).employee());
+        assertEquals(MockEmployeeChange.Type.DELETED, changes.changes().get(1).type());
+        assertEquals(first.getId(), changes.changes().get(1).id());
+        assertNull(changes.changes().get(1).employee());
+        assertTrue(changeLog.since(3).changes().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Versions the bounded log no longer covers, unknown or future versions are truncated")
+    void truncated() {
+        for (int i = 0; i < 5; i++) {
+            changeLog.created(i + 1, employee("Employee " + i));
+        }
+
+        assertFalse(changeLog.since(2).truncated());
+        assertEquals(3, changeLog.since(2).changes().size());
+        assertTrue(changeLog.since(1).truncated());
+        assertTrue(changeLog.since(-1).truncated());
+        assertTrue(changeLog.since(6).truncated());
+        assertEquals(5, changeLog.since(-1).version());
+    }
+
+    @Test
+    @DisplayName("The changes of a batch share a version and are served or truncated together")
+    void batches() {
+        changeLog.created(1, employee("Ada"));
+        changeLog.createdAll(2, List.of(employee("Grace"), employee("Alan")));
+
+        assertEquals(3, changeLog.since(0).changes().size());
+        assertEquals(2, changeLog.since(1).changes().size());
+        assertEquals(2, changeLog.since(1).version());
+        assertTrue(changeLog.since(2).changes().isEmpty());
+
+        changeLog.deletedAll(3, List.of(employee("Ada"), employee("Grace")));
+
+        // the log of three dropped Ada and one change of batch 2
+        assertTrue(changeLog.since(1).truncated());
+        assertFalse(changeLog.since(2).truncated());
+        assertEquals(2, changeLog.since(2).changes().size());
+    }
+
+    @Test
+    @DisplayName("An empty log only serves its current version")
+    void emptyLog() {
+        assertFalse(changeLog.since(0).truncated());
+        assertTrue(changeLog.since(-1).truncated());
+    }
+
+    private static MockEmployee employee(String name) {
+        return new MockEmployee(UUID.randomUUID(), name, 50000, 30, "Engineer", "x@company.com");
+    }
+}
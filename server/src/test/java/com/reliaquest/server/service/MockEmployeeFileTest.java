@@ -0,0 +1,69 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MockEmployeeFileTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("A saved roster loads back equal, with null fields and shared titles")
+    void roundTrip() throws IOException {
+        List<MockEmployee> employees = new MockEmployeeGenerator(42, Locale.ROOT, 1).generate(5_000);
+        MockEmployee sparse = new MockEmployee(UUID.randomUUID(), null, null, null, null, null);
+        MockEmployee unicode = new MockEmployee(UUID.randomUUID(), "Zoë Ångström 李", 1, 2, "Straße", "zoë@company.com");
+        List<MockEmployee> roster = new ArrayList<>(employees);
+        roster.add(sparse);
+        roster.add(unicode);
+        Path file = dir.resolve("roster.bin");
+
+        MockEmployeeFile.write(file, new MockEmployeeSnapshot(7, roster));
+        MockEmployeeSnapshot loaded = MockEmployeeFile.read(file).orElseThrow();
+
+        assertEquals(7, loaded.version());
+        assertEquals(roster, loaded.employees());
+        MockEmployee first = loaded.employees().get(0);
+        MockEmployee sameTitle = loaded.employees().stream()
+                .skip(1)
+                .filter(employee -> first.getTitle().equals(employee.getTitle()))
+                .findFirst()
+                .orElseThrow();
+        assertSame(first.getTitle(), sameTitle.getTitle());
+        try (var files = Files.list(dir)) {
+            assertEquals(List.of(file), files.toList());
+        }
+    }
+
+    @Test
+    @DisplayName("A missing file reads as empty, a damaged one fails")
+    void missingAndCorruptFiles() throws IOException {
+        Path file = dir.resolve("roster.bin");
+        assertTrue(MockEmployeeFile.read(file).isEmpty());
+
+        MockEmployeeFile.write(
+                file, new MockEmployeeSnapshot(1, new MockEmployeeGenerator(1, Locale.ROOT, 1).generate(10)));
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+        assertThrows(IOException.class, () -> MockEmployeeFile.read(file));
+
+        Files.writeString(file, "not a roster");
+        assertThrows(IOException.class, () -> MockEmployeeFile.read(file));
+    }
+}
@@ -0,0 +1,43 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeGeneratorTest {
+
+    private static final int COUNT = 2 * MockEmployeeGenerator.CHUNK_SIZE + 5;
+
+    @Test
+    @DisplayName("The same seed generates the same roster whatever the number of threads")
+    void sameSeedSameRoster() {
+        List<MockEmployee> sequential = new MockEmployeeGenerator(42, Locale.ROOT, 1).generate(COUNT);
+        List<MockEmployee> parallel = new MockEmployeeGenerator(42, Locale.ROOT, 4).generate(COUNT);
+
+        assertEquals(COUNT, sequential.size());
+        assertEquals(sequential, parallel);
+        assertNotEquals(sequential, new MockEmployeeGenerator(43, Locale.ROOT, 4).generate(COUNT));
+    }
+
+    @Test
+    @DisplayName("Generated employees are complete, have unique ids and stay within the value ranges")
+    void generatedEmployeesAreValid() {
+        List<MockEmployee> employees = new MockEmployeeGenerator(7, Locale.ROOT, 2).generate(COUNT);
+
+        assertEquals(
+                COUNT, employees.stream().map(MockEmployee::getId).distinct().count());
+        for (MockEmployee employee : employees) {
+            assertEquals(4, employee.getId().version());
+            assertTrue(!employee.getName().isBlank() && !employee.getTitle().isBlank(), employee::toString);
+            assertTrue(employee.getSalary() >= 30000 && employee.getSalary() < 500000, employee::toString);
+            assertTrue(employee.getAge() >= 16 && employee.getAge() < 70, employee::toString);
+            assertTrue(employee.getEmail().endsWith("@company.com"), employee::toString);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MockEmployeeLogTest {
+
+    @TempDir
+    Path dir;
+
+    private final List<MockEmployee> roster = new MockEmployeeGenerator(42, Locale.ROOT, 1).generate(50);
+
+    @Test
+    @DisplayName("Logged creates and deletes replay onto the roster, including null and non-ASCII fields")
+    void replaysWrites() throws IOException {
+        Path file = dir.resolve("roster.bin");
+        MockEmployeeStore store = new MockEmployeeStore(roster, new MockEmployeeLog(file, 1 << 16, () -> {}));
+        store.add(new MockEmployee(UUID.randomUUID(), "Zoë Ångström 李", 1, 2, "Straße", "zoë@company.com"));
+        store.add(new MockEmployee(UUID.randomUUID(), null, null, null, null, null));
+        store.removeFirstByName(roster.get(3).getName());
+
+        MockEmployeeLog.Replay replay = MockEmployeeLog.replay(file, roster);
+
+        assertEquals(3, replay.operations());
+        assertEquals(sorted(store.all()), sorted(replay.employees()));
+    }
+
+    @Test
+    @DisplayName("Replaying onto a roster that already contains some of the writes gives the same roster")
+    void replayIsIdempotent() throws IOException {
+        Path file = dir.resolve("roster.bin");
+        MockEmployeeLog log = new MockEmployeeLog(file, 1 << 16, () -> {});
+        MockEmployeeStore store = new MockEmployeeStore(roster, log);
+        store.add(employee("Jill Jenkins"));
+        List<MockEmployee> midway = List.copyOf(store.all());
+        store.removeFirstByName("Jill Jenkins");
+        store.add(employee("Tiger Nixon"));
+
+        assertEquals(
+                sorted(store.all()), sorted(MockEmployeeLog.replay(file, midway).employees()));
+        assertEquals(
+                sorted(store.all()),
+                sorted(MockEmployeeLog.replay(file, List.copyOf(store.all())).employees()));
+    }
+
+    @Test
+    @DisplayName("A full segment continues in a new one and reports it; older segments can be dropped")
+    void rollsOverFullSegments() throws IOException {
+        Path file = dir.resolve("roster.bin");
+        AtomicInteger full = new AtomicInteger();
+        MockEmployeeLog log = new MockEmployeeLog(file, 4096, full::incrementAndGet);
+        MockEmployeeStore store = new MockEmployeeStore(roster, log);
+        for (int i = 0; i < 200; i++) {
+            store.add(employee("Employee " + i));
+        }
+
+        assertTrue(full.get() > 1, "segments filled: " + full.get());
+        assertEquals(full.get() + 1, segments(file).size());
+        assertEquals(
+                sorted(store.all()), sorted(MockEmployeeLog.replay(file, roster).employees()));
+
+        long segment = log.roll();
+        log.deleteBefore(segment);
+        assertEquals(List.of(file.getFileName() + ".log." + segment), segments(file));
+        assertEquals(0, MockEmployeeLog.replay(file, roster).operations());
+    }
+
+    @Test
+    @DisplayName("Replay stops at a torn write")
+    void stopsAtTornWrite() throws IOException {
+        Path file = dir.resolve("roster.bin");
+        MockEmployeeStore store = new MockEmployeeStore(roster, new MockEmployeeLog(file, 1 << 16, () -> {}));
+        store.add(employee("Jill Jenkins"));
+        MockEmployee lost = employee("Tiger Nixon");
+        store.add(lost);
+        try (FileChannel channel = FileChannel.open(
+                file.resolveSibling(segments(file).get(0)), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // the last byte of the second write's email
+            long position = lastNonZero(channel);
+            channel.write(ByteBuffer.wrap(new byte[] {'X'}), position);
+        }
+
+        MockEmployeeLog.Replay replay = MockEmployeeLog.replay(file, roster);
+
+        assertEquals(1, replay.operations());
+        assertEquals(roster.size() + 1, replay.employees().size());
+        assertFalse(replay.employees().contains(lost));
+    }
+
+    @Test
+    @DisplayName("A bulk write is logged as one record and replayed whole or not at all")
+    void replaysBatchesWhole() throws IOException {
+        Path file = dir.resolve("roster.bin");
+        MockEmployeeStore store = new MockEmployeeStore(roster, new MockEmployeeLog(file, 1 << 16, () -> {}));
+        store.addAll(List.of(employee("Jill Jenkins"), employee("Tiger Nixon")));
+        store.removeFirstByNames(List.of("Jill Jenkins", roster.get(3).getName(), "Nobody"));
+
+        MockEmployeeLog.Replay replay = MockEmployeeLog.replay(file, roster);
+        assertEquals(4, replay.operations());
+        assertEquals(sorted(store.all()), sorted(replay.employees()));
+
+        List<MockEmployee> lost = List.of(employee("Ashton Cox"), employee("Cedric Kelly"), employee("Airi Satou"));
+        store.addAll(lost);
+        try (FileChannel channel = FileChannel.open(
+                file.resolveSibling(segments(file).get(0)), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // the last byte of the last employee of the batch
+            channel.write(ByteBuffer.wrap(new byte[] {'X'}), lastNonZero(channel));
+        }
+
+        replay = MockEmployeeLog.replay(file, roster);
+        assertEquals(4, replay.operations());
+        assertTrue(replay.employees().stream().noneMatch(lost::contains));
+    }
+
+    @Test
+    @DisplayName("A write too large for a segment is rejected before the store publishes it")
+    void rejectsOversizedWrites() throws IOException {
+        MockEmployeeStore store =
+                new MockEmployeeStore(roster, new MockEmployeeLog(dir.resolve("roster.bin"), 4096, () -> {}));
+        List<MockEmployee> batch = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            batch.add(employee("Employee " + i));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> store.add(employee("Ω".repeat(2048))));
+        assertThrows(IllegalArgumentException.class, () -> store.addAll(batch));
+        // bounded by the names given, as many as could be deleted
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> store.removeFirstByNames(
+                        Collections.nCopies(300, roster.get(0).getName())));
+
+        assertEquals(0, store.snapshot().version());
+        assertEquals(roster.size(), store.all().size());
+    }
+
+    @Test
+    @DisplayName("A log that cannot start a new segment fails, but the writes still succeed and a save is requested")
+    void failedRollFailsTheLog() throws IOException {
+        Path file = dir.resolve("roster.bin");
+        AtomicInteger full = new AtomicInteger();
+        MockEmployeeLog log = new MockEmployeeLog(file, 4096, full::incrementAndGet);
+        MockEmployeeStore store = new MockEmployeeStore(roster, log);
+        // taken, so the next segment cannot be created
+        Files.createFile(file.resolveSibling(file.getFileName() + ".log.2"));
+
+        for (int i = 0; i < 200; i++) {
+            store.add(employee("Employee " + i));
+            log.sync();
+        }
+
+        assertTrue(log.isFailed());
+        assertEquals(1, full.get());
+        assertEquals(roster.size() + 200, store.all().size());
+        assertThrows(IOException.class, log::roll);
+    }
+
+    @Test
+    @DisplayName("Concurrent writers all return from sync with their writes on disk")
+    void groupCommit() throws Exception {
+        Path file = dir.resolve("roster.bin");
+        MockEmployeeLog log = new MockEmployeeLog(file, 1 << 20, () -> {});
+        MockEmployeeStore store = new MockEmployeeStore(roster, log);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                int number = thread;
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        store.add(employee("Writer " + number + " " + i));
+                        log.sync();
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        log.close();
+
+        assertEquals(
+                sorted(store.all()), sorted(MockEmployeeLog.replay(file, roster).employees()));
+    }
+
+    @Test
+    @DisplayName("Rolling while writers sync loses nothing, and a segment never forced replays as empty")
+    void rollsWhileWriting() throws Exception {
+        Path file = dir.resolve("roster.bin");
+        MockEmployeeLog log = new MockEmployeeLog(file, 1 << 16, () -> {});
+        MockEmployeeStore store = new MockEmployeeStore(roster, log);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int thread = 0; thread < 3; thread++) {
+                int number = thread;
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        store.add(employee("Writer " + number + " " + i));
+                        log.sync();
+                    }
+                }));
+            }
+            writers.add(executor.submit(() -> {
+                for (int i = 0; i < 20; i++) {
+                    log.roll();
+                }
+                return null;
+            }));
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        log.close();
+        // as left by a machine that went down right after the segment was started
+        Files.write(file.resolveSibling(file.getFileName() + ".log.99"), new byte[4096]);
+
+        assertEquals(
+                sorted(store.all()), sorted(MockEmployeeLog.replay(file, roster).employees()));
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(100_000)
+                .age(40)
+                .title("Engineer")
+                .email("someone@company.com")
+                .build();
+    }
+
+    private static List<MockEmployee> sorted(Collection<MockEmployee> employees) {
+        List<MockEmployee> sorted = new ArrayList<>(employees);
+        sorted.sort((a, b) -> a.getId().compareTo(b.getId()));
+        return sorted;
+    }
+
+    private List<String> segments(Path file) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(file.getFileName() + ".log."))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long lastNonZero(FileChannel channel) throws IOException {
+        ByteBuffer content = ByteBuffer.allocate((int) channel.size());
+        channel.read(content, 0);
+        for (int i = content.capacity() - 1; i >= 0; i--) {
+            if (content.get(i) != 0) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("empty segment");
+    }
+}
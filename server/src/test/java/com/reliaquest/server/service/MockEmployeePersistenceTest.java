@@ -0,0 +1,124 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+class MockEmployeePersistenceTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("A generated roster is saved, changes are saved on shutdown and the next start loads them")
+    void savesAndReloads() throws Exception {
+        String file = dir.resolve("roster.bin").toString();
+        MockEmployeePersistence first =
+                new MockEmployeePersistence(file, Duration.ZERO, true, false, true, DataSize.ofMegabytes(1));
+        assertTrue(first.load().isEmpty());
+        MockEmployeeStore store = new MockEmployeeStore(
+                new MockEmployeeGenerator(42, Locale.ROOT, 1).generate(100), new MockEmployeeChangeLog(10));
+        first.persist(store);
+        store.add(MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name("Jill Jenkins")
+                .build());
+        first.close();
+        assertFalse(first.save(), "nothing changed since the shutdown save");
+
+        MockEmployeePersistence second =
+                new MockEmployeePersistence(file, Duration.ZERO, true, false, true, DataSize.ofMegabytes(1));
+        List<MockEmployee> loaded = second.load().orElseThrow();
+        assertEquals(store.all(), loaded);
+        second.persist(new MockEmployeeStore(loaded, new MockEmployeeChangeLog(10)));
+        second.close();
+        assertFalse(second.save(), "an unchanged loaded roster is not written again");
+    }
+
+    @Test
+    @DisplayName("With the log on, writes survive a restart without a shutdown save and are compacted into the file")
+    void replaysLoggedWrites() throws Exception {
+        String file = dir.resolve("roster.bin").toString();
+        MockEmployeePersistence first =
+                new MockEmployeePersistence(file, Duration.ZERO, false, true, true, DataSize.ofKilobytes(4));
+        assertTrue(first.load().isEmpty());
+        MockEmployeeStore store =
+                new MockEmployeeStore(new MockEmployeeGenerator(42, Locale.ROOT, 1).generate(100), first);
+        first.persist(store);
+        for (int i = 0; i < 100; i++) {
+            store.add(MockEmployee.builder()
+                    .id(UUID.randomUUID())
+                    .name("Employee " + i)
+                    .build());
+            first.sync();
+        }
+        store.removeFirstByName("Employee 7");
+        first.sync();
+        first.close();
+
+        MockEmployeePersistence second =
+                new MockEmployeePersistence(file, Duration.ZERO, false, true, true, DataSize.ofKilobytes(4));
+        List<MockEmployee> loaded = second.load().orElseThrow();
+        assertEquals(Set.copyOf(store.all()), Set.copyOf(loaded));
+        second.persist(new MockEmployeeStore(loaded, second));
+        second.close();
+
+        try (var files = Files.list(dir)) {
+            List<String> names =
+                    files.map(path -> path.getFileName().toString()).sorted().toList();
+            assertEquals(2, names.size(), names::toString);
+            assertEquals("roster.bin", names.get(0));
+            assertTrue(names.get(1).startsWith("roster.bin.log."), names::toString);
+        }
+        MockEmployeePersistence third =
+                new MockEmployeePersistence(file, Duration.ZERO, false, true, true, DataSize.ofKilobytes(4));
+        assertEquals(Set.copyOf(store.all()), Set.copyOf(third.load().orElseThrow()));
+        third.close();
+    }
+
+    @Test
+    @DisplayName("A failed log is given up on and the roster saved in its place")
+    void savesOverFailedLog() throws Exception {
+        Path file = dir.resolve("roster.bin");
+        MockEmployeePersistence first =
+                new MockEmployeePersistence(file.toString(), Duration.ZERO, true, true, true, DataSize.ofKilobytes(4));
+        assertTrue(first.load().isEmpty());
+        MockEmployeeStore store =
+                new MockEmployeeStore(new MockEmployeeGenerator(42, Locale.ROOT, 1).generate(100), first);
+        first.persist(store);
+        first.save();
+        // taken, so the log cannot continue in a new segment
+        Files.createFile(file.resolveSibling("roster.bin.log.3"));
+        for (int i = 0; i < 100; i++) {
+            store.add(MockEmployee.builder()
+                    .id(UUID.randomUUID())
+                    .name("Employee " + i)
+                    .build());
+            first.sync();
+        }
+        first.close();
+
+        try (var files = Files.list(dir)) {
+            assertEquals(
+                    List.of("roster.bin"),
+                    files.map(path -> path.getFileName().toString()).toList());
+        }
+        MockEmployeePersistence second =
+                new MockEmployeePersistence(file.toString(), Duration.ZERO, false, true, true, DataSize.ofKilobytes(4));
+        assertEquals(Set.copyOf(store.all()), Set.copyOf(second.load().orElseThrow()));
+        second.close();
+    }
+}
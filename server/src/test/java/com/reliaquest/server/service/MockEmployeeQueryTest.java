@@ -0,0 +1,118 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeePage;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeQueryTest {
+
+    private final List<MockEmployee> employees = employees(257);
+
+    @Test
+    @DisplayName("Without paging or sorting parameters the whole list is wanted")
+    void unpaged() {
+        assertTrue(MockEmployeeQuery.of(null, null, null, null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Numbered pages are slices of the list sorted by field, then id")
+    void numberedPages() {
+        List<MockEmployee> sorted = new ArrayList<>(employees);
+        sorted.sort(Comparator.comparing(MockEmployee::getSalary)
+                .reversed()
+                .thenComparing(MockEmployee::getId, Comparator.reverseOrder()));
+
+        MockEmployeePage page = query(2, 25, null, "salary,desc").select(employees);
+
+        assertEquals(sorted.subList(50, 75), page.employees());
+        assertEquals(employees.size(), page.total());
+        assertTrue(
+                query(11, 25, null, "salary,desc").select(employees).employees().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Following cursors visits every employee exactly once and in order, despite ties")
+    void cursorWalk() {
+        List<MockEmployee> sorted = new ArrayList<>(employees);
+        sorted.sort(Comparator.comparing(MockEmployee::getName, String.CASE_INSENSITIVE_ORDER)
+                .thenComparing(MockEmployee::getId));
+
+        List<MockEmployee> visited = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockEmployeePage page =
+                    query(null, 40, cursor, cursor == null ? "name" : null).select(employees);
+            visited.addAll(page.employees());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(sorted, visited);
+    }
+
+    @Test
+    @DisplayName("A cursor page is not shifted by rows removed before it")
+    void cursorIsKeysetBased() {
+        MockEmployeePage first = query(null, 10, null, "age").select(employees);
+        MockEmployeePage expected = query(null, 10, first.nextCursor(), null).select(employees);
+
+        List<MockEmployee> shrunk = new ArrayList<>(employees);
+        shrunk.removeAll(first.employees().subList(0, 5));
+
+        assertEquals(
+                expected.employees(),
+                query(null, 10, first.nextCursor(), null).select(shrunk).employees());
+    }
+
+    @Test
+    @DisplayName("The last page has no next cursor")
+    void lastPage() {
+        MockEmployeePage page = query(null, employees.size(), null, null).select(employees);
+
+        assertEquals(employees.size(), page.employees().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Invalid parameters are rejected")
+    void invalidParameters() {
+        String cursor = query(null, 10, null, "salary").select(employees).nextCursor();
+
+        assertThrows(IllegalArgumentException.class, () -> MockEmployeeQuery.of(-1, 10, null, null));
+        assertThrows(IllegalArgumentException.class, () -> MockEmployeeQuery.of(null, 0, null, null));
+        assertThrows(IllegalArgumentException.class, () -> MockEmployeeQuery.of(null, null, null, "salary,up"));
+        assertThrows(IllegalArgumentException.class, () -> MockEmployeeQuery.of(null, null, null, "height"));
+        assertThrows(IllegalArgumentException.class, () -> MockEmployeeQuery.of(null, null, "not a cursor", null));
+        assertThrows(IllegalArgumentException.class, () -> MockEmployeeQuery.of(null, null, cursor, "age"));
+        assertThrows(IllegalArgumentException.class, () -> MockEmployeeQuery.of(3, null, cursor, null));
+    }
+
+    private static MockEmployeeQuery query(Integer page, Integer size, String cursor, String sort) {
+        return MockEmployeeQuery.of(page, size, cursor, sort).orElseThrow();
+    }
+
+    private static List<MockEmployee> employees(int count) {
+        Random random = new Random(42);
+        List<MockEmployee> employees = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            employees.add(MockEmployee.builder()
+                    .id(new UUID(random.nextLong(), random.nextLong()))
+                    // few distinct values so that the id tie breaker matters
+                    .name(random.nextBoolean() ? "Ada" : "ada")
+                    .salary(30_000 + random.nextInt(5) * 10_000)
+                    .age(20 + random.nextInt(3))
+                    .build());
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,398 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeStoreTest {
+
+    private static final int THREADS = 8;
+
+    private final MockEmployeeStore store = new MockEmployeeStore();
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+    @AfterEach
+    void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Deleting by name ignores case and removes the oldest employee with that name first")
+    void removeFirstByName() {
+        MockEmployee first = employee("Tiger Nixon");
+        MockEmployee second = employee("TIGER NIXON");
+        store.add(first);
+        store.add(second);
+        store.add(employee("Jill Jenkins"));
+
+        assertEquals(Optional.of(first), store.removeFirstByName("tiger nixon"));
+        assertEquals(Optional.of(second), store.removeFirstByName("Tiger Nixon"));
+        assertEquals(Optional.empty(), store.removeFirstByName("Tiger Nixon"));
+        assertEquals(1, store.size());
+        assertFalse(store.findById(first.getId()).isPresent());
+    }
+
+    @Test
+    @DisplayName("Case folding matches String.equalsIgnoreCase")
+    void foldMatchesEqualsIgnoreCase() {
+        for (String[] pair : new String[][] {{"straße", "STRAßE"}, {"Ǆemal", "ǆEMAL"}, {"ΣΊΣΥΦΟΣ", "σίσυφος"}}) {
+            assertEquals(
+                    pair[0].equalsIgnoreCase(pair[1]),
+                    MockEmployeeStore.fold(pair[0]).equals(MockEmployeeStore.fold(pair[1])),
+                    pair[0]);
+        }
+    }
+
+    @Test
+    @DisplayName("Case folding also matches full case mappings and canonically equivalent accents")
+    void foldMatchesFullCaseMappings() {
+        for (String[] pair : new String[][] {
+            {"STRASSE", "straße"}, {"ẞ", "ss"}, {"José", "Jose\u0301"}, {"ﬁle", "FILE"}, {"İ", "i\u0307"}
+        }) {
+            assertEquals(MockEmployeeStore.fold(pair[0]), MockEmployeeStore.fold(pair[1]), pair[0]);
+        }
+        assertNotEquals(MockEmployeeStore.fold("José"), MockEmployeeStore.fold("Jose"));
+    }
+
+    @Test
+    @DisplayName("Concurrent creates and deletes keep the id and name indexes consistent")
+    void concurrentCreatesAndDeletes() throws Exception {
+        int perThread = 5_000;
+        Set<UUID> deleted = ConcurrentHashMap.newKeySet();
+        run(() -> {
+            for (int i = 0; i < perThread; i++) {
+                // a handful of shared names, so threads contend on the same name entries
+                MockEmployee employee = employee("Employee " + (i % 16));
+                store.add(employee);
+                if (i % 2 == 1) {
+                    store.removeFirstByName("EMPLOYEE " + (i % 16))
+                            .map(MockEmployee::getId)
+                            .ifPresent(deleted::add);
+                }
+            }
+            return null;
+        });
+
+        int created = THREADS * perThread;
+        assertEquals(created / 2, deleted.size());
+        assertEquals(created - deleted.size(), store.size());
+        for (MockEmployee employee : store.all()) {
+            assertFalse(deleted.contains(employee.getId()));
+        }
+        // every remaining employee is still reachable through the name index
+        int removedByName = 0;
+        for (int name = 0; name < 16; name++) {
+            while (store.removeFirstByName("employee " + name).isPresent()) {
+                removedByName++;
+            }
+        }
+        assertEquals(created - deleted.size(), removedByName);
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    @DisplayName("Concurrent deletes of the same name never remove the same employee twice")
+    void concurrentDeletesOfOneName() throws Exception {
+        int employees = 1_000;
+        for (int i = 0; i < employees; i++) {
+            store.add(employee("Jill Jenkins"));
+        }
+        Set<UUID> removed = ConcurrentHashMap.newKeySet();
+        AtomicInteger removals = new AtomicInteger();
+        run(() -> {
+            Optional<MockEmployee> employee;
+            while ((employee = store.removeFirstByName("jill jenkins")).isPresent()) {
+                removed.add(employee.get().getId());
+                removals.incrementAndGet();
+            }
+            return null;
+        });
+
+        assertEquals(employees, removals.get());
+        assertEquals(employees, removed.size());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    @DisplayName("Iterating while other threads write never fails and sees only stored employees")
+    void iterationDuringWrites() throws Exception {
+        Set<UUID> everAdded = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < 10_000; i++) {
+            MockEmployee employee = employee("Reader " + i);
+            everAdded.add(employee.getId());
+            store.add(employee);
+        }
+        CountDownLatch writersDone = new CountDownLatch(THREADS / 2);
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int writer = 0; writer < THREADS / 2; writer++) {
+            int offset = writer;
+            tasks.add(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    MockEmployee employee = employee("Writer " + offset + " " + i);
+                    everAdded.add(employee.getId());
+                    store.add(employee);
+                    store.removeFirstByName("reader " + (offset + i * (THREADS / 2)));
+                }
+                writersDone.countDown();
+                return 0;
+            });
+        }
+        for (int reader = 0; reader < THREADS / 2; reader++) {
+            tasks.add(() -> {
+                int scans = 0;
+                while (writersDone.getCount() > 0) {
+                    Set<UUID> seen = new HashSet<>();
+                    for (MockEmployee employee : store.all()) {
+                        assertTrue(everAdded.contains(employee.getId()));
+                        assertTrue(seen.add(employee.getId()));
+                    }
+                    scans++;
+                }
+                return scans;
+            });
+        }
+        for (Future<Integer> result : executor.invokeAll(tasks)) {
+            result.get();
+        }
+        // the writers between them deleted every reader
+        assertEquals(THREADS / 2 * 5_000, store.size());
+    }
+
+    @Test
+    @DisplayName("A snapshot does not change when the store is written and versions count the writes")
+    void snapshotIsolation() {
+        store.add(employee("Tiger Nixon"));
+        MockEmployeeSnapshot before = store.snapshot();
+        List<MockEmployee> employees = List.copyOf(before.employees());
+
+        store.add(employee("Jill Jenkins"));
+        store.removeFirstByName("tiger nixon");
+
+        assertEquals(1, before.version());
+        assertEquals(employees, before.employees());
+        assertEquals(3, store.snapshot().version());
+        assertEquals(List.of("Jill Jenkins"), names(store.snapshot().employees()));
+    }
+
+    @Test
+    @DisplayName("Random creates and deletes across chunk boundaries match a reference roster")
+    void randomWritesMatchReference() {
+        Random random = new Random(7);
+        List<MockEmployee> reference = new ArrayList<>();
+        for (int step = 0; step < 20_000; step++) {
+            // grows past a few chunks, then shrinks back through the boundaries
+            boolean add = reference.isEmpty() || random.nextInt(10) < (step < 10_000 ? 7 : 3);
+            if (add) {
+                MockEmployee employee = employee("Employee " + random.nextInt(500));
+                reference.add(employee);
+                store.add(employee);
+            } else {
+                String name = reference.get(random.nextInt(reference.size())).getName();
+                MockEmployee oldest = reference.stream()
+                        .filter(employee -> employee.getName().equals(name))
+                        .findFirst()
+                        .orElseThrow();
+                reference.remove(oldest);
+                assertEquals(Optional.of(oldest), store.removeFirstByName(name.toUpperCase()));
+            }
+        }
+        assertEquals(20_000, store.snapshot().version());
+        assertEquals(new HashSet<>(reference), new HashSet<>(store.all()));
+        assertEquals(reference.size(), store.size());
+        for (MockEmployee employee : reference) {
+            assertEquals(Optional.of(employee), store.findById(employee.getId()));
+        }
+    }
+
+    @Test
+    @DisplayName("Random batches across chunk boundaries match a reference roster, one version per batch")
+    void randomBatchesMatchReference() {
+        Random random = new Random(11);
+        List<MockEmployee> reference = new ArrayList<>();
+        int batches = 0;
+        for (int step = 0; step < 300; step++) {
+            List<MockEmployee> added = new ArrayList<>();
+            for (int i = random.nextInt(step < 150 ? 100 : 20); i > 0; i--) {
+                added.add(employee("Employee " + random.nextInt(300)));
+            }
+            store.addAll(added);
+            reference.addAll(added);
+            batches += added.isEmpty() ? 0 : 1;
+
+            List<String> names = new ArrayList<>();
+            for (int i = random.nextInt(step < 150 ? 20 : 100); i > 0; i--) {
+                names.add("EMPLOYEE " + random.nextInt(300));
+            }
+            List<Optional<MockEmployee>> removed = store.removeFirstByNames(names);
+            for (int i = 0; i < names.size(); i++) {
+                String name = names.get(i);
+                Optional<MockEmployee> oldest = reference.stream()
+                        .filter(employee -> employee.getName().equalsIgnoreCase(name))
+                        .findFirst();
+                oldest.ifPresent(reference::remove);
+                assertEquals(oldest, removed.get(i));
+            }
+            batches += removed.stream().anyMatch(Optional::isPresent) ? 1 : 0;
+        }
+        assertEquals(batches, store.snapshot().version());
+        assertEquals(new HashSet<>(reference), new HashSet<>(store.all()));
+        assertEquals(reference.size(), store.size());
+        for (MockEmployee employee : reference) {
+            assertEquals(Optional.of(employee), store.findById(employee.getId()));
+        }
+    }
+
+    @Test
+    @DisplayName("The salary ranking follows random writes: highest first, the oldest first among equal salaries")
+    void salaryRanking() {
+        assertEquals(Optional.empty(), store.maxSalary());
+        Random random = new Random(13);
+        List<MockEmployee> reference = new ArrayList<>();
+        for (int step = 0; step < 5_000; step++) {
+            if (reference.isEmpty() || random.nextInt(10) < 6) {
+                // few distinct salaries, so many are equal
+                MockEmployee employee = employee("Employee " + random.nextInt(200), 1_000 * (1 + random.nextInt(50)));
+                reference.add(employee);
+                store.add(employee);
+            } else {
+                String name = reference.get(random.nextInt(reference.size())).getName();
+                reference.stream()
+                        .filter(employee -> employee.getName().equals(name))
+                        .findFirst()
+                        .ifPresent(reference::remove);
+                store.removeFirstByName(name);
+            }
+            if (step % 100 == 0) {
+                List<MockEmployee> ranked = reference.stream()
+                        .sorted(Comparator.comparing(MockEmployee::getSalary).reversed())
+                        .toList();
+                assertEquals(ranked.subList(0, Math.min(10, ranked.size())), store.topBySalary(10));
+                assertEquals(Optional.of(ranked.get(0).getSalary()), store.maxSalary());
+            }
+        }
+        store.add(employee("Unpaid"));
+        assertEquals(reference.size(), store.topBySalary(Integer.MAX_VALUE).size());
+    }
+
+    @Test
+    @DisplayName("A batch is reported to the listener together, under its single version")
+    void listenerSeesBatches() {
+        List<String> events = new ArrayList<>();
+        MockEmployeeStore listened = new MockEmployeeStore(List.of(), new MockEmployeeStore.Listener() {
+            @Override
+            public void created(long version, MockEmployee employee) {
+                events.add("created " + version + " " + employee.getName());
+            }
+
+            @Override
+            public void deleted(long version, MockEmployee employee) {
+                events.add("deleted " + version + " " + employee.getName());
+            }
+
+            @Override
+            public void createdAll(long version, List<MockEmployee> employees) {
+                events.add("batch " + version);
+                MockEmployeeStore.Listener.super.createdAll(version, employees);
+            }
+        });
+        listened.addAll(List.of(employee("Ada"), employee("Grace")));
+        listened.addAll(List.of());
+        assertEquals(
+                List.of(Optional.empty(), Optional.of("Ada")),
+                listened.removeFirstByNames(List.of("Nobody", "ada")).stream()
+                        .map(removed -> removed.map(MockEmployee::getName))
+                        .toList());
+        listened.removeFirstByNames(List.of("Nobody"));
+
+        assertEquals(List.of("batch 1", "created 1 Ada", "created 1 Grace", "deleted 2 Ada"), events);
+        assertEquals(2, listened.snapshot().version());
+    }
+
+    @Test
+    @DisplayName("The listener sees every write once and in version order, also under concurrent writers")
+    void listenerSeesVersionsInOrder() throws Exception {
+        List<Long> versions = Collections.synchronizedList(new ArrayList<>());
+        MockEmployeeStore.Listener listener = new MockEmployeeStore.Listener() {
+            @Override
+            public void created(long version, MockEmployee employee) {
+                versions.add(version);
+            }
+
+            @Override
+            public void deleted(long version, MockEmployee employee) {
+                versions.add(version);
+            }
+        };
+        MockEmployeeStore listened = new MockEmployeeStore(List.of(employee("Tiger Nixon")), listener);
+        run(() -> {
+            for (int i = 0; i < 1_000; i++) {
+                MockEmployee employee = employee("Employee " + i);
+                listened.add(employee);
+                listened.removeFirstByName(employee.getName());
+            }
+            return null;
+        });
+
+        List<Long> expected =
+                LongStream.rangeClosed(1, THREADS * 2_000L).boxed().toList();
+        assertEquals(expected, versions);
+        assertEquals(THREADS * 2_000L, listened.snapshot().version());
+        assertEquals(1, listened.size());
+    }
+
+    private void run(Callable<Void> task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Void>> results = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+        for (Future<Void> result : results) {
+            result.get(60, TimeUnit.SECONDS);
+        }
+    }
+
+    private static List<String> names(List<MockEmployee> employees) {
+        return employees.stream().map(MockEmployee::getName).toList();
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder().id(UUID.randomUUID()).name(name).build();
+    }
+
+    private static MockEmployee employee(String name, int salary) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(salary)
+                .build();
+    }
+}
@@ -0,0 +1,273 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+class FaultInjectionInterceptorTest {
+
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Latency distributions have the configured centre and spread")
+    void latencyDistributions() {
+        FaultInjectionProperties.Latency latency = new FaultInjectionProperties.Latency();
+        latency.setMean(Duration.ofMillis(100));
+        latency.setStddev(Duration.ofMillis(10));
+        latency.setSigma(0.5);
+        latency.setTailProbability(0.1);
+        latency.setTailMean(Duration.ofSeconds(2));
+
+        assertEquals(100 * MILLI, LatencyDistribution.FIXED.sample(latency, new Random(1)));
+        long[] normal = samples(LatencyDistribution.NORMAL, latency);
+        assertEquals(100 * MILLI, normal[normal.length / 2], 2 * MILLI);
+        assertEquals(123 * MILLI, normal[normal.length * 99 / 100], 4 * MILLI);
+        long[] logNormal = samples(LatencyDistribution.LOG_NORMAL, latency);
+        assertEquals(100 * MILLI, logNormal[logNormal.length / 2], 5 * MILLI);
+        // e^(2.326 * 0.5) = 3.2 times the median
+        assertEquals(320 * MILLI, logNormal[logNormal.length * 99 / 100], 30 * MILLI);
+        long[] bimodal = samples(LatencyDistribution.BIMODAL, latency);
+        long slow = Arrays.stream(bimodal)
+                .filter(sample -> sample > Duration.ofSeconds(1).toNanos())
+                .count();
+        assertEquals(0.1, slow / (double) bimodal.length, 0.01);
+    }
+
+    @Test
+    @DisplayName("The first matching endpoint applies, by method and path; other requests are left alone")
+    void endpointMatching() {
+        FaultInjectionInterceptor interceptor = interceptor(
+                endpoint("DELETE", "/api/v1/employee/**", 1, 0, 0), endpoint(null, "/api/v1/employee/{id}", 0, 1, 0));
+        try {
+            assertEquals(FaultInjectionRules.Mode.ERROR, mode(interceptor, "DELETE", "/api/v1/employee/x"));
+            assertEquals(FaultInjectionRules.Mode.RESET, mode(interceptor, "GET", "/api/v1/employee/x"));
+            assertEquals(FaultInjectionRules.Mode.NONE, mode(interceptor, "GET", "/api/v1/employee"));
+            assertEquals(FaultInjectionRules.Mode.NONE, mode(interceptor, "GET", "/changes"));
+        } finally {
+            interceptor.close();
+        }
+    }
+
+    @Test
+    @DisplayName("A delayed fault releases the request thread and answers 500 from the scheduler")
+    void errorAfterDelay() throws Exception {
+        FaultInjectionProperties.Endpoint endpoint = endpoint(null, "/**", 1, 0, 0);
+        endpoint.getLatency().setDistribution(LatencyDistribution.FIXED);
+        endpoint.getLatency().setMean(Duration.ofMillis(100));
+        FaultInjectionInterceptor interceptor = interceptor(endpoint);
+        try {
+            MockHttpServletRequest request = request("GET", "/api/v1/employee");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            long started = System.nanoTime();
+
+            assertFalse(interceptor.preHandle(request, response, null));
+            assertTrue(request.isAsyncStarted());
+            CountDownLatch completed = new CountDownLatch(1);
+            request.getAsyncContext().addListener(onComplete(completed));
+
+            assertTrue(completed.await(5, TimeUnit.SECONDS));
+            assertTrue(System.nanoTime() - started >= 100 * MILLI);
+            assertEquals(500, response.getStatus());
+            assertEquals(
+                    "{\"status\":\"Failed to process request.\",\"error\":\"Injected fault\"}",
+                    response.getContentAsString());
+        } finally {
+            interceptor.close();
+        }
+    }
+
+    @Test
+    @DisplayName("A client that stops reading a slow body holds up only its own body, not the scheduler")
+    void slowBodyDoesNotBlockScheduler() throws Exception {
+        FaultInjectionProperties.Endpoint endpoint = endpoint(null, "/**", 1, 0, 0);
+        endpoint.getLatency().setDistribution(LatencyDistribution.FIXED);
+        endpoint.getLatency().setMean(Duration.ofMillis(50));
+        FaultInjectionInterceptor interceptor = interceptor(endpoint);
+        try {
+            FaultInjectionProperties.SlowBody slowBody = new FaultInjectionProperties.SlowBody();
+            slowBody.setChunkSize(4);
+            slowBody.setChunkDelay(Duration.ofMillis(10));
+            MockHttpServletRequest slowRequest = request("GET", "/api/v1/employee");
+            slowRequest.setDispatcherType(DispatcherType.ASYNC);
+            slowRequest.setAttribute(
+                    FaultInjectionInterceptor.FAULT_ATTRIBUTE,
+                    new FaultInjectionRules.Fault(FaultInjectionRules.Mode.SLOW_BODY, 0, slowBody));
+            StallingResponse client = new StallingResponse();
+            ContentCachingResponseWrapper captured = new ContentCachingResponseWrapper(client);
+            captured.getOutputStream().write("0123456789".getBytes(StandardCharsets.UTF_8));
+
+            interceptor.afterCompletion(slowRequest, captured, null, null);
+            CountDownLatch slowCompleted = new CountDownLatch(1);
+            slowRequest.getAsyncContext().addListener(onComplete(slowCompleted));
+
+            // the client took the first chunk and stopped reading; other delayed requests are still answered
+            MockHttpServletRequest request = request("GET", "/api/v1/employee");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            assertFalse(interceptor.preHandle(request, response, null));
+            CountDownLatch completed = new CountDownLatch(1);
+            request.getAsyncContext().addListener(onComplete(completed));
+            assertTrue(completed.await(1, TimeUnit.SECONDS));
+            assertEquals(500, response.getStatus());
+            assertEquals("0123", client.written());
+            assertFalse(slowCompleted.await(50, TimeUnit.MILLISECONDS));
+
+            // once it reads again, the container calls back and the rest follows
+            client.resume();
+            assertTrue(slowCompleted.await(5, TimeUnit.SECONDS));
+            assertEquals("0123456789", client.written());
+        } finally {
+            interceptor.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Fault rates above 1 in total are rejected")
+    void invalidRates() {
+        assertThrows(IllegalArgumentException.class, () -> interceptor(endpoint(null, "/**", 0.5, 0.3, 0.3)));
+    }
+
+    private static long[] samples(LatencyDistribution distribution, FaultInjectionProperties.Latency latency) {
+        Random random = new Random(42);
+        long[] samples = new long[100_000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = distribution.sample(latency, random);
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    private static FaultInjectionRules.Mode mode(FaultInjectionInterceptor interceptor, String method, String path) {
+        return interceptor.fault(request(method, path)).mode();
+    }
+
+    private static FaultInjectionInterceptor interceptor(FaultInjectionProperties.Endpoint... endpoints) {
+        FaultInjectionProperties properties = new FaultInjectionProperties();
+        properties.setEnabled(true);
+        properties.setSeed(7L);
+        properties.setEndpoints(List.of(endpoints));
+        return new FaultInjectionInterceptor(properties, new ObjectMapper());
+    }
+
+    private static FaultInjectionProperties.Endpoint endpoint(
+            String method, String path, double errorRate, double resetRate, double slowBodyRate) {
+        FaultInjectionProperties.Endpoint endpoint = new FaultInjectionProperties.Endpoint();
+        endpoint.setMethod(method);
+        endpoint.setPath(path);
+        endpoint.setErrorRate(errorRate);
+        endpoint.setResetRate(resetRate);
+        endpoint.setSlowBodyRate(slowBodyRate);
+        return endpoint;
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setAsyncSupported(true);
+        return request;
+    }
+
+    private static AsyncListener onComplete(CountDownLatch completed) {
+        return new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                completed.countDown();
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {}
+
+            @Override
+            public void onError(AsyncEvent event) {}
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {}
+        };
+    }
+
+    /**
+     * A response whose client stops reading after the first write: it is not ready, and a blocking write would wait,
+     * until {@link #resume()}, which calls the write listener back as a container would.
+     */
+    private static final class StallingResponse extends MockHttpServletResponse {
+
+        private final ByteArrayOutputStream written = new ByteArrayOutputStream();
+        private final CountDownLatch resumed = new CountDownLatch(1);
+        private volatile boolean ready = true;
+        private WriteListener listener;
+
+        private final ServletOutputStream out = new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return ready;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                listener = writeListener;
+                try {
+                    writeListener.onWritePossible();
+                } catch (IOException e) {
+                    writeListener.onError(e);
+                }
+            }
+
+            @Override
+            public void write(int b) {
+                write(new byte[] {(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                try {
+                    if (!ready && !resumed.await(5, TimeUnit.SECONDS)) {
+                        throw new IllegalStateException("Client never resumed");
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                synchronized (written) {
+                    written.write(b, off, len);
+                    ready = resumed.getCount() == 0;
+                }
+            }
+        };
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return out;
+        }
+
+        String written() {
+            synchronized (written) {
+                return written.toString(StandardCharsets.UTF_8);
+            }
+        }
+
+        void resume() throws IOException {
+            ready = true;
+            resumed.countDown();
+            listener.onWritePossible();
+        }
+    }
+}
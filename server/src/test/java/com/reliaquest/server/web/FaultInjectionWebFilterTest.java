@@ -0,0 +1,112 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class FaultInjectionWebFilterTest {
+
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final String BODY = "{\"data\":[\"0123456789\"]}";
+
+    // the handler: writes BODY
+    private final WebFilterChain chain = exchange -> exchange.getResponse()
+            .writeWith(Mono.fromSupplier(
+                    () -> exchange.getResponse().bufferFactory().wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+
+    @Test
+    @DisplayName("A delayed fault answers 500 on a timer without calling the handler")
+    void errorAfterDelay() {
+        FaultInjectionProperties.Endpoint endpoint = endpoint(1, 0, 0);
+        endpoint.getLatency().setDistribution(LatencyDistribution.FIXED);
+        endpoint.getLatency().setMean(Duration.ofMillis(100));
+        MockServerWebExchange exchange = exchange();
+        long started = System.nanoTime();
+
+        filter(endpoint).filter(exchange, chain).block();
+
+        assertTrue(System.nanoTime() - started >= 100 * MILLI);
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exchange.getResponse().getStatusCode());
+        assertEquals(
+                "{\"status\":\"Failed to process request.\",\"error\":\"Injected fault\"}",
+                exchange.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    @DisplayName("A reset promises more bytes than it sends and closes the connection")
+    void reset() {
+        MockServerWebExchange exchange = exchange();
+
+        filter(endpoint(0, 1, 0)).filter(exchange, chain).block();
+
+        MockServerHttpResponse response = exchange.getResponse();
+        assertEquals(
+                FaultInjectionRules.RESET_CONTENT_LENGTH, response.getHeaders().getContentLength());
+        assertEquals("close", response.getHeaders().getConnection().get(0));
+        assertEquals(
+                FaultInjectionRules.RESET_CONTENT_LENGTH / 2,
+                response.getBodyAsString().block().length());
+    }
+
+    @Test
+    @DisplayName("A slow body is the handler's body, flushed a chunk at a time with a delay between chunks")
+    void slowBody() {
+        FaultInjectionProperties.Endpoint endpoint = endpoint(0, 0, 1);
+        endpoint.getSlowBody().setChunkSize(10);
+        endpoint.getSlowBody().setChunkDelay(Duration.ofMillis(50));
+        List<String> chunks = new ArrayList<>();
+        MockServerWebExchange exchange = exchange();
+        exchange.getResponse().setWriteHandler(body -> Flux.from(body)
+                .doOnNext(chunk -> chunks.add(text(chunk)))
+                .then());
+        long started = System.nanoTime();
+
+        filter(endpoint).filter(exchange, chain).block();
+
+        assertEquals(List.of("{\"data\":[\"", "0123456789", "\"]}"), chunks);
+        assertTrue(System.nanoTime() - started >= 100 * MILLI);
+    }
+
+    private static String text(DataBuffer buffer) {
+        String text = buffer.toString(StandardCharsets.UTF_8);
+        DataBufferUtils.release(buffer);
+        return text;
+    }
+
+    private static MockServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/employee"));
+    }
+
+    private static FaultInjectionWebFilter filter(FaultInjectionProperties.Endpoint endpoint) {
+        FaultInjectionProperties properties = new FaultInjectionProperties();
+        properties.setEnabled(true);
+        properties.setSeed(7L);
+        properties.setEndpoints(List.of(endpoint));
+        return new FaultInjectionWebFilter(properties, new ObjectMapper());
+    }
+
+    private static FaultInjectionProperties.Endpoint endpoint(double errorRate, double resetRate, double slowBodyRate) {
+        FaultInjectionProperties.Endpoint endpoint = new FaultInjectionProperties.Endpoint();
+        endpoint.setErrorRate(errorRate);
+        endpoint.setResetRate(resetRate);
+        endpoint.setSlowBodyRate(slowBodyRate);
+        return endpoint;
+    }
+}
@@ -0,0 +1,220 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final Duration WINDOW = Duration.ofSeconds(10);
+
+    @ParameterizedTest
+    @EnumSource(RateLimitAlgorithm.class)
+    @DisplayName(
+            "A burst gets exactly the limit, then waits Retry-After and is allowed again; clients don't share limits")
+    void burstThenRetry(RateLimitAlgorithm algorithm) {
+        RateLimiter limiter = algorithm.create(5, WINDOW);
+        long now = 1_000 * SECOND;
+        for (int i = 0; i < 5; i++) {
+            RateLimitDecision decision = limiter.tryAcquire("a", now);
+            assertTrue(decision.allowed(), algorithm + " request " + i);
+            assertEquals(4 - i, decision.remaining(), algorithm + " request " + i);
+        }
+        RateLimitDecision rejected = limiter.tryAcquire("a", now);
+        assertFalse(rejected.allowed());
+        assertEquals(0, rejected.remaining());
+        assertTrue(
+                rejected.retryAfterNanos() > 0 && rejected.retryAfterNanos() <= 2 * WINDOW.toNanos(), algorithm::name);
+        assertTrue(limiter.tryAcquire("b", now).allowed());
+
+        assertFalse(
+                limiter.tryAcquire("a", now + rejected.retryAfterNanos() - 1).allowed(), algorithm::name);
+        assertTrue(limiter.tryAcquire("a", now + rejected.retryAfterNanos()).allowed(), algorithm::name);
+    }
+
+    @Test
+    @DisplayName("Fixed window: the count starts over at the window boundary")
+    void fixedWindowBoundary() {
+        RateLimiter limiter = RateLimiter.fixedWindow(2, WINDOW);
+        long start = 0;
+        limiter.tryAcquire("a", start);
+        limiter.tryAcquire("a", start + 9 * SECOND);
+        RateLimitDecision rejected = limiter.tryAcquire("a", start + 9 * SECOND);
+        assertFalse(rejected.allowed());
+        assertEquals(SECOND, rejected.retryAfterNanos());
+        assertTrue(limiter.tryAcquire("a", start + 10 * SECOND).allowed());
+        assertTrue(limiter.tryAcquire("a", start + 35 * SECOND).allowed());
+        assertEquals(5 * SECOND, limiter.tryAcquire("a", start + 35 * SECOND).resetNanos());
+    }
+
+    @Test
+    @DisplayName("Sliding window: a burst at the end of one window still counts at the start of the next")
+    void slidingWindowBoundary() {
+        RateLimiter limiter = RateLimiter.slidingWindow(10, WINDOW);
+        limiter.tryAcquire("a", 0);
+        for (int i = 0; i < 9; i++) {
+            assertTrue(limiter.tryAcquire("a", 9 * SECOND).allowed());
+        }
+        // 90% of the previous window's 10 requests still count at 11 s; a fixed window would allow 10 here
+        assertTrue(limiter.tryAcquire("a", 11 * SECOND).allowed());
+        assertFalse(limiter.tryAcquire("a", 11 * SECOND).allowed());
+        // at 15 s half of them still count, next to the one of this window
+        AtomicInteger allowed = new AtomicInteger();
+        while (limiter.tryAcquire("a", 15 * SECOND).allowed()) {
+            allowed.incrementAndGet();
+        }
+        assertEquals(4, allowed.get());
+    }
+
+    @Test
+    @DisplayName("Token bucket: one token comes back every window / limit")
+    void tokenBucketRefill() {
+        RateLimiter limiter = RateLimiter.tokenBucket(10, WINDOW);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire("a", 0).allowed());
+        }
+        RateLimitDecision rejected = limiter.tryAcquire("a", 0);
+        assertEquals(SECOND, rejected.retryAfterNanos());
+        assertEquals(10 * SECOND, rejected.resetNanos());
+        assertTrue(limiter.tryAcquire("a", SECOND).allowed());
+        assertFalse(limiter.tryAcquire("a", SECOND).allowed());
+        assertEquals(3, limiter.tryAcquire("a", 5 * SECOND).remaining());
+    }
+
+    @ParameterizedTest
+    @EnumSource(RateLimitAlgorithm.class)
+    @DisplayName("Concurrent requests are admitted exactly up to the limit")
+    void concurrentRequests(RateLimitAlgorithm algorithm) throws Exception {
+        RateLimiter limiter = algorithm.create(1_000, WINDOW);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicInteger allowed = new AtomicInteger();
+            List<Future<?>> results = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 500; i++) {
+                        if (limiter.tryAcquire("shared", 0).allowed()) {
+                            allowed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+            assertEquals(1_000, allowed.get(), algorithm::name);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Idle clients are forgotten once many clients are tracked")
+    void idleClientsAreSwept() {
+        KeyedRateLimiter<?> limiter = (KeyedRateLimiter<?>) RateLimiter.fixedWindow(1, WINDOW);
+        for (int i = 0; i < KeyedRateLimiter.SWEEP_THRESHOLD; i++) {
+            limiter.tryAcquire("client " + i, 0);
+        }
+        // as many new clients as idle ones: each sweeps a few, until all the idle ones are gone
+        for (int i = 0; i < KeyedRateLimiter.SWEEP_THRESHOLD; i++) {
+            limiter.tryAcquire("late " + i, 10 * SECOND);
+        }
+        assertEquals(KeyedRateLimiter.SWEEP_THRESHOLD, limiter.size());
+        // the clients still in their window are kept, and still limited
+        assertFalse(limiter.tryAcquire("late 0", 10 * SECOND).allowed());
+        assertFalse(limiter.tryAcquire("late " + (KeyedRateLimiter.SWEEP_THRESHOLD - 1), 10 * SECOND)
+                .allowed());
+    }
+
+    @Test
+    @DisplayName("A new client sweeps only a bounded number of tracked clients")
+    void sweepIsBounded() {
+        KeyedRateLimiter<?> limiter = (KeyedRateLimiter<?>) RateLimiter.fixedWindow(1, WINDOW);
+        for (int i = 0; i < KeyedRateLimiter.SWEEP_THRESHOLD; i++) {
+            limiter.tryAcquire("client " + i, 0);
+        }
+        limiter.tryAcquire("late", 10 * SECOND);
+        assertEquals(KeyedRateLimiter.SWEEP_THRESHOLD + 1 - KeyedRateLimiter.SWEEP_BATCH, limiter.size());
+    }
+
+    @Test
+    @DisplayName("The interceptor keys clients by header, sets RateLimit headers and answers 429 with Retry-After")
+    void interceptorHeaders() {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(
+                RateLimiter.fixedWindow(1, WINDOW), RateLimitInterceptor.clientKey("X-Client"), () -> 0L);
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(request("one"), first, null));
+        assertEquals("1", first.getHeader(RateLimitInterceptor.LIMIT_HEADER));
+        assertEquals("0", first.getHeader(RateLimitInterceptor.REMAINING_HEADER));
+        assertEquals("10", first.getHeader(RateLimitInterceptor.RESET_HEADER));
+
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(request("one"), second, null));
+        assertEquals(429, second.getStatus());
+        assertEquals("10", second.getHeader("Retry-After"));
+
+        assertTrue(interceptor.preHandle(request("two"), new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    @DisplayName("The web filter limits like the interceptor and does not pass refused requests on")
+    void webFilterHeaders() {
+        RateLimitWebFilter filter = new RateLimitWebFilter(
+                RateLimiter.fixedWindow(1, WINDOW), RateLimitWebFilter.clientKey("X-Client"), () -> 0L);
+        AtomicInteger passed = new AtomicInteger();
+        WebFilterChain chain = exchange -> Mono.fromRunnable(passed::incrementAndGet);
+
+        MockServerWebExchange first = exchange("one");
+        filter.filter(first, chain).block();
+        assertEquals("1", first.getResponse().getHeaders().getFirst(RateLimitInterceptor.LIMIT_HEADER));
+        assertEquals("0", first.getResponse().getHeaders().getFirst(RateLimitInterceptor.REMAINING_HEADER));
+        assertEquals("10", first.getResponse().getHeaders().getFirst(RateLimitInterceptor.RESET_HEADER));
+
+        MockServerWebExchange second = exchange("one");
+        filter.filter(second, chain).block();
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, second.getResponse().getStatusCode());
+        assertEquals("10", second.getResponse().getHeaders().getFirst("Retry-After"));
+
+        filter.filter(exchange("two"), chain).block();
+        assertEquals(2, passed.get());
+    }
+
+    private static MockServerWebExchange exchange(String client) {
+        return MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/v1/employee").header("X-Client", client));
+    }
+
+    private static MockHttpServletRequest request(String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        request.addHeader("X-Client", client);
+        return request;
+    }
+}